@@ -67,6 +67,32 @@ public class Aluno implements Discente{
 		this.notaAvaliacao = 5;
 	}
 
+	/**
+	 * Reconstroi um aluno ja validado a partir dos seus atributos gravados, como
+	 * nos repositorios que guardam os alunos fora do heap.
+	 * 
+	 * @param matricula
+	 *            a matricula do aluno
+	 * @param nome
+	 *            o nome do aluno
+	 * @param telefone
+	 *            o telefone do aluno
+	 * @param email
+	 *            o email do aluno
+	 * @param codCurso
+	 *            o codigo do curso do aluno
+	 * @param notaAvaliacao
+	 *            a avaliacao do aluno
+	 */
+	Aluno(String matricula, String nome, String telefone, String email, int codCurso, int notaAvaliacao) {
+		this.matricula = matricula;
+		this.nome = nome;
+		this.email = email;
+		this.telefone = telefone;
+		this.codCurso = codCurso;
+		this.notaAvaliacao = notaAvaliacao;
+	}
+
 	@Override
 	public String getMatricula() {
 		return matricula;
@@ -4,13 +4,20 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.LinkedHashMap;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import persistencia.ArquivoMapeado;
 import persistencia.Persistencia;
+import util.Validador;
 import util.aluno.AlunoValidador;
 import util.aluno.MensagemAluno;
 import util.comparators.EmailComparator;
@@ -29,7 +36,20 @@ public class AlunoController {
 	/**
 	 * Conjunto de alunos que o sistema possui.
 	 */
-	private Map<String, Aluno> alunos;
+	private RepositorioAlunos alunos;
+
+	/**
+	 * Acesso aos atributos do aluno que podem ser consultados por
+	 * {@link #getInfoAluno(String, String)}.
+	 */
+	private static final Map<OpcaoController, Function<Aluno, String>> ATRIBUTOS = new EnumMap<>(
+			OpcaoController.class);
+
+	static {
+		ATRIBUTOS.put(OpcaoController.NOME, Aluno::getNome);
+		ATRIBUTOS.put(OpcaoController.TELEFONE, Aluno::getTelefone);
+		ATRIBUTOS.put(OpcaoController.EMAIL, Aluno::getEmail);
+	}
 
 	/**
 	 * O tipo da ordenação de aluno.
@@ -38,13 +58,51 @@ public class AlunoController {
 	
 	private Persistencia persistencia;
 
+	/**
+	 * Matriculas dos alunos alterados desde o ultimo salvamento.
+	 */
+	private Set<String> alterados;
+
+	/**
+	 * Indice dos alunos por nome e email, usado nas pesquisas por prefixo, ou
+	 * null caso ainda nao tenha sido construido. E construido na primeira
+	 * pesquisa, para que abrir um repositorio mapeado nao exija percorrer todos
+	 * os alunos do arquivo.
+	 */
+	private IndiceBuscaAlunos indice;
+
 	/**
 	 * Construtor da classe.
 	 */
 	public AlunoController() {
-		this.alunos = new HashMap<String, Aluno>();
+		this(new RepositorioAlunosMemoria());
+	}
+
+	/**
+	 * Constroi o controller usando um repositorio de alunos especifico, como o
+	 * {@link RepositorioAlunosOffHeap} para grandes quantidades de alunos.
+	 * 
+	 * @param repositorio
+	 *            o repositorio onde os alunos serao guardados
+	 */
+	public AlunoController(RepositorioAlunos repositorio) {
+		this(repositorio, new Persistencia());
+	}
+
+	/**
+	 * Constroi o controller usando um repositorio de alunos e uma persistencia
+	 * especificos.
+	 * 
+	 * @param repositorio
+	 *            o repositorio onde os alunos serao guardados
+	 * @param persistencia
+	 *            a persistencia onde os alunos serao salvos
+	 */
+	public AlunoController(RepositorioAlunos repositorio, Persistencia persistencia) {
+		this.alunos = repositorio;
 		this.ordem = new NomeComparator<Aluno>();
-		persistencia = new Persistencia();
+		this.persistencia = persistencia;
+		this.alterados = ConcurrentHashMap.newKeySet();
 	}
 
 	/**
@@ -67,7 +125,11 @@ public class AlunoController {
 					&& this.validaAlunoExistente(matricula)) {
 
 				Aluno aluno = new Aluno(matricula, nome, telefone, email, codigoCurso);
-				this.alunos.put(matricula, aluno);
+				this.alunos.adiciona(aluno);
+				if (this.indice != null) {
+					this.indice.adiciona(aluno);
+				}
+				this.alterados.add(matricula);
 
 			}
 		} catch (IllegalArgumentException e) {
@@ -89,7 +151,7 @@ public class AlunoController {
 		String resultado = "";
 		try {
 			if (this.validaAluno(matricula)) {
-				resultado = this.alunos.get(matricula).toString();
+				resultado = this.alunos.busca(matricula).toString();
 			}
 		} catch (IllegalArgumentException e) {
 			throw new IllegalArgumentException(ErroController.BUSCA_ALUNO_INVALIDA.toString() + e.getMessage());
@@ -111,7 +173,7 @@ public class AlunoController {
 	public Aluno getAlunoPelaMatricula(String matricula) {
 		Aluno aluno = null;
 		if (this.validaAluno(matricula)) {
-			aluno = this.alunos.get(matricula);
+			aluno = this.alunos.busca(matricula);
 		}
 		return aluno;
 	}
@@ -123,12 +185,113 @@ public class AlunoController {
 	 */
 	public String listarAlunos() {
 
-		List<Aluno> listaAlunos = new ArrayList<Aluno>(this.alunos.values());
+		StringJoiner joiner = new StringJoiner(", ");
+		
+		for (Aluno aluno: this.alunosOrdenados()) {
+			joiner.add(aluno.toString());
+		}
+
+		return joiner.toString();
+	}
+
+	/**
+	 * Retorna os alunos cadastrados no sistema, na ordem configurada.
+	 * 
+	 * @return a lista de alunos ordenada
+	 */
+	public List<Aluno> alunosOrdenados() {
+
+		List<Aluno> listaAlunos = this.alunos.valores();
 		Collections.sort(listaAlunos, this.ordem);
 
+		return listaAlunos;
+	}
+
+	public Comparator<Aluno> getOrdem() {
+		return this.ordem;
+	}
+
+	/**
+	 * Percorre os alunos cadastrados no sistema, sem ordena-los.
+	 * 
+	 * @param acao
+	 *            a acao executada para cada aluno
+	 * @see RepositorioAlunos#percorre(Consumer)
+	 */
+	public void percorreAlunos(Consumer<Aluno> acao) {
+		this.alunos.percorre(acao);
+	}
+
+	/**
+	 * Pesquisa os alunos pelo início de alguma palavra do nome ou pelo início
+	 * do email. Na pesquisa por email, um termo que começa com arroba busca os
+	 * alunos do domínio informado. Os resultados são paginados e vêm na ordem
+	 * do termo encontrado.
+	 * 
+	 * @param atributo
+	 *            "Nome" ou "Email"
+	 * @param termo
+	 *            o termo pesquisado, sem diferenciar maiúsculas e minúsculas
+	 * @param pagina
+	 *            o número da página, a partir de 1
+	 * @param tamanhoPagina
+	 *            a quantidade máxima de alunos por página
+	 * @return os alunos da página pedida
+	 */
+	public List<Aluno> pesquisaAlunos(String atributo, String termo, int pagina, int tamanhoPagina) {
+		List<String> matriculas;
+		try {
+			Validador.validaTexto(termo, MensagemAluno.TERMO_PESQUISA_INVALIDO.toString());
+			if (pagina < 1 || tamanhoPagina < 1) {
+				throw new IllegalArgumentException(MensagemAluno.PAGINA_INVALIDA.toString());
+			}
+
+			int inicio = (int) Math.min((long) (pagina - 1) * tamanhoPagina, Integer.MAX_VALUE);
+
+			switch (OpcaoController.getEnumByString(atributo)) {
+			case NOME:
+				matriculas = this.indice().pesquisaNome(termo, inicio, tamanhoPagina);
+				break;
+			case EMAIL:
+				matriculas = this.indice().pesquisaEmail(termo, inicio, tamanhoPagina);
+				break;
+			default:
+				throw new IllegalArgumentException(MensagemAluno.ATRIBUTO_PESQUISA_INVALIDO.toString());
+			}
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(ErroController.PESQUISA_ALUNO_INVALIDA.toString() + e.getMessage());
+		}
+
+		List<Aluno> resultado = new ArrayList<>(matriculas.size());
+		for (String matricula : matriculas) {
+			resultado.add(this.alunos.busca(matricula));
+		}
+		return resultado;
+	}
+
+	/**
+	 * Retorna o indice de pesquisa, construindo-o a partir do repositorio caso
+	 * ainda nao tenha sido construido.
+	 */
+	private IndiceBuscaAlunos indice() {
+		if (this.indice == null) {
+			IndiceBuscaAlunos indice = new IndiceBuscaAlunos();
+			this.alunos.percorre(indice::adiciona);
+			this.indice = indice;
+		}
+		return this.indice;
+	}
+
+	/**
+	 * Lista os alunos de uma página da pesquisa.
+	 * 
+	 * @return a representação textual dos alunos encontrados
+	 * @see #pesquisaAlunos(String, String, int, int)
+	 */
+	public String listarPesquisaAlunos(String atributo, String termo, int pagina, int tamanhoPagina) {
 		StringJoiner joiner = new StringJoiner(", ");
-		
-		for (Aluno aluno: listaAlunos) {
+
+		for (Aluno aluno : this.pesquisaAlunos(atributo, termo, pagina, tamanhoPagina)) {
 			joiner.add(aluno.toString());
 		}
 
@@ -149,17 +312,10 @@ public class AlunoController {
 		try {
 			if (this.validaAluno(matricula)) {
 
-				OpcaoController op = OpcaoController.getEnumByString(atributo);
-
-				switch (op) {
-				case NOME:
-					return this.alunos.get(matricula).getNome();
-				case TELEFONE:
-					return this.alunos.get(matricula).getTelefone();
-				case EMAIL:
-					return this.alunos.get(matricula).getEmail();
-				default:
-					break;
+				Function<Aluno, String> acesso = ATRIBUTOS.get(OpcaoController.getEnumByString(atributo));
+
+				if (acesso != null) {
+					return acesso.apply(this.alunos.busca(matricula));
 				}
 			}
 		} catch (IllegalArgumentException e) {
@@ -179,7 +335,7 @@ public class AlunoController {
 	 * @return boolean true, caso a matrícula exista, false, caso contrário.
 	 */
 	public boolean existeAluno(String matricula) {
-		return this.alunos.containsKey(matricula);
+		return this.alunos.contem(matricula);
 	}
 
 	/**
@@ -245,17 +401,64 @@ public class AlunoController {
 				}
 	}
 	/**
-	 * @see Persistencia#salvaAlunos(String)
+	 * Salva apenas os alunos alterados desde o ultimo salvamento.
+	 * 
+	 * @see Persistencia#salvaAlunos(Map)
 	 */
 	public void salvaAlunos() throws IOException{
-		this.persistencia.salvaAlunos(this.listarAlunos());
+		Map<String, String> registros = new LinkedHashMap<>();
+		for (String matricula : new ArrayList<>(this.alterados)) {
+			this.alterados.remove(matricula);
+			Aluno aluno = this.alunos.busca(matricula);
+			if (aluno != null) {
+				registros.put(matricula, aluno.toString());
+			}
+		}
+		
+		try {
+			this.persistencia.salvaAlunos(registros);
+		} catch (IOException e) {
+			this.alterados.addAll(registros.keySet());
+			throw e;
+		}
 	}
 	
+	/**
+	 * Salva os alunos no formato mapeavel, que pode ser consultado sem carregar
+	 * os alunos no heap.
+	 * 
+	 * @see Persistencia#salvaAlunosMapeados(List)
+	 */
+	public void salvaAlunosMapeados() throws IOException {
+		List<String[]> registros = new ArrayList<>();
+		for (Aluno aluno : this.alunos.valores()) {
+			registros.add(RepositorioAlunosMapeado.paraRegistro(aluno));
+		}
+		this.persistencia.salvaAlunosMapeados(registros);
+	}
+
+	/**
+	 * Passa a atender as consultas de alunos diretamente do arquivo mapeado.
+	 * Os alunos ja cadastrados em memoria continuam disponiveis e tem
+	 * prioridade sobre os do arquivo.
+	 * 
+	 * @see Persistencia#abreAlunosMapeados()
+	 */
+	public void carregaAlunosMapeados() throws IOException {
+		ArquivoMapeado arquivo = this.persistencia.abreAlunosMapeados();
+		if (arquivo != null) {
+			this.alunos = new RepositorioAlunosMapeado(arquivo, this.alunos);
+			this.indice = null;
+		}
+	}
+
 	/**
 	 * @see Persistencia#limparAlunos()
 	 */
 	public void limpar(){
-		this.alunos.clear();
+		this.alunos.limpa();
+		this.indice = null;
+		this.alterados.clear();
 		this.persistencia.limparAlunos();
 	}
 	
@@ -0,0 +1,158 @@
+package aluno;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Índice de pesquisa dos alunos pelo nome e pelo email.
+ *
+ * Cada entrada do índice é um termo seguido da matrícula do aluno, e as
+ * entradas ficam em conjuntos ordenados, de forma que todas as entradas que
+ * começam com um prefixo são contíguas e podem ser percorridas a partir da
+ * primeira delas, sem examinar os demais alunos. Para o nome, são indexados o
+ * nome completo e cada um dos seus sufixos a partir de uma palavra, o que
+ * permite pesquisar pelo início de qualquer palavra do nome. Para o email, são
+ * indexados o email e o email invertido, o que permite pesquisar pelo domínio.
+ *
+ * Os termos são indexados e pesquisados em letras minúsculas.
+ *
+ * @author Rayla Medeiros Araújo
+ *
+ */
+public class IndiceBuscaAlunos {
+
+	/**
+	 * Separa o termo da matrícula em cada entrada. É menor que qualquer
+	 * caractere dos termos, de forma que as entradas de um termo ficam antes das
+	 * entradas dos termos que o estendem.
+	 */
+	private static final char SEPARADOR = '\u0000';
+
+	/**
+	 * Limite superior das entradas que começam com um prefixo.
+	 */
+	private static final char LIMITE = '\uffff';
+
+	private NavigableSet<String> nomes;
+	private NavigableSet<String> emails;
+	private NavigableSet<String> emailsInvertidos;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public IndiceBuscaAlunos() {
+		this.nomes = new TreeSet<>();
+		this.emails = new TreeSet<>();
+		this.emailsInvertidos = new TreeSet<>();
+	}
+
+	/**
+	 * Adiciona um aluno ao índice.
+	 *
+	 * @param aluno
+	 *            o aluno a ser indexado
+	 */
+	public void adiciona(Aluno aluno) {
+		String matricula = aluno.getMatricula();
+
+		String[] palavras = normaliza(aluno.getNome()).split("\\s+");
+		StringBuilder sufixo = new StringBuilder();
+		for (int i = palavras.length - 1; i >= 0; i--) {
+			if (palavras[i].isEmpty()) {
+				continue;
+			}
+			if (sufixo.length() > 0) {
+				sufixo.insert(0, ' ');
+			}
+			sufixo.insert(0, palavras[i]);
+			this.nomes.add(sufixo.toString() + SEPARADOR + matricula);
+		}
+
+		String email = normaliza(aluno.getEmail());
+		this.emails.add(email + SEPARADOR + matricula);
+		this.emailsInvertidos.add(new StringBuilder(email).reverse().toString() + SEPARADOR + matricula);
+	}
+
+	/**
+	 * Pesquisa os alunos em que alguma palavra do nome começa com o termo. O
+	 * termo pode ter mais de uma palavra.
+	 *
+	 * @param termo
+	 *            o início do nome
+	 * @param inicio
+	 *            quantos alunos encontrados devem ser ignorados
+	 * @param quantidade
+	 *            a quantidade máxima de alunos retornados
+	 * @return as matrículas dos alunos encontrados, em ordem do termo
+	 *         encontrado
+	 */
+	public List<String> pesquisaNome(String termo, int inicio, int quantidade) {
+		String prefixo = String.join(" ", normaliza(termo).trim().split("\\s+"));
+		return pagina(this.nomes, prefixo, inicio, quantidade);
+	}
+
+	/**
+	 * Pesquisa os alunos pelo email. Um termo que começa com arroba pesquisa
+	 * pelo fim do email, como o domínio; os demais pesquisam pelo início do
+	 * email.
+	 *
+	 * @param termo
+	 *            o início do email, ou o domínio precedido de arroba
+	 * @param inicio
+	 *            quantos alunos encontrados devem ser ignorados
+	 * @param quantidade
+	 *            a quantidade máxima de alunos retornados
+	 * @return as matrículas dos alunos encontrados, em ordem do termo
+	 *         encontrado
+	 */
+	public List<String> pesquisaEmail(String termo, int inicio, int quantidade) {
+		String prefixo = normaliza(termo).trim();
+		if (prefixo.startsWith("@")) {
+			return pagina(this.emailsInvertidos, new StringBuilder(prefixo).reverse().toString(), inicio,
+					quantidade);
+		}
+		return pagina(this.emails, prefixo, inicio, quantidade);
+	}
+
+	/**
+	 * Remove todos os alunos do índice.
+	 */
+	public void limpa() {
+		this.nomes.clear();
+		this.emails.clear();
+		this.emailsInvertidos.clear();
+	}
+
+	/**
+	 * Percorre as entradas que começam com o prefixo, ignorando as matrículas
+	 * repetidas.
+	 */
+	private static List<String> pagina(NavigableSet<String> entradas, String prefixo, int inicio, int quantidade) {
+		List<String> matriculas = new ArrayList<>(Math.min(quantidade, 64));
+		Set<String> encontradas = new HashSet<>();
+
+		for (String entrada : entradas.subSet(prefixo, true, prefixo + LIMITE, false)) {
+			String matricula = entrada.substring(entrada.lastIndexOf(SEPARADOR) + 1);
+
+			if (!encontradas.add(matricula) || encontradas.size() <= inicio) {
+				continue;
+			}
+
+			matriculas.add(matricula);
+			if (matriculas.size() == quantidade) {
+				break;
+			}
+		}
+
+		return matriculas;
+	}
+
+	private static String normaliza(String texto) {
+		return texto.toLowerCase(Locale.ROOT);
+	}
+}
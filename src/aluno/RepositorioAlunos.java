@@ -0,0 +1,68 @@
+package aluno;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Representação do armazenamento dos alunos do sistema, indexados pela
+ * matrícula.
+ * 
+ * @author Rayla Medeiros Araújo
+ *
+ */
+public interface RepositorioAlunos {
+
+	/**
+	 * Adiciona um aluno ao repositório.
+	 * 
+	 * @param aluno
+	 *            o aluno a ser adicionado
+	 */
+	public void adiciona(Aluno aluno);
+
+	/**
+	 * Busca um aluno pela matrícula.
+	 * 
+	 * @param matricula
+	 *            a matrícula do aluno
+	 * @return o aluno, ou null caso a matrícula não esteja no repositório
+	 */
+	public Aluno busca(String matricula);
+
+	/**
+	 * Verifica se a matrícula está no repositório.
+	 * 
+	 * @param matricula
+	 *            a matrícula do aluno
+	 * @return boolean true caso a matrícula esteja no repositório
+	 */
+	public boolean contem(String matricula);
+
+	/**
+	 * Lista todos os alunos do repositório.
+	 * 
+	 * @return uma lista com os alunos do repositório
+	 */
+	public List<Aluno> valores();
+
+	/**
+	 * Percorre todos os alunos do repositório, sem necessariamente montar uma
+	 * lista com todos eles.
+	 * 
+	 * @param acao
+	 *            a ação executada para cada aluno
+	 */
+	public default void percorre(Consumer<Aluno> acao) {
+		for (Aluno aluno : this.valores()) {
+			acao.accept(aluno);
+		}
+	}
+
+	public int tamanho();
+
+	/**
+	 * Remove todos os alunos do repositório.
+	 */
+	public void limpa();
+
+}
@@ -0,0 +1,112 @@
+package aluno;
+
+import java.util.List;
+
+import persistencia.ArquivoMapeado;
+
+/**
+ * Repositório de alunos que atende as consultas diretamente de um arquivo
+ * mapeado em memória, sem carregar os alunos persistidos no heap. Os alunos
+ * cadastrados depois da abertura do arquivo são guardados em um repositório
+ * auxiliar, consultado antes do arquivo.
+ * 
+ * @author Rayla Medeiros Araújo
+ *
+ */
+public class RepositorioAlunosMapeado implements RepositorioAlunos {
+
+	private static final int MATRICULA = 0;
+	private static final int NOME = 1;
+	private static final int TELEFONE = 2;
+	private static final int EMAIL = 3;
+	private static final int CODIGO_CURSO = 4;
+	private static final int NOTA_AVALIACAO = 5;
+
+	/**
+	 * Arquivo com os alunos persistidos.
+	 */
+	private ArquivoMapeado arquivo;
+
+	/**
+	 * Alunos cadastrados depois da abertura do arquivo.
+	 */
+	private RepositorioAlunos novos;
+
+	/**
+	 * Construtor da classe.
+	 * 
+	 * @param arquivo
+	 *            o arquivo mapeado com os alunos persistidos
+	 * @param novos
+	 *            o repositório onde serão guardados os novos alunos
+	 */
+	public RepositorioAlunosMapeado(ArquivoMapeado arquivo, RepositorioAlunos novos) {
+		this.arquivo = arquivo;
+		this.novos = novos;
+	}
+
+	/**
+	 * Converte um aluno para o registro gravado no arquivo mapeado.
+	 * 
+	 * @param aluno
+	 *            o aluno a ser convertido
+	 * @return os campos do registro, começando pela matrícula
+	 */
+	public static String[] paraRegistro(Aluno aluno) {
+		return new String[] { aluno.getMatricula(), aluno.getNome(), aluno.getTelefone(), aluno.getEmail(),
+				String.valueOf(aluno.getCodCurso()), String.valueOf(aluno.getNotaAvaliacao()) };
+	}
+
+	@Override
+	public void adiciona(Aluno aluno) {
+		this.novos.adiciona(aluno);
+	}
+
+	@Override
+	public Aluno busca(String matricula) {
+		Aluno aluno = this.novos.busca(matricula);
+		if (aluno == null && this.arquivo != null) {
+			String[] registro = this.arquivo.busca(matricula);
+			if (registro != null) {
+				aluno = deRegistro(registro);
+			}
+		}
+		return aluno;
+	}
+
+	@Override
+	public boolean contem(String matricula) {
+		return this.novos.contem(matricula) || (this.arquivo != null && this.arquivo.contem(matricula));
+	}
+
+	@Override
+	public List<Aluno> valores() {
+		List<Aluno> alunos = this.novos.valores();
+		if (this.arquivo != null) {
+			for (String[] registro : this.arquivo.registros()) {
+				if (!this.novos.contem(registro[MATRICULA])) {
+					alunos.add(deRegistro(registro));
+				}
+			}
+		}
+		return alunos;
+	}
+
+	@Override
+	public int tamanho() {
+		int persistidos = this.arquivo == null ? 0 : this.arquivo.quantidade();
+		return persistidos + this.novos.tamanho();
+	}
+
+	@Override
+	public void limpa() {
+		this.arquivo = null;
+		this.novos.limpa();
+	}
+
+	private static Aluno deRegistro(String[] registro) {
+		return new Aluno(registro[MATRICULA], registro[NOME], registro[TELEFONE], registro[EMAIL],
+				Integer.parseInt(registro[CODIGO_CURSO]), Integer.parseInt(registro[NOTA_AVALIACAO]));
+	}
+
+}
@@ -0,0 +1,64 @@
+package aluno;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Repositório de alunos mantido em um mapa na memória da JVM.
+ * 
+ * @author Rayla Medeiros Araújo
+ *
+ */
+public class RepositorioAlunosMemoria implements RepositorioAlunos {
+
+	/**
+	 * Conjunto de alunos. Possui como chave a matrícula do aluno.
+	 */
+	private Map<String, Aluno> alunos;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public RepositorioAlunosMemoria() {
+		this.alunos = new HashMap<String, Aluno>();
+	}
+
+	@Override
+	public void adiciona(Aluno aluno) {
+		this.alunos.put(aluno.getMatricula(), aluno);
+	}
+
+	@Override
+	public Aluno busca(String matricula) {
+		return this.alunos.get(matricula);
+	}
+
+	@Override
+	public boolean contem(String matricula) {
+		return this.alunos.containsKey(matricula);
+	}
+
+	@Override
+	public List<Aluno> valores() {
+		return new ArrayList<Aluno>(this.alunos.values());
+	}
+
+	@Override
+	public void percorre(Consumer<Aluno> acao) {
+		this.alunos.values().forEach(acao);
+	}
+
+	@Override
+	public int tamanho() {
+		return this.alunos.size();
+	}
+
+	@Override
+	public void limpa() {
+		this.alunos.clear();
+	}
+
+}
@@ -0,0 +1,466 @@
+package aluno;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import util.aluno.MensagemAluno;
+
+/**
+ * Repositório de alunos mantido fora do heap da JVM, em buffers diretos.
+ *
+ * Cada aluno é gravado como um registro de layout fixo na área de dados: o
+ * código do curso, a nota de avaliação e, em seguida, matrícula, nome, telefone
+ * e email, cada um precedido do seu tamanho em bytes (UTF-8). A área de índice
+ * é uma tabela hash de endereçamento aberto, em que cada posição guarda o hash
+ * da matrícula e o deslocamento do registro correspondente.
+ *
+ * Um aluno substituído por outro de mesma matrícula é regravado no lugar do
+ * registro anterior quando cabe nele; caso contrário, o novo registro é
+ * gravado no fim da área de dados e o anterior passa a ser espaço livre. A área
+ * de dados é compactada quando o espaço livre passa de metade da área ocupada,
+ * e as duas áreas voltam ao tamanho inicial quando o repositório é limpo.
+ *
+ * Os alunos retornados pelas buscas são reconstruídos a partir do registro, de
+ * forma que alterações feitas no objeto retornado não são refletidas no
+ * repositório.
+ *
+ * @author Rayla Medeiros Araújo
+ *
+ */
+public class RepositorioAlunosOffHeap implements RepositorioAlunos {
+
+	/**
+	 * Tamanho, em bytes, de uma posição do índice: o hash da matrícula e o
+	 * deslocamento do registro somado de um.
+	 */
+	private static final int TAMANHO_POSICAO = 8;
+
+	/**
+	 * Valor do deslocamento de uma posição vazia do índice.
+	 */
+	private static final int VAZIO = 0;
+
+	/**
+	 * Maior tamanho, em bytes, de um campo de texto do registro.
+	 */
+	private static final int TAMANHO_MAXIMO_CAMPO = 0xFFFF;
+
+	/**
+	 * Área de dados, com os registros dos alunos.
+	 */
+	private ByteBuffer dados;
+
+	/**
+	 * Fim da área de dados ocupada.
+	 */
+	private int fimDados;
+
+	/**
+	 * Quantidade de bytes da área de dados ocupada que não pertencem a nenhum
+	 * registro atual.
+	 */
+	private int livres;
+
+	/**
+	 * Tamanho inicial, em bytes, da área de dados.
+	 */
+	private int capacidadeInicialDados;
+
+	/**
+	 * Quantidade inicial de posições do índice.
+	 */
+	private int posicoesIniciais;
+
+	/**
+	 * Área de índice, com a tabela hash das matrículas.
+	 */
+	private ByteBuffer indice;
+
+	/**
+	 * Quantidade de posições do índice. É sempre uma potência de dois.
+	 */
+	private int posicoesIndice;
+
+	/**
+	 * Quantidade de alunos no repositório.
+	 */
+	private int tamanho;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public RepositorioAlunosOffHeap() {
+		this(1024);
+	}
+
+	/**
+	 * Constrói o repositório com espaço inicial para uma quantidade estimada de
+	 * alunos. As áreas crescem automaticamente quando necessário.
+	 *
+	 * @param capacidadeInicial
+	 *            a quantidade estimada de alunos
+	 */
+	public RepositorioAlunosOffHeap(int capacidadeInicial) {
+		this.posicoesIniciais = Integer.highestOneBit(Math.max(capacidadeInicial, 8) * 2 - 1) * 2;
+		this.capacidadeInicialDados = Math.max(capacidadeInicial, 8) * 96;
+		this.inicializa();
+	}
+
+	/**
+	 * Aloca as áreas de dados e de índice com os tamanhos iniciais.
+	 */
+	private void inicializa() {
+		this.dados = ByteBuffer.allocateDirect(this.capacidadeInicialDados);
+		this.indice = ByteBuffer.allocateDirect(this.posicoesIniciais * TAMANHO_POSICAO);
+		this.posicoesIndice = this.posicoesIniciais;
+		this.fimDados = 0;
+		this.livres = 0;
+		this.tamanho = 0;
+	}
+
+	@Override
+	public void adiciona(Aluno aluno) {
+		byte[] matricula = this.codifica(aluno.getMatricula());
+		byte[] nome = this.codifica(aluno.getNome());
+		byte[] telefone = this.codifica(aluno.getTelefone());
+		byte[] email = this.codifica(aluno.getEmail());
+
+		int hash = espalha(aluno.getMatricula().hashCode());
+		int posicao = this.procura(matricula, hash);
+
+		if (posicao >= 0) {
+			this.substitui(posicao, aluno.getCodCurso(), aluno.getNotaAvaliacao(), matricula, nome, telefone, email);
+			return;
+		}
+
+		int registro = this.gravaRegistro(aluno.getCodCurso(), aluno.getNotaAvaliacao(), matricula, nome, telefone,
+				email);
+
+		posicao = -(posicao + 1);
+		this.indice.putInt(posicao * TAMANHO_POSICAO, hash);
+		this.indice.putInt(posicao * TAMANHO_POSICAO + 4, registro + 1);
+		this.tamanho++;
+
+		if (this.tamanho * 2 > this.posicoesIndice) {
+			this.redimensionaIndice();
+		}
+	}
+
+	@Override
+	public Aluno busca(String matricula) {
+		if (matricula == null) {
+			return null;
+		}
+
+		int posicao = this.procura(this.codifica(matricula), espalha(matricula.hashCode()));
+		if (posicao < 0) {
+			return null;
+		}
+
+		return this.leRegistro(this.indice.getInt(posicao * TAMANHO_POSICAO + 4) - 1);
+	}
+
+	@Override
+	public boolean contem(String matricula) {
+		if (matricula == null) {
+			return false;
+		}
+		return this.procura(this.codifica(matricula), espalha(matricula.hashCode())) >= 0;
+	}
+
+	@Override
+	public List<Aluno> valores() {
+		List<Aluno> alunos = new ArrayList<Aluno>(this.tamanho);
+
+		for (int i = 0; i < this.posicoesIndice; i++) {
+			int registro = this.indice.getInt(i * TAMANHO_POSICAO + 4);
+			if (registro != VAZIO) {
+				alunos.add(this.leRegistro(registro - 1));
+			}
+		}
+
+		return alunos;
+	}
+
+	/**
+	 * Reconstrói um aluno de cada vez, de forma que apenas o aluno atual fica no
+	 * heap.
+	 */
+	@Override
+	public void percorre(Consumer<Aluno> acao) {
+		for (int i = 0; i < this.posicoesIndice; i++) {
+			int registro = this.indice.getInt(i * TAMANHO_POSICAO + 4);
+			if (registro != VAZIO) {
+				acao.accept(this.leRegistro(registro - 1));
+			}
+		}
+	}
+
+	@Override
+	public int tamanho() {
+		return this.tamanho;
+	}
+
+	/**
+	 * Libera as áreas atuais e volta aos tamanhos iniciais.
+	 */
+	@Override
+	public void limpa() {
+		this.inicializa();
+	}
+
+	/**
+	 * @return int a quantidade de bytes ocupados da área de dados, incluindo o
+	 *         espaço livre ainda não compactado
+	 */
+	public int getOcupacaoDados() {
+		return this.fimDados;
+	}
+
+	/**
+	 * @return int o tamanho atual, em bytes, da área de dados
+	 */
+	public int getCapacidadeDados() {
+		return this.dados.capacity();
+	}
+
+	/**
+	 * Substitui o registro de uma posição do índice, regravando-o no mesmo
+	 * lugar quando o novo registro cabe no anterior.
+	 */
+	private void substitui(int posicao, int codCurso, int notaAvaliacao, byte[]... campos) {
+		int registro = this.indice.getInt(posicao * TAMANHO_POSICAO + 4) - 1;
+		int tamanhoAnterior = this.tamanhoRegistro(registro);
+		int tamanhoNovo = tamanhoRegistro(campos);
+
+		if (tamanhoNovo <= tamanhoAnterior) {
+			this.escreveRegistro(registro, codCurso, notaAvaliacao, campos);
+			this.livres += tamanhoAnterior - tamanhoNovo;
+			return;
+		}
+
+		registro = this.gravaRegistro(codCurso, notaAvaliacao, campos);
+		this.indice.putInt(posicao * TAMANHO_POSICAO + 4, registro + 1);
+		this.livres += tamanhoAnterior;
+
+		if (this.livres * 2 > this.fimDados) {
+			this.compacta();
+		}
+	}
+
+	/**
+	 * Regrava os registros atuais em uma nova área de dados, sem o espaço
+	 * livre, e atualiza os deslocamentos do índice.
+	 */
+	private void compacta() {
+		int ocupados = this.fimDados - this.livres;
+		ByteBuffer novo = ByteBuffer.allocateDirect(Math.max(this.capacidadeInicialDados, ocupados * 2));
+		int fim = 0;
+
+		for (int i = 0; i < this.posicoesIndice; i++) {
+			int registro = this.indice.getInt(i * TAMANHO_POSICAO + 4);
+			if (registro == VAZIO) {
+				continue;
+			}
+
+			int tamanhoRegistro = this.tamanhoRegistro(registro - 1);
+			ByteBuffer origem = this.dados.duplicate();
+			origem.position(registro - 1);
+			origem.limit(registro - 1 + tamanhoRegistro);
+			novo.position(fim);
+			novo.put(origem);
+
+			this.indice.putInt(i * TAMANHO_POSICAO + 4, fim + 1);
+			fim += tamanhoRegistro;
+		}
+
+		this.dados = novo;
+		this.fimDados = fim;
+		this.livres = 0;
+	}
+
+	/**
+	 * Calcula o tamanho, em bytes, de um registro gravado.
+	 */
+	private int tamanhoRegistro(int registro) {
+		int posicao = registro + 8;
+		for (int i = 0; i < 4; i++) {
+			posicao += 2 + (this.dados.getShort(posicao) & TAMANHO_MAXIMO_CAMPO);
+		}
+		return posicao - registro;
+	}
+
+	/**
+	 * Calcula o tamanho, em bytes, do registro com os campos informados.
+	 */
+	private static int tamanhoRegistro(byte[]... campos) {
+		int tamanhoRegistro = 8;
+		for (byte[] campo : campos) {
+			tamanhoRegistro += 2 + campo.length;
+		}
+		return tamanhoRegistro;
+	}
+
+	/**
+	 * Procura a posição do índice de uma matrícula.
+	 *
+	 * @return a posição da matrícula, ou o valor negativo -(posição livre + 1)
+	 *         caso a matrícula não esteja no índice
+	 */
+	private int procura(byte[] matricula, int hash) {
+		int mascara = this.posicoesIndice - 1;
+		int posicao = hash & mascara;
+
+		while (true) {
+			int base = posicao * TAMANHO_POSICAO;
+			int registro = this.indice.getInt(base + 4);
+
+			if (registro == VAZIO) {
+				return -(posicao + 1);
+			}
+			if (this.indice.getInt(base) == hash && this.mesmaMatricula(registro - 1, matricula)) {
+				return posicao;
+			}
+
+			posicao = (posicao + 1) & mascara;
+		}
+	}
+
+	/**
+	 * Compara a matrícula de um registro com a matrícula buscada, sem
+	 * reconstruir o registro.
+	 */
+	private boolean mesmaMatricula(int registro, byte[] matricula) {
+		int inicio = registro + 8;
+		int tamanhoCampo = this.dados.getShort(inicio) & TAMANHO_MAXIMO_CAMPO;
+
+		if (tamanhoCampo != matricula.length) {
+			return false;
+		}
+		for (int i = 0; i < tamanhoCampo; i++) {
+			if (this.dados.get(inicio + 2 + i) != matricula[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Grava um registro no fim da área de dados.
+	 *
+	 * @return o deslocamento do registro gravado
+	 */
+	private int gravaRegistro(int codCurso, int notaAvaliacao, byte[]... campos) {
+		this.garanteEspacoDados(tamanhoRegistro(campos));
+
+		int registro = this.fimDados;
+		this.fimDados = this.escreveRegistro(registro, codCurso, notaAvaliacao, campos);
+		return registro;
+	}
+
+	/**
+	 * Escreve um registro a partir de um deslocamento da área de dados.
+	 *
+	 * @return o deslocamento logo após o registro escrito
+	 */
+	private int escreveRegistro(int registro, int codCurso, int notaAvaliacao, byte[]... campos) {
+		int posicao = registro;
+
+		this.dados.putInt(posicao, codCurso);
+		this.dados.putInt(posicao + 4, notaAvaliacao);
+		posicao += 8;
+
+		for (byte[] campo : campos) {
+			this.dados.putShort(posicao, (short) campo.length);
+			posicao += 2;
+			for (int i = 0; i < campo.length; i++) {
+				this.dados.put(posicao + i, campo[i]);
+			}
+			posicao += campo.length;
+		}
+
+		return posicao;
+	}
+
+	/**
+	 * Reconstrói o aluno gravado em um registro.
+	 */
+	private Aluno leRegistro(int registro) {
+		int codCurso = this.dados.getInt(registro);
+		int notaAvaliacao = this.dados.getInt(registro + 4);
+		String[] campos = new String[4];
+
+		int posicao = registro + 8;
+		for (int i = 0; i < campos.length; i++) {
+			int tamanhoCampo = this.dados.getShort(posicao) & TAMANHO_MAXIMO_CAMPO;
+			byte[] bytes = new byte[tamanhoCampo];
+
+			ByteBuffer leitura = this.dados.duplicate();
+			leitura.position(posicao + 2);
+			leitura.get(bytes);
+
+			campos[i] = new String(bytes, StandardCharsets.UTF_8);
+			posicao += 2 + tamanhoCampo;
+		}
+
+		return new Aluno(campos[0], campos[1], campos[2], campos[3], codCurso, notaAvaliacao);
+	}
+
+	private void garanteEspacoDados(int tamanhoRegistro) {
+		if (this.fimDados + tamanhoRegistro <= this.dados.capacity()) {
+			return;
+		}
+
+		int capacidade = Math.max(this.dados.capacity() * 2, this.fimDados + tamanhoRegistro);
+		ByteBuffer novo = ByteBuffer.allocateDirect(capacidade);
+
+		ByteBuffer origem = this.dados.duplicate();
+		origem.position(0);
+		origem.limit(this.fimDados);
+		novo.put(origem);
+
+		this.dados = novo;
+	}
+
+	private void redimensionaIndice() {
+		int posicoes = this.posicoesIndice * 2;
+		int mascara = posicoes - 1;
+		ByteBuffer novo = ByteBuffer.allocateDirect(posicoes * TAMANHO_POSICAO);
+
+		for (int i = 0; i < this.posicoesIndice; i++) {
+			int hash = this.indice.getInt(i * TAMANHO_POSICAO);
+			int registro = this.indice.getInt(i * TAMANHO_POSICAO + 4);
+
+			if (registro != VAZIO) {
+				int posicao = hash & mascara;
+				while (novo.getInt(posicao * TAMANHO_POSICAO + 4) != VAZIO) {
+					posicao = (posicao + 1) & mascara;
+				}
+				novo.putInt(posicao * TAMANHO_POSICAO, hash);
+				novo.putInt(posicao * TAMANHO_POSICAO + 4, registro);
+			}
+		}
+
+		this.indice = novo;
+		this.posicoesIndice = posicoes;
+	}
+
+	private byte[] codifica(String texto) {
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > TAMANHO_MAXIMO_CAMPO) {
+			throw new IllegalArgumentException(MensagemAluno.CAMPO_MUITO_GRANDE.toString());
+		}
+		return bytes;
+	}
+
+	/**
+	 * Espalha os bits do hash da matrícula, para reduzir colisões em tabelas
+	 * cujo tamanho é potência de dois.
+	 */
+	private static int espalha(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
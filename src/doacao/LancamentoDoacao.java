@@ -0,0 +1,95 @@
+package doacao;
+
+/**
+ * Lançamento imutável do diário de doações. Registra o valor doado a um tutor
+ * e como ele foi dividido entre o tutor e o sistema.
+ *
+ * @author Marcus Vinicius
+ */
+public class LancamentoDoacao {
+
+	private long sequencia;
+	private String emailTutor;
+	private long totalCentavos;
+	private long taxaTutor;
+	private long parteSistema;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param sequencia
+	 *            a posição do lançamento no diário
+	 * @param emailTutor
+	 *            o email do tutor que recebeu a doação
+	 * @param totalCentavos
+	 *            o valor total doado, em centavos
+	 * @param taxaTutor
+	 *            a taxa do tutor, em partes por
+	 *            {@link LivroDoacoes#ESCALA_TAXA}
+	 * @param parteSistema
+	 *            a parte da doação destinada ao sistema, em centavos
+	 */
+	LancamentoDoacao(long sequencia, String emailTutor, long totalCentavos, long taxaTutor, long parteSistema) {
+		this.sequencia = sequencia;
+		this.emailTutor = emailTutor;
+		this.totalCentavos = totalCentavos;
+		this.taxaTutor = taxaTutor;
+		this.parteSistema = parteSistema;
+	}
+
+	public long getSequencia() {
+		return this.sequencia;
+	}
+
+	public String getEmailTutor() {
+		return this.emailTutor;
+	}
+
+	public long getTotalCentavos() {
+		return this.totalCentavos;
+	}
+
+	public long getTaxaTutor() {
+		return this.taxaTutor;
+	}
+
+	public long getParteSistema() {
+		return this.parteSistema;
+	}
+
+	public long getParteTutor() {
+		return this.totalCentavos - this.parteSistema;
+	}
+
+	/**
+	 * Codifica o lançamento para o diário persistido, sem a sequência, que é a
+	 * chave do lançamento no diário.
+	 */
+	String codifica() {
+		return this.emailTutor + "\t" + this.totalCentavos + "\t" + this.taxaTutor + "\t" + this.parteSistema;
+	}
+
+	/**
+	 * Reconstrói um lançamento codificado por {@link #codifica()}.
+	 *
+	 * @throws IllegalArgumentException
+	 *             caso o texto não seja um lançamento codificado
+	 */
+	static LancamentoDoacao decodifica(long sequencia, String texto) {
+		String[] campos = texto.split("\t", -1);
+		if (campos.length != 4) {
+			throw new IllegalArgumentException(texto);
+		}
+		return new LancamentoDoacao(sequencia, campos[0], Long.parseLong(campos[1]), Long.parseLong(campos[2]),
+				Long.parseLong(campos[3]));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return this.sequencia + " - " + this.emailTutor + " - " + this.totalCentavos + " (" + this.getParteTutor()
+				+ "/" + this.parteSistema + ")";
+	}
+}
@@ -0,0 +1,234 @@
+package doacao;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.BiConsumer;
+
+import tutor.Tutor;
+
+/**
+ * Liquidação assíncrona de doações.
+ *
+ * As doações são recebidas em uma fila limitada e liquidadas por uma thread
+ * própria, em lotes. Em cada lote as doações são agrupadas por tutor, de forma
+ * que a taxa do tutor seja calculada uma única vez e o tutor seja creditado com
+ * uma única chamada. Cada doação continua sendo lançada individualmente no
+ * {@link LivroDoacoes}, com o mesmo arredondamento da doação síncrona, e é
+ * informada à operação de conclusão depois que o tutor é creditado.
+ *
+ * Quando a fila está cheia, {@link #envia(Tutor, long)} aguarda até que haja
+ * espaço, limitando a quantidade de doações pendentes.
+ *
+ * Um erro na liquidação de um tutor não interrompe a thread de liquidação: as
+ * doações do tutor no lote são contadas como liquidadas com falha, o erro é
+ * guardado em {@link #getUltimaFalha()} e a liquidação continua com os demais
+ * tutores e lotes.
+ *
+ * @author Marcus Vinicius
+ */
+public class LiquidacaoDoacoes {
+
+	/**
+	 * Quantidade máxima de doações liquidadas em um mesmo lote.
+	 */
+	private static final int TAMANHO_LOTE = 256;
+
+	private BlockingQueue<Pendente> fila;
+	private LivroDoacoes livro;
+	private BiConsumer<Tutor, Long> credito;
+	private BiConsumer<Tutor, LancamentoDoacao> conclusao;
+	private Thread liquidante;
+
+	private long enviadas;
+	private long liquidadas;
+	private long falhas;
+	private RuntimeException ultimaFalha;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param capacidade
+	 *            a quantidade máxima de doações aguardando liquidação
+	 * @param livro
+	 *            o livro em que as doações são lançadas
+	 * @param credito
+	 *            a operação que credita ao tutor a sua parte de um lote
+	 */
+	public LiquidacaoDoacoes(int capacidade, LivroDoacoes livro, BiConsumer<Tutor, Long> credito) {
+		this(capacidade, livro, credito, (tutor, lancamento) -> {
+		});
+	}
+
+	/**
+	 * Constrói a liquidação informando cada doação liquidada.
+	 *
+	 * @param capacidade
+	 *            a quantidade máxima de doações aguardando liquidação
+	 * @param livro
+	 *            o livro em que as doações são lançadas
+	 * @param credito
+	 *            a operação que credita ao tutor a sua parte de um lote
+	 * @param conclusao
+	 *            a operação que recebe o tutor e o lançamento de cada doação
+	 *            liquidada, depois que o tutor é creditado
+	 */
+	public LiquidacaoDoacoes(int capacidade, LivroDoacoes livro, BiConsumer<Tutor, Long> credito,
+			BiConsumer<Tutor, LancamentoDoacao> conclusao) {
+		this.fila = new ArrayBlockingQueue<>(capacidade);
+		this.livro = livro;
+		this.credito = credito;
+		this.conclusao = conclusao;
+
+		this.liquidante = new Thread(this::liquida, "liquidacao-doacoes");
+		this.liquidante.setDaemon(true);
+		this.liquidante.start();
+	}
+
+	/**
+	 * Envia uma doação para liquidação, aguardando caso a fila esteja cheia.
+	 * A doação já deve ter sido validada.
+	 *
+	 * @param tutor
+	 *            o tutor que recebe a doação
+	 * @param totalCentavos
+	 *            o valor doado, em centavos
+	 * @throws InterruptedException
+	 *             caso a thread seja interrompida enquanto aguarda espaço na
+	 *             fila
+	 */
+	public void envia(Tutor tutor, long totalCentavos) throws InterruptedException {
+		synchronized (this) {
+			this.enviadas++;
+		}
+		try {
+			this.fila.put(new Pendente(tutor, totalCentavos));
+		} catch (InterruptedException e) {
+			this.conclui(1);
+			throw e;
+		}
+	}
+
+	/**
+	 * Aguarda até que todas as doações enviadas tenham sido liquidadas.
+	 *
+	 * @throws InterruptedException
+	 *             caso a thread seja interrompida enquanto aguarda
+	 */
+	public synchronized void aguarda() throws InterruptedException {
+		while (this.liquidadas < this.enviadas) {
+			this.wait();
+		}
+	}
+
+	/**
+	 * @return long a quantidade de doações enviadas e ainda não liquidadas
+	 */
+	public synchronized long pendentes() {
+		return this.enviadas - this.liquidadas;
+	}
+
+	/**
+	 * @return long a quantidade de doações cuja liquidação falhou
+	 */
+	public synchronized long getFalhas() {
+		return this.falhas;
+	}
+
+	/**
+	 * @return o erro da liquidação que falhou por último, ou null caso nenhuma
+	 *         tenha falhado
+	 */
+	public synchronized RuntimeException getUltimaFalha() {
+		return this.ultimaFalha;
+	}
+
+	/**
+	 * Interrompe a thread de liquidação. Doações ainda na fila são descartadas.
+	 */
+	public void encerra() {
+		this.liquidante.interrupt();
+	}
+
+	private void liquida() {
+		List<Pendente> lote = new ArrayList<>(TAMANHO_LOTE);
+
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				lote.add(this.fila.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+			this.fila.drainTo(lote, TAMANHO_LOTE - 1);
+
+			try {
+				this.liquidaLote(lote);
+			} finally {
+				this.conclui(lote.size());
+				lote.clear();
+			}
+		}
+	}
+
+	private void liquidaLote(List<Pendente> lote) {
+		Map<String, List<Pendente>> porTutor = new LinkedHashMap<>();
+		for (Pendente pendente : lote) {
+			porTutor.computeIfAbsent(pendente.tutor.getEmail(), email -> new ArrayList<>()).add(pendente);
+		}
+
+		for (List<Pendente> grupo : porTutor.values()) {
+			try {
+				this.liquidaTutor(grupo);
+			} catch (RuntimeException e) {
+				this.registraFalha(grupo.size(), e);
+			}
+		}
+	}
+
+	private void liquidaTutor(List<Pendente> grupo) {
+		Tutor tutor = grupo.get(0).tutor;
+		double taxa = tutor.calculaTaxaDoacaoTutor();
+		List<LancamentoDoacao> lancamentos = new ArrayList<>(grupo.size());
+		long parteTutor = 0;
+
+		for (Pendente pendente : grupo) {
+			LancamentoDoacao lancamento = this.livro.registra(tutor.getEmail(), pendente.totalCentavos, taxa);
+			lancamentos.add(lancamento);
+			parteTutor += lancamento.getParteTutor();
+		}
+
+		if (parteTutor > 0) {
+			this.credito.accept(tutor, parteTutor);
+		}
+		for (LancamentoDoacao lancamento : lancamentos) {
+			this.conclusao.accept(tutor, lancamento);
+		}
+	}
+
+	private synchronized void registraFalha(int quantidade, RuntimeException falha) {
+		this.falhas += quantidade;
+		this.ultimaFalha = falha;
+	}
+
+	private synchronized void conclui(int quantidade) {
+		this.liquidadas += quantidade;
+		this.notifyAll();
+	}
+
+	/**
+	 * Doação aguardando liquidação.
+	 */
+	private static class Pendente {
+
+		private Tutor tutor;
+		private long totalCentavos;
+
+		private Pendente(Tutor tutor, long totalCentavos) {
+			this.tutor = tutor;
+			this.totalCentavos = totalCentavos;
+		}
+	}
+}
@@ -0,0 +1,304 @@
+package doacao;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import persistencia.ArmazenamentoMemoria;
+import persistencia.Persistencia;
+import util.persistencia.MensagemPersistencia;
+
+/**
+ * Livro contábil das doações do sistema.
+ *
+ * Os valores são mantidos em centavos, em <code>long</code>. O total do
+ * sistema é um acumulador {@link LongAdder}, que pode ser atualizado por várias
+ * threads sem disputa por um único contador. O total de cada tutor é mantido
+ * no próprio tutor, que é creditado com a parte do lançamento.
+ *
+ * Cada doação também é registrada em um diário que só recebe novos
+ * lançamentos, gravado pela {@link Persistencia}. Os lançamentos ficam em
+ * memória apenas até serem gravados, o que acontece em {@link #grava()} ou
+ * automaticamente quando {@link #LIMITE_PENDENTES} lançamentos aguardam a
+ * gravação. A partir do diário gravado, os totais do sistema e de cada tutor
+ * podem ser auditados e reconstruídos.
+ *
+ * A divisão da doação é feita em ponto fixo: a taxa do tutor é arredondada uma
+ * única vez para partes por {@link #ESCALA_TAXA}, e a parte do sistema é o
+ * teto de <code>total * (ESCALA_TAXA - taxa) / ESCALA_TAXA</code>, calculado
+ * com aritmética inteira.
+ *
+ * @author Marcus Vinicius
+ */
+public class LivroDoacoes {
+
+	/**
+	 * Escala da taxa de doação em ponto fixo: uma taxa de 1.0 vale
+	 * <code>ESCALA_TAXA</code>.
+	 */
+	public static final long ESCALA_TAXA = 1_000_000;
+
+	/**
+	 * Quantidade de lançamentos aguardando a gravação a partir da qual o
+	 * diário é gravado na própria doação. Caso essa gravação falhe, os
+	 * lançamentos continuam aguardando e a falha é lançada pelo próximo
+	 * {@link #grava()}.
+	 */
+	public static final int LIMITE_PENDENTES = 4096;
+
+	private Persistencia persistencia;
+	private LongAdder totalSistema;
+	private ConcurrentLinkedQueue<LancamentoDoacao> pendentes;
+	private AtomicInteger quantidadePendentes;
+	private AtomicLong sequencia;
+
+	/**
+	 * Serializa as gravações do diário.
+	 */
+	private ReentrantLock escrita;
+
+	/**
+	 * Construtor da classe, com o diário gravado em memória.
+	 */
+	public LivroDoacoes() {
+		this(new Persistencia(new ArmazenamentoMemoria()));
+	}
+
+	/**
+	 * Constrói o livro com o diário gravado por uma persistência específica.
+	 *
+	 * @param persistencia
+	 *            a persistência do diário
+	 */
+	public LivroDoacoes(Persistencia persistencia) {
+		this.persistencia = persistencia;
+		this.totalSistema = new LongAdder();
+		this.pendentes = new ConcurrentLinkedQueue<>();
+		this.quantidadePendentes = new AtomicInteger();
+		this.sequencia = new AtomicLong();
+		this.escrita = new ReentrantLock();
+	}
+
+	/**
+	 * Registra uma doação a um tutor, dividindo-a entre o tutor e o sistema.
+	 *
+	 * @param emailTutor
+	 *            o email do tutor
+	 * @param totalCentavos
+	 *            o valor doado, em centavos
+	 * @param taxaTutor
+	 *            a taxa do tutor, entre 0 e 1
+	 * @return o lançamento registrado no diário
+	 */
+	public LancamentoDoacao registra(String emailTutor, long totalCentavos, double taxaTutor) {
+		return this.registraEmPontoFixo(emailTutor, totalCentavos, taxaEmPontoFixo(taxaTutor));
+	}
+
+	/**
+	 * Registra uma doação a um tutor com a taxa já em ponto fixo, como a de um
+	 * lançamento registrado em outro livro.
+	 *
+	 * @param emailTutor
+	 *            o email do tutor
+	 * @param totalCentavos
+	 *            o valor doado, em centavos
+	 * @param taxa
+	 *            a taxa do tutor em partes por {@link #ESCALA_TAXA}
+	 * @return o lançamento registrado no diário
+	 */
+	public LancamentoDoacao registraEmPontoFixo(String emailTutor, long totalCentavos, long taxa) {
+		LancamentoDoacao lancamento = new LancamentoDoacao(this.sequencia.incrementAndGet(), emailTutor,
+				totalCentavos, taxa, parteSistema(totalCentavos, taxa));
+
+		this.totalSistema.add(lancamento.getParteSistema());
+		this.pendentes.add(lancamento);
+
+		if (this.quantidadePendentes.incrementAndGet() >= LIMITE_PENDENTES && this.escrita.tryLock()) {
+			try {
+				this.gravaPendentes();
+			} catch (IOException e) {
+				// os lançamentos continuam pendentes e a falha volta no próximo grava()
+			} finally {
+				this.escrita.unlock();
+			}
+		}
+
+		return lancamento;
+	}
+
+	/**
+	 * Grava no diário os lançamentos registrados desde a última gravação.
+	 *
+	 * @throws IOException
+	 *             caso ocorra um erro na escrita do diário; os lançamentos
+	 *             continuam aguardando a gravação
+	 */
+	public void grava() throws IOException {
+		this.escrita.lock();
+		try {
+			this.gravaPendentes();
+		} finally {
+			this.escrita.unlock();
+		}
+	}
+
+	/**
+	 * @return long o total acumulado pelo sistema, em centavos
+	 */
+	public long totalSistema() {
+		return this.totalSistema.sum();
+	}
+
+	/**
+	 * Grava os lançamentos pendentes e retorna todos os lançamentos do diário,
+	 * em ordem de sequência.
+	 *
+	 * @return a lista de lançamentos
+	 * @throws IOException
+	 *             caso ocorra um erro na escrita ou na leitura do diário
+	 */
+	public List<LancamentoDoacao> lancamentos() throws IOException {
+		this.grava();
+
+		List<LancamentoDoacao> lancamentos = new ArrayList<>();
+		for (Map.Entry<String, String> registro : this.persistencia.carregaDoacoes().entrySet()) {
+			try {
+				lancamentos.add(LancamentoDoacao.decodifica(Long.parseLong(registro.getKey()), registro.getValue()));
+			} catch (IllegalArgumentException e) {
+				throw new IOException(MensagemPersistencia.LANCAMENTO_INVALIDO.toString() + registro.getKey(), e);
+			}
+		}
+		lancamentos.sort(Comparator.comparingLong(LancamentoDoacao::getSequencia));
+		return lancamentos;
+	}
+
+	/**
+	 * Confere o total do sistema e os totais dos tutores contra os lançamentos
+	 * do diário. Deve ser chamada sem doações em andamento.
+	 *
+	 * @param totaisTutores
+	 *            o total recebido por cada tutor, tendo como chave o email do
+	 *            tutor; tutores ausentes são considerados sem doações
+	 * @return boolean true caso os totais estejam de acordo com o diário
+	 * @throws IOException
+	 *             caso ocorra um erro na escrita ou na leitura do diário
+	 */
+	public boolean audita(Map<String, Long> totaisTutores) throws IOException {
+		long conferenciaSistema = 0;
+		Map<String, Long> conferenciaTutores = new HashMap<>();
+
+		for (LancamentoDoacao lancamento : this.lancamentos()) {
+			conferenciaSistema += lancamento.getParteSistema();
+			conferenciaTutores.merge(lancamento.getEmailTutor(), lancamento.getParteTutor(), Long::sum);
+		}
+
+		if (conferenciaSistema != this.totalSistema()) {
+			return false;
+		}
+		for (Map.Entry<String, Long> total : totaisTutores.entrySet()) {
+			if (conferenciaTutores.getOrDefault(total.getKey(), 0L).longValue() != total.getValue()) {
+				return false;
+			}
+		}
+		return totaisTutores.keySet().containsAll(conferenciaTutores.keySet());
+	}
+
+	/**
+	 * Refaz o total do sistema e a sequência a partir do diário gravado, como
+	 * ao carregar um sistema salvo, e calcula o total de cada tutor. Deve ser
+	 * chamada sem doações em andamento.
+	 *
+	 * @return o total recebido por cada tutor com lançamentos no diário, tendo
+	 *         como chave o email do tutor
+	 * @throws IOException
+	 *             caso ocorra um erro na escrita ou na leitura do diário
+	 */
+	public Map<String, Long> reconstroi() throws IOException {
+		Map<String, Long> totaisTutores = new LinkedHashMap<>();
+		long total = 0;
+		long ultimaSequencia = 0;
+
+		for (LancamentoDoacao lancamento : this.lancamentos()) {
+			total += lancamento.getParteSistema();
+			totaisTutores.merge(lancamento.getEmailTutor(), lancamento.getParteTutor(), Long::sum);
+			ultimaSequencia = lancamento.getSequencia();
+		}
+
+		this.totalSistema.reset();
+		this.totalSistema.add(total);
+		this.sequencia.set(ultimaSequencia);
+		return totaisTutores;
+	}
+
+	/**
+	 * Remove todos os lançamentos, inclusive os gravados, e zera o total.
+	 */
+	public void limpa() {
+		this.escrita.lock();
+		try {
+			this.pendentes.clear();
+			this.quantidadePendentes.set(0);
+			this.persistencia.limparDoacoes();
+			this.totalSistema.reset();
+			this.sequencia.set(0);
+		} finally {
+			this.escrita.unlock();
+		}
+	}
+
+	/**
+	 * Converte a taxa do tutor para ponto fixo, arredondando para a parte mais
+	 * próxima.
+	 *
+	 * @param taxa
+	 *            a taxa, entre 0 e 1
+	 * @return long a taxa em partes por {@link #ESCALA_TAXA}
+	 */
+	public static long taxaEmPontoFixo(double taxa) {
+		return Math.round(taxa * ESCALA_TAXA);
+	}
+
+	/**
+	 * Calcula a parte de uma doação destinada ao sistema, arredondada para cima.
+	 *
+	 * @param totalCentavos
+	 *            o valor doado, em centavos
+	 * @param taxa
+	 *            a taxa do tutor em partes por {@link #ESCALA_TAXA}
+	 * @return long a parte do sistema, em centavos
+	 */
+	public static long parteSistema(long totalCentavos, long taxa) {
+		long produto = Math.multiplyExact(totalCentavos, ESCALA_TAXA - taxa);
+		return -Math.floorDiv(-produto, ESCALA_TAXA);
+	}
+
+	/**
+	 * Grava os lançamentos pendentes, removendo-os da fila apenas depois da
+	 * gravação. Deve ser chamado com a escrita bloqueada.
+	 */
+	private void gravaPendentes() throws IOException {
+		Map<String, String> registros = new LinkedHashMap<>();
+		for (LancamentoDoacao lancamento : this.pendentes) {
+			registros.put(Long.toString(lancamento.getSequencia()), lancamento.codifica());
+		}
+		if (registros.isEmpty()) {
+			return;
+		}
+
+		this.persistencia.salvaDoacoes(registros);
+
+		for (int i = 0; i < registros.size(); i++) {
+			this.pendentes.poll();
+		}
+		this.quantidadePendentes.addAndGet(-registros.size());
+	}
+}
@@ -0,0 +1,81 @@
+package evento;
+
+import java.util.function.Consumer;
+
+/**
+ * Posição de leitura de um assinante no {@link BarramentoEventos}. Uma
+ * assinatura deve ser lida por uma única thread; assinantes diferentes leem o
+ * barramento de forma independente.
+ *
+ * @author Marcus Vinicius
+ */
+public class Assinatura {
+
+	private BarramentoEventos barramento;
+
+	/**
+	 * Sequência do próximo evento a ser lido.
+	 */
+	private long proxima;
+
+	/**
+	 * Quantidade de eventos sobrescritos antes de serem lidos.
+	 */
+	private long perdidos;
+
+	Assinatura(BarramentoEventos barramento, long proxima) {
+		this.barramento = barramento;
+		this.proxima = proxima;
+	}
+
+	/**
+	 * Lê o próximo evento, sem aguardar.
+	 *
+	 * @return o próximo evento, ou null caso ainda não tenha sido publicado
+	 */
+	public Evento proximo() {
+		while (true) {
+			Evento evento = this.barramento.evento(this.proxima);
+
+			if (evento == null || evento.getSequencia() < this.proxima) {
+				return null;
+			}
+			if (evento.getSequencia() == this.proxima) {
+				this.proxima++;
+				return evento;
+			}
+
+			long maisAntiga = this.barramento.ultimaSequencia() - this.barramento.capacidade() + 1;
+			this.perdidos += maisAntiga - this.proxima;
+			this.proxima = maisAntiga;
+		}
+	}
+
+	/**
+	 * Entrega ao consumidor todos os eventos já publicados e ainda não lidos.
+	 *
+	 * @param consumidor
+	 *            o consumidor dos eventos
+	 * @return int a quantidade de eventos entregues
+	 */
+	public int consome(Consumer<Evento> consumidor) {
+		int entregues = 0;
+		Evento evento;
+		while ((evento = this.proximo()) != null) {
+			consumidor.accept(evento);
+			entregues++;
+		}
+		return entregues;
+	}
+
+	/**
+	 * @return long a sequência do próximo evento a ser lido
+	 */
+	public long getProxima() {
+		return this.proxima;
+	}
+
+	public long getPerdidos() {
+		return this.perdidos;
+	}
+}
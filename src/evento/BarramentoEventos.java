@@ -0,0 +1,167 @@
+package evento;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de eventos de domínio em anel, sem bloqueios.
+ *
+ * Cada evento publicado recebe uma sequência crescente, começando em 1, e é
+ * gravado na posição do anel correspondente à sequência. Os assinantes leem o
+ * anel de forma independente, cada um com a sua própria posição, e podem
+ * começar a partir de qualquer sequência ainda presente no anel. Quando um
+ * assinante fica mais de uma volta atrás dos publicadores, os eventos
+ * sobrescritos são contados como perdidos e a leitura continua a partir do
+ * evento mais antigo disponível.
+ *
+ * Os componentes que não podem perder eventos, como a replicação, registram
+ * um ouvinte, que recebe cada evento na própria publicação, na thread do
+ * publicador.
+ *
+ * @author Marcus Vinicius
+ */
+public class BarramentoEventos {
+
+	/**
+	 * Capacidade usada pelo construtor padrão.
+	 */
+	public static final int CAPACIDADE_PADRAO = 4096;
+
+	private AtomicReferenceArray<Evento> anel;
+	private int mascara;
+
+	/**
+	 * Próxima sequência a ser atribuída a um evento.
+	 */
+	private AtomicLong proxima;
+
+	private List<Consumer<Evento>> ouvintes;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public BarramentoEventos() {
+		this(CAPACIDADE_PADRAO);
+	}
+
+	/**
+	 * Constrói o barramento com a capacidade informada, arredondada para a
+	 * próxima potência de dois.
+	 *
+	 * @param capacidade
+	 *            a quantidade de eventos mantidos no anel
+	 */
+	public BarramentoEventos(int capacidade) {
+		int tamanho = Integer.highestOneBit(Math.max(capacidade, 2) * 2 - 1);
+
+		this.anel = new AtomicReferenceArray<>(tamanho);
+		this.mascara = tamanho - 1;
+		this.proxima = new AtomicLong(1);
+		this.ouvintes = new CopyOnWriteArrayList<>();
+	}
+
+	/**
+	 * Publica um evento no barramento.
+	 *
+	 * @param tipo
+	 *            o tipo do evento
+	 * @param dados
+	 *            os dados do evento, na ordem descrita por
+	 *            {@link TipoEvento#getDados()}
+	 * @return o evento publicado
+	 */
+	public Evento publica(TipoEvento tipo, String... dados) {
+		Evento evento = new Evento(this.proxima.getAndIncrement(), tipo, dados.clone());
+		int posicao = this.posicao(evento.getSequencia());
+
+		while (true) {
+			Evento atual = this.anel.get(posicao);
+			if (atual != null && atual.getSequencia() > evento.getSequencia()) {
+				break;
+			}
+			if (this.anel.compareAndSet(posicao, atual, evento)) {
+				break;
+			}
+		}
+
+		for (Consumer<Evento> ouvinte : this.ouvintes) {
+			ouvinte.accept(evento);
+		}
+
+		return evento;
+	}
+
+	/**
+	 * Adiciona um ouvinte que recebe, na publicação, todos os eventos a partir
+	 * da sequência retornada. Eventos publicados por threads diferentes podem
+	 * chegar ao ouvinte fora da ordem das sequências, e um evento anterior à
+	 * sequência retornada ainda pode ser entregue.
+	 *
+	 * @param ouvinte
+	 *            o ouvinte dos eventos
+	 * @return long a sequência do primeiro evento garantidamente entregue
+	 */
+	public long adicionaOuvinte(Consumer<Evento> ouvinte) {
+		this.ouvintes.add(ouvinte);
+		return this.proxima.get();
+	}
+
+	/**
+	 * Remove um ouvinte, que deixa de receber os próximos eventos.
+	 *
+	 * @param ouvinte
+	 *            o ouvinte a ser removido
+	 */
+	public void removeOuvinte(Consumer<Evento> ouvinte) {
+		this.ouvintes.remove(ouvinte);
+	}
+
+	/**
+	 * Cria uma assinatura que recebe apenas os eventos publicados a partir de
+	 * agora.
+	 *
+	 * @return a assinatura
+	 */
+	public Assinatura assina() {
+		return new Assinatura(this, this.proxima.get());
+	}
+
+	/**
+	 * Cria uma assinatura que recebe os eventos a partir de uma sequência,
+	 * reproduzindo os eventos já publicados que ainda estejam no anel.
+	 *
+	 * @param sequencia
+	 *            a sequência do primeiro evento desejado
+	 * @return a assinatura
+	 */
+	public Assinatura assinaDesde(long sequencia) {
+		return new Assinatura(this, Math.max(sequencia, 1));
+	}
+
+	/**
+	 * @return long a sequência do último evento publicado, ou zero caso nenhum
+	 *         evento tenha sido publicado
+	 */
+	public long ultimaSequencia() {
+		return this.proxima.get() - 1;
+	}
+
+	public int capacidade() {
+		return this.anel.length();
+	}
+
+	/**
+	 * Retorna o evento gravado na posição do anel de uma sequência, que pode ser
+	 * um evento mais antigo ou mais novo do que o da sequência pedida.
+	 */
+	Evento evento(long sequencia) {
+		return this.anel.get(this.posicao(sequencia));
+	}
+
+	private int posicao(long sequencia) {
+		return (int) (sequencia & this.mascara);
+	}
+}
@@ -0,0 +1,73 @@
+package evento;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evento de domínio imutável, identificado pela sua posição na sequência de
+ * eventos do barramento.
+ *
+ * @author Marcus Vinicius
+ */
+public class Evento {
+
+	private long sequencia;
+	private long momento;
+	private TipoEvento tipo;
+	private String[] dados;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param sequencia
+	 *            a posição do evento no barramento
+	 * @param tipo
+	 *            o tipo do evento
+	 * @param dados
+	 *            os dados do evento, na ordem descrita por
+	 *            {@link TipoEvento#getDados()}
+	 */
+	Evento(long sequencia, TipoEvento tipo, String[] dados) {
+		this.sequencia = sequencia;
+		this.momento = System.currentTimeMillis();
+		this.tipo = tipo;
+		this.dados = dados;
+	}
+
+	public long getSequencia() {
+		return this.sequencia;
+	}
+
+	/**
+	 * @return long o instante da publicação, em milissegundos
+	 */
+	public long getMomento() {
+		return this.momento;
+	}
+
+	public TipoEvento getTipo() {
+		return this.tipo;
+	}
+
+	/**
+	 * @param posicao
+	 *            a posição do dado
+	 * @return String o dado na posição
+	 */
+	public String getDado(int posicao) {
+		return this.dados[posicao];
+	}
+
+	public List<String> getDados() {
+		return Collections.unmodifiableList(Arrays.asList(this.dados));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return this.sequencia + " " + this.tipo + " " + Arrays.toString(this.dados);
+	}
+}
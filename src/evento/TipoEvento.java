@@ -0,0 +1,40 @@
+package evento;
+
+/**
+ * Tipos de eventos de domínio publicados pelo sistema. A descrição de cada tipo
+ * indica, em ordem, os dados carregados pelo evento.
+ *
+ * @author Marcus Vinicius
+ */
+public enum TipoEvento {
+
+	ALUNO_CADASTRADO("nome, matricula, codigoCurso, telefone, email"),
+	TUTOR_CADASTRADO("matricula, disciplina, proficiencia"),
+	DISCIPLINA_CADASTRADA("matricula, disciplina, proficiencia"),
+	HORARIO_CADASTRADO("email, horario, dia"),
+	LOCAL_CADASTRADO("email, local"),
+	AJUDA_PRESENCIAL_PEDIDA("idAjuda, matrAluno, disciplina, horario, dia, localInteresse"),
+	AJUDA_ONLINE_PEDIDA("idAjuda, matrAluno, disciplina"),
+	TUTOR_AVALIADO("idAjuda, nota"),
+	DOACAO_REALIZADA("matriculaTutor, totalCentavos, taxaTutor, parteTutor"),
+	NIVEL_ALTERADO("email, nivelAnterior, nivelAtual"),
+	ORDEM_CONFIGURADA("atributo"),
+	SISTEMA_LIMPO("");
+
+	private String dados;
+
+	/**
+	 * Inicializa os valores de cada enum
+	 * @param dados a descrição dos dados do evento
+	 */
+	private TipoEvento(String dados) {
+		this.dados = dados;
+	}
+
+	/**
+	 * @return String a descrição, em ordem, dos dados carregados pelo evento
+	 */
+	public String getDados() {
+		return this.dados;
+	}
+}
@@ -0,0 +1,41 @@
+package exportacao;
+
+/**
+ * Tipo de entidade exportada. Na exportação paralela, cada tipo é escrito na
+ * sua própria saída.
+ *
+ * @author fanny
+ */
+public enum EntidadeExportada {
+
+	ALUNOS("alunos", "aluno"),
+	TUTORES("tutores", "tutor"),
+	AJUDAS("ajudas", "ajuda"),
+
+	/**
+	 * Totais do sistema, como o total arrecadado em doações.
+	 */
+	RESUMO("resumo", "resumo");
+
+	private String colecao;
+	private String tipo;
+
+	private EntidadeExportada(String colecao, String tipo) {
+		this.colecao = colecao;
+		this.tipo = tipo;
+	}
+
+	/**
+	 * @return o nome da lista das entidades no documento JSON
+	 */
+	public String getColecao() {
+		return this.colecao;
+	}
+
+	/**
+	 * @return o valor do campo <code>tipo</code> de cada linha NDJSON
+	 */
+	public String getTipo() {
+		return this.tipo;
+	}
+}
@@ -0,0 +1,193 @@
+package exportacao;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Escritor de JSON incremental. Cada chamada escreve diretamente na saída, de
+ * forma que o documento nunca é montado em memória; o escritor guarda apenas
+ * se o objeto ou a lista atual já possui algum elemento, para decidir onde vão
+ * as vírgulas.
+ *
+ * @author fanny
+ */
+public class EscritorJson {
+
+	private Writer saida;
+
+	/**
+	 * Informa, para cada objeto ou lista aberto, se ele ainda está vazio.
+	 */
+	private Deque<Boolean> vazios;
+
+	/**
+	 * Informa se o último elemento escrito foi o nome de um campo.
+	 */
+	private boolean aposNome;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param saida
+	 *            onde o JSON é escrito
+	 */
+	public EscritorJson(Writer saida) {
+		this.saida = saida;
+		this.vazios = new ArrayDeque<>();
+	}
+
+	public EscritorJson iniciaObjeto() throws IOException {
+		return this.abre('{');
+	}
+
+	public EscritorJson fechaObjeto() throws IOException {
+		return this.fecha('}');
+	}
+
+	public EscritorJson iniciaLista() throws IOException {
+		return this.abre('[');
+	}
+
+	public EscritorJson fechaLista() throws IOException {
+		return this.fecha(']');
+	}
+
+	/**
+	 * Escreve o nome do próximo campo do objeto atual.
+	 *
+	 * @param nome
+	 *            o nome do campo
+	 * @return o próprio escritor
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita
+	 */
+	public EscritorJson nome(String nome) throws IOException {
+		this.antesDoValor();
+		this.escreveTexto(nome);
+		this.saida.write(':');
+		this.aposNome = true;
+		return this;
+	}
+
+	public EscritorJson valor(String valor) throws IOException {
+		this.antesDoValor();
+		if (valor == null) {
+			this.saida.write("null");
+		} else {
+			this.escreveTexto(valor);
+		}
+		return this;
+	}
+
+	public EscritorJson valor(long valor) throws IOException {
+		this.antesDoValor();
+		this.saida.write(Long.toString(valor));
+		return this;
+	}
+
+	/**
+	 * Escreve um número real. Valores que não são finitos não existem em JSON e
+	 * são escritos como <code>null</code>.
+	 */
+	public EscritorJson valor(double valor) throws IOException {
+		this.antesDoValor();
+		this.saida.write(Double.isFinite(valor) ? Double.toString(valor) : "null");
+		return this;
+	}
+
+	public EscritorJson valor(boolean valor) throws IOException {
+		this.antesDoValor();
+		this.saida.write(valor ? "true" : "false");
+		return this;
+	}
+
+	/**
+	 * Encerra a linha atual. Usado entre os objetos de uma saída NDJSON, que
+	 * não ficam dentro de nenhuma lista.
+	 *
+	 * @return o próprio escritor
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita
+	 */
+	public EscritorJson novaLinha() throws IOException {
+		this.saida.write('\n');
+		return this;
+	}
+
+	public void flush() throws IOException {
+		this.saida.flush();
+	}
+
+	private EscritorJson abre(char inicio) throws IOException {
+		this.antesDoValor();
+		this.saida.write(inicio);
+		this.vazios.push(true);
+		return this;
+	}
+
+	private EscritorJson fecha(char fim) throws IOException {
+		this.vazios.pop();
+		this.saida.write(fim);
+		return this;
+	}
+
+	/**
+	 * Escreve a vírgula que separa o valor do elemento anterior, caso
+	 * necessário.
+	 */
+	private void antesDoValor() throws IOException {
+		if (this.aposNome) {
+			this.aposNome = false;
+			return;
+		}
+		if (this.vazios.isEmpty()) {
+			return;
+		}
+		if (this.vazios.peek()) {
+			this.vazios.pop();
+			this.vazios.push(false);
+		} else {
+			this.saida.write(',');
+		}
+	}
+
+	private void escreveTexto(String texto) throws IOException {
+		this.saida.write('"');
+
+		int inicio = 0;
+		for (int i = 0; i < texto.length(); i++) {
+			char c = texto.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\') {
+				continue;
+			}
+
+			this.saida.write(texto, inicio, i - inicio);
+			inicio = i + 1;
+
+			switch (c) {
+			case '"':
+				this.saida.write("\\\"");
+				break;
+			case '\\':
+				this.saida.write("\\\\");
+				break;
+			case '\n':
+				this.saida.write("\\n");
+				break;
+			case '\r':
+				this.saida.write("\\r");
+				break;
+			case '\t':
+				this.saida.write("\\t");
+				break;
+			default:
+				this.saida.write(String.format("\\u%04x", (int) c));
+			}
+		}
+
+		this.saida.write(texto, inicio, texto.length() - inicio);
+		this.saida.write('"');
+	}
+}
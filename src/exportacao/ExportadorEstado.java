@@ -0,0 +1,266 @@
+package exportacao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import aluno.Aluno;
+import main.Sistema;
+import tutor.HorarioAtendimento;
+import tutor.Tutor;
+import tutor.ajuda.Ajuda;
+import tutor.ajuda.AjudaPresencial;
+import util.TabelaSimbolos;
+
+/**
+ * Exportador do estado completo do sistema: alunos, tutores com as suas
+ * disciplinas, proficiências, horários, locais, avaliações e doações, e as
+ * ajudas pedidas.
+ *
+ * As entidades são percorridas diretamente nos controllers e escritas uma de
+ * cada vez na saída, através de um buffer de tamanho fixo, de forma que a
+ * memória usada não depende da quantidade de entidades. Na exportação
+ * paralela, cada tipo de entidade é escrito na sua própria saída por uma
+ * thread.
+ *
+ * A exportação apenas lê o sistema e não deve ser feita enquanto ele é
+ * alterado.
+ *
+ * @author fanny
+ */
+public class ExportadorEstado {
+
+	/**
+	 * Tamanho, em caracteres, do buffer de escrita de cada saída.
+	 */
+	private static final int TAMANHO_BUFFER = 64 * 1024;
+
+	private Sistema sistema;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param sistema
+	 *            o sistema a ser exportado
+	 */
+	public ExportadorEstado(Sistema sistema) {
+		this.sistema = sistema;
+	}
+
+	/**
+	 * Exporta todas as entidades em uma única saída. A saída não é fechada.
+	 *
+	 * @param saida
+	 *            onde o estado é escrito, em UTF-8
+	 * @param formato
+	 *            o formato da exportação
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita
+	 */
+	public void exporta(OutputStream saida, FormatoExportacao formato) throws IOException {
+		EscritorJson json = escritor(saida);
+
+		if (formato == FormatoExportacao.JSON) {
+			json.iniciaObjeto();
+		}
+		for (EntidadeExportada entidade : EntidadeExportada.values()) {
+			if (formato == FormatoExportacao.JSON) {
+				json.nome(entidade.getColecao());
+			}
+			this.exporta(entidade, json, formato);
+		}
+		if (formato == FormatoExportacao.JSON) {
+			json.fechaObjeto();
+		}
+
+		json.flush();
+	}
+
+	/**
+	 * Exporta cada tipo de entidade em uma saída própria, em paralelo. No
+	 * formato JSON, cada saída recebe uma lista com as entidades do seu tipo,
+	 * ou um objeto no caso do resumo. As saídas não são fechadas.
+	 *
+	 * @param saidas
+	 *            a saída de cada tipo de entidade a ser exportado
+	 * @param formato
+	 *            o formato da exportação
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita de alguma das saídas
+	 */
+	public void exportaParalelo(Map<EntidadeExportada, OutputStream> saidas, FormatoExportacao formato)
+			throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(saidas.size(), 1));
+
+		try {
+			List<Future<Void>> execucoes = new ArrayList<>();
+			for (Map.Entry<EntidadeExportada, OutputStream> saida : saidas.entrySet()) {
+				execucoes.add(executor.submit(() -> {
+					EscritorJson json = escritor(saida.getValue());
+					this.exporta(saida.getKey(), json, formato);
+					json.flush();
+					return null;
+				}));
+			}
+
+			for (Future<Void> execucao : execucoes) {
+				try {
+					execucao.get();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof IOException) {
+						throw (IOException) e.getCause();
+					}
+					throw new IllegalStateException(e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static EscritorJson escritor(OutputStream saida) {
+		return new EscritorJson(
+				new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER));
+	}
+
+	/**
+	 * Escreve as entidades de um tipo: em uma lista, no formato JSON, ou uma
+	 * por linha, no formato NDJSON.
+	 */
+	private void exporta(EntidadeExportada entidade, EscritorJson json, FormatoExportacao formato)
+			throws IOException {
+		boolean lista = formato == FormatoExportacao.JSON && entidade != EntidadeExportada.RESUMO;
+		if (lista) {
+			json.iniciaLista();
+		}
+
+		try {
+			switch (entidade) {
+			case ALUNOS:
+				this.sistema.percorreAlunos(
+						aluno -> registro(json, formato, entidade, () -> escreveAluno(json, aluno)));
+				break;
+			case TUTORES:
+				this.sistema.percorreTutores(
+						tutor -> registro(json, formato, entidade, () -> escreveTutor(json, tutor)));
+				break;
+			case AJUDAS:
+				this.sistema.percorreAjudas(
+						ajuda -> registro(json, formato, entidade, () -> this.escreveAjuda(json, ajuda)));
+				break;
+			case RESUMO:
+				registro(json, formato, entidade,
+						() -> json.nome("totalDoacoes").valor(this.sistema.totalDinheiroSistema()));
+				break;
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		if (lista) {
+			json.fechaLista();
+		}
+	}
+
+	/**
+	 * Escreve o objeto de uma entidade. Os erros de escrita são propagados sem
+	 * verificação, pois as entidades são percorridas pelos controllers.
+	 */
+	private static void registro(EscritorJson json, FormatoExportacao formato, EntidadeExportada entidade,
+			Campos campos) {
+		try {
+			json.iniciaObjeto();
+			if (formato == FormatoExportacao.NDJSON) {
+				json.nome("tipo").valor(entidade.getTipo());
+			}
+			campos.escreve();
+			json.fechaObjeto();
+			if (formato == FormatoExportacao.NDJSON) {
+				json.novaLinha();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void escreveAluno(EscritorJson json, Aluno aluno) throws IOException {
+		json.nome("matricula").valor(aluno.getMatricula());
+		json.nome("nome").valor(aluno.getNome());
+		json.nome("codigoCurso").valor(aluno.getCodCurso());
+		json.nome("telefone").valor(aluno.getTelefone());
+		json.nome("email").valor(aluno.getEmail());
+		json.nome("notaAvaliacao").valor(aluno.getNotaAvaliacao());
+	}
+
+	private static void escreveTutor(EscritorJson json, Tutor tutor) throws IOException {
+		json.nome("matricula").valor(tutor.getMatricula());
+		json.nome("email").valor(tutor.getEmail());
+		json.nome("notaAvaliacao").valor(tutor.getNotaAvaliacao());
+		json.nome("nivel").valor(tutor.getNivel());
+		json.nome("doacoes").valor(tutor.getDoacao());
+
+		json.nome("disciplinas").iniciaLista();
+		for (int id : tutor.getIdsDisciplinas()) {
+			String disciplina = TabelaSimbolos.valor(id);
+			json.iniciaObjeto();
+			json.nome("disciplina").valor(disciplina);
+			json.nome("proficiencia").valor(tutor.getProficiencia(disciplina));
+			json.fechaObjeto();
+		}
+		json.fechaLista();
+
+		json.nome("horarios").iniciaLista();
+		for (HorarioAtendimento horario : tutor.getHorariosDeAtendimento()) {
+			json.iniciaObjeto();
+			json.nome("dia").valor(horario.getDia());
+			json.nome("horario").valor(horario.getHorario());
+			json.fechaObjeto();
+		}
+		json.fechaLista();
+
+		json.nome("locais").iniciaLista();
+		for (String local : tutor.getLocaisDeAtendimento()) {
+			json.valor(local);
+		}
+		json.fechaLista();
+	}
+
+	private void escreveAjuda(EscritorJson json, Ajuda ajuda) throws IOException {
+		json.nome("id").valor(ajuda.getId());
+		json.nome("disciplina").valor(ajuda.getDisciplina());
+		json.nome("tutor").valor(ajuda.getTutor().getMatricula());
+		json.nome("avaliada").valor(this.sistema.ajudaFoiAvaliada(ajuda.getId()));
+
+		if (ajuda instanceof AjudaPresencial) {
+			AjudaPresencial presencial = (AjudaPresencial) ajuda;
+			json.nome("modalidade").valor("presencial");
+			json.nome("dia").valor(presencial.getHorario().getDia());
+			json.nome("horario").valor(presencial.getHorario().getHorario());
+			json.nome("local").valor(presencial.getLocal());
+		} else {
+			json.nome("modalidade").valor("online");
+		}
+	}
+
+	/**
+	 * Campos de uma entidade, escritos dentro do seu objeto.
+	 */
+	private interface Campos {
+
+		void escreve() throws IOException;
+	}
+}
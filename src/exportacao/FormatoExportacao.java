@@ -0,0 +1,20 @@
+package exportacao;
+
+/**
+ * Formato em que o estado do sistema é exportado.
+ *
+ * @author fanny
+ */
+public enum FormatoExportacao {
+
+	/**
+	 * Um único documento JSON, com uma lista para cada tipo de entidade.
+	 */
+	JSON,
+
+	/**
+	 * Um objeto JSON por linha, cada um com o campo <code>tipo</code> indicando
+	 * o tipo da entidade.
+	 */
+	NDJSON;
+}
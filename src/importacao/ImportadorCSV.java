@@ -0,0 +1,478 @@
+package importacao;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import main.Sistema;
+import util.importacao.MensagemImportacao;
+
+/**
+ * Importador em massa de alunos e tutores a partir de arquivos CSV.
+ *
+ * O arquivo é lido em blocos por um {@link FileChannel}, e cada bloco é
+ * dividido em linhas, decodificado e validado em paralelo em um
+ * {@link ForkJoinPool} enquanto o bloco anterior é cadastrado no sistema. Os
+ * cadastros são feitos em lotes, cada lote com uma única aquisição do monitor
+ * do sistema, e na ordem das linhas do arquivo.
+ *
+ * Linhas repetidas são detectadas pela chave do registro em um mapa
+ * concorrente com a primeira linha válida de cada chave, de forma que apenas a
+ * primeira ocorrência é cadastrada, independente da ordem em que as linhas são
+ * validadas. A primeira linha do arquivo é ignorada caso seja o cabeçalho, e
+ * linhas em branco são sempre ignoradas.
+ *
+ * @author fanny
+ */
+public class ImportadorCSV {
+
+	/**
+	 * Tamanho padrão, em bytes, de cada bloco lido do arquivo.
+	 */
+	public static final int TAMANHO_BLOCO_PADRAO = 1 << 20;
+
+	/**
+	 * Quantidade padrão de linhas cadastradas em cada lote.
+	 */
+	public static final int TAMANHO_LOTE_PADRAO = 1000;
+
+	/**
+	 * Quantidade de linhas a partir da qual a validação de um trecho do bloco é
+	 * dividida entre tarefas.
+	 */
+	private static final int LINHAS_POR_TAREFA = 512;
+
+	private Sistema sistema;
+	private ForkJoinPool pool;
+	private int tamanhoLote;
+	private int tamanhoBloco;
+
+	/**
+	 * Construtor da classe. Usa o pool comum de fork-join.
+	 *
+	 * @param sistema
+	 *            o sistema que recebe os registros importados
+	 */
+	public ImportadorCSV(Sistema sistema) {
+		this(sistema, ForkJoinPool.commonPool(), TAMANHO_LOTE_PADRAO, TAMANHO_BLOCO_PADRAO);
+	}
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param sistema
+	 *            o sistema que recebe os registros importados
+	 * @param pool
+	 *            o pool onde as linhas são validadas
+	 * @param tamanhoLote
+	 *            a quantidade de linhas cadastradas em cada lote
+	 * @param tamanhoBloco
+	 *            o tamanho, em bytes, de cada bloco lido do arquivo
+	 */
+	public ImportadorCSV(Sistema sistema, ForkJoinPool pool, int tamanhoLote, int tamanhoBloco) {
+		this.sistema = sistema;
+		this.pool = pool;
+		this.tamanhoLote = tamanhoLote;
+		this.tamanhoBloco = tamanhoBloco;
+	}
+
+	/**
+	 * Importa os alunos de um arquivo com as colunas nome, matrícula, código do
+	 * curso, telefone e email.
+	 *
+	 * @param arquivo
+	 *            o arquivo CSV
+	 * @return o relatório da importação
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura do arquivo
+	 */
+	public RelatorioImportacao importaAlunos(Path arquivo) throws IOException {
+		return this.importa(arquivo, TipoImportacao.ALUNO);
+	}
+
+	/**
+	 * Importa os tutores de um arquivo com as colunas matrícula, disciplina e
+	 * proficiência. Os alunos devem ter sido cadastrados antes.
+	 *
+	 * @param arquivo
+	 *            o arquivo CSV
+	 * @return o relatório da importação
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura do arquivo
+	 */
+	public RelatorioImportacao importaTutores(Path arquivo) throws IOException {
+		return this.importa(arquivo, TipoImportacao.TUTOR);
+	}
+
+	/**
+	 * Importa os registros de um arquivo CSV.
+	 *
+	 * @param arquivo
+	 *            o arquivo CSV
+	 * @param tipo
+	 *            o tipo dos registros do arquivo
+	 * @return o relatório da importação
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura do arquivo
+	 */
+	public RelatorioImportacao importa(Path arquivo, TipoImportacao tipo) throws IOException {
+		long inicio = System.nanoTime();
+		RelatorioImportacao relatorio = new RelatorioImportacao();
+		Map<String, Long> primeiras = new ConcurrentHashMap<>();
+
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			LeitorBlocos leitor = new LeitorBlocos(canal, this.tamanhoBloco);
+			Analise atual = this.analisa(tipo, leitor.proximo(), primeiras);
+
+			while (atual != null) {
+				Analise proxima = this.analisa(tipo, leitor.proximo(), primeiras);
+				atual.join();
+				this.confirma(tipo, atual.resultado, primeiras, relatorio);
+				atual = proxima;
+			}
+		}
+
+		relatorio.concluido(System.nanoTime() - inicio);
+		return relatorio;
+	}
+
+	/**
+	 * Inicia a validação de um bloco no pool.
+	 *
+	 * @return a tarefa de validação, ou null caso não haja bloco
+	 */
+	private Analise analisa(TipoImportacao tipo, Bloco bloco, Map<String, Long> primeiras) {
+		if (bloco == null) {
+			return null;
+		}
+		Analise analise = new Analise(tipo, bloco, new Linha[bloco.tamanho()], primeiras, 0, bloco.tamanho());
+		this.pool.execute(analise);
+		return analise;
+	}
+
+	/**
+	 * Cadastra as linhas válidas de um bloco em lotes e registra os erros no
+	 * relatório.
+	 */
+	private void confirma(TipoImportacao tipo, Linha[] linhas, Map<String, Long> primeiras,
+			RelatorioImportacao relatorio) {
+		List<Linha> lote = new ArrayList<>(this.tamanhoLote);
+
+		for (Linha linha : linhas) {
+			if (linha == null) {
+				continue;
+			}
+			if (linha.erro != null) {
+				relatorio.registraErro(linha.numero, linha.erro);
+				continue;
+			}
+
+			long primeira = primeiras.get(tipo.chave(linha.campos));
+			if (primeira != linha.numero) {
+				relatorio.registraErro(linha.numero,
+						tipo.getPrefixoErro() + MensagemImportacao.CHAVE_REPETIDA.toString() + primeira);
+				continue;
+			}
+
+			lote.add(linha);
+			if (lote.size() == this.tamanhoLote) {
+				this.cadastra(tipo, lote, relatorio);
+				lote.clear();
+			}
+		}
+
+		this.cadastra(tipo, lote, relatorio);
+	}
+
+	private void cadastra(TipoImportacao tipo, List<Linha> lote, RelatorioImportacao relatorio) {
+		if (lote.isEmpty()) {
+			return;
+		}
+
+		synchronized (this.sistema) {
+			for (Linha linha : lote) {
+				try {
+					tipo.aplica(this.sistema, linha.campos);
+					relatorio.registraImportada();
+				} catch (IllegalArgumentException | NoSuchElementException e) {
+					relatorio.registraErro(linha.numero, e.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Divide uma linha em campos separados por vírgula. Campos entre aspas
+	 * duplas podem conter vírgulas, e aspas dentro deles são escritas em dobro.
+	 */
+	static String[] divide(String linha) {
+		List<String> campos = new ArrayList<>();
+		StringBuilder campo = new StringBuilder();
+		int i = 0;
+
+		while (true) {
+			while (i < linha.length() && linha.charAt(i) == ' ') {
+				i++;
+			}
+
+			if (i < linha.length() && linha.charAt(i) == '"') {
+				i++;
+				while (true) {
+					if (i >= linha.length()) {
+						throw new IllegalArgumentException(MensagemImportacao.ASPAS_NAO_FECHADAS.toString());
+					}
+					char c = linha.charAt(i++);
+					if (c != '"') {
+						campo.append(c);
+					} else if (i < linha.length() && linha.charAt(i) == '"') {
+						campo.append('"');
+						i++;
+					} else {
+						break;
+					}
+				}
+				while (i < linha.length() && linha.charAt(i) != ',') {
+					i++;
+				}
+				campos.add(campo.toString());
+			} else {
+				int virgula = linha.indexOf(',', i);
+				int fim = virgula < 0 ? linha.length() : virgula;
+				campos.add(linha.substring(i, fim).trim());
+				i = fim;
+			}
+
+			campo.setLength(0);
+			if (i >= linha.length()) {
+				return campos.toArray(new String[campos.size()]);
+			}
+			i++;
+		}
+	}
+
+	/**
+	 * Linha do arquivo já validada: os seus campos ou a mensagem de erro.
+	 */
+	private static class Linha {
+
+		private long numero;
+		private String[] campos;
+		private String erro;
+
+		private Linha(long numero, String[] campos, String erro) {
+			this.numero = numero;
+			this.campos = campos;
+			this.erro = erro;
+		}
+	}
+
+	/**
+	 * Trecho do arquivo com linhas completas e a posição de cada uma.
+	 */
+	private static class Bloco {
+
+		private byte[] dados;
+		private int[] inicios;
+		private int[] fins;
+		private long primeiraLinha;
+
+		private Bloco(byte[] dados, int[] inicios, int[] fins, long primeiraLinha) {
+			this.dados = dados;
+			this.inicios = inicios;
+			this.fins = fins;
+			this.primeiraLinha = primeiraLinha;
+		}
+
+		private int tamanho() {
+			return this.inicios.length;
+		}
+	}
+
+	/**
+	 * Tarefa que decodifica e valida um trecho das linhas de um bloco,
+	 * dividindo-o ao meio enquanto ele for grande.
+	 */
+	private static class Analise extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private TipoImportacao tipo;
+		private Bloco bloco;
+		private Linha[] resultado;
+		private Map<String, Long> primeiras;
+		private int inicio;
+		private int fim;
+
+		private Analise(TipoImportacao tipo, Bloco bloco, Linha[] resultado, Map<String, Long> primeiras,
+				int inicio, int fim) {
+			this.tipo = tipo;
+			this.bloco = bloco;
+			this.resultado = resultado;
+			this.primeiras = primeiras;
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.fim - this.inicio > LINHAS_POR_TAREFA) {
+				int meio = (this.inicio + this.fim) >>> 1;
+				invokeAll(new Analise(this.tipo, this.bloco, this.resultado, this.primeiras, this.inicio, meio),
+						new Analise(this.tipo, this.bloco, this.resultado, this.primeiras, meio, this.fim));
+				return;
+			}
+
+			for (int i = this.inicio; i < this.fim; i++) {
+				this.resultado[i] = this.analisa(i);
+			}
+		}
+
+		/**
+		 * Valida uma linha, registrando a sua chave caso ela seja válida.
+		 *
+		 * @return a linha validada, ou null caso seja o cabeçalho ou esteja em
+		 *         branco
+		 */
+		private Linha analisa(int indice) {
+			long numero = this.bloco.primeiraLinha + indice;
+			String texto = new String(this.bloco.dados, this.bloco.inicios[indice],
+					this.bloco.fins[indice] - this.bloco.inicios[indice], StandardCharsets.UTF_8);
+
+			if (texto.trim().isEmpty()) {
+				return null;
+			}
+
+			String[] campos;
+			try {
+				campos = divide(texto);
+			} catch (IllegalArgumentException e) {
+				return new Linha(numero, null, this.tipo.getPrefixoErro() + e.getMessage());
+			}
+
+			if (numero == 1 && this.tipo.ehCabecalho(campos)) {
+				return null;
+			}
+
+			try {
+				this.tipo.valida(campos);
+				this.primeiras.merge(this.tipo.chave(campos), numero, Math::min);
+				return new Linha(numero, campos, null);
+			} catch (IllegalArgumentException e) {
+				return new Linha(numero, null, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Leitor do arquivo em blocos de linhas completas. O trecho após a última
+	 * quebra de linha de um bloco é mantido no buffer e inicia o bloco
+	 * seguinte.
+	 */
+	private static class LeitorBlocos {
+
+		private FileChannel canal;
+		private ByteBuffer buffer;
+		private long proximaLinha;
+		private boolean fimArquivo;
+
+		private LeitorBlocos(FileChannel canal, int tamanhoBloco) {
+			this.canal = canal;
+			this.buffer = ByteBuffer.allocate(tamanhoBloco);
+			this.proximaLinha = 1;
+		}
+
+		/**
+		 * Lê o próximo bloco do arquivo.
+		 *
+		 * @return o bloco, ou null caso o arquivo tenha terminado
+		 */
+		private Bloco proximo() throws IOException {
+			int corte;
+
+			while (true) {
+				while (this.buffer.hasRemaining() && !this.fimArquivo) {
+					if (this.canal.read(this.buffer) < 0) {
+						this.fimArquivo = true;
+					}
+				}
+
+				corte = this.fimArquivo ? this.buffer.position() : this.ultimaQuebra() + 1;
+				if (corte > 0 || this.fimArquivo) {
+					break;
+				}
+
+				ByteBuffer maior = ByteBuffer.allocate(this.buffer.capacity() * 2);
+				this.buffer.flip();
+				maior.put(this.buffer);
+				this.buffer = maior;
+			}
+
+			if (corte == 0) {
+				return null;
+			}
+
+			Bloco bloco = this.divide(Arrays.copyOf(this.buffer.array(), corte));
+
+			this.buffer.flip();
+			this.buffer.position(corte);
+			this.buffer.compact();
+
+			return bloco;
+		}
+
+		private int ultimaQuebra() {
+			byte[] dados = this.buffer.array();
+			for (int i = this.buffer.position() - 1; i >= 0; i--) {
+				if (dados[i] == '\n') {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Localiza as linhas de um bloco, descartando as quebras de linha.
+		 */
+		private Bloco divide(byte[] dados) {
+			int quantidade = 0;
+			for (byte b : dados) {
+				if (b == '\n') {
+					quantidade++;
+				}
+			}
+			if (dados[dados.length - 1] != '\n') {
+				quantidade++;
+			}
+
+			int[] inicios = new int[quantidade];
+			int[] fins = new int[quantidade];
+			int inicio = 0;
+
+			for (int linha = 0; linha < quantidade; linha++) {
+				int fim = inicio;
+				while (fim < dados.length && dados[fim] != '\n') {
+					fim++;
+				}
+
+				inicios[linha] = inicio;
+				fins[linha] = fim > inicio && dados[fim - 1] == '\r' ? fim - 1 : fim;
+				inicio = fim + 1;
+			}
+
+			Bloco bloco = new Bloco(dados, inicios, fins, this.proximaLinha);
+			this.proximaLinha += quantidade;
+			return bloco;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package importacao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resultado da importação de um arquivo CSV: quantas linhas foram lidas e
+ * importadas, o erro de cada linha recusada e o tempo gasto.
+ *
+ * @author fanny
+ */
+public class RelatorioImportacao {
+
+	private static final double NANOS_POR_SEGUNDO = 1_000_000_000;
+
+	private long linhas;
+	private long importadas;
+	private long nanos;
+	private List<Erro> erros;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public RelatorioImportacao() {
+		this.erros = new ArrayList<>();
+	}
+
+	void registraImportada() {
+		this.linhas++;
+		this.importadas++;
+	}
+
+	void registraErro(long linha, String mensagem) {
+		this.linhas++;
+		this.erros.add(new Erro(linha, mensagem));
+	}
+
+	void concluido(long nanos) {
+		this.nanos = nanos;
+		Collections.sort(this.erros, Comparator.comparingLong(Erro::getLinha));
+	}
+
+	/**
+	 * @return long a quantidade de linhas de dados lidas, sem contar o
+	 *         cabeçalho e as linhas em branco
+	 */
+	public long getLinhas() {
+		return this.linhas;
+	}
+
+	public long getImportadas() {
+		return this.importadas;
+	}
+
+	/**
+	 * @return os erros das linhas recusadas, em ordem de linha
+	 */
+	public List<Erro> getErros() {
+		return Collections.unmodifiableList(this.erros);
+	}
+
+	public long getNanos() {
+		return this.nanos;
+	}
+
+	/**
+	 * Calcula a vazão da importação.
+	 *
+	 * @return double a quantidade de linhas lidas por segundo, ou zero caso a
+	 *         importação não tenha sido concluída
+	 */
+	public double linhasPorSegundo() {
+		if (this.nanos == 0) {
+			return 0;
+		}
+		return this.linhas / (this.nanos / NANOS_POR_SEGUNDO);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("Linhas: %d - Importadas: %d - Erros: %d - Linhas por segundo: %.0f", this.linhas,
+				this.importadas, this.erros.size(), this.linhasPorSegundo());
+	}
+
+	/**
+	 * Erro de uma linha recusada na importação.
+	 */
+	public static class Erro {
+
+		private long linha;
+		private String mensagem;
+
+		private Erro(long linha, String mensagem) {
+			this.linha = linha;
+			this.mensagem = mensagem;
+		}
+
+		/**
+		 * @return long o número da linha no arquivo, começando em um
+		 */
+		public long getLinha() {
+			return this.linha;
+		}
+
+		public String getMensagem() {
+			return this.mensagem;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return this.linha + " - " + this.mensagem;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package importacao;
+
+import java.util.NoSuchElementException;
+
+import main.Sistema;
+import util.aluno.AlunoValidador;
+import util.controller.ErroController;
+import util.importacao.MensagemImportacao;
+import util.tutor.TutorValidador;
+
+/**
+ * Tipo de registro importado de um arquivo CSV. Define os campos de cada
+ * linha, como a linha é validada e como ela é cadastrada no sistema.
+ *
+ * @author fanny
+ */
+public enum TipoImportacao {
+
+	/**
+	 * Linhas com nome, matrícula, código do curso, telefone e email do aluno.
+	 */
+	ALUNO(5, "nome"),
+
+	/**
+	 * Linhas com matrícula do aluno, disciplina e proficiência do tutor.
+	 */
+	TUTOR(3, "matricula");
+
+	private int campos;
+	private String cabecalho;
+
+	private TipoImportacao(int campos, String cabecalho) {
+		this.campos = campos;
+		this.cabecalho = cabecalho;
+	}
+
+	public int getCampos() {
+		return this.campos;
+	}
+
+	/**
+	 * Verifica se a linha é o cabeçalho do arquivo.
+	 *
+	 * @param campos
+	 *            os campos da linha
+	 * @return boolean true caso o primeiro campo seja o nome da primeira coluna
+	 */
+	public boolean ehCabecalho(String[] campos) {
+		return campos.length > 0 && this.cabecalho.equalsIgnoreCase(campos[0]);
+	}
+
+	/**
+	 * Retorna a chave que identifica o registro, usada para detectar linhas
+	 * repetidas no arquivo.
+	 *
+	 * @param campos
+	 *            os campos da linha
+	 * @return a matrícula do aluno, ou a matrícula e a disciplina do tutor
+	 */
+	public String chave(String[] campos) {
+		if (this == ALUNO) {
+			return campos[1];
+		}
+		return campos[0] + '\t' + campos[1];
+	}
+
+	/**
+	 * Valida os campos de uma linha, sem consultar o sistema.
+	 *
+	 * @param campos
+	 *            os campos da linha
+	 * @exception IllegalArgumentException
+	 *                caso algum campo seja inválido
+	 */
+	public void valida(String[] campos) {
+		if (campos.length != this.campos) {
+			throw new IllegalArgumentException(this.getPrefixoErro()
+					+ MensagemImportacao.QUANTIDADE_CAMPOS_INVALIDA.toString() + campos.length);
+		}
+
+		try {
+			if (this == ALUNO) {
+				AlunoValidador.validaAluno(campos[0], campos[1], campos[3], campos[4], numero(campos[2]));
+			} else {
+				AlunoValidador.validaMatricula(campos[0]);
+				TutorValidador.validaDisciplina(campos[1]);
+				TutorValidador.validaProficiencia(numero(campos[2]));
+			}
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(this.getPrefixoErro() + e.getMessage());
+		}
+	}
+
+	/**
+	 * Cadastra no sistema o registro de uma linha já validada.
+	 *
+	 * @param sistema
+	 *            o sistema que recebe o registro
+	 * @param campos
+	 *            os campos da linha
+	 * @exception IllegalArgumentException
+	 *                caso o sistema recuse o registro
+	 * @exception NoSuchElementException
+	 *                caso o aluno de um tutor não esteja cadastrado
+	 */
+	public void aplica(Sistema sistema, String[] campos) {
+		if (this == ALUNO) {
+			sistema.cadastrarAluno(campos[0], campos[1], numero(campos[2]), campos[3], campos[4]);
+		} else {
+			sistema.tornarTutor(campos[0], campos[1], numero(campos[2]));
+		}
+	}
+
+	/**
+	 * @return o prefixo das mensagens de erro de uma linha desse tipo
+	 */
+	public String getPrefixoErro() {
+		if (this == ALUNO) {
+			return ErroController.CADASTRO_ALUNO_INVALIDO.toString();
+		}
+		return ErroController.TORNA_TUTOR_INVALIDO.toString();
+	}
+
+	private static int numero(String campo) {
+		try {
+			return Integer.parseInt(campo.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(MensagemImportacao.NUMERO_INVALIDO.toString() + campo);
+		}
+	}
+}
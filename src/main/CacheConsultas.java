@@ -0,0 +1,211 @@
+package main;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import util.Validador;
+import util.controller.ErroController;
+
+/**
+ * Cache limitado das consultas mais frequentes do sistema, como
+ * {@link Sistema#recuperaAluno(String)}, {@link Sistema#recuperaTutor(String)}
+ * e {@link Sistema#getInfoAjuda(int, String)}.
+ *
+ * As entradas são agrupadas pelo aluno, tutor ou ajuda consultado, com os
+ * resultados de cada atributo. Quando o cache está cheio, o grupo usado há mais
+ * tempo é removido. Apenas os resultados das consultas bem-sucedidas são
+ * guardados; as consultas que lançam exceção são refeitas a cada chamada. As
+ * entradas são invalidadas pelo sistema nas operações que alteram o aluno, o
+ * tutor ou a ajuda consultados.
+ *
+ * Cada invalidação incrementa a geração do cache, e um resultado calculado só
+ * é guardado se nenhuma invalidação ocorreu durante o cálculo, de forma que um
+ * resultado anterior a uma alteração nunca fique no cache.
+ *
+ * @author Marcus Vinicius
+ */
+public class CacheConsultas {
+
+	/**
+	 * Tipos de consulta guardados no cache.
+	 */
+	public enum TipoConsulta {
+		ALUNO, TUTOR, AJUDA
+	}
+
+	/**
+	 * Capacidade usada pelo construtor padrão.
+	 */
+	public static final int CAPACIDADE_PADRAO = 4096;
+
+	private int capacidade;
+
+	/**
+	 * Resultados guardados. Possui como chave o tipo e o identificador da
+	 * consulta e, como valor, os resultados indexados pelo atributo.
+	 */
+	private LinkedHashMap<String, Map<String, String>> entradas;
+
+	private long geracao;
+	private long acertos;
+	private long falhas;
+	private long remocoes;
+	private long invalidacoes;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public CacheConsultas() {
+		this(CAPACIDADE_PADRAO);
+	}
+
+	/**
+	 * Constrói o cache com uma capacidade específica.
+	 *
+	 * @param capacidade
+	 *            a quantidade máxima de alunos, tutores e ajudas guardados
+	 */
+	public CacheConsultas(int capacidade) {
+		Validador.validaMaiorQueZero(capacidade, ErroController.CAPACIDADE_CACHE_INVALIDA.toString());
+
+		this.capacidade = capacidade;
+		this.entradas = new LinkedHashMap<String, Map<String, String>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Map<String, String>> maisAntiga) {
+				if (size() > CacheConsultas.this.capacidade) {
+					CacheConsultas.this.remocoes++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Retorna o resultado de uma consulta, calculando-o e guardando-o caso ainda
+	 * não esteja no cache. O cálculo é feito fora da sincronização do cache.
+	 *
+	 * @param tipo
+	 *            o tipo da consulta
+	 * @param identificador
+	 *            a matrícula ou o id da ajuda consultados
+	 * @param atributo
+	 *            o atributo consultado, ou null caso a consulta não possua
+	 *            atributo
+	 * @param consulta
+	 *            o cálculo do resultado, usado quando ele não está no cache
+	 * @return String o resultado da consulta
+	 */
+	public String busca(TipoConsulta tipo, String identificador, String atributo, Supplier<String> consulta) {
+		String chave = chave(tipo, identificador);
+		String nomeAtributo = atributo == null ? "" : atributo;
+		long geracaoInicial;
+
+		synchronized (this) {
+			Map<String, String> resultados = this.entradas.get(chave);
+			String resultado = resultados == null ? null : resultados.get(nomeAtributo);
+			if (resultado != null) {
+				this.acertos++;
+				return resultado;
+			}
+			this.falhas++;
+			geracaoInicial = this.geracao;
+		}
+
+		String resultado = consulta.get();
+
+		synchronized (this) {
+			if (resultado != null && this.geracao == geracaoInicial) {
+				this.entradas.computeIfAbsent(chave, c -> new HashMap<>(2)).put(nomeAtributo, resultado);
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Remove os resultados de um aluno, tutor ou ajuda, com todos os atributos
+	 * guardados.
+	 *
+	 * @param tipo
+	 *            o tipo da consulta
+	 * @param identificador
+	 *            a matrícula ou o id da ajuda alterados
+	 */
+	public synchronized void invalida(TipoConsulta tipo, String identificador) {
+		this.geracao++;
+		if (this.entradas.remove(chave(tipo, identificador)) != null) {
+			this.invalidacoes++;
+		}
+	}
+
+	/**
+	 * Remove todas as entradas do cache.
+	 */
+	public synchronized void limpa() {
+		this.geracao++;
+		this.invalidacoes += this.entradas.size();
+		this.entradas.clear();
+	}
+
+	public synchronized int tamanho() {
+		return this.entradas.size();
+	}
+
+	public int getCapacidade() {
+		return this.capacidade;
+	}
+
+	public synchronized long getAcertos() {
+		return this.acertos;
+	}
+
+	public synchronized long getFalhas() {
+		return this.falhas;
+	}
+
+	/**
+	 * @return long a quantidade de entradas removidas por falta de espaço
+	 */
+	public synchronized long getRemocoes() {
+		return this.remocoes;
+	}
+
+	/**
+	 * @return long a quantidade de entradas removidas por alterações no sistema
+	 */
+	public synchronized long getInvalidacoes() {
+		return this.invalidacoes;
+	}
+
+	/**
+	 * Calcula a fração das consultas atendidas pelo cache.
+	 *
+	 * @return double a taxa de acertos, entre zero e um, ou zero caso nenhuma
+	 *         consulta tenha sido feita
+	 */
+	public synchronized double taxaAcertos() {
+		long consultas = this.acertos + this.falhas;
+		if (consultas == 0) {
+			return 0;
+		}
+		return (double) this.acertos / consultas;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format(
+				"Entradas: %d/%d - Acertos: %d - Falhas: %d - Taxa de acertos: %.2f - Remocoes: %d - "
+						+ "Invalidacoes: %d",
+				this.entradas.size(), this.capacidade, this.acertos, this.falhas, this.taxaAcertos(), this.remocoes,
+				this.invalidacoes);
+	}
+
+	private static String chave(TipoConsulta tipo, String identificador) {
+		return tipo.ordinal() + ":" + identificador;
+	}
+}
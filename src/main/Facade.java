@@ -1,5 +1,6 @@
 package main;
 
+import java.io.File;
 import java.io.IOException;
 
 /**
@@ -15,6 +16,16 @@ public class Facade {
 		this.sistema = new Sistema();
 	}
 
+	/**
+	 * Constroi a fachada salvando os dados em um diretorio especifico.
+	 * 
+	 * @param diretorio
+	 *            o diretorio dos arquivos de persistencia
+	 */
+	public Facade(File diretorio) {
+		this.sistema = new Sistema(diretorio);
+	}
+
 	/**
 	 * @see Sistema#cadastrarAluno(String, String, int, String, String)
 	 */
@@ -54,6 +65,14 @@ public class Facade {
 		return sistema.listarAlunos();
 	}
 
+	/**
+	 * @see Sistema#pesquisarAlunos(String, String, int, int)
+	 */
+	public String pesquisarAlunos(String atributo, String termo, int pagina, int tamanhoPagina) {
+
+		return sistema.pesquisarAlunos(atributo, termo, pagina, tamanhoPagina);
+	}
+
 	/**
 	 * @see Sistema#listarTutores()
 	 */
@@ -164,17 +183,101 @@ public class Facade {
 		sistema.doar(matriculaTutor, totalCentavos);
 	}
 	
+	/**
+	 * @see Sistema#melhoresTutores(int)
+	 */
+	public String melhoresTutores(int quantidade) {
+		return sistema.melhoresTutores(quantidade);
+	}
+
+	/**
+	 * @see Sistema#melhoresTutoresDaDisciplina(String, int)
+	 */
+	public String melhoresTutoresDaDisciplina(String disciplina, int quantidade) {
+		return sistema.melhoresTutoresDaDisciplina(disciplina, quantidade);
+	}
+
+	/**
+	 * @see Sistema#contaTutoresPorNivel(String)
+	 */
+	public int contaTutoresPorNivel(String nivel) {
+		return sistema.contaTutoresPorNivel(nivel);
+	}
+
+	/**
+	 * @see Sistema#listarTutoresPorNivel(String)
+	 */
+	public String listarTutoresPorNivel(String nivel) {
+		return sistema.listarTutoresPorNivel(nivel);
+	}
+
+	/**
+	 * @see Sistema#posicaoTutor(String)
+	 */
+	public int posicaoTutor(String matriculaTutor) {
+		return sistema.posicaoTutor(matriculaTutor);
+	}
+
+	/**
+	 * @see Sistema#posicaoTutorNaDisciplina(String, String)
+	 */
+	public int posicaoTutorNaDisciplina(String matriculaTutor, String disciplina) {
+		return sistema.posicaoTutorNaDisciplina(matriculaTutor, disciplina);
+	}
+	
+	/**
+	 * @see Sistema#doarAssincrono(String, int)
+	 */
+	public void doarAssincrono(String matriculaTutor, int totalCentavos) {
+		sistema.doarAssincrono(matriculaTutor, totalCentavos);
+	}
+	
+	/**
+	 * @see Sistema#aguardaDoacoes()
+	 */
+	public void aguardaDoacoes() {
+		sistema.aguardaDoacoes();
+	}
+
+	/**
+	 * @see Sistema#encerraDoacoesAssincronas()
+	 */
+	public void encerraDoacoesAssincronas() {
+		sistema.encerraDoacoesAssincronas();
+	}
+	
 	/**
 	 * @see Sistema#totalDinheiroTutor(String)
 	 */
-	public int totalDinheiroTutor(String emailTutor) {
+	public long totalDinheiroTutor(String emailTutor) {
 		return sistema.totalDinheiroTutor(emailTutor);
 	}
 
-	public int totalDinheiroSistema() {
+	public long totalDinheiroSistema() {
 		return sistema.totalDinheiroSistema();
 	}
 	
+	/**
+	 * @see Sistema#totalDoacoesTutores()
+	 */
+	public long totalDoacoesTutores() {
+		return sistema.totalDoacoesTutores();
+	}
+	
+	/**
+	 * @see Sistema#totalDoacoesTutoresDoCurso(int)
+	 */
+	public long totalDoacoesTutoresDoCurso(int codCurso) {
+		return sistema.totalDoacoesTutoresDoCurso(codCurso);
+	}
+	
+	/**
+	 * @see Sistema#mediaAvaliacaoTutores()
+	 */
+	public double mediaAvaliacaoTutores() {
+		return sistema.mediaAvaliacaoTutores();
+	}
+	
 	/**
 	 * @see Sistema#configuraOrdem(String)
 	 */
@@ -189,6 +292,13 @@ public class Facade {
 		sistema.salvaTutores();
 	}
 
+	/**
+	 * @see Sistema#salvaDoacoes()
+	 */
+	public void salvaDoacoes() throws IOException {
+		sistema.salvaDoacoes();
+	}
+
 	/**
 	 * @see Sistema#salvaAlunos()
 	 */
@@ -203,6 +313,69 @@ public class Facade {
 		sistema.salvaAjudas();
 	}
 
+	/**
+	 * @see Sistema#compactaArquivos()
+	 */
+	public void compactaArquivos() throws IOException {
+		sistema.compactaArquivos();
+	}
+
+	/**
+	 * @see Sistema#ativaPersistenciaAssincrona(long)
+	 */
+	public void ativaPersistenciaAssincrona(long defasagemMaximaMillis) {
+		sistema.ativaPersistenciaAssincrona(defasagemMaximaMillis);
+	}
+
+	/**
+	 * @see Sistema#encerraPersistenciaAssincrona()
+	 */
+	public void encerraPersistenciaAssincrona() throws IOException {
+		sistema.encerraPersistenciaAssincrona();
+	}
+
+	/**
+	 * @see Sistema#flush()
+	 */
+	public void flush() throws IOException {
+		sistema.flush();
+	}
+
+	/**
+	 * @see Sistema#ativaSnapshotsComprimidos()
+	 */
+	public void ativaSnapshotsComprimidos() {
+		sistema.ativaSnapshotsComprimidos();
+	}
+
+	/**
+	 * @see Sistema#getEstatisticasCompressao()
+	 */
+	public String estatisticasCompressao() {
+		return sistema.getEstatisticasCompressao().toString();
+	}
+
+	/**
+	 * @see Sistema#getCacheConsultas()
+	 */
+	public String estatisticasCache() {
+		return sistema.getCacheConsultas().toString();
+	}
+
+	/**
+	 * @see Sistema#salvaMapeado()
+	 */
+	public void salvaMapeado() throws IOException {
+		sistema.salvaMapeado();
+	}
+
+	/**
+	 * @see Sistema#carregaMapeado()
+	 */
+	public void carregaMapeado() throws IOException {
+		sistema.carregaMapeado();
+	}
+
 	/**
 	 * @see Sistema#limpar()
 	 */
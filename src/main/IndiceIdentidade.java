@@ -0,0 +1,128 @@
+package main;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import aluno.Aluno;
+import tutor.Tutor;
+
+/**
+ * Índice que resolve a matrícula de um aluno diretamente para os seus objetos
+ * de aluno e de tutor, evitando que o sistema precise validar o aluno,
+ * recuperar o seu email e só então buscar o tutor.
+ *
+ * O índice pode ser consultado por várias threads e guarda no máximo uma
+ * quantidade limitada de identidades. As matrículas registradas depois que o
+ * índice está cheio são resolvidas pelos controllers a cada consulta.
+ *
+ * @author Marcus Vinicius
+ */
+public class IndiceIdentidade {
+
+	/**
+	 * Quantidade máxima de identidades usada pelo construtor padrão.
+	 */
+	public static final int LIMITE_PADRAO = 1 << 16;
+
+	private int limite;
+
+	/**
+	 * Identidades conhecidas. Possui como chave a matrícula do aluno.
+	 */
+	private Map<String, Identidade> identidades;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public IndiceIdentidade() {
+		this(LIMITE_PADRAO);
+	}
+
+	/**
+	 * Constrói o índice com uma quantidade máxima de identidades específica.
+	 *
+	 * @param limite
+	 *            a quantidade máxima de identidades guardadas
+	 */
+	public IndiceIdentidade(int limite) {
+		this.limite = limite;
+		this.identidades = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Busca a identidade de uma matrícula.
+	 *
+	 * @param matricula
+	 *            a matrícula do aluno
+	 * @return a identidade, ou null caso a matrícula não esteja no índice
+	 */
+	public Identidade busca(String matricula) {
+		return this.identidades.get(matricula);
+	}
+
+	/**
+	 * Registra um aluno no índice, caso ele ainda não esteja cheio.
+	 *
+	 * @param aluno
+	 *            o aluno a ser registrado
+	 * @param tutor
+	 *            o tutor do aluno, ou null caso o aluno não seja tutor
+	 * @return a identidade do aluno, guardada ou não no índice
+	 */
+	public Identidade registra(Aluno aluno, Tutor tutor) {
+		Identidade identidade = new Identidade(aluno, tutor);
+		if (this.identidades.size() < this.limite) {
+			Identidade existente = this.identidades.putIfAbsent(aluno.getMatricula(), identidade);
+			if (existente != null) {
+				return existente;
+			}
+		}
+		return identidade;
+	}
+
+	/**
+	 * Associa um tutor à identidade do seu aluno, caso ela esteja no índice.
+	 *
+	 * @param tutor
+	 *            o tutor a ser associado
+	 */
+	public void registraTutor(Tutor tutor) {
+		Identidade identidade = this.identidades.get(tutor.getMatricula());
+		if (identidade != null) {
+			identidade.tutor = tutor;
+		}
+	}
+
+	/**
+	 * Remove todas as identidades do índice.
+	 */
+	public void limpar() {
+		this.identidades.clear();
+	}
+
+	public int tamanho() {
+		return this.identidades.size();
+	}
+
+	/**
+	 * Aluno e, caso exista, tutor associados a uma matrícula.
+	 */
+	public static class Identidade {
+
+		private final Aluno aluno;
+		private volatile Tutor tutor;
+
+		private Identidade(Aluno aluno, Tutor tutor) {
+			this.aluno = aluno;
+			this.tutor = tutor;
+		}
+
+		public Aluno getAluno() {
+			return this.aluno;
+		}
+
+		public Tutor getTutor() {
+			return this.tutor;
+		}
+	}
+}
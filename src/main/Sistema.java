@@ -2,18 +2,39 @@ package main;
 
 import tutor.Tutor;
 import tutor.TutorController;
+import tutor.ajuda.Ajuda;
 import tutor.ajuda.AjudaController;
+import util.TabelaSimbolos;
 import util.ajuda.AjudaValidator;
 import util.aluno.MensagemAluno;
 import util.controller.ErroController;
-import util.controller.OpcaoController;
 import util.tutor.TutorValidador;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 import aluno.Aluno;
 import aluno.AlunoController;
+import aluno.RepositorioAlunos;
+import aluno.RepositorioAlunosMemoria;
+import aluno.RepositorioAlunosOffHeap;
+import doacao.LancamentoDoacao;
+import doacao.LiquidacaoDoacoes;
+import doacao.LivroDoacoes;
+import evento.BarramentoEventos;
+import evento.TipoEvento;
+import main.CacheConsultas.TipoConsulta;
+import main.IndiceIdentidade.Identidade;
+import persistencia.Armazenamento;
+import persistencia.ArmazenamentoMapeado;
+import persistencia.ArmazenamentoMemoria;
+import persistencia.EstatisticasCompressao;
 import persistencia.Persistencia;
 
 /**
@@ -26,16 +47,87 @@ public class Sistema {
 	private TutorController tutorController;
 	private AlunoController alunoController;
 	private AjudaController ajudaController;
-	private int doacoes;
+	private IndiceIdentidade indice;
+	private LivroDoacoes livroDoacoes;
+	private volatile LiquidacaoDoacoes liquidacao;
+	
+	/**
+	 * Barramento em que são publicados os eventos das operações que alteram o
+	 * sistema, depois de concluídas com sucesso.
+	 */
+	private BarramentoEventos eventos;
+
+	private Persistencia persistencia;
+	
+	/**
+	 * Cache dos resultados de {@link #recuperaAluno(String)},
+	 * {@link #recuperaTutor(String)} e {@link #getInfoAjuda(int, String)},
+	 * invalidado pelas operações que alteram o sistema.
+	 */
+	private CacheConsultas cache;
+	
+	/**
+	 * Quantidade máxima de doações assíncronas aguardando liquidação.
+	 */
+	private static final int CAPACIDADE_LIQUIDACAO = 4096;
 	
 	/**
 	 * Construtor da classe
 	 */
 	public Sistema() {
-		this.tutorController = new TutorController();
-		this.alunoController = new AlunoController();
-		this.ajudaController = new AjudaController();
-		this.doacoes = 0;
+		this(new Persistencia());
+	}
+
+	/**
+	 * Constroi o sistema salvando os dados em um diretorio especifico.
+	 * 
+	 * @param diretorio
+	 *            o diretorio dos arquivos de persistencia
+	 */
+	public Sistema(File diretorio) {
+		this(new Persistencia(diretorio));
+	}
+
+	/**
+	 * Constroi o sistema salvando os dados em um armazenamento especifico, como
+	 * o {@link ArmazenamentoMemoria} ou o {@link ArmazenamentoMapeado}.
+	 * 
+	 * @param armazenamento
+	 *            o local onde os dados serao salvos
+	 */
+	public Sistema(Armazenamento armazenamento) {
+		this(new Persistencia(armazenamento), new RepositorioAlunosMemoria());
+	}
+
+	/**
+	 * Constroi o sistema salvando os dados em um armazenamento especifico e
+	 * guardando os alunos em um repositorio especifico, como o
+	 * {@link RepositorioAlunosOffHeap}.
+	 * 
+	 * @param armazenamento
+	 *            o local onde os dados serao salvos
+	 * @param repositorioAlunos
+	 *            o repositorio dos alunos cadastrados
+	 */
+	public Sistema(Armazenamento armazenamento, RepositorioAlunos repositorioAlunos) {
+		this(new Persistencia(armazenamento), repositorioAlunos);
+	}
+
+	private Sistema(Persistencia persistencia) {
+		this(persistencia, new RepositorioAlunosMemoria());
+	}
+
+	private Sistema(Persistencia persistencia, RepositorioAlunos repositorioAlunos) {
+		this.persistencia = persistencia;
+		this.tutorController = new TutorController(persistencia);
+		this.alunoController = new AlunoController(repositorioAlunos, persistencia);
+		this.ajudaController = new AjudaController(persistencia);
+		this.indice = new IndiceIdentidade();
+		this.livroDoacoes = new LivroDoacoes(persistencia);
+		this.eventos = new BarramentoEventos();
+		this.cache = new CacheConsultas();
+		this.tutorController.adicionaOuvinteNivel((tutor, anterior, atual) -> this.eventos
+				.publica(TipoEvento.NIVEL_ALTERADO, tutor.getEmail(), anterior.toString(), atual.toString()));
 	}
 
 	/**
@@ -44,6 +136,10 @@ public class Sistema {
 	public void cadastrarAluno(String nome, String matricula, int codigoCurso, String telefone, String email) {
 
 		this.alunoController.cadastrarAluno(nome, matricula, codigoCurso, telefone, email);
+		this.cache.invalida(TipoConsulta.ALUNO, matricula);
+		this.cache.invalida(TipoConsulta.TUTOR, matricula);
+		this.eventos.publica(TipoEvento.ALUNO_CADASTRADO, nome, matricula, String.valueOf(codigoCurso), telefone,
+				email);
 	}
 
 	/**
@@ -61,9 +157,11 @@ public class Sistema {
 	 */
 	public void tornarTutor(String matricula, String disciplina, int proficiencia) {
 
+		Identidade identidade;
+
 		try {
 
-			this.alunoController.validaAluno(matricula);
+			identidade = this.identidade(matricula);
 
 		} catch (IllegalArgumentException e) {
 
@@ -77,13 +175,18 @@ public class Sistema {
 
 		}
 
-		String emailTutor = alunoController.getInfoAluno(matricula, OpcaoController.EMAIL.toString());
+		Aluno aluno = identidade.getAluno();
 
-		if (tutorController.existeTutor(emailTutor)) {
-			tutorController.cadastraDisciplina(emailTutor, disciplina, proficiencia);
+		if (identidade.getTutor() != null) {
+			tutorController.cadastraDisciplina(aluno.getEmail(), disciplina, proficiencia);
+			this.cache.invalida(TipoConsulta.TUTOR, matricula);
+			this.eventos.publica(TipoEvento.DISCIPLINA_CADASTRADA, matricula, disciplina,
+					String.valueOf(proficiencia));
 		} else {
-			Aluno aluno = alunoController.getAlunoPelaMatricula(matricula);
 			tutorController.cadastraTutor(disciplina, proficiencia, aluno);
+			this.indice.registraTutor(tutorController.getTutor(aluno.getEmail()));
+			this.cache.invalida(TipoConsulta.TUTOR, matricula);
+			this.eventos.publica(TipoEvento.TUTOR_CADASTRADO, matricula, disciplina, String.valueOf(proficiencia));
 		}
 	}
 
@@ -103,11 +206,98 @@ public class Sistema {
 		return this.tutorController.listarTutores();
 	}
 
+	/**
+	 * @see AlunoController#listarPesquisaAlunos(String, String, int, int)
+	 */
+	public String pesquisarAlunos(String atributo, String termo, int pagina, int tamanhoPagina) {
+		return this.alunoController.listarPesquisaAlunos(atributo, termo, pagina, tamanhoPagina);
+	}
+
+	/**
+	 * @see AlunoController#alunosOrdenados()
+	 */
+	public List<Aluno> alunosOrdenados() {
+		return this.alunoController.alunosOrdenados();
+	}
+
+	/**
+	 * @see TutorController#tutoresOrdenados()
+	 */
+	public List<Tutor> tutoresOrdenados() {
+		return this.tutorController.tutoresOrdenados();
+	}
+
+	/**
+	 * @see AlunoController#getOrdem()
+	 */
+	public Comparator<Aluno> getOrdemAlunos() {
+		return this.alunoController.getOrdem();
+	}
+
+	/**
+	 * @see TutorController#getOrdem()
+	 */
+	public Comparator<Tutor> getOrdemTutores() {
+		return this.tutorController.getOrdem();
+	}
+
+	/**
+	 * @see AlunoController#percorreAlunos(Consumer)
+	 */
+	public void percorreAlunos(Consumer<Aluno> acao) {
+		this.alunoController.percorreAlunos(acao);
+	}
+
+	/**
+	 * @see TutorController#percorreTutores(Consumer)
+	 */
+	public void percorreTutores(Consumer<Tutor> acao) {
+		this.tutorController.percorreTutores(acao);
+	}
+
+	/**
+	 * @see AjudaController#percorreAjudas(Consumer)
+	 */
+	public void percorreAjudas(Consumer<Ajuda> acao) {
+		this.ajudaController.percorreAjudas(acao);
+	}
+
+	/**
+	 * @see AjudaController#foiAvaliada(int)
+	 */
+	public boolean ajudaFoiAvaliada(int idAjuda) {
+		return this.ajudaController.foiAvaliada(idAjuda);
+	}
+
+	/**
+	 * Busca, sem registrar a ajuda, o tutor que seria escolhido para uma ajuda
+	 * presencial.
+	 * 
+	 * @see TutorController#recuperaTutorParaAjudaPresencial(String, String, String, String)
+	 * @return o tutor, ou null caso nenhum tutor atenda a ajuda
+	 */
+	public Tutor candidatoAjudaPresencial(String disciplina, String horario, String dia, String localInteresse) {
+		return this.tutorController.recuperaTutorParaAjudaPresencial(disciplina, horario, dia, localInteresse);
+	}
+
+	/**
+	 * Busca, sem registrar a ajuda, o tutor que seria escolhido para uma ajuda
+	 * online.
+	 * 
+	 * @see TutorController#recuperaTutorParaAjudaOnline(String)
+	 * @return o tutor, ou null caso nenhum tutor atenda a ajuda
+	 */
+	public Tutor candidatoAjudaOnline(String disciplina) {
+		return this.tutorController.recuperaTutorParaAjudaOnline(disciplina);
+	}
+
 	/**
 	 * @see TutorController#cadastrarHorario(String, String, String)
 	 */
 	public void cadastrarHorario(String email, String horario, String dia) {
 		tutorController.cadastrarHorario(email, horario, dia);
+		this.invalidaTutor(email);
+		this.eventos.publica(TipoEvento.HORARIO_CADASTRADO, email, horario, dia);
 	}
 
 	/**
@@ -115,6 +305,8 @@ public class Sistema {
 	 */
 	public void cadastrarLocalDeAtendimento(String email, String local) {
 		tutorController.cadastrarLocalDeAtendimento(email, local);
+		this.invalidaTutor(email);
+		this.eventos.publica(TipoEvento.LOCAL_CADASTRADO, email, local);
 	}
 
 	/**
@@ -137,12 +329,20 @@ public class Sistema {
 
 	/**
 	 * @see TutorController#recuperaTutor(String)
+	 * @see CacheConsultas
 	 */
 	public String recuperaTutor(String matricula) {
 
+		return this.cache.busca(TipoConsulta.TUTOR, matricula, null, () -> this.consultaTutor(matricula));
+	}
+
+	private String consultaTutor(String matricula) {
+
+		Identidade identidade;
+
 		try {
 
-			this.alunoController.validaAluno(matricula);
+			identidade = this.identidade(matricula);
 
 		} catch (IllegalArgumentException e) {
 
@@ -156,18 +356,20 @@ public class Sistema {
 
 		}
 
-		String emailTutor = alunoController.getInfoAluno(matricula, OpcaoController.EMAIL.toString());
-		String resultado = tutorController.recuperaTutor(emailTutor);
+		if (identidade.getTutor() != null) {
+			return identidade.getTutor().toString();
+		}
 
-		return resultado;
+		return tutorController.recuperaTutor(identidade.getAluno().getEmail());
 	}
 
 	/**
 	 * @see AlunoController#recuperaAluno(String)
+	 * @see CacheConsultas
 	 */
 	public String recuperaAluno(String matricula) {
 
-		return alunoController.recuperaAluno(matricula);
+		return this.cache.busca(TipoConsulta.ALUNO, matricula, null, () -> alunoController.recuperaAluno(matricula));
 	}
 
 	/**
@@ -192,7 +394,11 @@ public class Sistema {
 			
 			if (AjudaValidator.validaAjudaPresencial(matrAluno, disciplina, horario, dia, localInteresse, tutor)) {
 
-				return this.ajudaController.cadastrarAjudaPresencial(tutor, disciplina, horario, dia, localInteresse);
+				int idAjuda = this.ajudaController.cadastrarAjudaPresencial(tutor, disciplina, horario, dia,
+						localInteresse);
+				this.eventos.publica(TipoEvento.AJUDA_PRESENCIAL_PEDIDA, String.valueOf(idAjuda), matrAluno,
+						disciplina, horario, dia, localInteresse);
+				return idAjuda;
 			}
 		} catch (IllegalArgumentException e) {
 			throw new IllegalArgumentException(
@@ -213,7 +419,9 @@ public class Sistema {
 
 				Tutor tutor = this.tutorController.recuperaTutorParaAjudaOnline(disciplina);
 
-				return this.ajudaController.cadastraAjudaOnline(tutor, disciplina);
+				int idAjuda = this.ajudaController.cadastraAjudaOnline(tutor, disciplina);
+				this.eventos.publica(TipoEvento.AJUDA_ONLINE_PEDIDA, String.valueOf(idAjuda), matrAluno, disciplina);
+				return idAjuda;
 			}
 		} catch (IllegalArgumentException e) {
 			throw new IllegalArgumentException(
@@ -234,9 +442,11 @@ public class Sistema {
 
 	/**
 	 * @see AjudaController#getInfoAjuda(int, String)
+	 * @see CacheConsultas
 	 */
 	public String getInfoAjuda(int idAjuda, String atributo) {
-		return this.ajudaController.getInfoAjuda(idAjuda, atributo);
+		return this.cache.busca(TipoConsulta.AJUDA, String.valueOf(idAjuda), atributo,
+				() -> this.ajudaController.getInfoAjuda(idAjuda, atributo));
 	}
 
 	/**
@@ -250,10 +460,13 @@ public class Sistema {
 			if(TutorValidador.validaNotaAvaliacao(nota) && ajudaController.validaAjuda(idAjuda)){
 				
 				String matriculaTutor = ajudaController.pegarMatriculaTutor(idAjuda);
-				String emailTutor = getInfoAluno(matriculaTutor, OpcaoController.EMAIL.toString());
+				Tutor tutor = this.tutor(this.identidadeParaInfo(matriculaTutor));
 				
-				tutorController.avaliaTutor(emailTutor, nota);
+				tutorController.aplicaAvaliacao(tutor, nota);
 				ajudaController.setAjudasAvaliadas(idAjuda);
+				this.cache.invalida(TipoConsulta.TUTOR, matriculaTutor);
+				this.cache.invalida(TipoConsulta.AJUDA, String.valueOf(idAjuda));
+				this.eventos.publica(TipoEvento.TUTOR_AVALIADO, String.valueOf(idAjuda), String.valueOf(nota));
 			}
 		}catch(IllegalArgumentException iae) {
 			throw new IllegalArgumentException(
@@ -267,18 +480,96 @@ public class Sistema {
 	}
 
 	/**
-	 * @see TutorController#retornaNotaAvaliacao(String)
+	 * @see TutorController#retornaNotaAvaliacaoTutor(Tutor)
 	 */
 	public String pegaNota(String matriculaTutor) {
-		return tutorController.retornaNotaAvaliacao(getInfoAluno(matriculaTutor, 
-				OpcaoController.EMAIL.toString()));
+		return tutorController.retornaNotaAvaliacaoTutor(this.tutor(this.identidadeParaInfo(matriculaTutor)));
 	}
 
 	/**
-	 * @see TutorController#retornaNivel(String)
+	 * @see TutorController#retornaNivelTutor(Tutor)
 	 */
 	public String pegaNivel(String matriculaTutor) {
-		return tutorController.retornaNivel(getInfoAluno(matriculaTutor, OpcaoController.EMAIL.toString()));
+		return tutorController.retornaNivelTutor(this.tutor(this.identidadeParaInfo(matriculaTutor)));
+	}
+	
+	/**
+	 * @see TutorController#melhoresTutores(int)
+	 */
+	public String melhoresTutores(int quantidade) {
+		try {
+			return tutorController.melhoresTutores(quantidade);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(ErroController.CONSULTA_CLASSIFICACAO_INVALIDA.toString() + e.getMessage());
+		}
+	}
+
+	/**
+	 * @see TutorController#melhoresTutoresDaDisciplina(String, int)
+	 */
+	public String melhoresTutoresDaDisciplina(String disciplina, int quantidade) {
+		try {
+			return tutorController.melhoresTutoresDaDisciplina(disciplina, quantidade);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(ErroController.CONSULTA_CLASSIFICACAO_INVALIDA.toString() + e.getMessage());
+		}
+	}
+
+	/**
+	 * @see TutorController#contaTutoresPorNivel(String)
+	 */
+	public int contaTutoresPorNivel(String nivel) {
+		try {
+			return tutorController.contaTutoresPorNivel(nivel);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(ErroController.CONSULTA_NIVEL_INVALIDA.toString() + e.getMessage());
+		}
+	}
+
+	/**
+	 * @see TutorController#listarTutoresPorNivel(String)
+	 */
+	public String listarTutoresPorNivel(String nivel) {
+		try {
+			return tutorController.listarTutoresPorNivel(nivel);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(ErroController.CONSULTA_NIVEL_INVALIDA.toString() + e.getMessage());
+		}
+	}
+
+	/**
+	 * @see TutorController#posicaoTutor(Tutor)
+	 */
+	public int posicaoTutor(String matriculaTutor) {
+		return tutorController.posicaoTutor(this.tutorDaClassificacao(matriculaTutor));
+	}
+
+	/**
+	 * @see TutorController#posicaoTutorNaDisciplina(Tutor, String)
+	 */
+	public int posicaoTutorNaDisciplina(String matriculaTutor, String disciplina) {
+		Tutor tutor = this.tutorDaClassificacao(matriculaTutor);
+		try {
+			return tutorController.posicaoTutorNaDisciplina(tutor, disciplina);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(ErroController.CONSULTA_CLASSIFICACAO_INVALIDA.toString() + e.getMessage());
+		} catch (NoSuchElementException e) {
+			throw new NoSuchElementException(ErroController.CONSULTA_CLASSIFICACAO_INVALIDA.toString() + e.getMessage());
+		}
+	}
+
+	/**
+	 * Resolve o tutor de uma consulta de classificacao.
+	 */
+	private Tutor tutorDaClassificacao(String matriculaTutor) {
+		try {
+			return this.tutor(this.identidade(matriculaTutor));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(ErroController.CONSULTA_CLASSIFICACAO_INVALIDA.toString() + e.getMessage());
+		} catch (NoSuchElementException e) {
+			throw new NoSuchElementException(ErroController.CONSULTA_CLASSIFICACAO_INVALIDA.toString() +
+												ErroController.TUTOR_NAO_ENCONTRADO.toString());
+		}
 	}
 	
 	/**
@@ -288,16 +579,124 @@ public class Sistema {
 	 */
 	public void doar(String matriculaTutor, int totalCentavos) {
 		
-		String emailAluno = "";
+		Tutor tutor = this.tutorDaDoacao(matriculaTutor, totalCentavos);
+		
 		try {
 			
-			if(this.alunoController.validaAluno(matriculaTutor)){
-				
-				emailAluno = getInfoAluno(matriculaTutor, OpcaoController.EMAIL.toString());
-				tutorController.doar(emailAluno, totalCentavos - this.calculoDoacao(emailAluno, totalCentavos));
+			LancamentoDoacao lancamento = this.livroDoacoes.registra(tutor.getEmail(), totalCentavos,
+					tutor.calculaTaxaDoacaoTutor());
+			tutorController.creditaDoacao(tutor, lancamento.getParteTutor());
+			this.concluiDoacao(tutor, lancamento);
 			
-			}
+		}catch(IllegalArgumentException e) {
+			throw new IllegalArgumentException(ErroController.DOACAO_INVALIDA.toString() +
+					e.getMessage());
+		}
+	}
+	
+	/**
+	 * Valida a doação e a envia para a liquidação assíncrona, que calcula a taxa
+	 * e credita o tutor em lotes. Os totais só refletem a doação depois que ela
+	 * for liquidada; use {@link #aguardaDoacoes()} para esperar a liquidação.
+	 * O evento da doação é publicado na liquidação, com a parte creditada ao
+	 * tutor.
+	 * 
+	 * @param matriculaTutor
+	 * @param totalCentavos
+	 */
+	public void doarAssincrono(String matriculaTutor, int totalCentavos) {
+		
+		Tutor tutor = this.tutorDaDoacao(matriculaTutor, totalCentavos);
+		
+		try {
+			this.liquidacao().envia(tutor, totalCentavos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ErroController.DOACAO_INVALIDA.toString() + 
+												ErroController.DOACAO_INTERROMPIDA.toString());
+		}
+	}
+	
+	/**
+	 * Registra uma doação já liquidada em outro sistema, com a mesma taxa, como
+	 * as doações replicadas do primário.
+	 * 
+	 * @param matriculaTutor
+	 * @param totalCentavos
+	 * @param taxaTutor
+	 *            a taxa do tutor em partes por {@link LivroDoacoes#ESCALA_TAXA}
+	 * @return o lançamento da doação
+	 */
+	public LancamentoDoacao registraDoacaoLiquidada(String matriculaTutor, long totalCentavos, long taxaTutor) {
+		
+		Tutor tutor = this.tutorDaDoacao(matriculaTutor, totalCentavos);
+		
+		LancamentoDoacao lancamento = this.livroDoacoes.registraEmPontoFixo(tutor.getEmail(), totalCentavos,
+				taxaTutor);
+		tutorController.creditaDoacao(tutor, lancamento.getParteTutor());
+		this.concluiDoacao(tutor, lancamento);
+		return lancamento;
+	}
+	
+	/**
+	 * Invalida o tutor creditado no cache e publica o evento da doação.
+	 */
+	private void concluiDoacao(Tutor tutor, LancamentoDoacao lancamento) {
+		this.cache.invalida(TipoConsulta.TUTOR, tutor.getMatricula());
+		this.eventos.publica(TipoEvento.DOACAO_REALIZADA, tutor.getMatricula(),
+				String.valueOf(lancamento.getTotalCentavos()), String.valueOf(lancamento.getTaxaTutor()),
+				String.valueOf(lancamento.getParteTutor()));
+	}
+	
+	/**
+	 * Aguarda a liquidação de todas as doações assíncronas já enviadas.
+	 */
+	public void aguardaDoacoes() {
+		this.aguarda(this.liquidacao);
+	}
+	
+	/**
+	 * Aguarda a liquidação das doações assíncronas já enviadas e encerra a
+	 * thread de liquidação, que é criada novamente na próxima doação
+	 * assíncrona.
+	 */
+	public void encerraDoacoesAssincronas() {
+		LiquidacaoDoacoes encerrada = this.retiraLiquidacao();
+		
+		if (encerrada != null) {
+			this.aguarda(encerrada);
+			encerrada.encerra();
+		}
+	}
+	
+	private void aguarda(LiquidacaoDoacoes liquidacao) {
+		
+		if (liquidacao == null) {
+			return;
+		}
+		
+		try {
+			liquidacao.aguarda();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ErroController.DOACAO_INTERROMPIDA.toString());
+		}
+	}
+	
+	/**
+	 * Resolve o tutor que receberá uma doação, validando o valor doado.
+	 * 
+	 * @param matriculaTutor
+	 * @param totalCentavos
+	 * @return o tutor
+	 */
+	private Tutor tutorDaDoacao(String matriculaTutor, long totalCentavos) {
+		
+		try {
 			
+			Tutor tutor = this.tutor(this.identidade(matriculaTutor));
+			TutorValidador.validaDoacao(totalCentavos);
+			return tutor;
 			
 		}catch(IllegalArgumentException e) {
 			throw new IllegalArgumentException(ErroController.DOACAO_INVALIDA.toString() +
@@ -308,38 +707,120 @@ public class Sistema {
 												ErroController.TUTOR_NAO_ENCONTRADO.toString());
 		}
 	}
+	
+	/**
+	 * Cria a liquidação de doações na primeira doação assíncrona. É
+	 * sincronizado para que doações assíncronas simultâneas não criem mais de
+	 * uma liquidação.
+	 */
+	private synchronized LiquidacaoDoacoes liquidacao() {
+		if (this.liquidacao == null) {
+			this.liquidacao = new LiquidacaoDoacoes(CAPACIDADE_LIQUIDACAO, this.livroDoacoes,
+					this.tutorController::creditaDoacao, this::concluiDoacao);
+		}
+		return this.liquidacao;
+	}
+	
+	private synchronized LiquidacaoDoacoes retiraLiquidacao() {
+		LiquidacaoDoacoes retirada = this.liquidacao;
+		this.liquidacao = null;
+		return retirada;
+	}
 
-	public int totalDinheiroTutor(String emailTutor) {
+	public long totalDinheiroTutor(String emailTutor) {
 		return tutorController.totalDinheiroTutor(emailTutor);
 	}
 	
-	/** Calcula a parte da doação que será acumulada pelo sistema
+	/**
+	 * Método que retorna o total arrecadado pelas doações
 	 * 
-	 * @param emailTutor
-	 * @param totalCentavos
-	 * @return
+	 * @return long o total do sistema, em centavos
 	 */
-	private int calculoDoacao(String emailTutor, int totalCentavos) {
-		
-		double taxaTutor = 0;
-		int valorAoSistema = 0;
-		
-		if(tutorController.existeTutor(emailTutor) && TutorValidador.validaDoacao(totalCentavos)){
-			taxaTutor = tutorController.getTaxaDoacaoTutor(emailTutor);
-			valorAoSistema =  (int)Math.ceil((1 - taxaTutor) * totalCentavos);
-			this.doacoes += valorAoSistema;
-		}
+	public long totalDinheiroSistema() {
+		return this.livroDoacoes.totalSistema();
+	}
+	
+	/**
+	 * Retorna o total recebido em doações por todos os tutores. As doações
+	 * assíncronas só são somadas depois de liquidadas.
+	 * 
+	 * @return long o total dos tutores, em centavos
+	 */
+	public long totalDoacoesTutores() {
+		return tutorController.totalDoacoesTutores();
+	}
+	
+	/**
+	 * Retorna o total recebido em doações pelos tutores de um curso.
+	 * 
+	 * @param codCurso
+	 *            o código do curso
+	 * @return long o total dos tutores do curso, em centavos
+	 */
+	public long totalDoacoesTutoresDoCurso(int codCurso) {
+		return tutorController.totalDoacoesTutoresDoCurso(codCurso);
+	}
+	
+	/**
+	 * Retorna a média das notas de avaliação dos tutores.
+	 * 
+	 * @return double a média das notas, ou zero caso não haja tutores
+	 */
+	public double mediaAvaliacaoTutores() {
+		return tutorController.mediaAvaliacaoTutores();
+	}
+	
+	/**
+	 * Retorna o cache das consultas do sistema, com as suas estatísticas.
+	 * 
+	 * @return o cache de consultas
+	 */
+	public CacheConsultas getCacheConsultas() {
+		return this.cache;
+	}
+
+	/**
+	 * Retorna o barramento de eventos do sistema, para que outros componentes
+	 * possam assinar as alterações.
+	 * 
+	 * @return o barramento de eventos
+	 */
+	public BarramentoEventos getBarramentoEventos() {
+		return this.eventos;
+	}
+	
+	/**
+	 * Confere o total do sistema e o total de cada tutor contra o diário de
+	 * doações, depois de aguardar a liquidação das doações assíncronas.
+	 * 
+	 * @return boolean true caso os totais estejam de acordo com o diário
+	 * @throws IOException
+	 *             caso ocorra um erro na leitura do diário
+	 * @see LivroDoacoes#audita(Map)
+	 */
+	public boolean auditaDoacoes() throws IOException {
+		this.aguardaDoacoes();
 		
-		return valorAoSistema;
+		Map<String, Long> totaisTutores = new HashMap<>();
+		this.tutorController.percorreTutores(tutor -> totaisTutores.put(tutor.getEmail(), tutor.getDoacao()));
+		return this.livroDoacoes.audita(totaisTutores);
 	}
 	
 	/**
-	 * Método que retorna o total arrecadado pelas doações
+	 * Refaz o total do sistema e o total de cada tutor a partir do diário de
+	 * doações, depois de aguardar a liquidação das doações assíncronas.
 	 * 
-	 * @return
+	 * @throws IOException
+	 *             caso ocorra um erro na leitura do diário
+	 * @see LivroDoacoes#reconstroi()
 	 */
-	public int totalDinheiroSistema() {
-		return this.doacoes;
+	public void reconstroiDoacoes() throws IOException {
+		this.aguardaDoacoes();
+		
+		Map<String, Long> totaisTutores = this.livroDoacoes.reconstroi();
+		this.tutorController.percorreTutores(tutor -> this.tutorController.redefineDoacao(tutor,
+				totaisTutores.getOrDefault(tutor.getEmail(), 0L)));
+		this.cache.limpa();
 	}
 	
 	/**
@@ -350,18 +831,29 @@ public class Sistema {
 	public void configuraOrdem(String atributo) {
 		tutorController.configuraOrdem(atributo);
 		alunoController.configuraOrdem(atributo);
+		this.eventos.publica(TipoEvento.ORDEM_CONFIGURADA, atributo);
 	}
 
 	/**
-	 * @see Persistencia#salvarTutores(String) 
+	 * @see Persistencia#salvaTutores(java.util.Map)
 	 *
 	 */
 	public void salvaTutores() throws IOException {
 		tutorController.salvaTutores();
+		this.livroDoacoes.grava();
 	}
 
 	/**
-	 * @see Persistencia#salvarAlunos(String) 
+	 * Grava no diário as doações registradas desde a última gravação.
+	 * 
+	 * @see LivroDoacoes#grava()
+	 */
+	public void salvaDoacoes() throws IOException {
+		this.livroDoacoes.grava();
+	}
+
+	/**
+	 * @see Persistencia#salvaAlunos(java.util.Map)
 	 *
 	 */
 	public void salvaAlunos() throws IOException {
@@ -369,19 +861,154 @@ public class Sistema {
 	}
 
 	/**
-	 * @see Persistencia#salvaAjudas(String)
+	 * @see Persistencia#salvaAjudas(java.util.Map)
 	 */
 	public void salvaAjudas() throws IOException {
 		ajudaController.salvaAjudas();
 	}
+
+	/**
+	 * @see Persistencia#compacta()
+	 */
+	public void compactaArquivos() throws IOException {
+		persistencia.compacta();
+	}
+
+	/**
+	 * @see Persistencia#ativaModoAssincrono(long)
+	 */
+	public void ativaPersistenciaAssincrona(long defasagemMaximaMillis) {
+		persistencia.ativaModoAssincrono(defasagemMaximaMillis);
+	}
+
+	/**
+	 * @see Persistencia#encerraModoAssincrono()
+	 */
+	public void encerraPersistenciaAssincrona() throws IOException {
+		persistencia.encerraModoAssincrono();
+	}
+
+	/**
+	 * @see Persistencia#flush()
+	 */
+	public void flush() throws IOException {
+		persistencia.flush();
+	}
+
+	/**
+	 * @see Persistencia#ativaSnapshotsComprimidos()
+	 */
+	public void ativaSnapshotsComprimidos() {
+		persistencia.ativaSnapshotsComprimidos();
+	}
+
+	/**
+	 * @see Persistencia#getEstatisticasCompressao()
+	 */
+	public EstatisticasCompressao getEstatisticasCompressao() {
+		return persistencia.getEstatisticasCompressao();
+	}
+	
+	/**
+	 * Salva alunos e tutores no formato mapeavel.
+	 * 
+	 * @see AlunoController#salvaAlunosMapeados()
+	 * @see TutorController#salvaTutoresMapeados()
+	 */
+	public void salvaMapeado() throws IOException {
+		alunoController.salvaAlunosMapeados();
+		tutorController.salvaTutoresMapeados();
+	}
+
+	/**
+	 * Passa a atender as consultas de alunos e tutores persistidos diretamente
+	 * dos arquivos mapeados, sem carregar os dados no heap.
+	 * 
+	 * @see AlunoController#carregaAlunosMapeados()
+	 * @see TutorController#carregaTutoresMapeados()
+	 */
+	public void carregaMapeado() throws IOException {
+		alunoController.carregaAlunosMapeados();
+		tutorController.carregaTutoresMapeados();
+		this.cache.limpa();
+	}
 	
 	/**
 	 * Limpa todos os dados cadastrados no sistema
 	 */
 	public void limpar(){
+		this.encerraDoacoesAssincronas();
 		this.tutorController.limpar();
 		this.ajudaController.limpar();
 		this.alunoController.limpar();
+		this.indice.limpar();
+		this.livroDoacoes.limpa();
+		this.cache.limpa();
+		TabelaSimbolos.limpaGrafias();
+		this.eventos.publica(TipoEvento.SISTEMA_LIMPO);
+	}
+	
+	/**
+	 * Resolve a identidade de uma matricula pelo indice, recorrendo aos
+	 * controllers apenas na primeira consulta da matricula.
+	 * 
+	 * @param matricula
+	 *            a matricula do aluno
+	 * @return a identidade do aluno
+	 * @throws IllegalArgumentException
+	 *             caso a matricula seja invalida
+	 * @throws NoSuchElementException
+	 *             caso o aluno nao esteja cadastrado
+	 * @see AlunoController#validaAluno(String)
+	 */
+	private Identidade identidade(String matricula) {
+		Identidade identidade = this.indice.busca(matricula);
+		
+		if (identidade == null && this.alunoController.validaAluno(matricula)) {
+			Aluno aluno = this.alunoController.getAlunoPelaMatricula(matricula);
+			identidade = this.indice.registra(aluno, this.tutorController.getTutor(aluno.getEmail()));
+		}
+		
+		return identidade;
+	}
+	
+	/**
+	 * Resolve a identidade de uma matricula com as mesmas mensagens de erro da
+	 * obtencao de informacao de aluno.
+	 * 
+	 * @see AlunoController#getInfoAluno(String, String)
+	 */
+	private Identidade identidadeParaInfo(String matricula) {
+		try {
+			return this.identidade(matricula);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(ErroController.GET_INFO_ALUNO_INVALIDA.toString() + e.getMessage());
+		} catch (NoSuchElementException e) {
+			throw new NoSuchElementException(ErroController.GET_INFO_ALUNO_INVALIDA.toString() + e.getMessage());
+		}
+	}
+	
+	/**
+	 * Invalida no cache o tutor de um email.
+	 */
+	private void invalidaTutor(String email) {
+		Tutor tutor = this.tutorController.getTutor(email);
+		if (tutor != null) {
+			this.cache.invalida(TipoConsulta.TUTOR, tutor.getMatricula());
+		}
+	}
+	
+	/**
+	 * Retorna o tutor de uma identidade.
+	 * 
+	 * @throws NoSuchElementException
+	 *             caso o aluno nao seja tutor
+	 */
+	private Tutor tutor(Identidade identidade) {
+		if (identidade.getTutor() == null) {
+			throw new NoSuchElementException(ErroController.TUTOR_NAO_CADASTRADO.toString());
+		}
+		return identidade.getTutor();
 	}
 	
 	/**
@@ -394,6 +1021,7 @@ public class Sistema {
 							System.lineSeparator() + this.tutorController.carregaTutores()).
 					concat(System.lineSeparator() + 
 							System.lineSeparator()+ this.ajudaController.carregaAjudas());
+		this.livroDoacoes.reconstroi();
 		
 		System.out.println(resultado);
 	}
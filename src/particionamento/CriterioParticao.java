@@ -0,0 +1,37 @@
+package particionamento;
+
+/**
+ * Critério usado para distribuir os alunos entre as partições do sistema.
+ *
+ * @author Marcus Vinicius
+ */
+public enum CriterioParticao {
+
+	/**
+	 * Alunos do mesmo curso ficam na mesma partição.
+	 */
+	CURSO,
+
+	/**
+	 * Alunos são distribuídos pelo hash da matrícula.
+	 */
+	MATRICULA;
+
+	/**
+	 * Escolhe a partição de um novo aluno.
+	 *
+	 * @param matricula
+	 *            a matrícula do aluno
+	 * @param codigoCurso
+	 *            o código do curso do aluno
+	 * @param particoes
+	 *            a quantidade de partições
+	 * @return int o índice da partição
+	 */
+	public int particao(String matricula, int codigoCurso, int particoes) {
+		if (this == CURSO || matricula == null) {
+			return Math.floorMod(codigoCurso, particoes);
+		}
+		return Math.floorMod(matricula.hashCode(), particoes);
+	}
+}
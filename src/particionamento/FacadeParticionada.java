@@ -0,0 +1,550 @@
+package particionamento;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import aluno.Aluno;
+import main.Sistema;
+import persistencia.Armazenamento;
+import persistencia.ArmazenamentoDiretorio;
+import tutor.Tutor;
+import util.comparators.PontuacaoComparator;
+import util.persistencia.MensagemPersistencia;
+
+/**
+ * Fachada que distribui o sistema entre várias partições, cada uma um
+ * {@link Sistema} independente.
+ *
+ * Cada aluno, e o seu tutor, fica na partição escolhida pelo
+ * {@link CriterioParticao}. As operações sobre um único aluno ou tutor são
+ * encaminhadas à sua partição, e cada partição é protegida pelo seu próprio
+ * bloqueio, de forma que operações em partições diferentes possam ser feitas
+ * ao mesmo tempo. As listagens e a escolha do tutor de uma ajuda consultam
+ * todas as partições em paralelo e combinam os resultados. A ajuda é
+ * registrada na partição do tutor escolhido e recebe um identificador global.
+ *
+ * Cada partição salva os seus alunos e tutores no formato mapeável, em um
+ * subdiretório próprio do diretório base, e a partição de cada aluno é salva
+ * no próprio diretório base. Ao carregar o sistema particionado, apenas as
+ * consultas de alunos e a representação textual dos tutores são atendidas a
+ * partir desses arquivos, como em {@link Sistema#carregaMapeado()}; os demais
+ * dados dos tutores, como horários, locais e notas, e as ajudas não são
+ * restaurados, e as ajudas pedidas depois do carregamento recebem novos
+ * identificadores globais a partir de 1.
+ *
+ * @author Marcus Vinicius
+ */
+public class FacadeParticionada {
+
+	/**
+	 * Diretório base usado pelo construtor sem diretório.
+	 */
+	private static final String DIRETORIO_PADRAO = "resources" + File.separator + "particoes";
+
+	/**
+	 * Arquivo com a partição de cada aluno.
+	 */
+	private static final String PARTICOES = "particoes.dat";
+
+	private Sistema[] particoes;
+	private CriterioParticao criterio;
+
+	/**
+	 * Partição de cada aluno. Possui como chave a matrícula do aluno.
+	 */
+	private Map<String, Integer> particoesMatricula;
+
+	/**
+	 * Partição de cada aluno. Possui como chave o email do aluno.
+	 */
+	private Map<String, Integer> particoesEmail;
+
+	/**
+	 * Ajudas registradas, na ordem dos identificadores globais. Cada posição
+	 * guarda a partição e o identificador da ajuda na partição.
+	 */
+	private List<int[]> ajudas;
+
+	/**
+	 * Onde é salva a partição de cada aluno.
+	 */
+	private Armazenamento armazenamento;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param quantidade
+	 *            a quantidade de partições
+	 * @param criterio
+	 *            o critério de distribuição dos alunos
+	 */
+	public FacadeParticionada(int quantidade, CriterioParticao criterio) {
+		this(quantidade, criterio, new File(DIRETORIO_PADRAO));
+	}
+
+	/**
+	 * Constrói o sistema particionado salvando os dados em um diretório base
+	 * específico. Cada partição usa o subdiretório <code>particao-i</code>.
+	 *
+	 * @param quantidade
+	 *            a quantidade de partições
+	 * @param criterio
+	 *            o critério de distribuição dos alunos
+	 * @param diretorio
+	 *            o diretório base dos arquivos de persistência
+	 */
+	public FacadeParticionada(int quantidade, CriterioParticao criterio, File diretorio) {
+		this.particoes = new Sistema[Math.max(quantidade, 1)];
+		for (int i = 0; i < this.particoes.length; i++) {
+			this.particoes[i] = new Sistema(new File(diretorio, "particao-" + i));
+		}
+		this.armazenamento = new ArmazenamentoDiretorio(diretorio);
+		this.criterio = criterio;
+		this.particoesMatricula = new ConcurrentHashMap<>();
+		this.particoesEmail = new ConcurrentHashMap<>();
+		this.ajudas = new ArrayList<>();
+	}
+
+	/**
+	 * @see Sistema#cadastrarAluno(String, String, int, String, String)
+	 */
+	public void cadastrarAluno(String nome, String matricula, int codigoCurso, String telefone, String email) {
+		int particao = this.criterio.particao(matricula, codigoCurso, this.particoes.length);
+
+		if (matricula == null) {
+			this.executaNaParticao(particao, s -> s.cadastrarAluno(nome, matricula, codigoCurso, telefone, email));
+			return;
+		}
+
+		Integer existente = this.particoesMatricula.putIfAbsent(matricula, particao);
+		if (existente != null) {
+			this.executaNaParticao(existente, s -> s.cadastrarAluno(nome, matricula, codigoCurso, telefone, email));
+			return;
+		}
+
+		try {
+			this.executaNaParticao(particao, s -> s.cadastrarAluno(nome, matricula, codigoCurso, telefone, email));
+		} catch (RuntimeException e) {
+			this.particoesMatricula.remove(matricula, particao);
+			throw e;
+		}
+		this.particoesEmail.putIfAbsent(email, particao);
+	}
+
+	/**
+	 * @see Sistema#tornarTutor(String, String, int)
+	 */
+	public void tornarTutor(String matricula, String disciplina, int proficiencia) {
+		this.executaNaParticao(this.particaoMatricula(matricula), s -> s.tornarTutor(matricula, disciplina, proficiencia));
+	}
+
+	/**
+	 * @see Sistema#recuperaTutor(String)
+	 */
+	public String recuperaTutor(String matricula) {
+		return this.naParticao(this.particaoMatricula(matricula), s -> s.recuperaTutor(matricula));
+	}
+
+	/**
+	 * @see Sistema#recuperaAluno(String)
+	 */
+	public String recuperaAluno(String matricula) {
+		return this.naParticao(this.particaoMatricula(matricula), s -> s.recuperaAluno(matricula));
+	}
+
+	/**
+	 * Lista os alunos de todas as partições, na ordem configurada.
+	 * 
+	 * @see Sistema#listarAlunos()
+	 */
+	public String listarAlunos() {
+		List<Aluno> alunos = this.reune(Sistema::alunosOrdenados);
+		alunos.sort(this.naParticao(0, Sistema::getOrdemAlunos));
+		return junta(alunos);
+	}
+
+	/**
+	 * Lista os tutores de todas as partições, na ordem configurada.
+	 * 
+	 * @see Sistema#listarTutores()
+	 */
+	public String listarTutores() {
+		List<Tutor> tutores = this.reune(Sistema::tutoresOrdenados);
+		tutores.sort(this.naParticao(0, Sistema::getOrdemTutores));
+		return junta(tutores);
+	}
+
+	/**
+	 * @see Sistema#cadastrarHorario(String, String, String)
+	 */
+	public void cadastrarHorario(String email, String horario, String dia) {
+		this.executaNaParticao(this.particaoEmail(email), s -> s.cadastrarHorario(email, horario, dia));
+	}
+
+	/**
+	 * @see Sistema#cadastrarLocalDeAtendimento(String, String)
+	 */
+	public void cadastrarLocalDeAtendimento(String email, String local) {
+		this.executaNaParticao(this.particaoEmail(email), s -> s.cadastrarLocalDeAtendimento(email, local));
+	}
+
+	/**
+	 * @see Sistema#consultaHorario(String, String, String)
+	 */
+	public boolean consultaHorario(String email, String horario, String dia) {
+		return this.naParticao(this.particaoEmail(email), s -> s.consultaHorario(email, horario, dia));
+	}
+
+	/**
+	 * @see Sistema#consultaLocal(String, String)
+	 */
+	public boolean consultaLocal(String email, String local) {
+		return this.naParticao(this.particaoEmail(email), s -> s.consultaLocal(email, local));
+	}
+
+	/**
+	 * @see Sistema#getInfoAluno(String, String)
+	 */
+	public String getInfoAluno(String matricula, String atributo) {
+		return this.naParticao(this.particaoMatricula(matricula), s -> s.getInfoAluno(matricula, atributo));
+	}
+
+	/**
+	 * @see Sistema#avaliaTutor(int, int)
+	 */
+	public String avaliarTutor(int idAjuda, int nota) {
+		int[] ajuda = this.ajuda(idAjuda);
+		return this.naParticao(ajuda[0], s -> s.avaliaTutor(ajuda[1], nota));
+	}
+
+	/**
+	 * @see Sistema#pegaNota(String)
+	 */
+	public String pegarNota(String matriculaTutor) {
+		return this.naParticao(this.particaoMatricula(matriculaTutor), s -> s.pegaNota(matriculaTutor));
+	}
+
+	/**
+	 * @see Sistema#pegaNivel(String)
+	 */
+	public String pegarNivel(String matriculaTutor) {
+		return this.naParticao(this.particaoMatricula(matriculaTutor), s -> s.pegaNivel(matriculaTutor));
+	}
+
+	/**
+	 * Escolhe, entre todas as partições, o tutor da ajuda e a registra na
+	 * partição desse tutor.
+	 * 
+	 * @see Sistema#pedirAjudaPresencial(String, String, String, String, String)
+	 */
+	public int pedirAjudaPresencial(String matrAluno, String disciplina, String horario, String dia,
+			String localInteresse) {
+		int particao = this.melhorParticao(matrAluno,
+				s -> s.candidatoAjudaPresencial(disciplina, horario, dia, localInteresse));
+
+		return this.registraAjuda(particao,
+				s -> s.pedirAjudaPresencial(matrAluno, disciplina, horario, dia, localInteresse));
+	}
+
+	/**
+	 * Escolhe, entre todas as partições, o tutor da ajuda e a registra na
+	 * partição desse tutor.
+	 * 
+	 * @see Sistema#pedirAjudaOnline(String, String)
+	 */
+	public int pedirAjudaOnline(String matrAluno, String disciplina) {
+		int particao = this.melhorParticao(matrAluno, s -> s.candidatoAjudaOnline(disciplina));
+
+		return this.registraAjuda(particao, s -> s.pedirAjudaOnline(matrAluno, disciplina));
+	}
+
+	/**
+	 * @see Sistema#pegarTutor(int)
+	 */
+	public String pegarTutor(int idAjuda) {
+		int[] ajuda = this.ajuda(idAjuda);
+		return this.naParticao(ajuda[0], s -> s.pegarTutor(ajuda[1]));
+	}
+
+	/**
+	 * @see Sistema#getInfoAjuda(int, String)
+	 */
+	public String getInfoAjuda(int idAjuda, String atributo) {
+		int[] ajuda = this.ajuda(idAjuda);
+		return this.naParticao(ajuda[0], s -> s.getInfoAjuda(ajuda[1], atributo));
+	}
+
+	/**
+	 * @see Sistema#doar(String, int)
+	 */
+	public void doar(String matriculaTutor, int totalCentavos) {
+		this.executaNaParticao(this.particaoMatricula(matriculaTutor), s -> s.doar(matriculaTutor, totalCentavos));
+	}
+
+	/**
+	 * @see Sistema#totalDinheiroTutor(String)
+	 */
+	public long totalDinheiroTutor(String emailTutor) {
+		return this.naParticao(this.particaoEmail(emailTutor), s -> s.totalDinheiroTutor(emailTutor));
+	}
+
+	/**
+	 * Soma o total arrecadado por todas as partições.
+	 * 
+	 * @see Sistema#totalDinheiroSistema()
+	 */
+	public long totalDinheiroSistema() {
+		return this.reune(s -> {
+			List<Long> total = new ArrayList<>();
+			total.add(s.totalDinheiroSistema());
+			return total;
+		}).stream().mapToLong(Long::longValue).sum();
+	}
+
+	/**
+	 * Configura a ordem de listagem em todas as partições.
+	 * 
+	 * @see Sistema#configuraOrdem(String)
+	 */
+	public void configurarOrdem(String atributo) {
+		for (int i = 0; i < this.particoes.length; i++) {
+			this.executaNaParticao(i, s -> s.configuraOrdem(atributo));
+		}
+	}
+
+	/**
+	 * Limpa todas as partições.
+	 * 
+	 * @see Sistema#limpar()
+	 */
+	public void limpar() {
+		for (int i = 0; i < this.particoes.length; i++) {
+			this.executaNaParticao(i, Sistema::limpar);
+		}
+		this.particoesMatricula.clear();
+		this.particoesEmail.clear();
+		synchronized (this.ajudas) {
+			this.ajudas.clear();
+		}
+		this.armazenamento.remove(PARTICOES);
+	}
+
+	/**
+	 * Salva os alunos e tutores de cada partição no formato mapeável, no seu
+	 * próprio diretório, e a partição de cada aluno.
+	 * 
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita
+	 * @see Sistema#salvaMapeado()
+	 */
+	public void salvar() throws IOException {
+		for (Sistema particao : this.particoes) {
+			synchronized (particao) {
+				particao.salvaMapeado();
+			}
+		}
+		this.armazenamento.grava(PARTICOES, this.codificaParticoes());
+	}
+
+	/**
+	 * Carrega a partição de cada aluno e passa a atender as consultas de
+	 * alunos e a representação textual dos tutores de cada partição a partir
+	 * dos seus arquivos. As ajudas registradas até agora são descartadas.
+	 * 
+	 * @throws IOException
+	 *             caso o sistema particionado não tenha sido salvo ou ocorra
+	 *             algum erro na leitura
+	 * @see Sistema#carregaMapeado()
+	 */
+	public void carregar() throws IOException {
+		byte[] conteudo = this.armazenamento.le(PARTICOES);
+		if (conteudo == null) {
+			throw new FileNotFoundException(PARTICOES);
+		}
+		this.decodificaParticoes(conteudo);
+
+		for (Sistema particao : this.particoes) {
+			synchronized (particao) {
+				particao.carregaMapeado();
+			}
+		}
+	}
+
+	public int quantidadeParticoes() {
+		return this.particoes.length;
+	}
+
+	/**
+	 * Retorna a partição de um aluno já cadastrado.
+	 *
+	 * @param matricula
+	 *            a matrícula do aluno
+	 * @return int o índice da partição, ou -1 caso o aluno não esteja cadastrado
+	 */
+	public int particaoDoAluno(String matricula) {
+		Integer particao = matricula == null ? null : this.particoesMatricula.get(matricula);
+		return particao == null ? -1 : particao;
+	}
+
+	/**
+	 * Partição de uma matrícula. Matrículas desconhecidas são encaminhadas à
+	 * primeira partição, que produz o mesmo erro do sistema sem partições.
+	 */
+	private int particaoMatricula(String matricula) {
+		Integer particao = matricula == null ? null : this.particoesMatricula.get(matricula);
+		return particao == null ? 0 : particao;
+	}
+
+	private int particaoEmail(String email) {
+		Integer particao = email == null ? null : this.particoesEmail.get(email);
+		return particao == null ? 0 : particao;
+	}
+
+	/**
+	 * Consulta o candidato de cada partição em paralelo e retorna a partição do
+	 * melhor deles, pelo mesmo critério do sistema sem partições. Caso nenhuma
+	 * partição tenha candidato, ou a consulta seja inválida, retorna a partição
+	 * do aluno, que produz o mesmo erro do sistema sem partições.
+	 */
+	private int melhorParticao(String matrAluno, Function<Sistema, Tutor> candidato) {
+		List<Tutor> candidatos;
+		try {
+			candidatos = IntStream.range(0, this.particoes.length).parallel()
+					.mapToObj(i -> this.naParticao(i, candidato)).collect(Collectors.toList());
+		} catch (IllegalArgumentException e) {
+			return this.particaoMatricula(matrAluno);
+		}
+
+		Comparator<Tutor> pontuacao = new PontuacaoComparator();
+		int melhor = -1;
+		for (int i = 0; i < candidatos.size(); i++) {
+			Tutor tutor = candidatos.get(i);
+			if (tutor != null && (melhor < 0 || pontuacao.compare(tutor, candidatos.get(melhor)) < 0)) {
+				melhor = i;
+			}
+		}
+
+		return melhor < 0 ? this.particaoMatricula(matrAluno) : melhor;
+	}
+
+	/**
+	 * Registra uma ajuda em uma partição e associa a ela um identificador
+	 * global.
+	 */
+	private int registraAjuda(int particao, Function<Sistema, Integer> pedido) {
+		synchronized (this.particoes[particao]) {
+			int idLocal = pedido.apply(this.particoes[particao]);
+			synchronized (this.ajudas) {
+				this.ajudas.add(new int[] { particao, idLocal });
+				return this.ajudas.size();
+			}
+		}
+	}
+
+	/**
+	 * Converte o identificador global de uma ajuda na sua partição e no seu
+	 * identificador local. Identificadores desconhecidos são encaminhados à
+	 * primeira partição com um identificador que ela não possui.
+	 */
+	private int[] ajuda(int idAjuda) {
+		synchronized (this.ajudas) {
+			if (idAjuda > 0 && idAjuda <= this.ajudas.size()) {
+				return this.ajudas.get(idAjuda - 1);
+			}
+		}
+		return new int[] { 0, idAjuda <= 0 ? idAjuda : Integer.MAX_VALUE };
+	}
+
+	private byte[] codificaParticoes() throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+		try (DataOutputStream saida = new DataOutputStream(buffer)) {
+			saida.writeInt(this.particoes.length);
+			escreve(saida, this.particoesMatricula);
+			escreve(saida, this.particoesEmail);
+		}
+
+		return buffer.toByteArray();
+	}
+
+	private void decodificaParticoes(byte[] conteudo) throws IOException {
+		try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(conteudo))) {
+			if (entrada.readInt() != this.particoes.length) {
+				throw new IOException(MensagemPersistencia.QUANTIDADE_PARTICOES_DIFERENTE.toString() + PARTICOES);
+			}
+
+			Map<String, Integer> matriculas = le(entrada);
+			Map<String, Integer> emails = le(entrada);
+
+			this.particoesMatricula.clear();
+			this.particoesMatricula.putAll(matriculas);
+			this.particoesEmail.clear();
+			this.particoesEmail.putAll(emails);
+			synchronized (this.ajudas) {
+				this.ajudas.clear();
+			}
+		}
+	}
+
+	private static void escreve(DataOutputStream saida, Map<String, Integer> particoes) throws IOException {
+		Map<String, Integer> copia = new LinkedHashMap<>(particoes);
+		saida.writeInt(copia.size());
+		for (Map.Entry<String, Integer> particao : copia.entrySet()) {
+			saida.writeUTF(particao.getKey());
+			saida.writeInt(particao.getValue());
+		}
+	}
+
+	private static Map<String, Integer> le(DataInputStream entrada) throws IOException {
+		Map<String, Integer> particoes = new HashMap<>();
+		for (int i = entrada.readInt(); i > 0; i--) {
+			particoes.put(entrada.readUTF(), entrada.readInt());
+		}
+		return particoes;
+	}
+
+	/**
+	 * Consulta todas as partições em paralelo e junta os resultados.
+	 */
+	private <T> List<T> reune(Function<Sistema, List<T>> consulta) {
+		return IntStream.range(0, this.particoes.length).parallel().mapToObj(i -> this.naParticao(i, consulta))
+				.flatMap(List::stream).collect(Collectors.toList());
+	}
+
+	private <T> T naParticao(int particao, Function<Sistema, T> operacao) {
+		synchronized (this.particoes[particao]) {
+			return operacao.apply(this.particoes[particao]);
+		}
+	}
+
+	private void executaNaParticao(int particao, Consumer<Sistema> operacao) {
+		synchronized (this.particoes[particao]) {
+			operacao.accept(this.particoes[particao]);
+		}
+	}
+
+	private static String junta(List<?> itens) {
+		StringJoiner joiner = new StringJoiner(", ");
+		for (Object item : itens) {
+			joiner.add(item.toString());
+		}
+		return joiner.toString();
+	}
+}
@@ -0,0 +1,120 @@
+package persistencia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Local onde a persistência guarda os seus arquivos. Cada arquivo é
+ * identificado por um nome e tem o seu conteúdo gravado e lido por inteiro.
+ *
+ * @author fanny
+ *
+ */
+public interface Armazenamento {
+
+	/**
+	 * Grava o conteúdo de um arquivo, substituindo o conteúdo anterior.
+	 *
+	 * @param nome
+	 *            o nome do arquivo
+	 * @param conteudo
+	 *            o novo conteúdo
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita
+	 */
+	void grava(String nome, byte[] conteudo) throws IOException;
+
+	/**
+	 * Acrescenta conteúdo ao fim de um arquivo, criando-o caso ele não exista.
+	 *
+	 * @param nome
+	 *            o nome do arquivo
+	 * @param conteudo
+	 *            o conteúdo a ser acrescentado
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita
+	 */
+	void acrescenta(String nome, byte[] conteudo) throws IOException;
+
+	/**
+	 * Lê o conteúdo de um arquivo.
+	 *
+	 * @param nome
+	 *            o nome do arquivo
+	 * @return o conteúdo, ou null caso o arquivo não exista
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura
+	 */
+	byte[] le(String nome) throws IOException;
+
+	/**
+	 * Disponibiliza o conteúdo de um arquivo para leitura, sem necessariamente
+	 * copiá-lo para o heap. O conteúdo não é necessariamente verificado por
+	 * inteiro; os formatos lidos por mapeamento verificam os trechos que leem.
+	 *
+	 * @param nome
+	 *            o nome do arquivo
+	 * @return um buffer somente de leitura com o conteúdo, ou null caso o
+	 *         arquivo não exista
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura
+	 */
+	ByteBuffer mapeia(String nome) throws IOException;
+
+	/**
+	 * Disponibiliza o conteúdo de um arquivo escrito apenas por
+	 * {@link #acrescenta(String, byte[])}, exatamente como foi escrito. Esses
+	 * arquivos não possuem as verificações de integridade dos arquivos gravados
+	 * por inteiro, e os seus formatos devem verificar o que leem.
+	 *
+	 * @param nome
+	 *            o nome do arquivo
+	 * @return um buffer somente de leitura com o conteúdo, ou null caso o
+	 *         arquivo não exista
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura
+	 */
+	default ByteBuffer mapeiaAcrescimos(String nome) throws IOException {
+		return this.mapeia(nome);
+	}
+
+	/**
+	 * Migra os arquivos gravados por inteiro antes das verificações de
+	 * integridade do armazenamento, caso ele possua alguma. É feita uma única
+	 * vez por armazenamento; depois dela, os arquivos gravados por inteiro
+	 * sem as verificações são rejeitados.
+	 *
+	 * @param nomes
+	 *            os nomes dos arquivos gravados por inteiro
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura ou na escrita
+	 */
+	default void migra(String... nomes) throws IOException {
+	}
+
+	/**
+	 * Verifica se um arquivo existe.
+	 *
+	 * @param nome
+	 *            o nome do arquivo
+	 * @return boolean true caso o arquivo exista
+	 */
+	boolean existe(String nome);
+
+	/**
+	 * Retorna o tamanho de um arquivo.
+	 *
+	 * @param nome
+	 *            o nome do arquivo
+	 * @return long o tamanho, em bytes, ou -1 caso o arquivo não exista
+	 */
+	long tamanho(String nome);
+
+	/**
+	 * Remove um arquivo, caso ele exista.
+	 *
+	 * @param nome
+	 *            o nome do arquivo
+	 */
+	void remove(String nome);
+}
@@ -0,0 +1,303 @@
+package persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import util.persistencia.MensagemPersistencia;
+
+/**
+ * Armazenamento que guarda cada arquivo em um diretório do disco.
+ *
+ * Os arquivos gravados por inteiro são escritos em um arquivo temporário,
+ * selado com o CRC32C do conteúdo ({@link Integridade}) e sincronizado com o
+ * disco. Só então a versão atual passa a ser a geração anterior e o arquivo
+ * temporário é renomeado atomicamente para o nome definitivo. Uma falha no
+ * meio da escrita nunca deixa o arquivo pela metade. Na leitura, o selo é
+ * verificado e, caso o arquivo esteja ausente ou corrompido, é lida a geração
+ * anterior. Os arquivos mapeados em memória têm apenas a presença do selo
+ * verificada, para que abri-los não exija ler todo o arquivo; o conteúdo é
+ * verificado por partes pelo formato lido, como o {@link ArquivoMapeado}.
+ *
+ * Os arquivos escritos por acréscimos não são selados e são lidos por
+ * {@link #mapeiaAcrescimos(String)}. Um arquivo gravado por inteiro sem selo só
+ * é aceito em um diretório escrito por versões anteriores ao selo, até a
+ * migração feita por {@link #migra(String...)}, que sela esses arquivos e
+ * grava o arquivo de versão do diretório. Em um diretório com o arquivo de
+ * versão, ou sem arquivos, os arquivos sem selo são tratados como
+ * corrompidos.
+ *
+ * @author fanny
+ *
+ */
+public class ArmazenamentoDiretorio implements Armazenamento {
+
+	private static final String TEMPORARIO = ".tmp";
+	private static final String ANTERIOR = ".anterior";
+
+	/**
+	 * Arquivo que indica que todos os arquivos gravados por inteiro no
+	 * diretório estão selados.
+	 */
+	private static final String VERSAO = "armazenamento.versao";
+	private static final byte[] VERSAO_SELADA = "1".getBytes(StandardCharsets.UTF_8);
+
+	private File diretorio;
+
+	/**
+	 * Informa se os arquivos gravados por inteiro sem selo são rejeitados, ou
+	 * null caso o diretório ainda não tenha sido examinado.
+	 */
+	private volatile Boolean exigeSelo;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param diretorio
+	 *            o diretório onde os arquivos serão guardados
+	 */
+	public ArmazenamentoDiretorio(File diretorio) {
+		this.diretorio = diretorio;
+	}
+
+	@Override
+	public void grava(String nome, byte[] conteudo) throws IOException {
+		this.diretorio.mkdirs();
+		this.marcaVersao();
+
+		File temporario = this.arquivo(nome + TEMPORARIO);
+		this.escreve(temporario, Integridade.sela(conteudo));
+
+		File arquivo = this.arquivo(nome);
+		if (arquivo.exists()) {
+			move(arquivo.toPath(), this.arquivo(nome + ANTERIOR).toPath());
+		}
+		move(temporario.toPath(), arquivo.toPath());
+		this.sincronizaDiretorio();
+	}
+
+	@Override
+	public void acrescenta(String nome, byte[] conteudo) throws IOException {
+		this.diretorio.mkdirs();
+		this.marcaVersao();
+
+		try (FileChannel canal = FileChannel.open(this.arquivo(nome).toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			ByteBuffer buffer = ByteBuffer.wrap(conteudo);
+			while (buffer.hasRemaining()) {
+				canal.write(buffer);
+			}
+			canal.force(true);
+		}
+	}
+
+	@Override
+	public byte[] le(String nome) throws IOException {
+		ByteBuffer conteudo = this.abreVerificado(nome, false);
+		if (conteudo == null) {
+			return null;
+		}
+
+		byte[] bytes = new byte[conteudo.remaining()];
+		conteudo.get(bytes);
+		return bytes;
+	}
+
+	@Override
+	public ByteBuffer mapeia(String nome) throws IOException {
+		return this.abreVerificado(nome, true);
+	}
+
+	@Override
+	public ByteBuffer mapeiaAcrescimos(String nome) throws IOException {
+		return this.abre(this.arquivo(nome), true);
+	}
+
+	/**
+	 * Sela os arquivos informados que foram gravados sem selo e grava o arquivo
+	 * de versão do diretório. Não faz nada caso o diretório já exija o selo.
+	 */
+	@Override
+	public synchronized void migra(String... nomes) throws IOException {
+		if (this.exigeSelo()) {
+			return;
+		}
+
+		for (String nome : nomes) {
+			ByteBuffer conteudo = this.abre(this.arquivo(nome), false);
+			if (conteudo != null && Integridade.verifica(conteudo) == Integridade.SEM_SELO) {
+				byte[] bytes = new byte[conteudo.remaining()];
+				conteudo.get(bytes);
+				this.grava(nome, bytes);
+			}
+		}
+
+		this.exigeSelo = true;
+		this.marcaVersao();
+	}
+
+	/**
+	 * Abre a versão atual de um arquivo, ou a geração anterior caso a atual
+	 * esteja ausente ou corrompida.
+	 *
+	 * @return o conteúdo sem o selo, ou null caso o arquivo não exista
+	 * @throws IOException
+	 *             caso nenhuma das gerações existentes confira com o seu selo
+	 */
+	private ByteBuffer abreVerificado(String nome, boolean mapear) throws IOException {
+		File arquivo = this.arquivo(nome);
+		File anterior = this.arquivo(nome + ANTERIOR);
+
+		boolean exigeSelo = this.exigeSelo();
+		ByteBuffer conteudo = verificado(this.abre(arquivo, mapear), !mapear, exigeSelo);
+		if (conteudo == null) {
+			conteudo = verificado(this.abre(anterior, mapear), !mapear, exigeSelo);
+		}
+		if (conteudo == null && (arquivo.exists() || anterior.exists())) {
+			throw new IOException(MensagemPersistencia.ARQUIVO_CORROMPIDO.toString() + nome);
+		}
+		return conteudo;
+	}
+
+	@Override
+	public boolean existe(String nome) {
+		return this.arquivo(nome).exists() || this.arquivo(nome + ANTERIOR).exists();
+	}
+
+	@Override
+	public long tamanho(String nome) {
+		File arquivo = this.arquivo(nome);
+		return arquivo.exists() ? arquivo.length() : -1;
+	}
+
+	@Override
+	public void remove(String nome) {
+		this.arquivo(nome).delete();
+		this.arquivo(nome + ANTERIOR).delete();
+		this.arquivo(nome + TEMPORARIO).delete();
+	}
+
+	public File getDiretorio() {
+		return this.diretorio;
+	}
+
+	protected File arquivo(String nome) {
+		return new File(this.diretorio, nome);
+	}
+
+	/**
+	 * Escreve o conteúdo em um arquivo, substituindo o conteúdo anterior, e o
+	 * sincroniza com o disco.
+	 */
+	protected void escreve(File arquivo, byte[] conteudo) throws IOException {
+		try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.wrap(conteudo);
+			while (buffer.hasRemaining()) {
+				canal.write(buffer);
+			}
+			canal.force(true);
+		}
+	}
+
+	/**
+	 * Lê um arquivo para o heap ou o mapeia apenas para leitura.
+	 *
+	 * @return o conteúdo do arquivo, ou null caso o arquivo não exista
+	 */
+	private ByteBuffer abre(File arquivo, boolean mapear) throws IOException {
+		if (!arquivo.exists()) {
+			return null;
+		}
+		if (!mapear) {
+			return ByteBuffer.wrap(Files.readAllBytes(arquivo.toPath()));
+		}
+
+		try (RandomAccessFile acesso = new RandomAccessFile(arquivo, "r");
+				FileChannel canal = acesso.getChannel()) {
+			return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+		}
+	}
+
+	/**
+	 * Verifica o selo de um arquivo.
+	 *
+	 * @param completo
+	 *            se o CRC32C do conteúdo deve ser conferido, ou apenas a
+	 *            presença do selo
+	 * @param exigeSelo
+	 *            se um arquivo sem selo é corrompido, ou um arquivo gravado antes
+	 *            da existência do selo, aceito por inteiro
+	 * @return o conteúdo sem o selo, ou null caso o arquivo não exista ou esteja
+	 *         corrompido
+	 */
+	private static ByteBuffer verificado(ByteBuffer arquivo, boolean completo, boolean exigeSelo) {
+		if (arquivo == null) {
+			return null;
+		}
+
+		int tamanho = completo ? Integridade.verifica(arquivo) : Integridade.tamanhoSelado(arquivo);
+		if (tamanho == Integridade.CORROMPIDO || (tamanho == Integridade.SEM_SELO && exigeSelo)) {
+			return null;
+		}
+		if (tamanho == Integridade.SEM_SELO) {
+			tamanho = arquivo.remaining();
+		}
+
+		ByteBuffer conteudo = arquivo.duplicate();
+		conteudo.limit(tamanho);
+		return conteudo.slice();
+	}
+
+	/**
+	 * Verifica se o diretório exige o selo: caso possua o arquivo de versão, ou
+	 * caso ainda não possua nenhum arquivo, escrito por versões anteriores.
+	 */
+	private boolean exigeSelo() {
+		if (this.exigeSelo == null) {
+			File[] arquivos = this.diretorio.listFiles(File::isFile);
+			this.exigeSelo = this.arquivo(VERSAO).exists() || arquivos == null || arquivos.length == 0;
+		}
+		return this.exigeSelo;
+	}
+
+	/**
+	 * Grava o arquivo de versão em um diretório que exige o selo, para que ele
+	 * continue exigindo o selo depois de receber os primeiros arquivos.
+	 */
+	private void marcaVersao() throws IOException {
+		if (this.exigeSelo() && !this.arquivo(VERSAO).exists()) {
+			this.escreve(this.arquivo(VERSAO), VERSAO_SELADA);
+			this.sincronizaDiretorio();
+		}
+	}
+
+	private static void move(Path origem, Path destino) throws IOException {
+		try {
+			Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Sincroniza as entradas do diretório com o disco, para que as renomeações
+	 * sobrevivam a uma queda. Nem todos os sistemas permitem abrir um diretório,
+	 * e nesse caso a sincronização é ignorada.
+	 */
+	private void sincronizaDiretorio() {
+		try (FileChannel canal = FileChannel.open(this.diretorio.toPath(), StandardOpenOption.READ)) {
+			canal.force(true);
+		} catch (IOException e) {
+			return;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Armazenamento em diretório que também faz as escritas através de
+ * mapeamento em memória. O arquivo é redimensionado para o tamanho do novo
+ * conteúdo, que é copiado direto para as páginas mapeadas e sincronizado com o
+ * disco ao final.
+ *
+ * @author fanny
+ *
+ */
+public class ArmazenamentoMapeado extends ArmazenamentoDiretorio {
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param diretorio
+	 *            o diretório onde os arquivos serão guardados
+	 */
+	public ArmazenamentoMapeado(File diretorio) {
+		super(diretorio);
+	}
+
+	@Override
+	public void acrescenta(String nome, byte[] conteudo) throws IOException {
+		this.getDiretorio().mkdirs();
+		this.escreve(this.arquivo(nome), conteudo, true);
+	}
+
+	@Override
+	protected void escreve(File arquivo, byte[] conteudo) throws IOException {
+		this.escreve(arquivo, conteudo, false);
+	}
+
+	/**
+	 * Redimensiona o arquivo e copia o conteúdo para a região mapeada, a partir
+	 * do início ou do fim atual do arquivo.
+	 */
+	private void escreve(File arquivo, byte[] conteudo, boolean noFim) throws IOException {
+		try (RandomAccessFile acesso = new RandomAccessFile(arquivo, "rw");
+				FileChannel canal = acesso.getChannel()) {
+			long inicio = noFim ? acesso.length() : 0;
+			acesso.setLength(inicio + conteudo.length);
+			if (conteudo.length == 0) {
+				return;
+			}
+
+			MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_WRITE, inicio, conteudo.length);
+			mapa.put(conteudo);
+			mapa.force();
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package persistencia;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Armazenamento que guarda os arquivos apenas em memória. Útil para testes e
+ * para sistemas que não precisam sobreviver ao fim do processo.
+ *
+ * @author fanny
+ *
+ */
+public class ArmazenamentoMemoria implements Armazenamento {
+
+	/**
+	 * Conteúdo de cada arquivo. Possui como chave o nome do arquivo.
+	 */
+	private Map<String, byte[]> arquivos;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public ArmazenamentoMemoria() {
+		this.arquivos = new ConcurrentHashMap<>();
+	}
+
+	@Override
+	public void grava(String nome, byte[] conteudo) {
+		this.arquivos.put(nome, Arrays.copyOf(conteudo, conteudo.length));
+	}
+
+	@Override
+	public void acrescenta(String nome, byte[] conteudo) {
+		this.arquivos.merge(nome, Arrays.copyOf(conteudo, conteudo.length), (anterior, novo) -> {
+			byte[] juncao = Arrays.copyOf(anterior, anterior.length + novo.length);
+			System.arraycopy(novo, 0, juncao, anterior.length, novo.length);
+			return juncao;
+		});
+	}
+
+	@Override
+	public byte[] le(String nome) {
+		byte[] conteudo = this.arquivos.get(nome);
+		return conteudo == null ? null : Arrays.copyOf(conteudo, conteudo.length);
+	}
+
+	@Override
+	public ByteBuffer mapeia(String nome) {
+		byte[] conteudo = this.arquivos.get(nome);
+		return conteudo == null ? null : ByteBuffer.wrap(conteudo).asReadOnlyBuffer();
+	}
+
+	@Override
+	public boolean existe(String nome) {
+		return this.arquivos.containsKey(nome);
+	}
+
+	@Override
+	public long tamanho(String nome) {
+		byte[] conteudo = this.arquivos.get(nome);
+		return conteudo == null ? -1 : conteudo.length;
+	}
+
+	@Override
+	public void remove(String nome) {
+		this.arquivos.remove(nome);
+	}
+}
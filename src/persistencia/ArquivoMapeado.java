@@ -0,0 +1,349 @@
+package persistencia;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import util.persistencia.MensagemPersistencia;
+
+/**
+ * Arquivo de registros lido através de mapeamento em memória. Cada registro é
+ * um conjunto de textos, e o primeiro texto é a chave do registro.
+ *
+ * O arquivo possui três regiões em deslocamentos fixos: o cabeçalho, com a
+ * quantidade de registros, a quantidade de campos por registro, o início do
+ * índice e o CRC32C do próprio cabeçalho; a região de dados, com o CRC32C de
+ * cada registro seguido dos seus campos prefixados pelo seu tamanho; e a
+ * região de índice, uma tabela hash de endereçamento aberto com o hash da
+ * chave e o deslocamento do registro. As buscas são feitas diretamente sobre o
+ * arquivo mapeado, sem carregar os registros no heap.
+ *
+ * A integridade é verificada por partes: o cabeçalho na abertura e cada
+ * registro quando ele é lido, de forma que abrir o arquivo não exige percorrer
+ * todo o conteúdo mapeado.
+ *
+ * @author fanny
+ *
+ */
+public class ArquivoMapeado {
+
+	private static final int MAGICO = 0x514D4132;
+	private static final int TAMANHO_CABECALHO = 24;
+	private static final int TAMANHO_CRC = 4;
+	private static final int TAMANHO_POSICAO = 8;
+	private static final int VAZIO = 0;
+
+	private ByteBuffer mapa;
+	private int quantidade;
+	private int camposPorRegistro;
+	private int inicioIndice;
+	private int posicoesIndice;
+
+	private ArquivoMapeado(ByteBuffer mapa) throws IOException {
+		this.mapa = mapa;
+
+		if (mapa.capacity() < TAMANHO_CABECALHO || mapa.getInt(0) != MAGICO) {
+			throw new IOException(MensagemPersistencia.ARQUIVO_MAPEADO_INVALIDO.toString());
+		}
+
+		ByteBuffer cabecalho = mapa.duplicate();
+		cabecalho.limit(TAMANHO_CABECALHO - TAMANHO_CRC).position(0);
+		if (Integridade.crc(cabecalho) != mapa.getInt(TAMANHO_CABECALHO - TAMANHO_CRC)) {
+			throw new IOException(MensagemPersistencia.ARQUIVO_MAPEADO_INVALIDO.toString());
+		}
+
+		this.quantidade = mapa.getInt(4);
+		this.camposPorRegistro = mapa.getInt(8);
+		this.inicioIndice = mapa.getInt(12);
+		this.posicoesIndice = mapa.getInt(16);
+
+		if (this.inicioIndice < TAMANHO_CABECALHO || Integer.bitCount(this.posicoesIndice) != 1
+				|| (long) this.inicioIndice + (long) this.posicoesIndice * TAMANHO_POSICAO > mapa.capacity()) {
+			throw new IOException(MensagemPersistencia.ARQUIVO_MAPEADO_INVALIDO.toString());
+		}
+	}
+
+	/**
+	 * Grava os registros em um arquivo no formato mapeável.
+	 *
+	 * @param arquivo
+	 *            o arquivo a ser gravado
+	 * @param registros
+	 *            os registros; todos devem ter a mesma quantidade de campos
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita do arquivo
+	 */
+	public static void grava(File arquivo, List<String[]> registros) throws IOException {
+		Files.write(arquivo.toPath(), codifica(registros));
+	}
+
+	/**
+	 * Codifica os registros no formato mapeável.
+	 *
+	 * @param registros
+	 *            os registros; todos devem ter a mesma quantidade de campos
+	 * @return o conteúdo do arquivo
+	 */
+	public static byte[] codifica(List<String[]> registros) {
+		int camposPorRegistro = registros.isEmpty() ? 0 : registros.get(0).length;
+		int posicoes = Integer.highestOneBit(Math.max(registros.size(), 4) * 2 - 1) * 2;
+
+		int[] hashes = new int[posicoes];
+		int[] deslocamentos = new int[posicoes];
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+		try (DataOutputStream saida = new DataOutputStream(buffer)) {
+
+			saida.writeInt(MAGICO);
+			saida.writeInt(registros.size());
+			saida.writeInt(camposPorRegistro);
+			saida.writeInt(0);
+			saida.writeInt(posicoes);
+			saida.writeInt(0);
+
+			int deslocamento = TAMANHO_CABECALHO;
+			ByteArrayOutputStream campos = new ByteArrayOutputStream();
+			DataOutputStream saidaCampos = new DataOutputStream(campos);
+
+			for (String[] registro : registros) {
+				int hash = espalha(registro[0].hashCode());
+				int posicao = hash & (posicoes - 1);
+				while (deslocamentos[posicao] != VAZIO) {
+					posicao = (posicao + 1) & (posicoes - 1);
+				}
+				hashes[posicao] = hash;
+				deslocamentos[posicao] = deslocamento + 1;
+
+				campos.reset();
+				for (String campo : registro) {
+					byte[] bytes = campo.getBytes(StandardCharsets.UTF_8);
+					saidaCampos.writeInt(bytes.length);
+					saidaCampos.write(bytes);
+				}
+				saidaCampos.flush();
+
+				byte[] dados = campos.toByteArray();
+				saida.writeInt(Integridade.crc(ByteBuffer.wrap(dados)));
+				saida.write(dados);
+				deslocamento += TAMANHO_CRC + dados.length;
+			}
+
+			for (int i = 0; i < posicoes; i++) {
+				saida.writeInt(hashes[i]);
+				saida.writeInt(deslocamentos[i]);
+			}
+
+			saida.flush();
+
+			byte[] conteudo = buffer.toByteArray();
+			ByteBuffer cabecalho = ByteBuffer.wrap(conteudo);
+			cabecalho.putInt(12, deslocamento);
+			cabecalho.putInt(TAMANHO_CABECALHO - TAMANHO_CRC,
+					Integridade.crc(ByteBuffer.wrap(conteudo, 0, TAMANHO_CABECALHO - TAMANHO_CRC)));
+			return conteudo;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Abre um arquivo no formato mapeável, mapeando-o em memória apenas para
+	 * leitura.
+	 *
+	 * @param arquivo
+	 *            o arquivo a ser aberto
+	 * @return o arquivo mapeado
+	 * @throws IOException
+	 *             caso o arquivo não possa ser lido ou não esteja no formato
+	 *             esperado
+	 */
+	public static ArquivoMapeado abre(File arquivo) throws IOException {
+		try (RandomAccessFile acesso = new RandomAccessFile(arquivo, "r");
+				FileChannel canal = acesso.getChannel()) {
+			return new ArquivoMapeado(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+		}
+	}
+
+	/**
+	 * Lê um arquivo no formato mapeável a partir do seu conteúdo.
+	 *
+	 * @param conteudo
+	 *            o conteúdo do arquivo, como o retornado por
+	 *            {@link Armazenamento#mapeia(String)}
+	 * @return o arquivo mapeado
+	 * @throws IOException
+	 *             caso o conteúdo não esteja no formato esperado
+	 */
+	public static ArquivoMapeado de(ByteBuffer conteudo) throws IOException {
+		return new ArquivoMapeado(conteudo);
+	}
+
+	/**
+	 * Busca um registro pela chave.
+	 *
+	 * @param chave
+	 *            a chave do registro
+	 * @return os campos do registro, ou null caso a chave não esteja no arquivo
+	 * @throws IllegalStateException
+	 *             caso o registro não confira com o seu CRC
+	 */
+	public String[] busca(String chave) {
+		int registro = this.localiza(chave);
+		if (registro < 0) {
+			return null;
+		}
+		return this.leCampos(registro);
+	}
+
+	/**
+	 * Verifica se a chave está no arquivo.
+	 *
+	 * @param chave
+	 *            a chave do registro
+	 * @return boolean true caso a chave esteja no arquivo
+	 */
+	public boolean contem(String chave) {
+		return this.localiza(chave) >= 0;
+	}
+
+	/**
+	 * Lê todos os registros do arquivo, na ordem em que foram gravados.
+	 *
+	 * @return a lista com os campos de cada registro
+	 * @throws IllegalStateException
+	 *             caso algum registro não confira com o seu CRC
+	 */
+	public List<String[]> registros() {
+		List<String[]> registros = new ArrayList<>(this.quantidade);
+
+		int deslocamento = TAMANHO_CABECALHO;
+		for (int i = 0; i < this.quantidade; i++) {
+			int fim = this.fimRegistro(deslocamento);
+			registros.add(this.leCampos(deslocamento));
+			deslocamento = fim;
+		}
+
+		return registros;
+	}
+
+	public int quantidade() {
+		return this.quantidade;
+	}
+
+	/**
+	 * Procura o deslocamento do registro de uma chave no índice.
+	 *
+	 * @return o deslocamento do registro, ou -1 caso a chave não esteja no
+	 *         arquivo
+	 */
+	private int localiza(String chave) {
+		if (chave == null) {
+			return -1;
+		}
+
+		byte[] bytesChave = chave.getBytes(StandardCharsets.UTF_8);
+		int hash = espalha(chave.hashCode());
+		int mascara = this.posicoesIndice - 1;
+		int posicao = hash & mascara;
+
+		for (int sondagens = 0; sondagens < this.posicoesIndice; sondagens++) {
+			int base = this.inicioIndice + posicao * TAMANHO_POSICAO;
+			int registro = this.mapa.getInt(base + 4);
+
+			if (registro == VAZIO) {
+				return -1;
+			}
+			if (registro - 1 < TAMANHO_CABECALHO || registro - 1 >= this.inicioIndice) {
+				throw corrompido(registro - 1);
+			}
+			if (this.mapa.getInt(base) == hash && this.mesmaChave(registro - 1, bytesChave)) {
+				this.fimRegistro(registro - 1);
+				return registro - 1;
+			}
+
+			posicao = (posicao + 1) & mascara;
+		}
+		return -1;
+	}
+
+	private boolean mesmaChave(int registro, byte[] chave) {
+		int inicio = registro + TAMANHO_CRC;
+		if (inicio + 4 + chave.length > this.inicioIndice || this.mapa.getInt(inicio) != chave.length) {
+			return false;
+		}
+		for (int i = 0; i < chave.length; i++) {
+			if (this.mapa.get(inicio + 4 + i) != chave[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Verifica o CRC de um registro.
+	 *
+	 * @return o deslocamento do fim do registro
+	 * @throws IllegalStateException
+	 *             caso os tamanhos dos campos excedam a região de dados ou o
+	 *             registro não confira com o seu CRC
+	 */
+	private int fimRegistro(int registro) {
+		int posicao = registro + TAMANHO_CRC;
+		for (int i = 0; i < this.camposPorRegistro; i++) {
+			if (posicao + 4 > this.inicioIndice) {
+				throw corrompido(registro);
+			}
+			int tamanho = this.mapa.getInt(posicao);
+			if (tamanho < 0 || tamanho > this.inicioIndice - posicao - 4) {
+				throw corrompido(registro);
+			}
+			posicao += 4 + tamanho;
+		}
+
+		ByteBuffer dados = this.mapa.duplicate();
+		dados.limit(posicao).position(registro + TAMANHO_CRC);
+		if (Integridade.crc(dados) != this.mapa.getInt(registro)) {
+			throw corrompido(registro);
+		}
+		return posicao;
+	}
+
+	/**
+	 * Lê os campos de um registro já verificado.
+	 */
+	private String[] leCampos(int registro) {
+		String[] campos = new String[this.camposPorRegistro];
+
+		int posicao = registro + TAMANHO_CRC;
+		for (int i = 0; i < campos.length; i++) {
+			int tamanho = this.mapa.getInt(posicao);
+			byte[] bytes = new byte[tamanho];
+
+			ByteBuffer leitura = this.mapa.duplicate();
+			leitura.position(posicao + 4);
+			leitura.get(bytes);
+
+			campos[i] = new String(bytes, StandardCharsets.UTF_8);
+			posicao += 4 + tamanho;
+		}
+
+		return campos;
+	}
+
+	private static IllegalStateException corrompido(int registro) {
+		return new IllegalStateException(MensagemPersistencia.REGISTRO_MAPEADO_CORROMPIDO.toString() + registro);
+	}
+
+	private static int espalha(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
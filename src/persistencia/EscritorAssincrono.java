@@ -0,0 +1,273 @@
+package persistencia;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Escritor que grava os registros segmentados em uma thread de E/S dedicada,
+ * mantendo as threads que atendem o sistema fora do disco.
+ *
+ * Os salvamentos pedidos para um mesmo registro enquanto ele aguarda a escrita
+ * são combinados em uma única escrita, em que a versão mais recente de cada
+ * entidade prevalece. Um salvamento pedido é gravado no máximo após a
+ * defasagem máxima configurada, contada a partir do pedido mais antigo ainda
+ * não gravado. Caso uma escrita falhe, os registros voltam a aguardar a
+ * próxima escrita e a falha é informada pelo próximo {@link #flush()}. Após o
+ * encerramento, as escritas que falham não são repetidas.
+ *
+ * @author fanny
+ *
+ */
+public class EscritorAssincrono {
+
+	private long defasagemMaxima;
+
+	/**
+	 * Registros aguardando a escrita, agrupados pelo registro segmentado de
+	 * destino.
+	 */
+	private Map<RegistroSegmentado, Map<String, String>> pendentes;
+
+	/**
+	 * Momento, em nanossegundos, do pedido mais antigo ainda não gravado.
+	 */
+	private long primeiroPedido;
+
+	private boolean descarregar;
+	private boolean executando;
+	private boolean encerrado;
+
+	private long ciclosIniciados;
+	private long ciclosConcluidos;
+	private long pedidos;
+	private long escritas;
+
+	/**
+	 * Falha da última escrita, ainda não informada.
+	 */
+	private IOException falha;
+
+	private Thread thread;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param defasagemMaximaMillis
+	 *            o tempo máximo, em milissegundos, entre um pedido de salvamento
+	 *            e a sua escrita
+	 */
+	public EscritorAssincrono(long defasagemMaximaMillis) {
+		this.defasagemMaxima = Math.max(defasagemMaximaMillis, 0) * 1_000_000;
+		this.pendentes = new LinkedHashMap<>();
+		this.thread = new Thread(this::executa, "persistencia-assincrona");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Agenda a escrita de registros, combinando-os com os que já aguardam a
+	 * escrita no mesmo registro segmentado.
+	 *
+	 * @param registro
+	 *            o registro segmentado de destino
+	 * @param registros
+	 *            a representação textual de cada entidade, tendo como chave o
+	 *            identificador da entidade
+	 */
+	public synchronized void agenda(RegistroSegmentado registro, Map<String, String> registros) {
+		if (this.encerrado) {
+			throw new IllegalStateException();
+		}
+		if (registros.isEmpty()) {
+			return;
+		}
+
+		if (this.pendentes.isEmpty()) {
+			this.primeiroPedido = System.nanoTime();
+		}
+		this.pendentes.computeIfAbsent(registro, r -> new LinkedHashMap<>()).putAll(registros);
+		this.pedidos++;
+		this.notifyAll();
+	}
+
+	/**
+	 * Descarta os registros que aguardam a escrita em um registro segmentado e
+	 * espera o fim da escrita em andamento, caso haja uma.
+	 *
+	 * @param registro
+	 *            o registro segmentado
+	 * @throws InterruptedException
+	 *             caso a espera seja interrompida
+	 */
+	public synchronized void descarta(RegistroSegmentado registro) throws InterruptedException {
+		this.pendentes.remove(registro);
+		while (this.executando) {
+			this.wait();
+		}
+	}
+
+	/**
+	 * Grava imediatamente todos os registros pedidos até agora e espera o fim da
+	 * escrita.
+	 *
+	 * @throws IOException
+	 *             caso alguma escrita tenha falhado desde o último flush
+	 * @throws InterruptedException
+	 *             caso a espera seja interrompida
+	 */
+	public synchronized void flush() throws IOException, InterruptedException {
+		long alvo = this.ciclosIniciados;
+
+		if (!this.pendentes.isEmpty()) {
+			alvo++;
+			this.descarregar = true;
+			this.notifyAll();
+		}
+
+		while (this.ciclosConcluidos < alvo) {
+			this.wait();
+		}
+
+		if (this.falha != null) {
+			IOException falha = this.falha;
+			this.falha = null;
+			throw falha;
+		}
+	}
+
+	/**
+	 * Grava os registros pendentes e encerra a thread de E/S.
+	 *
+	 * @throws IOException
+	 *             caso alguma escrita tenha falhado desde o último flush
+	 * @throws InterruptedException
+	 *             caso a espera seja interrompida
+	 */
+	public void encerra() throws IOException, InterruptedException {
+		try {
+			this.flush();
+		} finally {
+			synchronized (this) {
+				this.encerrado = true;
+				this.notifyAll();
+			}
+			this.thread.join();
+		}
+	}
+
+	/**
+	 * @return long a quantidade de salvamentos pedidos
+	 */
+	public synchronized long getPedidos() {
+		return this.pedidos;
+	}
+
+	/**
+	 * @return long a quantidade de escritas feitas nos registros segmentados
+	 */
+	public synchronized long getEscritas() {
+		return this.escritas;
+	}
+
+	public synchronized boolean temPendentes() {
+		return !this.pendentes.isEmpty() || this.executando;
+	}
+
+	private void executa() {
+		while (true) {
+			Map<RegistroSegmentado, Map<String, String>> lote;
+
+			synchronized (this) {
+				try {
+					lote = this.proximoLote();
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (lote == null) {
+					return;
+				}
+			}
+
+			IOException falha = null;
+			Map<RegistroSegmentado, Map<String, String>> naoGravados = new LinkedHashMap<>();
+			int escritas = 0;
+
+			for (Map.Entry<RegistroSegmentado, Map<String, String>> entrada : lote.entrySet()) {
+				try {
+					entrada.getKey().acrescenta(entrada.getValue());
+					escritas++;
+				} catch (IOException e) {
+					falha = e;
+					naoGravados.put(entrada.getKey(), entrada.getValue());
+				}
+			}
+
+			synchronized (this) {
+				this.devolve(naoGravados);
+				if (falha != null) {
+					this.falha = falha;
+				}
+				this.escritas += escritas;
+				this.executando = false;
+				this.ciclosConcluidos++;
+				this.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Espera até que haja registros pendentes e que o pedido mais antigo atinja a
+	 * defasagem máxima, ou que um flush seja pedido.
+	 *
+	 * @return os registros a serem gravados, ou null caso o escritor tenha sido
+	 *         encerrado
+	 */
+	private Map<RegistroSegmentado, Map<String, String>> proximoLote() throws InterruptedException {
+		while (true) {
+			if (this.encerrado && this.pendentes.isEmpty()) {
+				return null;
+			}
+
+			if (!this.pendentes.isEmpty()) {
+				long espera = this.primeiroPedido + this.defasagemMaxima - System.nanoTime();
+
+				if (this.descarregar || this.encerrado || espera <= 0) {
+					Map<RegistroSegmentado, Map<String, String>> lote = this.pendentes;
+					this.pendentes = new LinkedHashMap<>();
+					this.descarregar = false;
+					this.executando = true;
+					this.ciclosIniciados++;
+					return lote;
+				}
+
+				this.wait(Math.max(espera / 1_000_000, 1));
+				continue;
+			}
+
+			this.wait();
+		}
+	}
+
+	/**
+	 * Devolve aos pendentes os registros de uma escrita que falhou, sem
+	 * sobrescrever as versões mais recentes pedidas durante a escrita.
+	 */
+	private void devolve(Map<RegistroSegmentado, Map<String, String>> naoGravados) {
+		if (naoGravados.isEmpty() || this.encerrado) {
+			return;
+		}
+		if (this.pendentes.isEmpty()) {
+			this.primeiroPedido = System.nanoTime();
+		}
+
+		for (Map.Entry<RegistroSegmentado, Map<String, String>> entrada : naoGravados.entrySet()) {
+			Map<String, String> atuais = this.pendentes.get(entrada.getKey());
+			Map<String, String> combinados = new LinkedHashMap<>(entrada.getValue());
+			if (atuais != null) {
+				combinados.putAll(atuais);
+			}
+			this.pendentes.put(entrada.getKey(), combinados);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package persistencia;
+
+/**
+ * Estatísticas acumuladas dos snapshots comprimidos: quantos bytes foram
+ * comprimidos e descomprimidos, o tamanho resultante e o tempo gasto em cada
+ * sentido, de forma que a economia de espaço possa ser comparada com o custo
+ * de processamento.
+ *
+ * @author fanny
+ *
+ */
+public class EstatisticasCompressao {
+
+	private static final double BYTES_POR_MEGABYTE = 1024 * 1024;
+	private static final double NANOS_POR_SEGUNDO = 1_000_000_000;
+
+	private long snapshots;
+	private long bytesOriginais;
+	private long bytesComprimidos;
+	private long nanosCompressao;
+	private long bytesDescomprimidos;
+	private long nanosDescompressao;
+
+	/**
+	 * Registra a gravação de um snapshot.
+	 *
+	 * @param originais
+	 *            o tamanho, em bytes, do conteúdo antes da compressão
+	 * @param comprimidos
+	 *            o tamanho, em bytes, do snapshot gravado
+	 * @param nanos
+	 *            o tempo gasto na compressão e na escrita
+	 */
+	public synchronized void registraCompressao(long originais, long comprimidos, long nanos) {
+		this.snapshots++;
+		this.bytesOriginais += originais;
+		this.bytesComprimidos += comprimidos;
+		this.nanosCompressao += nanos;
+	}
+
+	/**
+	 * Registra a leitura de um snapshot.
+	 *
+	 * @param descomprimidos
+	 *            o tamanho, em bytes, do conteúdo descomprimido
+	 * @param nanos
+	 *            o tempo gasto na leitura e na descompressão
+	 */
+	public synchronized void registraDescompressao(long descomprimidos, long nanos) {
+		this.bytesDescomprimidos += descomprimidos;
+		this.nanosDescompressao += nanos;
+	}
+
+	public synchronized long getSnapshots() {
+		return this.snapshots;
+	}
+
+	public synchronized long getBytesOriginais() {
+		return this.bytesOriginais;
+	}
+
+	public synchronized long getBytesDescomprimidos() {
+		return this.bytesDescomprimidos;
+	}
+
+	public synchronized long getBytesComprimidos() {
+		return this.bytesComprimidos;
+	}
+
+	/**
+	 * Calcula a razão entre o tamanho original e o tamanho comprimido dos
+	 * snapshots gravados.
+	 *
+	 * @return double a razão de compressão, ou zero caso nenhum snapshot tenha
+	 *         sido gravado
+	 */
+	public synchronized double razaoCompressao() {
+		if (this.bytesComprimidos == 0) {
+			return 0;
+		}
+		return (double) this.bytesOriginais / this.bytesComprimidos;
+	}
+
+	/**
+	 * Calcula a vazão da compressão, medida sobre o conteúdo original.
+	 *
+	 * @return double a vazão, em megabytes por segundo, ou zero caso nada tenha
+	 *         sido comprimido
+	 */
+	public synchronized double vazaoCompressao() {
+		return vazao(this.bytesOriginais, this.nanosCompressao);
+	}
+
+	/**
+	 * Calcula a vazão da descompressão, medida sobre o conteúdo descomprimido.
+	 *
+	 * @return double a vazão, em megabytes por segundo, ou zero caso nada tenha
+	 *         sido descomprimido
+	 */
+	public synchronized double vazaoDescompressao() {
+		return vazao(this.bytesDescomprimidos, this.nanosDescompressao);
+	}
+
+	private static double vazao(long bytes, long nanos) {
+		if (nanos == 0) {
+			return 0;
+		}
+		return (bytes / BYTES_POR_MEGABYTE) / (nanos / NANOS_POR_SEGUNDO);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized String toString() {
+		return String.format(
+				"Snapshots: %d - Original: %d bytes - Comprimido: %d bytes - Razao: %.2f - "
+						+ "Compressao: %.2f MB/s - Descompressao: %.2f MB/s",
+				this.snapshots, this.bytesOriginais, this.bytesComprimidos, this.razaoCompressao(),
+				this.vazaoCompressao(), this.vazaoDescompressao());
+	}
+}
@@ -0,0 +1,110 @@
+package persistencia;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * Selo de integridade dos arquivos gravados por inteiro. O selo é um trailer de
+ * oito bytes acrescentado ao fim do conteúdo: um número mágico, que identifica
+ * o selo, e o CRC32C do conteúdo.
+ *
+ * A verificação completa calcula o CRC32C de todo o conteúdo. Os arquivos
+ * mapeados em memória, cujos formatos verificam por partes o conteúdo lido,
+ * têm apenas a presença do selo verificada, sem percorrer o conteúdo.
+ *
+ * @author fanny
+ *
+ */
+public final class Integridade {
+
+	/**
+	 * Tamanho, em bytes, do selo.
+	 */
+	public static final int TAMANHO_SELO = 8;
+
+	/**
+	 * Valor retornado por {@link #verifica(ByteBuffer)} quando o conteúdo não
+	 * confere com o selo.
+	 */
+	public static final int CORROMPIDO = -1;
+
+	/**
+	 * Valor retornado quando o arquivo não termina em um selo.
+	 */
+	public static final int SEM_SELO = -2;
+
+	private static final int MAGICO = 0xC3A551D7;
+
+	private Integridade() {
+	}
+
+	/**
+	 * Acrescenta o selo ao fim de um conteúdo.
+	 *
+	 * @param conteudo
+	 *            o conteúdo a ser selado
+	 * @return o conteúdo seguido do selo
+	 */
+	public static byte[] sela(byte[] conteudo) {
+		ByteBuffer selado = ByteBuffer.allocate(conteudo.length + TAMANHO_SELO);
+		selado.put(conteudo);
+		selado.putInt(MAGICO);
+		selado.putInt(crc(ByteBuffer.wrap(conteudo)));
+		return selado.array();
+	}
+
+	/**
+	 * Verifica o selo de um arquivo.
+	 *
+	 * @param arquivo
+	 *            o conteúdo do arquivo, da posição atual até o limite
+	 * @return int o tamanho do conteúdo sem o selo, {@link #CORROMPIDO} caso o
+	 *         conteúdo não confira com o selo, ou {@link #SEM_SELO} caso o
+	 *         arquivo não termine em um selo
+	 */
+	public static int verifica(ByteBuffer arquivo) {
+		int tamanho = tamanhoSelado(arquivo);
+		if (tamanho == SEM_SELO) {
+			return SEM_SELO;
+		}
+
+		int inicio = arquivo.position();
+		ByteBuffer conteudo = arquivo.duplicate();
+		conteudo.limit(inicio + tamanho);
+
+		if (crc(conteudo) != arquivo.getInt(inicio + tamanho + 4)) {
+			return CORROMPIDO;
+		}
+		return tamanho;
+	}
+
+	/**
+	 * Verifica apenas a presença do selo, sem calcular o CRC32C do conteúdo.
+	 *
+	 * @param arquivo
+	 *            o conteúdo do arquivo, da posição atual até o limite
+	 * @return int o tamanho do conteúdo sem o selo, ou {@link #SEM_SELO} caso o
+	 *         arquivo não termine em um selo
+	 */
+	public static int tamanhoSelado(ByteBuffer arquivo) {
+		int tamanho = arquivo.remaining() - TAMANHO_SELO;
+
+		if (tamanho < 0 || arquivo.getInt(arquivo.position() + tamanho) != MAGICO) {
+			return SEM_SELO;
+		}
+		return tamanho;
+	}
+
+	/**
+	 * Calcula o CRC32C de um conteúdo.
+	 *
+	 * @param conteudo
+	 *            o conteúdo, da posição atual até o limite
+	 * @return int o CRC32C do conteúdo
+	 */
+	public static int crc(ByteBuffer conteudo) {
+		CRC32C crc = new CRC32C();
+		crc.update(conteudo.duplicate());
+		return (int) crc.getValue();
+	}
+}
@@ -1,11 +1,16 @@
 package persistencia;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
 
 /**
@@ -19,119 +24,393 @@ public class Persistencia {
 	
 	private static final String DIR = "resources" + File.separator + "persistencia";
 	
-	private File rootPath = new File(DIR);
+	private static final String AJUDAS = "ajudas.txt";
+	private static final String ALUNOS = "alunos.txt";
+	private static final String TUTORES = "tutores.txt";
+	private static final String ALUNOS_MAPEADOS = "alunos.map";
+	private static final String TUTORES_MAPEADOS = "tutores.map";
 	
-	private File arquivoAjudas;
-	private File arquivoAlunos;
-	private File arquivoTutores;
+	private Armazenamento armazenamento;
+	
+	private RegistroSegmentado registroAjudas;
+	private RegistroSegmentado registroAlunos;
+	private RegistroSegmentado registroTutores;
+	
+	/**
+	 * Diário de doações, em que cada lançamento é gravado uma única vez.
+	 */
+	private RegistroSegmentado registroDoacoes;
+	
+	/**
+	 * Escritor dos registros no modo assíncrono, ou null caso os salvamentos
+	 * sejam feitos na thread que os pede.
+	 */
+	private EscritorAssincrono escritor;
+	
+	/**
+	 * Estatísticas dos snapshots comprimidos dos três registros.
+	 */
+	private EstatisticasCompressao estatisticasCompressao;
+	
+	/**
+	 * Informa se os arquivos gravados por inteiro já foram migrados.
+	 * 
+	 * @see Armazenamento#migra(String...)
+	 */
+	private boolean migrado;
 	
 
 	public Persistencia(){
-		
-		this.arquivoAjudas = new File(rootPath + File.separator + "ajudas.txt");
-		this.arquivoAlunos = new File(rootPath + File.separator + "alunos.txt");
-		this.arquivoTutores = new File(rootPath + File.separator + "tutores.txt");
+		this(new File(DIR));
+	}
+
+	/**
+	 * Constrói a persistência gravando os arquivos em um diretório específico,
+	 * permitindo que vários sistemas sejam executados sem compartilhar os mesmos
+	 * arquivos.
+	 * 
+	 * @param diretorio
+	 *            o diretório onde os arquivos serão gravados
+	 */
+	public Persistencia(File diretorio){
+		this(new ArmazenamentoDiretorio(diretorio));
+	}
+
+	/**
+	 * Constrói a persistência sobre um armazenamento específico. Uma mesma
+	 * persistência é compartilhada pelos controllers de um sistema, e as suas
+	 * operações são serializadas, de forma que haja um único escritor por
+	 * armazenamento.
+	 * 
+	 * @param armazenamento
+	 *            o local onde os arquivos serão guardados
+	 */
+	public Persistencia(Armazenamento armazenamento){
+		this.armazenamento = armazenamento;
+		this.registroAjudas = new RegistroSegmentado(armazenamento, "ajudas");
+		this.registroAlunos = new RegistroSegmentado(armazenamento, "alunos");
+		this.registroTutores = new RegistroSegmentado(armazenamento, "tutores");
+		this.registroDoacoes = new RegistroSegmentado(armazenamento, "doacoes");
+		this.estatisticasCompressao = new EstatisticasCompressao();
+	}
 	
+	/**
+	 * Método usado para salvar as ajudas alteradas desde o último salvamento.
+	 * Apenas as ajudas informadas são gravadas.
+	 * 
+	 * @param alteradas
+	 *            a representação textual de cada ajuda alterada, tendo como
+	 *            chave o identificador da ajuda
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita do arquivo
+	 * @see RegistroSegmentado#acrescenta(Map)
+	 */
+	public synchronized void salvaAjudas(Map<String, String> alteradas) throws IOException{
+		this.salva(this.registroAjudas, alteradas);
 	}
 	
 	/**
-	 * Método usado para salvar as ajudas cadastradas no sistema
+	 * Método usado para salvar os tutores alterados desde o último salvamento.
+	 * Apenas os tutores informados são gravados.
 	 * 
-	 * @param texto
-	 *            uma representação textual de todas as ajudas cadastradas no
-	 *            sistema
+	 * @param alterados
+	 *            a representação textual de cada tutor alterado, tendo como
+	 *            chave o email do tutor
 	 * @throws IOException
 	 *             caso ocorra algum erro na escrita do arquivo
+	 * @see RegistroSegmentado#acrescenta(Map)
 	 */
-	public void salvaAjudas(String texto) throws IOException{
-		this.salvar(this.arquivoAjudas, texto);
+	public synchronized void salvaTutores(Map<String, String> alterados) throws IOException{
+		this.salva(this.registroTutores, alterados);
 	}
 	
 	/**
-	 * Método usado para salvar os tutores cadastradas no sistema
+	 * Método usado para salvar os alunos alterados desde o último salvamento.
+	 * Apenas os alunos informados são gravados.
 	 * 
-	 * @param texto
-	 *            uma representação textual de todas os tutores cadastrados no
-	 *            sistema
+	 * @param alterados
+	 *            a representação textual de cada aluno alterado, tendo como
+	 *            chave a matrícula do aluno
 	 * @throws IOException
 	 *             caso ocorra algum erro na escrita do arquivo
+	 * @see RegistroSegmentado#acrescenta(Map)
 	 */
-	public void salvaTutores(String texto) throws IOException{
-		this.salvar(this.arquivoTutores, texto);
+	public synchronized void salvaAlunos(Map<String, String> alterados) throws IOException{ 
+		this.salva(this.registroAlunos, alterados);
 	}
 	
 	/**
-	 * Método usado para salvar os alunos cadastrados no sistema
+	 * Acrescenta lançamentos ao diário de doações. Cada lançamento deve ser
+	 * salvo uma única vez, com uma chave que não se repete.
 	 * 
-	 * @param texto
-	 *            uma representação textual de todas os alunos cadastradas no
-	 *            sistema
+	 * @param lancamentos
+	 *            a representação textual de cada lançamento, tendo como chave
+	 *            a sua sequência
 	 * @throws IOException
 	 *             caso ocorra algum erro na escrita do arquivo
+	 * @see RegistroSegmentado#acrescenta(Map)
 	 */
-	public void salvaAlunos(String texto) throws IOException{ 
-		this.salvar(this.arquivoAlunos, texto);
+	public synchronized void salvaDoacoes(Map<String, String> lancamentos) throws IOException{
+		this.salva(this.registroDoacoes, lancamentos);
+	}
+	
+	/**
+	 * Lê todos os lançamentos do diário de doações.
+	 * 
+	 * @return a representação textual de cada lançamento, tendo como chave a
+	 *         sua sequência, na ordem em que foram salvos
+	 * @throws IOException
+	 *             caso ocorra algum problema na leitura
+	 */
+	public synchronized Map<String, String> carregaDoacoes() throws IOException{
+		this.migra();
+		this.flush();
+		if (!this.registroDoacoes.existe()) {
+			return Collections.emptyMap();
+		}
+		return this.registroDoacoes.le();
+	}
+
+	/**
+	 * Passa a fazer os salvamentos de alunos, tutores e ajudas em uma thread de
+	 * E/S dedicada. Os salvamentos pedidos retornam sem esperar a escrita, que
+	 * acontece no máximo após a defasagem informada.
+	 * 
+	 * @param defasagemMaximaMillis
+	 *            o tempo máximo, em milissegundos, entre um salvamento e a sua
+	 *            escrita
+	 * @see EscritorAssincrono
+	 */
+	public synchronized void ativaModoAssincrono(long defasagemMaximaMillis){
+		if (this.escritor == null) {
+			this.escritor = new EscritorAssincrono(defasagemMaximaMillis);
+		}
+	}
+
+	/**
+	 * Grava os salvamentos que aguardam a escrita e volta a fazer os
+	 * salvamentos na thread que os pede.
+	 * 
+	 * @throws IOException
+	 *             caso alguma escrita tenha falhado
+	 */
+	public synchronized void encerraModoAssincrono() throws IOException{
+		if (this.escritor == null) {
+			return;
+		}
+		
+		try {
+			this.escritor.encerra();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} finally {
+			this.escritor = null;
+		}
 	}
 
+	/**
+	 * Espera a escrita de todos os salvamentos pedidos até agora. No modo
+	 * síncrono, retorna imediatamente.
+	 * 
+	 * @throws IOException
+	 *             caso alguma escrita tenha falhado desde o último flush
+	 * @see EscritorAssincrono#flush()
+	 */
+	public synchronized void flush() throws IOException{
+		if (this.escritor == null) {
+			return;
+		}
+		
+		try {
+			this.escritor.flush();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+	}
 
 	/**
-	 * Faz a letura do arquivo de ajudas do sistema
+	 * Passa a gravar a versão atual de ajudas, alunos e tutores em snapshots
+	 * comprimidos a cada compactação, trocando tempo de processamento por
+	 * espaço em disco.
+	 * 
+	 * @see RegistroSegmentado#ativaCompressao(EstatisticasCompressao)
+	 */
+	public synchronized void ativaSnapshotsComprimidos(){
+		this.registroAjudas.ativaCompressao(this.estatisticasCompressao);
+		this.registroAlunos.ativaCompressao(this.estatisticasCompressao);
+		this.registroTutores.ativaCompressao(this.estatisticasCompressao);
+	}
+
+	public EstatisticasCompressao getEstatisticasCompressao() {
+		return this.estatisticasCompressao;
+	}
+
+	public synchronized EscritorAssincrono getEscritor() {
+		return this.escritor;
+	}
+
+
+	/**
+	 * Faz a letura das ajudas salvas no sistema
 	 * @throws IOException caso ocorra algum problema na leitura
 	 */
 	public String carregaAjudas() throws IOException{
-		return this.carregar(this.arquivoAjudas);
+		return this.carregar(this.registroAjudas, AJUDAS);
 	}
 	
 	/**
-	 * Faz a letura do arquivo de tutores do sistema
+	 * Faz a letura dos tutores salvos no sistema
 	 * @throws IOException caso ocorra algum problema na leitura
 	 */
 	public String carregaTutores() throws IOException{
-		return this.carregar(this.arquivoTutores);
+		return this.carregar(this.registroTutores, TUTORES);
 	}
 	
 	/**
-	 * Faz a letura do arquivo de alunos do sistema
+	 * Faz a letura dos alunos salvos no sistema
 	 * @throws IOException caso ocorra algum problema na leitura
 	 */
 	public String carregaAlunos() throws IOException{ 
-		return this.carregar(this.arquivoAlunos);
+		return this.carregar(this.registroAlunos, ALUNOS);
+	}
+
+	/**
+	 * Regrava os registros de ajudas, alunos e tutores apenas com a versão
+	 * atual de cada entidade, descartando as versões antigas.
+	 * 
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura ou na escrita
+	 * @see RegistroSegmentado#compacta()
+	 */
+	public synchronized void compacta() throws IOException{
+		this.migra();
+		this.flush();
+		this.registroAjudas.compacta();
+		this.registroAlunos.compacta();
+		this.registroTutores.compacta();
 	}
 	
 	
 	/**
-	 * Salva um arquivo no sistema
+	 * Salva os alunos no formato mapeável, indexados pela matrícula.
 	 * 
-	 * @param arquivo
-	 *            o arquivo que será salvo
-	 * @param texto
-	 *            o texto que será escrito no arquivo
+	 * @param registros
+	 *            os registros dos alunos, começando pela matrícula
 	 * @throws IOException
 	 *             caso ocorra algum erro na escrita do arquivo
+	 * @see ArquivoMapeado#codifica(List)
 	 */
-	private void salvar(File arquivo, String texto)throws IOException{
-		FileWriter fw = new FileWriter(arquivo);
-		BufferedWriter bw = new BufferedWriter(fw);
-		
-		bw.write(texto);
+	public synchronized void salvaAlunosMapeados(List<String[]> registros) throws IOException {
+		this.migra();
+		this.armazenamento.grava(ALUNOS_MAPEADOS, ArquivoMapeado.codifica(registros));
+	}
+
+	/**
+	 * Salva os tutores no formato mapeável, indexados pelo email.
+	 * 
+	 * @param registros
+	 *            os registros dos tutores, começando pelo email
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita do arquivo
+	 * @see ArquivoMapeado#codifica(List)
+	 */
+	public synchronized void salvaTutoresMapeados(List<String[]> registros) throws IOException {
+		this.migra();
+		this.armazenamento.grava(TUTORES_MAPEADOS, ArquivoMapeado.codifica(registros));
+	}
+
+	/**
+	 * Mapeia em memória o arquivo de alunos salvo no formato mapeável.
+	 * 
+	 * @return o arquivo mapeado, ou null caso os alunos nunca tenham sido salvos
+	 *         nesse formato
+	 * @throws IOException
+	 *             caso ocorra algum problema na leitura
+	 */
+	public synchronized ArquivoMapeado abreAlunosMapeados() throws IOException {
+		return this.abreMapeado(ALUNOS_MAPEADOS);
+	}
+
+	/**
+	 * Mapeia em memória o arquivo de tutores salvo no formato mapeável.
+	 * 
+	 * @return o arquivo mapeado, ou null caso os tutores nunca tenham sido salvos
+	 *         nesse formato
+	 * @throws IOException
+	 *             caso ocorra algum problema na leitura
+	 */
+	public synchronized ArquivoMapeado abreTutoresMapeados() throws IOException {
+		return this.abreMapeado(TUTORES_MAPEADOS);
+	}
+
+	private ArquivoMapeado abreMapeado(String nome) throws IOException {
+		this.migra();
+		ByteBuffer conteudo = this.armazenamento.mapeia(nome);
+		if (conteudo == null) {
+			return null;
+		}
+		return ArquivoMapeado.de(conteudo);
+	}
+	
+	/**
+	 * Grava os registros de entidades alteradas, ou agenda a sua escrita no
+	 * modo assíncrono.
+	 */
+	private void salva(RegistroSegmentado registro, Map<String, String> registros) throws IOException{
+		this.migra();
+		if (this.escritor == null) {
+			registro.acrescenta(registros);
+		} else {
+			this.escritor.agenda(registro, registros);
+		}
+	}
+	
+	/**
+	 * Faz a leitura das entidades de um registro, separadas por vírgula. Caso o
+	 * registro ainda não tenha sido gravado, lê o arquivo de texto completo
+	 * salvo pelas versões anteriores.
+	 * 
+	 * @param registro
+	 *            o registro das entidades
+	 * @param legado
+	 *            o nome do arquivo de texto completo
+	 * @return string uma string representando as entidades salvas
+	 * @throws IOException
+	 *             caso ocorra algum problema na leitura
+	 */
+	private synchronized String carregar(RegistroSegmentado registro, String legado) throws IOException{
+		this.migra();
+		this.flush();
+		if (!registro.existe()) {
+			return this.carregar(legado);
+		}
 		
-		bw.close();
-		fw.close();
+		StringJoiner joiner = new StringJoiner(", ");
+		for (String texto : registro.le().values()) {
+			joiner.add(texto);
+		}
+		return joiner.toString();
 	}
 	
 	/**
 	 * Faz a leitura do arquivo passado como parametro
 	 * 
-	 * @param arquivo
-	 *            o arquvo a ser lido
+	 * @param nome
+	 *            o nome do arquvo a ser lido
 	 * @return string uma string representando o conteúdo do arquivo
 	 * @throws IOException
 	 *             caso ocorra algum problema na leitura
 	 */
-	private String carregar(File arquivo) throws IOException{
+	private synchronized String carregar(String nome) throws IOException{
+		
+		byte[] conteudo = this.armazenamento.le(nome);
+		if (conteudo == null) {
+			throw new FileNotFoundException(nome);
+		}
 		
-		FileReader fr = new FileReader(arquivo);
-		BufferedReader br = new BufferedReader(fr);
+		BufferedReader br = new BufferedReader(new StringReader(new String(conteudo, StandardCharsets.UTF_8)));
 		
 		StringJoiner joiner = new StringJoiner(System.lineSeparator());
 		
@@ -142,22 +421,69 @@ public class Persistencia {
 		}
 		
 		br.close();
-		fr.close();
 		
 		return joiner.toString();
 		
 	}
 	
-	public void limparAjudas(){
-		this.arquivoAjudas.delete();
+	public synchronized void limparAjudas(){
+		this.armazenamento.remove(AJUDAS);
+		this.descarta(this.registroAjudas);
+		this.registroAjudas.limpa();
 	}
 	
-	public void limparTutores(){
-		this.arquivoTutores.delete();
+	public synchronized void limparTutores(){
+		this.armazenamento.remove(TUTORES);
+		this.armazenamento.remove(TUTORES_MAPEADOS);
+		this.descarta(this.registroTutores);
+		this.registroTutores.limpa();
 	}
 	
-	public void limparAlunos(){
-		this.arquivoAlunos.delete();
+	public synchronized void limparDoacoes(){
+		this.descarta(this.registroDoacoes);
+		this.registroDoacoes.limpa();
+	}
+	
+	public synchronized void limparAlunos(){
+		this.armazenamento.remove(ALUNOS);
+		this.armazenamento.remove(ALUNOS_MAPEADOS);
+		this.descarta(this.registroAlunos);
+		this.registroAlunos.limpa();
+	}
+	
+	/**
+	 * Sela, uma única vez, os arquivos gravados por inteiro antes da existência
+	 * do selo, antes do primeiro acesso aos arquivos.
+	 */
+	private void migra() throws IOException{
+		if (this.migrado) {
+			return;
+		}
+		
+		this.armazenamento.migra(AJUDAS, ALUNOS, TUTORES, ALUNOS_MAPEADOS, TUTORES_MAPEADOS,
+				this.registroAjudas.manifesto(), this.registroAlunos.manifesto(), this.registroTutores.manifesto(),
+				this.registroDoacoes.manifesto());
+		this.migrado = true;
+	}
+	
+	/**
+	 * Descarta os salvamentos de um registro que aguardam a escrita, para que
+	 * não sejam gravados depois de o registro ser limpo.
+	 */
+	private void descarta(RegistroSegmentado registro){
+		if (this.escritor == null) {
+			return;
+		}
+		
+		try {
+			this.escritor.descarta(registro);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public Armazenamento getArmazenamento() {
+		return this.armazenamento;
 	}
 
 }
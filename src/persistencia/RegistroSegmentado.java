@@ -0,0 +1,401 @@
+package persistencia;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registro de entidades gravado em segmentos apenas de acréscimo. Cada
+ * entidade é uma linha com a sua chave, a sua representação textual e o CRC32C
+ * das duas, e cada salvamento acrescenta ao segmento atual apenas as entidades
+ * alteradas desde o salvamento anterior. Quando o segmento atual atinge o
+ * tamanho máximo, um novo segmento é iniciado.
+ *
+ * Na leitura, os segmentos são percorridos em ordem e a última linha válida de
+ * cada chave prevalece. Linhas incompletas ou que não conferem com o seu CRC
+ * são ignoradas, de forma que prevalece a versão anterior da entidade. Caso o
+ * último segmento termine em uma linha incompleta, deixada por uma escrita
+ * interrompida, os acréscimos seguintes vão para um novo segmento, para que a
+ * primeira linha nova não seja emendada à linha incompleta.
+ *
+ * A compactação grava a versão atual de cada entidade em novos segmentos,
+ * depois dos atuais, e só então aponta o manifesto do registro para eles e
+ * remove os segmentos antigos. Uma falha durante a compactação mantém o
+ * registro anterior.
+ *
+ * No modo comprimido, a compactação grava a versão atual de cada entidade em um
+ * snapshot comprimido, que precede o primeiro segmento e é lido antes dele. Os
+ * salvamentos seguintes continuam sendo acrescentados a segmentos sem
+ * compressão.
+ *
+ * @author fanny
+ *
+ */
+public class RegistroSegmentado {
+
+	/**
+	 * Tamanho máximo padrão de um segmento, em bytes.
+	 */
+	public static final int TAMANHO_SEGMENTO_PADRAO = 1 << 20;
+
+	private Armazenamento armazenamento;
+	private String prefixo;
+	private int tamanhoSegmento;
+
+	/**
+	 * Primeiro segmento do registro, ou -1 caso ainda não tenha sido lido do
+	 * manifesto.
+	 */
+	private int primeiroSegmento;
+
+	/**
+	 * Segmento que recebe os próximos acréscimos, ou -1 caso ainda não tenha
+	 * sido localizado no armazenamento.
+	 */
+	private int segmentoAtual;
+
+	/**
+	 * Tamanho, em bytes, do segmento atual.
+	 */
+	private long tamanhoAtual;
+
+	/**
+	 * Estatísticas dos snapshots comprimidos do registro.
+	 */
+	private EstatisticasCompressao estatisticas;
+
+	/**
+	 * Informa se a compactação grava um snapshot comprimido em vez de novos
+	 * segmentos.
+	 */
+	private boolean comprimido;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param armazenamento
+	 *            o local onde os segmentos são guardados
+	 * @param prefixo
+	 *            o prefixo do nome dos segmentos
+	 */
+	public RegistroSegmentado(Armazenamento armazenamento, String prefixo) {
+		this(armazenamento, prefixo, TAMANHO_SEGMENTO_PADRAO);
+	}
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param armazenamento
+	 *            o local onde os segmentos são guardados
+	 * @param prefixo
+	 *            o prefixo do nome dos segmentos
+	 * @param tamanhoSegmento
+	 *            o tamanho máximo de um segmento, em bytes
+	 */
+	public RegistroSegmentado(Armazenamento armazenamento, String prefixo, int tamanhoSegmento) {
+		this.armazenamento = armazenamento;
+		this.prefixo = prefixo;
+		this.tamanhoSegmento = tamanhoSegmento;
+		this.primeiroSegmento = -1;
+		this.segmentoAtual = -1;
+		this.estatisticas = new EstatisticasCompressao();
+	}
+
+	/**
+	 * Passa a gravar a versão atual das entidades em um snapshot comprimido a
+	 * cada compactação.
+	 *
+	 * @param estatisticas
+	 *            as estatísticas que recebem o resultado de cada compressão e
+	 *            descompressão
+	 * @see SnapshotComprimido
+	 */
+	public synchronized void ativaCompressao(EstatisticasCompressao estatisticas) {
+		this.estatisticas = estatisticas;
+		this.comprimido = true;
+	}
+
+	/**
+	 * Acrescenta a versão atual de entidades ao registro.
+	 *
+	 * @param registros
+	 *            a representação textual de cada entidade, tendo como chave o
+	 *            identificador da entidade
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita
+	 */
+	public synchronized void acrescenta(Map<String, String> registros) throws IOException {
+		if (registros.isEmpty()) {
+			return;
+		}
+		this.localizaSegmentoAtual();
+
+		ByteArrayOutputStream pendente = new ByteArrayOutputStream();
+
+		for (Map.Entry<String, String> registro : registros.entrySet()) {
+			byte[] linha = linha(registro.getKey(), registro.getValue());
+
+			if (this.tamanhoAtual + pendente.size() > 0
+					&& this.tamanhoAtual + pendente.size() + linha.length > this.tamanhoSegmento) {
+				this.descarrega(pendente);
+				this.segmentoAtual++;
+				this.tamanhoAtual = 0;
+			}
+
+			pendente.write(linha, 0, linha.length);
+		}
+
+		this.descarrega(pendente);
+	}
+
+	/**
+	 * Lê a versão atual de cada entidade do registro.
+	 *
+	 * @return a representação textual de cada entidade, tendo como chave o
+	 *         identificador da entidade, na ordem em que as entidades foram
+	 *         gravadas pela primeira vez
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura
+	 */
+	public synchronized Map<String, String> le() throws IOException {
+		Map<String, String> registros = new LinkedHashMap<>();
+
+		SnapshotComprimido.le(this.armazenamento, this.snapshot(this.primeiroSegmento()), this.estatisticas,
+				linha -> le(linha, registros));
+
+		for (int segmento = this.primeiroSegmento();; segmento++) {
+			ByteBuffer conteudo = this.armazenamento.mapeiaAcrescimos(this.nome(segmento));
+			if (conteudo == null) {
+				return registros;
+			}
+			byte[] bytes = new byte[conteudo.remaining()];
+			conteudo.get(bytes);
+			leLinhas(bytes, registros);
+		}
+	}
+
+	/**
+	 * Verifica se o registro possui algum segmento.
+	 *
+	 * @return boolean true caso o registro já tenha sido gravado
+	 */
+	public synchronized boolean existe() {
+		return this.armazenamento.existe(this.manifesto()) || this.armazenamento.existe(this.nome(0));
+	}
+
+	/**
+	 * Regrava o registro apenas com a versão atual de cada entidade.
+	 *
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura ou na escrita
+	 */
+	public synchronized void compacta() throws IOException {
+		Map<String, String> registros = this.le();
+		int primeiroAntigo = this.primeiroSegmento();
+		int novoPrimeiro = primeiroAntigo + Math.max(this.segmentos(), 1);
+
+		this.segmentoAtual = novoPrimeiro;
+		this.tamanhoAtual = 0;
+		if (this.comprimido) {
+			this.gravaSnapshot(novoPrimeiro, registros);
+		} else {
+			this.acrescenta(registros);
+		}
+
+		this.armazenamento.grava(this.manifesto(),
+				String.valueOf(novoPrimeiro).getBytes(StandardCharsets.UTF_8));
+		this.primeiroSegmento = novoPrimeiro;
+
+		this.armazenamento.remove(this.snapshot(primeiroAntigo));
+		for (int segmento = primeiroAntigo; segmento < novoPrimeiro; segmento++) {
+			this.armazenamento.remove(this.nome(segmento));
+		}
+	}
+
+	/**
+	 * Grava as entidades em um snapshot comprimido, uma linha de cada vez.
+	 */
+	private void gravaSnapshot(int segmento, Map<String, String> registros) throws IOException {
+		SnapshotComprimido snapshot = new SnapshotComprimido(this.armazenamento, this.snapshot(segmento),
+				this.estatisticas);
+		for (Map.Entry<String, String> registro : registros.entrySet()) {
+			snapshot.escreve(linha(registro.getKey(), registro.getValue()));
+		}
+		snapshot.fecha();
+	}
+
+	/**
+	 * Remove todos os segmentos do registro.
+	 */
+	public synchronized void limpa() {
+		try {
+			this.armazenamento.remove(this.snapshot(this.primeiroSegmento()));
+			for (int segmento = this.primeiroSegmento(); this.armazenamento
+					.existe(this.nome(segmento)); segmento++) {
+				this.armazenamento.remove(this.nome(segmento));
+			}
+		} catch (IOException e) {
+			for (int segmento = 0; this.armazenamento.existe(this.nome(segmento)); segmento++) {
+				this.armazenamento.remove(this.nome(segmento));
+			}
+		}
+		this.armazenamento.remove(this.manifesto());
+		this.primeiroSegmento = 0;
+		this.segmentoAtual = 0;
+		this.tamanhoAtual = 0;
+	}
+
+	/**
+	 * Retorna a quantidade de segmentos do registro.
+	 *
+	 * @return int a quantidade de segmentos
+	 */
+	public synchronized int segmentos() throws IOException {
+		int primeiro = this.primeiroSegmento();
+		int segmento = primeiro;
+		while (this.armazenamento.existe(this.nome(segmento))) {
+			segmento++;
+		}
+		return segmento - primeiro;
+	}
+
+	/**
+	 * Lê o primeiro segmento do manifesto, caso ainda não tenha sido lido.
+	 */
+	private int primeiroSegmento() throws IOException {
+		if (this.primeiroSegmento < 0) {
+			byte[] manifesto = this.armazenamento.le(this.manifesto());
+			this.primeiroSegmento = manifesto == null ? 0
+					: Integer.parseInt(new String(manifesto, StandardCharsets.UTF_8).trim());
+		}
+		return this.primeiroSegmento;
+	}
+
+	private void localizaSegmentoAtual() throws IOException {
+		if (this.segmentoAtual >= 0) {
+			return;
+		}
+
+		int segmento = this.primeiroSegmento() + Math.max(this.segmentos() - 1, 0);
+		this.segmentoAtual = segmento;
+		this.tamanhoAtual = Math.max(this.armazenamento.tamanho(this.nome(segmento)), 0);
+
+		if (this.tamanhoAtual > 0 && !this.terminaEmLinha(segmento)) {
+			this.segmentoAtual++;
+			this.tamanhoAtual = 0;
+		}
+	}
+
+	/**
+	 * Verifica se o segmento termina em uma quebra de linha, ou seja, se a
+	 * última escrita no segmento foi concluída.
+	 */
+	private boolean terminaEmLinha(int segmento) throws IOException {
+		ByteBuffer conteudo = this.armazenamento.mapeiaAcrescimos(this.nome(segmento));
+		return conteudo == null || !conteudo.hasRemaining() || conteudo.get(conteudo.limit() - 1) == '\n';
+	}
+
+	/**
+	 * Acrescenta as linhas pendentes ao segmento atual. Caso a escrita falhe, o
+	 * segmento atual é localizado novamente no próximo acréscimo, pois ele pode
+	 * ter ficado com uma linha incompleta.
+	 */
+	private void descarrega(ByteArrayOutputStream pendente) throws IOException {
+		if (pendente.size() == 0) {
+			return;
+		}
+		try {
+			this.armazenamento.acrescenta(this.nome(this.segmentoAtual), pendente.toByteArray());
+		} catch (IOException e) {
+			this.segmentoAtual = -1;
+			throw e;
+		}
+		this.tamanhoAtual += pendente.size();
+		pendente.reset();
+	}
+
+	private String nome(int segmento) {
+		return this.prefixo + "." + segmento + ".seg";
+	}
+
+	private String snapshot(int segmento) {
+		return this.prefixo + "." + segmento + ".snap";
+	}
+
+	/**
+	 * @return o nome do manifesto, o único arquivo do registro gravado por
+	 *         inteiro
+	 */
+	String manifesto() {
+		return this.prefixo + ".manifesto";
+	}
+
+	/**
+	 * Codifica uma entidade como uma linha: a chave, a representação textual e o
+	 * CRC32C das duas, separados por tabulação.
+	 */
+	private static byte[] linha(String chave, String valor) {
+		String dados = escapa(chave) + '\t' + escapa(valor);
+		int crc = Integridade.crc(ByteBuffer.wrap(dados.getBytes(StandardCharsets.UTF_8)));
+		return (dados + '\t' + String.format("%08x", crc) + '\n').getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void leLinhas(byte[] conteudo, Map<String, String> registros) {
+		String texto = new String(conteudo, StandardCharsets.UTF_8);
+		int inicio = 0;
+		int fim = texto.indexOf('\n');
+
+		while (fim >= 0) {
+			le(texto.substring(inicio, fim), registros);
+			inicio = fim + 1;
+			fim = texto.indexOf('\n', inicio);
+		}
+	}
+
+	/**
+	 * Lê uma linha, caso ela seja válida. Linhas sem CRC foram gravadas antes da
+	 * sua existência e são aceitas.
+	 */
+	private static void le(String linha, Map<String, String> registros) {
+		int separador = linha.indexOf('\t');
+		if (separador <= 0) {
+			return;
+		}
+
+		int separadorCrc = linha.indexOf('\t', separador + 1);
+		String dados = separadorCrc < 0 ? linha : linha.substring(0, separadorCrc);
+
+		if (separadorCrc >= 0) {
+			int crc = Integridade.crc(ByteBuffer.wrap(dados.getBytes(StandardCharsets.UTF_8)));
+			if (!String.format("%08x", crc).equals(linha.substring(separadorCrc + 1))) {
+				return;
+			}
+		}
+
+		registros.put(desescapa(dados.substring(0, separador)), desescapa(dados.substring(separador + 1)));
+	}
+
+	private static String escapa(String texto) {
+		return texto.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	private static String desescapa(String texto) {
+		StringBuilder resultado = new StringBuilder(texto.length());
+
+		for (int i = 0; i < texto.length(); i++) {
+			char c = texto.charAt(i);
+			if (c != '\\' || i + 1 == texto.length()) {
+				resultado.append(c);
+				continue;
+			}
+
+			char escapado = texto.charAt(++i);
+			resultado.append(escapado == 't' ? '\t' : escapado == 'n' ? '\n' : escapado == 'r' ? '\r' : escapado);
+		}
+
+		return resultado.toString();
+	}
+}
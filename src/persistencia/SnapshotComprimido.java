@@ -0,0 +1,215 @@
+package persistencia;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import util.persistencia.MensagemPersistencia;
+
+/**
+ * Snapshot de um registro comprimido com Deflate. O conteúdo é comprimido à
+ * medida que é escrito e acrescentado ao armazenamento em blocos de tamanho
+ * fixo, e é lido linha a linha à medida que é descomprimido, de forma que o
+ * snapshot completo nunca fica em memória, nem antes nem depois da compressão.
+ *
+ * O compressor é iniciado com um dicionário dos trechos que mais se repetem
+ * nos arquivos do sistema, como os domínios de email e os separadores das
+ * representações textuais, o que melhora a compressão de registros pequenos.
+ *
+ * @author fanny
+ *
+ */
+public class SnapshotComprimido {
+
+	/**
+	 * Tamanho, em bytes, de cada bloco comprimido acrescentado ao
+	 * armazenamento.
+	 */
+	public static final int TAMANHO_BLOCO = 64 * 1024;
+
+	/**
+	 * Dicionário inicial do compressor. Os trechos mais frequentes ficam no fim,
+	 * onde as referências são mais curtas.
+	 */
+	private static final byte[] DICIONARIO = ("disciplina - Tutor - @gmail.com@ccc.ufcg.edu.br"
+			+ " - 1 - 99 - 2 - 9911715117").getBytes(StandardCharsets.UTF_8);
+
+	private Armazenamento armazenamento;
+	private String nome;
+	private EstatisticasCompressao estatisticas;
+
+	private Deflater compressor;
+	private byte[] bloco;
+	private int ocupado;
+
+	private long bytesOriginais;
+	private long bytesComprimidos;
+	private long nanos;
+
+	/**
+	 * Inicia a escrita de um snapshot, substituindo o snapshot anterior de mesmo
+	 * nome, caso exista.
+	 *
+	 * @param armazenamento
+	 *            o local onde o snapshot é guardado
+	 * @param nome
+	 *            o nome do snapshot
+	 * @param estatisticas
+	 *            as estatísticas que recebem o resultado da escrita
+	 */
+	public SnapshotComprimido(Armazenamento armazenamento, String nome, EstatisticasCompressao estatisticas) {
+		this.armazenamento = armazenamento;
+		this.nome = nome;
+		this.estatisticas = estatisticas;
+
+		this.compressor = new Deflater(Deflater.DEFAULT_COMPRESSION);
+		this.compressor.setDictionary(DICIONARIO);
+		this.bloco = new byte[TAMANHO_BLOCO];
+
+		armazenamento.remove(nome);
+	}
+
+	/**
+	 * Comprime um trecho do snapshot, acrescentando ao armazenamento os blocos
+	 * que forem completados.
+	 *
+	 * @param conteudo
+	 *            o trecho a ser escrito
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita
+	 */
+	public void escreve(byte[] conteudo) throws IOException {
+		long inicio = System.nanoTime();
+
+		this.compressor.setInput(conteudo);
+		while (!this.compressor.needsInput()) {
+			this.comprime();
+		}
+
+		this.bytesOriginais += conteudo.length;
+		this.nanos += System.nanoTime() - inicio;
+	}
+
+	/**
+	 * Conclui o snapshot, escrevendo o restante do conteúdo comprimido e
+	 * registrando a escrita nas estatísticas.
+	 *
+	 * @throws IOException
+	 *             caso ocorra algum erro na escrita
+	 */
+	public void fecha() throws IOException {
+		long inicio = System.nanoTime();
+
+		try {
+			this.compressor.finish();
+			while (!this.compressor.finished()) {
+				this.comprime();
+			}
+			this.descarrega();
+		} finally {
+			this.compressor.end();
+		}
+
+		this.nanos += System.nanoTime() - inicio;
+		this.estatisticas.registraCompressao(this.bytesOriginais, this.bytesComprimidos, this.nanos);
+	}
+
+	private void comprime() throws IOException {
+		this.ocupado += this.compressor.deflate(this.bloco, this.ocupado, this.bloco.length - this.ocupado);
+		if (this.ocupado == this.bloco.length) {
+			this.descarrega();
+		}
+	}
+
+	private void descarrega() throws IOException {
+		if (this.ocupado == 0) {
+			return;
+		}
+		this.armazenamento.acrescenta(this.nome, this.ocupado == this.bloco.length ? this.bloco
+				: Arrays.copyOf(this.bloco, this.ocupado));
+		this.bytesComprimidos += this.ocupado;
+		this.ocupado = 0;
+	}
+
+	/**
+	 * Lê um snapshot, descomprimindo-o a partir do arquivo mapeado e entregando
+	 * cada linha assim que ela é descomprimida.
+	 *
+	 * @param armazenamento
+	 *            o local onde o snapshot é guardado
+	 * @param nome
+	 *            o nome do snapshot
+	 * @param estatisticas
+	 *            as estatísticas que recebem o resultado da leitura
+	 * @param linhas
+	 *            quem recebe cada linha do snapshot, sem a quebra de linha
+	 * @return boolean true caso o snapshot exista
+	 * @throws IOException
+	 *             caso ocorra algum erro na leitura ou o snapshot esteja
+	 *             incompleto ou corrompido
+	 */
+	public static boolean le(Armazenamento armazenamento, String nome, EstatisticasCompressao estatisticas,
+			Consumer<String> linhas) throws IOException {
+		long inicio = System.nanoTime();
+
+		ByteBuffer comprimido = armazenamento.mapeiaAcrescimos(nome);
+		if (comprimido == null) {
+			return false;
+		}
+
+		Inflater descompressor = new Inflater();
+
+		try (BufferedReader leitor = new BufferedReader(
+				new InputStreamReader(descomprime(descompressor, comprimido, nome), StandardCharsets.UTF_8),
+				TAMANHO_BLOCO)) {
+			for (String linha = leitor.readLine(); linha != null; linha = leitor.readLine()) {
+				linhas.accept(linha);
+			}
+			estatisticas.registraDescompressao(descompressor.getBytesWritten(), System.nanoTime() - inicio);
+		} catch (ZipException | EOFException e) {
+			throw new IOException(MensagemPersistencia.SNAPSHOT_INVALIDO + nome, e);
+		} finally {
+			descompressor.end();
+		}
+		return true;
+	}
+
+	/**
+	 * Abre o conteúdo descomprimido de um snapshot. O cabeçalho é lido antes
+	 * para que o dicionário seja fornecido ao descompressor, que não o pede ao
+	 * {@link InflaterInputStream}; todo o conteúdo comprimido já é entregue ao
+	 * descompressor, então pedir mais entrada significa que o snapshot está
+	 * incompleto.
+	 */
+	private static InputStream descomprime(Inflater descompressor, ByteBuffer comprimido, String nome)
+			throws IOException {
+		descompressor.setInput(comprimido);
+
+		byte[] primeiro = new byte[1];
+		int lidos;
+		try {
+			lidos = descompressor.inflate(primeiro);
+		} catch (DataFormatException e) {
+			throw new IOException(MensagemPersistencia.SNAPSHOT_INVALIDO + nome, e);
+		}
+		if (lidos == 0 && descompressor.needsDictionary()) {
+			descompressor.setDictionary(DICIONARIO);
+		}
+
+		InputStream conteudo = new InflaterInputStream(InputStream.nullInputStream(), descompressor, TAMANHO_BLOCO);
+		return lidos == 0 ? conteudo : new SequenceInputStream(new ByteArrayInputStream(primeiro, 0, lidos), conteudo);
+	}
+}
@@ -0,0 +1,81 @@
+package replicacao;
+
+import main.Sistema;
+import util.replicacao.MensagemReplicacao;
+
+/**
+ * Aplica a um {@link Sistema} os eventos lidos do registro de replicação.
+ *
+ * As doações são aplicadas com a taxa usada na liquidação do primário, e não
+ * com a taxa atual do tutor no seguidor, e a parte creditada ao tutor é
+ * conferida com a do primário.
+ *
+ * @author Marcus Vinicius
+ */
+class AplicadorEventos {
+
+	private AplicadorEventos() {
+	}
+
+	/**
+	 * Aplica um evento ao sistema, pela mesma operação que o publicou no
+	 * primário. Eventos derivados de outras operações, como a mudança de nível
+	 * do tutor, não são aplicados.
+	 *
+	 * @param sistema
+	 *            o sistema do seguidor
+	 * @param linha
+	 *            o evento lido do registro
+	 * @throws IllegalStateException
+	 *             caso o seguidor produza um resultado diferente do primário
+	 */
+	static void aplica(Sistema sistema, LinhaReplicacao linha) {
+		switch (linha.getTipo()) {
+		case ALUNO_CADASTRADO:
+			sistema.cadastrarAluno(linha.getDado(0), linha.getDado(1), Integer.parseInt(linha.getDado(2)),
+					linha.getDado(3), linha.getDado(4));
+			break;
+		case TUTOR_CADASTRADO:
+		case DISCIPLINA_CADASTRADA:
+			sistema.tornarTutor(linha.getDado(0), linha.getDado(1), Integer.parseInt(linha.getDado(2)));
+			break;
+		case HORARIO_CADASTRADO:
+			sistema.cadastrarHorario(linha.getDado(0), linha.getDado(1), linha.getDado(2));
+			break;
+		case LOCAL_CADASTRADO:
+			sistema.cadastrarLocalDeAtendimento(linha.getDado(0), linha.getDado(1));
+			break;
+		case AJUDA_PRESENCIAL_PEDIDA:
+			confereAjuda(linha, sistema.pedirAjudaPresencial(linha.getDado(1), linha.getDado(2), linha.getDado(3),
+					linha.getDado(4), linha.getDado(5)));
+			break;
+		case AJUDA_ONLINE_PEDIDA:
+			confereAjuda(linha, sistema.pedirAjudaOnline(linha.getDado(1), linha.getDado(2)));
+			break;
+		case TUTOR_AVALIADO:
+			sistema.avaliaTutor(Integer.parseInt(linha.getDado(0)), Integer.parseInt(linha.getDado(1)));
+			break;
+		case DOACAO_REALIZADA:
+			long parteTutor = sistema.registraDoacaoLiquidada(linha.getDado(0), Long.parseLong(linha.getDado(1)),
+					Long.parseLong(linha.getDado(2))).getParteTutor();
+			if (parteTutor != Long.parseLong(linha.getDado(3))) {
+				throw new IllegalStateException(MensagemReplicacao.DIVERGENCIA.toString() + linha.getSequencia());
+			}
+			break;
+		case ORDEM_CONFIGURADA:
+			sistema.configuraOrdem(linha.getDado(0));
+			break;
+		case SISTEMA_LIMPO:
+			sistema.limpar();
+			break;
+		case NIVEL_ALTERADO:
+			break;
+		}
+	}
+
+	private static void confereAjuda(LinhaReplicacao linha, int idAjuda) {
+		if (idAjuda != Integer.parseInt(linha.getDado(0))) {
+			throw new IllegalStateException(MensagemReplicacao.DIVERGENCIA.toString() + linha.getSequencia());
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package replicacao;
+
+import main.Sistema;
+
+/**
+ * Fachada somente leitura de um {@link Seguidor}. Oferece apenas as consultas
+ * do sistema, que são atendidas sem concorrer com a aplicação dos eventos
+ * replicados.
+ *
+ * @author Marcus Vinícius
+ */
+public class FacadeSeguidor {
+
+	private Seguidor seguidor;
+	private Sistema sistema;
+
+	FacadeSeguidor(Seguidor seguidor, Sistema sistema) {
+		this.seguidor = seguidor;
+		this.sistema = sistema;
+	}
+
+	/**
+	 * @see Sistema#recuperaTutor(String)
+	 */
+	public String recuperaTutor(String matricula) {
+		synchronized (this.seguidor) {
+			return sistema.recuperaTutor(matricula);
+		}
+	}
+
+	/**
+	 * @see Sistema#recuperaAluno(String)
+	 */
+	public String recuperaAluno(String matricula) {
+		synchronized (this.seguidor) {
+			return sistema.recuperaAluno(matricula);
+		}
+	}
+
+	/**
+	 * @see Sistema#listarAlunos()
+	 */
+	public String listarAlunos() {
+		synchronized (this.seguidor) {
+			return sistema.listarAlunos();
+		}
+	}
+
+	/**
+	 * @see Sistema#listarTutores()
+	 */
+	public String listarTutores() {
+		synchronized (this.seguidor) {
+			return sistema.listarTutores();
+		}
+	}
+
+	/**
+	 * @see Sistema#consultaHorario(String, String, String)
+	 */
+	public boolean consultaHorario(String email, String horario, String dia) {
+		synchronized (this.seguidor) {
+			return sistema.consultaHorario(email, horario, dia);
+		}
+	}
+
+	/**
+	 * @see Sistema#consultaLocal(String, String)
+	 */
+	public boolean consultaLocal(String email, String local) {
+		synchronized (this.seguidor) {
+			return sistema.consultaLocal(email, local);
+		}
+	}
+
+	/**
+	 * @see Sistema#getInfoAluno(String, String)
+	 */
+	public String getInfoAluno(String matricula, String atributo) {
+		synchronized (this.seguidor) {
+			return sistema.getInfoAluno(matricula, atributo);
+		}
+	}
+
+	/**
+	 * @see Sistema#pegaNota(String)
+	 */
+	public String pegarNota(String matriculaTutor) {
+		synchronized (this.seguidor) {
+			return sistema.pegaNota(matriculaTutor);
+		}
+	}
+
+	/**
+	 * @see Sistema#pegaNivel(String)
+	 */
+	public String pegarNivel(String matriculaTutor) {
+		synchronized (this.seguidor) {
+			return sistema.pegaNivel(matriculaTutor);
+		}
+	}
+
+	/**
+	 * @see Sistema#pegarTutor(int)
+	 */
+	public String pegarTutor(int idAjuda) {
+		synchronized (this.seguidor) {
+			return sistema.pegarTutor(idAjuda);
+		}
+	}
+
+	/**
+	 * @see Sistema#getInfoAjuda(int, String)
+	 */
+	public String getInfoAjuda(int idAjuda, String atributo) {
+		synchronized (this.seguidor) {
+			return sistema.getInfoAjuda(idAjuda, atributo);
+		}
+	}
+
+	/**
+	 * @see Sistema#totalDinheiroTutor(String)
+	 */
+	public long totalDinheiroTutor(String emailTutor) {
+		synchronized (this.seguidor) {
+			return sistema.totalDinheiroTutor(emailTutor);
+		}
+	}
+
+	/**
+	 * @see Sistema#totalDinheiroSistema()
+	 */
+	public long totalDinheiroSistema() {
+		synchronized (this.seguidor) {
+			return sistema.totalDinheiroSistema();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package replicacao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import evento.Evento;
+import evento.TipoEvento;
+import util.replicacao.MensagemReplicacao;
+
+/**
+ * Linha do registro de replicação. Cada linha representa um evento, com os
+ * campos separados por tabulação: sequência, instante da publicação, tipo e
+ * dados do evento. Tabulações, quebras de linha e barras invertidas dos dados
+ * são escapadas.
+ *
+ * @author Marcus Vinicius
+ */
+public class LinhaReplicacao {
+
+	private static final char SEPARADOR = '\t';
+
+	private long sequencia;
+	private long momento;
+	private TipoEvento tipo;
+	private String[] dados;
+
+	private LinhaReplicacao(long sequencia, long momento, TipoEvento tipo, String[] dados) {
+		this.sequencia = sequencia;
+		this.momento = momento;
+		this.tipo = tipo;
+		this.dados = dados;
+	}
+
+	/**
+	 * Formata um evento como uma linha do registro, incluindo a quebra de linha.
+	 *
+	 * @param evento
+	 *            o evento
+	 * @return String a linha
+	 */
+	public static String formata(Evento evento) {
+		StringBuilder linha = new StringBuilder();
+		linha.append(evento.getSequencia()).append(SEPARADOR).append(evento.getMomento()).append(SEPARADOR)
+				.append(evento.getTipo().name());
+
+		for (String dado : evento.getDados()) {
+			linha.append(SEPARADOR);
+			escapa(dado, linha);
+		}
+
+		return linha.append('\n').toString();
+	}
+
+	/**
+	 * Lê uma linha do registro, sem a quebra de linha.
+	 *
+	 * @param linha
+	 *            a linha
+	 * @return a linha lida
+	 * @throws IllegalArgumentException
+	 *             caso a linha não esteja no formato esperado
+	 */
+	public static LinhaReplicacao le(String linha) {
+		List<String> campos = new ArrayList<>();
+		StringBuilder campo = new StringBuilder();
+
+		for (int i = 0; i < linha.length(); i++) {
+			char c = linha.charAt(i);
+			if (c == SEPARADOR) {
+				campos.add(campo.toString());
+				campo.setLength(0);
+			} else if (c == '\\' && i + 1 < linha.length()) {
+				char escapado = linha.charAt(++i);
+				campo.append(escapado == 't' ? '\t' : escapado == 'n' ? '\n' : escapado == 'r' ? '\r' : escapado);
+			} else {
+				campo.append(c);
+			}
+		}
+		campos.add(campo.toString());
+
+		try {
+			return new LinhaReplicacao(Long.parseLong(campos.get(0)), Long.parseLong(campos.get(1)),
+					TipoEvento.valueOf(campos.get(2)), campos.subList(3, campos.size()).toArray(new String[0]));
+		} catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IllegalArgumentException(MensagemReplicacao.LINHA_INVALIDA.toString() + linha);
+		}
+	}
+
+	public long getSequencia() {
+		return this.sequencia;
+	}
+
+	public long getMomento() {
+		return this.momento;
+	}
+
+	public TipoEvento getTipo() {
+		return this.tipo;
+	}
+
+	public String getDado(int posicao) {
+		return this.dados[posicao];
+	}
+
+	private static void escapa(String dado, StringBuilder saida) {
+		for (int i = 0; i < dado.length(); i++) {
+			char c = dado.charAt(i);
+			switch (c) {
+			case '\t':
+				saida.append("\\t");
+				break;
+			case '\n':
+				saida.append("\\n");
+				break;
+			case '\r':
+				saida.append("\\r");
+				break;
+			case '\\':
+				saida.append("\\\\");
+				break;
+			default:
+				saida.append(c);
+			}
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package replicacao;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import evento.BarramentoEventos;
+import evento.Evento;
+import main.Sistema;
+import util.replicacao.MensagemReplicacao;
+
+/**
+ * Lado primário da replicação. Assina os eventos de um {@link Sistema} e os
+ * acrescenta, em ordem, a um arquivo de registro compartilhado com os
+ * seguidores, que podem estar no mesmo processo ou em outras JVMs da mesma
+ * máquina.
+ *
+ * Apenas os eventos publicados depois da criação do primário são replicados;
+ * os seguidores devem partir do mesmo estado do primário.
+ *
+ * Os eventos são recebidos por um ouvinte do barramento na própria
+ * publicação e ficam pendentes até a próxima replicação, de forma que nenhum
+ * evento se perca, mesmo que o anel do barramento dê mais de uma volta entre
+ * duas replicações. Cada replicação grava apenas os eventos de sequências
+ * contíguas; um evento cuja publicação ainda não terminou é gravado na
+ * replicação seguinte, junto com os posteriores.
+ *
+ * Uma falha na replicação periódica interrompe a replicação e é guardada em
+ * {@link #getFalha()}; as chamadas seguintes a {@link #replica()} lançam a
+ * falha até que a replicação periódica seja iniciada novamente.
+ *
+ * @author Marcus Vinicius
+ */
+public class Primario {
+
+	private BarramentoEventos barramento;
+	private Consumer<Evento> ouvinte;
+
+	/**
+	 * Eventos recebidos do barramento e ainda não examinados pela replicação.
+	 */
+	private ConcurrentLinkedQueue<Evento> recebidos;
+
+	/**
+	 * Eventos recebidos que aguardam a publicação de um evento anterior,
+	 * ordenados pela sequência.
+	 */
+	private PriorityQueue<Evento> pendentes;
+
+	/**
+	 * Sequência do próximo evento a ser gravado no registro.
+	 */
+	private long proximaSequencia;
+
+	private File registro;
+	private long ultimaSequenciaReplicada;
+	private ScheduledExecutorService agendador;
+	private Exception falha;
+
+	/**
+	 * Construtor da classe.
+	 *
+	 * @param sistema
+	 *            o sistema primário
+	 * @param registro
+	 *            o arquivo de registro da replicação
+	 */
+	public Primario(Sistema sistema, File registro) {
+		this.barramento = sistema.getBarramentoEventos();
+		this.recebidos = new ConcurrentLinkedQueue<>();
+		this.pendentes = new PriorityQueue<>(Comparator.comparingLong(Evento::getSequencia));
+		this.registro = registro;
+		this.ouvinte = this.recebidos::add;
+		this.proximaSequencia = this.barramento.adicionaOuvinte(this.ouvinte);
+	}
+
+	/**
+	 * Acrescenta ao registro os eventos publicados desde a última replicação.
+	 *
+	 * @return int a quantidade de eventos replicados
+	 * @throws IOException
+	 *             caso ocorra um erro na escrita do registro ou caso a
+	 *             replicação periódica tenha sido interrompida por uma falha
+	 */
+	public synchronized int replica() throws IOException {
+		if (this.falha != null) {
+			throw new IOException(MensagemReplicacao.REPLICACAO_INTERROMPIDA.toString() + this.falha.getMessage(),
+					this.falha);
+		}
+
+		Evento recebido;
+		while ((recebido = this.recebidos.poll()) != null) {
+			if (recebido.getSequencia() >= this.proximaSequencia) {
+				this.pendentes.add(recebido);
+			}
+		}
+
+		List<Evento> eventos = new ArrayList<>();
+		while (!this.pendentes.isEmpty() && this.pendentes.peek().getSequencia() == this.proximaSequencia) {
+			eventos.add(this.pendentes.poll());
+			this.proximaSequencia++;
+		}
+
+		if (eventos.isEmpty()) {
+			return 0;
+		}
+
+		try (Writer saida = new BufferedWriter(
+				new OutputStreamWriter(new FileOutputStream(this.registro, true), StandardCharsets.UTF_8))) {
+			for (Evento evento : eventos) {
+				saida.write(LinhaReplicacao.formata(evento));
+			}
+		}
+
+		this.ultimaSequenciaReplicada = eventos.get(eventos.size() - 1).getSequencia();
+		return eventos.size();
+	}
+
+	/**
+	 * Passa a replicar periodicamente, em uma thread própria, descartando a
+	 * falha que tenha interrompido a replicação anterior.
+	 *
+	 * @param intervaloMillis
+	 *            o intervalo entre replicações, em milissegundos
+	 */
+	public synchronized void inicia(long intervaloMillis) {
+		if (this.agendador != null) {
+			return;
+		}
+
+		this.falha = null;
+		this.agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+			Thread thread = new Thread(tarefa, "replicacao-primario");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.agendador.scheduleWithFixedDelay(() -> {
+			try {
+				this.replica();
+			} catch (IOException | RuntimeException e) {
+				this.interrompe(e);
+			}
+		}, 0, intervaloMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Interrompe a replicação periódica.
+	 */
+	public synchronized void encerra() {
+		if (this.agendador != null) {
+			this.agendador.shutdownNow();
+			this.agendador = null;
+		}
+	}
+
+	/**
+	 * Interrompe a replicação periódica e deixa de receber os eventos do
+	 * sistema.
+	 */
+	public synchronized void desliga() {
+		this.encerra();
+		this.barramento.removeOuvinte(this.ouvinte);
+	}
+
+	public synchronized long getUltimaSequenciaReplicada() {
+		return this.ultimaSequenciaReplicada;
+	}
+
+	/**
+	 * @return a falha que interrompeu a replicação periódica, ou null caso ela
+	 *         não tenha sido interrompida
+	 */
+	public synchronized Exception getFalha() {
+		return this.falha;
+	}
+
+	private synchronized void interrompe(Exception falha) {
+		this.falha = falha;
+		this.encerra();
+	}
+}
@@ -0,0 +1,251 @@
+package replicacao;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import main.Sistema;
+import persistencia.Armazenamento;
+import util.replicacao.MensagemReplicacao;
+
+/**
+ * Lado seguidor da replicação. Lê o arquivo de registro escrito pelo
+ * {@link Primario} e aplica os eventos, em ordem, ao seu próprio
+ * {@link Sistema}, que passa a atender consultas somente leitura através de
+ * {@link FacadeSeguidor}.
+ *
+ * Os eventos são aplicados pelas mesmas operações do sistema que os
+ * publicaram, de forma que o estado do seguidor, incluindo os identificadores
+ * das ajudas, acompanhe o do primário.
+ *
+ * Uma falha na atualização periódica interrompe a atualização e é guardada em
+ * {@link #getFalha()}; as chamadas seguintes a {@link #atualiza()} e às
+ * consultas de atraso lançam a falha até que a atualização periódica seja
+ * iniciada novamente.
+ *
+ * @author Marcus Vinicius
+ */
+public class Seguidor {
+
+	private Sistema sistema;
+	private File registro;
+
+	/**
+	 * Posição, no arquivo de registro, da primeira linha ainda não lida.
+	 */
+	private long posicaoRegistro;
+
+	/**
+	 * Linhas lidas e ainda não aplicadas.
+	 */
+	private Deque<LinhaReplicacao> pendentes;
+
+	private long ultimaSequenciaLida;
+	private long ultimaSequenciaAplicada;
+	private ScheduledExecutorService agendador;
+	private Exception falha;
+
+	/**
+	 * Constrói o seguidor sobre um sistema vazio. O armazenamento deve ser
+	 * exclusivo do seguidor, já que a replicação de
+	 * {@link Sistema#limpar()} remove os arquivos salvos nele.
+	 *
+	 * @param armazenamento
+	 *            o local onde o sistema do seguidor salva os seus dados
+	 * @param registro
+	 *            o arquivo de registro da replicação
+	 */
+	public Seguidor(Armazenamento armazenamento, File registro) {
+		this(new Sistema(armazenamento), registro);
+	}
+
+	/**
+	 * Constrói o seguidor sobre um sistema no mesmo estado em que o primário
+	 * começou a replicar.
+	 *
+	 * @param sistema
+	 *            o sistema do seguidor
+	 * @param registro
+	 *            o arquivo de registro da replicação
+	 */
+	public Seguidor(Sistema sistema, File registro) {
+		this.sistema = sistema;
+		this.registro = registro;
+		this.pendentes = new ArrayDeque<>();
+	}
+
+	/**
+	 * Lê as novas linhas do registro e aplica todos os eventos pendentes.
+	 *
+	 * @return int a quantidade de eventos aplicados
+	 * @throws IOException
+	 *             caso ocorra um erro na leitura do registro, ou caso a
+	 *             atualização periódica tenha sido interrompida por uma falha
+	 */
+	public synchronized int atualiza() throws IOException {
+		this.le();
+
+		int aplicados = 0;
+		while (!this.pendentes.isEmpty()) {
+			LinhaReplicacao linha = this.pendentes.peekFirst();
+			AplicadorEventos.aplica(this.sistema, linha);
+			this.pendentes.removeFirst();
+			this.ultimaSequenciaAplicada = linha.getSequencia();
+			aplicados++;
+		}
+		return aplicados;
+	}
+
+	/**
+	 * Retorna o atraso do seguidor, em eventos já escritos no registro e ainda
+	 * não aplicados.
+	 *
+	 * @return long a quantidade de eventos em atraso
+	 * @throws IOException
+	 *             caso ocorra um erro na leitura do registro, ou caso a
+	 *             atualização periódica tenha sido interrompida por uma falha
+	 */
+	public synchronized long getAtraso() throws IOException {
+		this.le();
+		return this.pendentes.size();
+	}
+
+	/**
+	 * Retorna há quanto tempo o evento pendente mais antigo foi publicado no
+	 * primário.
+	 *
+	 * @return long o atraso em milissegundos, ou zero caso não haja eventos
+	 *         pendentes
+	 * @throws IOException
+	 *             caso ocorra um erro na leitura do registro, ou caso a
+	 *             atualização periódica tenha sido interrompida por uma falha
+	 */
+	public synchronized long getAtrasoMillis() throws IOException {
+		this.le();
+		if (this.pendentes.isEmpty()) {
+			return 0;
+		}
+		return Math.max(0, System.currentTimeMillis() - this.pendentes.peekFirst().getMomento());
+	}
+
+	public synchronized long getUltimaSequenciaAplicada() {
+		return this.ultimaSequenciaAplicada;
+	}
+
+	/**
+	 * @return a falha que interrompeu a atualização periódica, ou null caso ela
+	 *         não tenha sido interrompida
+	 */
+	public synchronized Exception getFalha() {
+		return this.falha;
+	}
+
+	/**
+	 * @return a fachada somente leitura do seguidor
+	 */
+	public FacadeSeguidor getFacade() {
+		return new FacadeSeguidor(this, this.sistema);
+	}
+
+	/**
+	 * Passa a aplicar o registro periodicamente, em uma thread própria,
+	 * descartando a falha que tenha interrompido a atualização anterior.
+	 *
+	 * @param intervaloMillis
+	 *            o intervalo entre atualizações, em milissegundos
+	 */
+	public synchronized void inicia(long intervaloMillis) {
+		if (this.agendador != null) {
+			return;
+		}
+
+		this.falha = null;
+		this.agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+			Thread thread = new Thread(tarefa, "replicacao-seguidor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.agendador.scheduleWithFixedDelay(() -> {
+			try {
+				this.atualiza();
+			} catch (IOException | RuntimeException e) {
+				this.interrompe(e);
+			}
+		}, 0, intervaloMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Interrompe a atualização periódica.
+	 */
+	public synchronized void encerra() {
+		if (this.agendador != null) {
+			this.agendador.shutdownNow();
+			this.agendador = null;
+		}
+	}
+
+	private synchronized void interrompe(Exception falha) {
+		this.falha = falha;
+		this.encerra();
+	}
+
+	/**
+	 * Lê as linhas completas escritas no registro desde a última leitura. Uma
+	 * linha ainda incompleta é deixada para a próxima leitura.
+	 *
+	 * As linhas são interpretadas antes de serem aceitas: caso alguma seja
+	 * inválida, nenhuma linha da leitura é aceita, e a posição no registro e a
+	 * última sequência lida não são alteradas.
+	 */
+	private void le() throws IOException {
+		if (this.falha != null) {
+			throw new IOException(MensagemReplicacao.REPLICACAO_INTERROMPIDA.toString() + this.falha.getMessage(),
+					this.falha);
+		}
+		if (!this.registro.exists()) {
+			return;
+		}
+
+		byte[] novos;
+		try (RandomAccessFile arquivo = new RandomAccessFile(this.registro, "r")) {
+			long tamanho = arquivo.length();
+			if (tamanho <= this.posicaoRegistro) {
+				return;
+			}
+			novos = new byte[(int) (tamanho - this.posicaoRegistro)];
+			arquivo.seek(this.posicaoRegistro);
+			arquivo.readFully(novos);
+		}
+
+		List<LinhaReplicacao> lidas = new ArrayList<>();
+		long ultimaSequencia = this.ultimaSequenciaLida;
+		int inicio = 0;
+		for (int i = 0; i < novos.length; i++) {
+			if (novos[i] == '\n') {
+				LinhaReplicacao linha = LinhaReplicacao
+						.le(new String(novos, inicio, i - inicio, StandardCharsets.UTF_8));
+
+				if (linha.getSequencia() != ultimaSequencia + 1 && ultimaSequencia != 0) {
+					throw new IllegalStateException(
+							MensagemReplicacao.SEQUENCIA_FORA_DE_ORDEM.toString() + linha.getSequencia());
+				}
+
+				lidas.add(linha);
+				ultimaSequencia = linha.getSequencia();
+				inicio = i + 1;
+			}
+		}
+
+		this.pendentes.addAll(lidas);
+		this.ultimaSequenciaLida = ultimaSequencia;
+		this.posicaoRegistro += inicio;
+	}
+}
@@ -0,0 +1,244 @@
+package testes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import easyaccept.EasyAcceptFacade;
+import main.Facade;
+
+/**
+ * Classe que executa suítes de testes de aceitação em paralelo.
+ * 
+ * Uma suíte é uma sequência de scripts que dependem uns dos outros, separados
+ * por vírgula, e é executada em ordem contra a sua própria {@link Facade}, que
+ * salva os dados em um diretório temporário exclusivo. Suítes diferentes não
+ * compartilham estado e são executadas ao mesmo tempo. Ao final, é exibido o
+ * resultado e o tempo de execução de cada script.
+ * 
+ * @author Marcus Vinícius
+ *
+ */
+public class ExecutorAceitacaoParalelo {
+
+	/**
+	 * Os scripts do cliente, que formam uma única suíte.
+	 */
+	private static final String SUITE_PADRAO = "resources/acceptance_test/us1_test.txt,"
+			+ "resources/acceptance_test/us2_test.txt," + "resources/acceptance_test/us3_test.txt,"
+			+ "resources/acceptance_test/us4_test.txt," + "resources/acceptance_test/us5_test.txt,"
+			+ "resources/acceptance_test/us6_test.txt";
+
+	/**
+	 * Método que executa os scripts de testes de aceitação.
+	 * 
+	 * @param args
+	 *            As suítes a serem executadas. Cada argumento é um script, uma
+	 *            lista de scripts separados por vírgula ou um diretório, em que
+	 *            cada script é uma suíte. Caso nenhum seja informado, são
+	 *            executados os scripts do cliente.
+	 * @throws InterruptedException
+	 *             caso a execução seja interrompida
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		List<List<String>> suites = suites(args.length == 0 ? new String[] { SUITE_PADRAO } : args);
+
+		PrintStream saida = System.out;
+		List<Resultado> resultados;
+		long inicio = System.nanoTime();
+
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		try {
+			resultados = executa(suites, Runtime.getRuntime().availableProcessors());
+		} finally {
+			System.setOut(saida);
+		}
+		long total = (System.nanoTime() - inicio) / 1_000_000;
+
+		int aprovados = 0;
+		int reprovados = 0;
+		int scriptsComFalha = 0;
+
+		for (Resultado resultado : resultados) {
+			System.out.println(resultado);
+			if (!resultado.getFalhas().isEmpty()) {
+				System.out.println(resultado.getFalhas());
+			}
+
+			aprovados += resultado.getAprovados();
+			reprovados += resultado.getReprovados();
+			if (resultado.getReprovados() > 0) {
+				scriptsComFalha++;
+			}
+		}
+
+		System.out.println();
+		System.out.println("Number of scripts: " + resultados.size() + "; with failures: " + scriptsComFalha);
+		System.out.println("Number of tests: " + (aprovados + reprovados) + "; with failures: " + reprovados);
+		System.out.println("Total execution time (ms): " + total);
+	}
+
+	/**
+	 * Executa as suítes em paralelo, cada uma contra uma fachada isolada.
+	 * 
+	 * @param suites
+	 *            os caminhos dos scripts de cada suíte, na ordem de execução
+	 * @param threads
+	 *            a quantidade de suítes executadas ao mesmo tempo
+	 * @return os resultados de cada script, na mesma ordem das suítes
+	 * @throws InterruptedException
+	 *             caso a execução seja interrompida
+	 */
+	public static List<Resultado> executa(List<List<String>> suites, int threads) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1));
+
+		try {
+			List<Future<List<Resultado>>> execucoes = new ArrayList<>();
+			for (List<String> suite : suites) {
+				execucoes.add(executor.submit(() -> executa(suite)));
+			}
+
+			List<Resultado> resultados = new ArrayList<>();
+			for (Future<List<Resultado>> execucao : execucoes) {
+				try {
+					resultados.addAll(execucao.get());
+				} catch (ExecutionException e) {
+					throw new IllegalStateException(e.getCause());
+				}
+			}
+			return resultados;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Executa os scripts de uma suíte, em ordem, contra uma fachada que salva os
+	 * dados em um diretório temporário, removido ao final.
+	 */
+	private static List<Resultado> executa(List<String> suite) throws IOException {
+		File diretorio = Files.createTempDirectory("aceitacao").toFile();
+
+		try {
+			Facade facade = new Facade(diretorio);
+			List<Resultado> resultados = new ArrayList<>();
+
+			for (String script : suite) {
+				EasyAcceptFacade easyAccept = new EasyAcceptFacade(facade, Collections.singletonList(script));
+
+				long inicio = System.nanoTime();
+				easyAccept.executeTests();
+				long tempo = (System.nanoTime() - inicio) / 1_000_000;
+
+				resultados.add(new Resultado(script, diretorio, easyAccept.getTotalNumberOfPassedTests(),
+						easyAccept.getTotalNumberOfNotPassedTests(), tempo, easyAccept.getScriptFailures(script)));
+			}
+
+			return resultados;
+		} finally {
+			remove(diretorio);
+		}
+	}
+
+	/**
+	 * Separa os scripts de cada suíte e expande os diretórios informados, em
+	 * que cada script de extensão txt é uma suíte.
+	 */
+	private static List<List<String>> suites(String[] argumentos) {
+		List<List<String>> suites = new ArrayList<>();
+
+		for (String argumento : argumentos) {
+			File[] conteudo = new File(argumento).listFiles((dir, nome) -> nome.endsWith(".txt"));
+
+			if (conteudo == null) {
+				suites.add(Arrays.asList(argumento.split(",")));
+				continue;
+			}
+
+			Arrays.sort(conteudo);
+			for (File script : conteudo) {
+				suites.add(Collections.singletonList(script.getPath()));
+			}
+		}
+
+		return suites;
+	}
+
+	private static void remove(File arquivo) {
+		File[] conteudo = arquivo.listFiles();
+		if (conteudo != null) {
+			for (File filho : conteudo) {
+				remove(filho);
+			}
+		}
+		arquivo.delete();
+	}
+
+	/**
+	 * Resultado da execução de um script.
+	 */
+	public static class Resultado {
+
+		private String script;
+		private File diretorio;
+		private int aprovados;
+		private int reprovados;
+		private long tempo;
+		private String falhas;
+
+		private Resultado(String script, File diretorio, int aprovados, int reprovados, long tempo, String falhas) {
+			this.script = script;
+			this.diretorio = diretorio;
+			this.aprovados = aprovados;
+			this.reprovados = reprovados;
+			this.tempo = tempo;
+			this.falhas = falhas == null ? "" : falhas.trim();
+		}
+
+		public String getScript() {
+			return this.script;
+		}
+
+		/**
+		 * @return File o diretório temporário da suíte do script, já removido
+		 */
+		public File getDiretorio() {
+			return this.diretorio;
+		}
+
+		public int getAprovados() {
+			return this.aprovados;
+		}
+
+		public int getReprovados() {
+			return this.reprovados;
+		}
+
+		/**
+		 * @return long o tempo de execução do script, em milissegundos
+		 */
+		public long getTempo() {
+			return this.tempo;
+		}
+
+		public String getFalhas() {
+			return this.falhas;
+		}
+
+		@Override
+		public String toString() {
+			return "Test file: " + this.script + " | Passed Tests: " + this.aprovados + " | Not Passed Tests: "
+					+ this.reprovados + " | Total execution time (ms): " + this.tempo;
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package testes;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import testes.ExecutorAceitacaoParalelo.Resultado;
+
+public class ExecutorAceitacaoParaleloTest {
+
+	private File scripts;
+
+	@Before
+	public void setUp() throws IOException {
+		scripts = Files.createTempDirectory("scripts").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		for (File script : scripts.listFiles()) {
+			script.delete();
+		}
+		scripts.delete();
+	}
+
+	private String script(String nome, String conteudo) throws IOException {
+		File script = new File(scripts, nome);
+		Files.write(script.toPath(), conteudo.getBytes(StandardCharsets.UTF_8));
+		return script.getPath();
+	}
+
+	@Test
+	public void testSuitesIsoladas() throws Exception {
+		String cadastro = "cadastrarAluno nome=\"Rayla\" matricula=\"117110383\" codigoCurso=\"1\" telefone=\"\" "
+				+ "email=\"rayla.araujo@ccc.ufcg.edu.br\"\n";
+		String primeira = script("primeira.txt", cadastro
+				+ "expect \"117110383 - Rayla - 1 - rayla.araujo@ccc.ufcg.edu.br\" listarAlunos\n");
+		String segunda = script("segunda.txt", cadastro
+				+ "cadastrarAluno nome=\"Fanny\" matricula=\"117147123\" codigoCurso=\"2\" telefone=\"\" "
+				+ "email=\"fanny.vieira@ccc.ufcg.edu.br\"\n"
+				+ "expect \"117147123 - Fanny - 2 - fanny.vieira@ccc.ufcg.edu.br, "
+				+ "117110383 - Rayla - 1 - rayla.araujo@ccc.ufcg.edu.br\" listarAlunos\n");
+
+		List<Resultado> resultados = ExecutorAceitacaoParalelo
+				.executa(Arrays.asList(Collections.singletonList(primeira), Collections.singletonList(segunda)), 2);
+
+		assertEquals(2, resultados.size());
+		assertEquals(primeira, resultados.get(0).getScript());
+		assertEquals(segunda, resultados.get(1).getScript());
+		for (Resultado resultado : resultados) {
+			assertEquals(resultado.getFalhas(), 0, resultado.getReprovados());
+			assertFalse(resultado.getDiretorio().exists());
+		}
+		assertEquals(2, resultados.get(0).getAprovados());
+		assertEquals(3, resultados.get(1).getAprovados());
+		assertNotEquals(resultados.get(0).getDiretorio(), resultados.get(1).getDiretorio());
+	}
+}
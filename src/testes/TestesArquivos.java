@@ -1,22 +1,33 @@
 package testes;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 
 import aluno.Aluno;
 import aluno.AlunoController;
+import aluno.RepositorioAlunosMemoria;
 import main.Sistema;
 import persistencia.Persistencia;
 import tutor.Tutor;
 import tutor.TutorController;
 import tutor.ajuda.AjudaController;
 
+/**
+ * Grava e carrega alunos, tutores e ajudas em um diretório temporário, para
+ * que os arquivos versionados em resources/persistencia não sejam alterados.
+ */
 public class TestesArquivos {
 	
 	public static void main(String[] args) throws IOException {
 		
-		Sistema sistema = new Sistema();
+		File diretorio = Files.createTempDirectory("persistencia").toFile();
+		Persistencia persistencia = new Persistencia(diretorio);
+		System.out.println(diretorio);
 		
-		AlunoController alunoController = new AlunoController();
+		Sistema sistema = new Sistema(diretorio);
+		
+		AlunoController alunoController = new AlunoController(new RepositorioAlunosMemoria(), persistencia);
 	
 		alunoController.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
 		alunoController.cadastrarAluno("Vinicius", "11715945", 2, "99974-1357", "viniciusbarbosa@gmail.com");
@@ -26,7 +37,7 @@ public class TestesArquivos {
 		alunoController.salvaAlunos();
 		
 		
-		TutorController tutorController = new TutorController();
+		TutorController tutorController = new TutorController(persistencia);
 		tutorController.cadastraTutor("Programação 1", 4, new Aluno("117110383", "Rayla", "99887-7692", "rayla.araujo@ccc.ufcg.edu.br", 1));
 		tutorController.cadastraTutor("Programação 2", 4, new Aluno("117147123", "abrbrbr", "99883-7692", "fanny.araujo@ccc.ufcg.edu.br", 1));
 		tutorController.cadastraTutor("Programação 3", 4, new Aluno("117114383", "tatatata", "99882-7692", "eddie.araujo@ccc.ufcg.edu.br", 1));
@@ -34,7 +45,7 @@ public class TestesArquivos {
 	
 		tutorController.salvaTutores();
 		
-		AjudaController ajudaController = new AjudaController();
+		AjudaController ajudaController = new AjudaController(persistencia);
 		ajudaController.cadastraAjudaOnline(new Tutor("Programação 1", 4, new Aluno("117110383", "Rayla", "99887-7692", "rayla.araujo@ccc.ufcg.edu.br", 1)), "quaua");
 		ajudaController.cadastraAjudaOnline(new Tutor("Programação 2", 4, new Aluno("117147123", "abrbrbr", "99883-7692", "fanny.araujo@ccc.ufcg.edu.br", 1)), "quaua1");
 		ajudaController.cadastraAjudaOnline(new Tutor("Programação 3", 4, new Aluno("117114383", "tatatata", "99882-7692", "eddie.araujo@ccc.ufcg.edu.br", 1)), "quaua2");
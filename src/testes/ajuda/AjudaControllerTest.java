@@ -175,6 +175,21 @@ public class AjudaControllerTest {
 		ajudaController.getInfoAjuda(1, null);
 	}
 	
+	@Test
+	public void testGetInfoAjudaComAtributoSemAcesso() {
+		Aluno gauds = new Aluno("11715963", "Gauds Lindo", "99984-1347", "gaudslindo99@gmail.com", 2);
+		ajudaController.cadastrarAjudaPresencial(new Tutor("P2", 5, gauds), "P2", "14:00", "Quinta", "lcc2");
+		
+		for (String atributo : new String[] { "Nome", "local" }) {
+			try {
+				ajudaController.getInfoAjuda(1, atributo);
+				fail(atributo);
+			} catch (IllegalArgumentException e) {
+				assertEquals("Erro ao tentar recuperar info da ajuda : atributo nao encontrado", e.getMessage());
+			}
+		}
+	}
+	
 	@Test(expected = NoSuchElementException.class)
 	public void testGetInfoAjudaComAjudaNaoCadastrada() {
 		Aluno gauds = new Aluno("11715963", "Gauds Lindo", "99984-1347", "gaudslindo99@gmail.com", 2);
@@ -202,6 +202,26 @@ public class AlunoControllerTest {
 				("11715963", OpcaoController.EMAIL.toString()));
 	}
 	
+	@Test
+	public void testGetInfoAlunoNomeETelefone() {
+		alunoController.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+		assertEquals("Fanny", alunoController.getInfoAluno("11715963", OpcaoController.NOME.toString()));
+		assertEquals("99984-1347", alunoController.getInfoAluno("11715963", OpcaoController.TELEFONE.toString()));
+	}
+	
+	@Test
+	public void testGetInfoAlunoAtributoSemAcesso() {
+		alunoController.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+		assertEquals("", alunoController.getInfoAluno("11715963", OpcaoController.MATRICULA.toString()));
+		assertEquals("", alunoController.getInfoAluno("11715963", "Curso"));
+	}
+	
+	@Test(expected=NullPointerException.class)
+	public void testGetInfoAlunoAtributoNulo() {
+		alunoController.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+		alunoController.getInfoAluno("11715963", null);
+	}
+	
 	/*--------------------- TESTES LISTAR ALUNOS ---------------*/
 	
 	@Test
@@ -0,0 +1,131 @@
+package testes.aluno;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import aluno.Aluno;
+import aluno.AlunoController;
+import aluno.IndiceBuscaAlunos;
+import aluno.RepositorioAlunosMemoria;
+import persistencia.ArmazenamentoMemoria;
+import persistencia.Persistencia;
+
+public class IndiceBuscaAlunosTest {
+
+	private IndiceBuscaAlunos indice;
+	private AlunoController alunoController;
+
+	@Before
+	public void setUp() {
+		indice = new IndiceBuscaAlunos();
+		indice.adiciona(new Aluno("117110383", "Rayla Medeiros Araujo", "", "rayla.araujo@ccc.ufcg.edu.br", 1));
+		indice.adiciona(new Aluno("117147123", "Fanny Vieira", "", "fanny.vieira@ccc.ufcg.edu.br", 2));
+		indice.adiciona(new Aluno("11715945", "Vinicius Barbosa", "", "viniciusbarbosa@gmail.com", 2));
+		indice.adiciona(new Aluno("117110999", "Marcus Vinicius", "", "marcus@ccc.ufcg.edu.br", 1));
+
+		alunoController = new AlunoController(new RepositorioAlunosMemoria(),
+				new Persistencia(new ArmazenamentoMemoria()));
+	}
+
+	@Test
+	public void testPesquisaNome() {
+		assertEquals(Arrays.asList("117110999", "11715945"), indice.pesquisaNome("vini", 0, 10));
+		assertEquals(Arrays.asList("117110383"), indice.pesquisaNome("ARAUJO", 0, 10));
+		assertEquals(Arrays.asList("117110383"), indice.pesquisaNome("  medeiros   ara ", 0, 10));
+		assertEquals(Arrays.asList("117147123"), indice.pesquisaNome("Fanny Vieira", 0, 10));
+		assertTrue(indice.pesquisaNome("vieira fanny", 0, 10).isEmpty());
+		assertTrue(indice.pesquisaNome("x", 0, 10).isEmpty());
+	}
+
+	@Test
+	public void testPesquisaEmail() {
+		assertEquals(Arrays.asList("117147123"), indice.pesquisaEmail("Fanny", 0, 10));
+		assertEquals(Arrays.asList("117147123", "117110383", "117110999"),
+				indice.pesquisaEmail("@ccc.ufcg.edu.br", 0, 10));
+		assertEquals(Arrays.asList("11715945"), indice.pesquisaEmail("@gmail.com", 0, 10));
+		assertTrue(indice.pesquisaEmail("ccc.ufcg.edu.br", 0, 10).isEmpty());
+	}
+
+	@Test
+	public void testPaginacaoSemRepetidos() {
+		indice.adiciona(new Aluno("1", "Ana Ana Ana", "", "ana@ccc.ufcg.edu.br", 1));
+		indice.adiciona(new Aluno("2", "Ana Maria", "", "ana.maria@ccc.ufcg.edu.br", 1));
+
+		assertEquals(Arrays.asList("1"), indice.pesquisaNome("ana", 0, 1));
+		assertEquals(Arrays.asList("2"), indice.pesquisaNome("ana", 1, 1));
+		assertTrue(indice.pesquisaNome("ana", 2, 1).isEmpty());
+
+		indice.limpa();
+		assertTrue(indice.pesquisaNome("ana", 0, 10).isEmpty());
+	}
+
+	@Test
+	public void testPesquisaAlunosController() {
+		alunoController.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		alunoController.cadastrarAluno("Raylson", "117110384", 1, "", "raylson@gmail.com");
+		alunoController.cadastrarAluno("Fanny", "117147123", 2, "", "fanny.vieira@ccc.ufcg.edu.br");
+
+		List<Aluno> pagina = alunoController.pesquisaAlunos("Nome", "ray", 2, 1);
+		assertEquals(1, pagina.size());
+		assertEquals("Raylson", pagina.get(0).getNome());
+
+		assertEquals("117147123 - Fanny - 2 - fanny.vieira@ccc.ufcg.edu.br, "
+				+ "117110383 - Rayla - 1 - 99887-7692 - rayla.araujo@ccc.ufcg.edu.br",
+				alunoController.listarPesquisaAlunos("Email", "@ccc.ufcg.edu.br", 1, 10));
+		assertEquals("", alunoController.listarPesquisaAlunos("Nome", "ray", 3, 1));
+
+		alunoController.limpar();
+		assertTrue(alunoController.pesquisaAlunos("Nome", "ray", 1, 10).isEmpty());
+	}
+
+	@Test
+	public void testPesquisaAlunosMapeados() throws IOException {
+		Persistencia persistencia = new Persistencia(new ArmazenamentoMemoria());
+		AlunoController original = new AlunoController(new RepositorioAlunosMemoria(), persistencia);
+		original.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		original.salvaAlunosMapeados();
+
+		AlunoController mapeado = new AlunoController(new RepositorioAlunosMemoria(), persistencia);
+		mapeado.carregaAlunosMapeados();
+		assertEquals("117110383", mapeado.pesquisaAlunos("Nome", "ray", 1, 10).get(0).getMatricula());
+
+		mapeado.cadastrarAluno("Raylson", "117110384", 1, "", "raylson@gmail.com");
+		assertEquals(2, mapeado.pesquisaAlunos("Nome", "ray", 1, 10).size());
+	}
+
+	@Test
+	public void testPesquisaAlunosInvalida() {
+		String[][] casos = { { "Telefone", "9", "1", "1", "Atributo de pesquisa invalido" },
+				{ "Nome", " ", "1", "1", "Termo de pesquisa nao pode ser vazio ou nulo" },
+				{ "Nome", "ray", "0", "1", "Pagina e tamanho da pagina devem ser maiores que zero" },
+				{ "Email", "ray", "1", "0", "Pagina e tamanho da pagina devem ser maiores que zero" } };
+
+		for (String[] caso : casos) {
+			try {
+				alunoController.pesquisaAlunos(caso[0], caso[1], Integer.parseInt(caso[2]), Integer.parseInt(caso[3]));
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("Erro na pesquisa de alunos: " + caso[4], e.getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void testMuitosAlunos() {
+		IndiceBuscaAlunos grande = new IndiceBuscaAlunos();
+		for (int i = 0; i < 100000; i++) {
+			grande.adiciona(new Aluno(Integer.toString(i), "Aluno " + i, "", "aluno" + i + "@curso" + (i % 10) + ".br",
+					1));
+		}
+
+		assertEquals(Arrays.asList("12345"), grande.pesquisaNome("12345", 0, 10));
+		assertEquals(Arrays.asList("99991", "99992"), grande.pesquisaEmail("aluno9999", 1, 2));
+		assertEquals(10, grande.pesquisaEmail("@curso7.br", 500, 10).size());
+	}
+}
@@ -0,0 +1,145 @@
+package testes.aluno;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import aluno.Aluno;
+import aluno.AlunoController;
+import aluno.RepositorioAlunosOffHeap;
+import main.Sistema;
+import persistencia.ArmazenamentoMemoria;
+
+public class RepositorioAlunosOffHeapTest {
+
+	private RepositorioAlunosOffHeap repositorio;
+
+	@Before
+	public void setUp() {
+		repositorio = new RepositorioAlunosOffHeap(4);
+		repositorio.adiciona(new Aluno("11715963", "Fanny", "99984-1347", "fannyvieira082@gmail.com", 2));
+		repositorio.adiciona(new Aluno("11715987", "Rayla Araújo", "", "raylamedeiros082@gmail.com", 1));
+	}
+
+	@Test
+	public void testBusca() {
+		Aluno aluno = repositorio.busca("11715987");
+
+		assertEquals("Rayla Araújo", aluno.getNome());
+		assertEquals("", aluno.getTelefone());
+		assertEquals("raylamedeiros082@gmail.com", aluno.getEmail());
+		assertEquals(1, aluno.getCodCurso());
+	}
+
+	@Test
+	public void testSistemaComRepositorioOffHeap() {
+		Sistema sistema = new Sistema(new ArmazenamentoMemoria(), new RepositorioAlunosOffHeap(4));
+		sistema.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+		sistema.cadastrarAluno("Rayla Araújo", "11715987", 1, "", "raylamedeiros082@gmail.com");
+
+		assertEquals("11715963 - Fanny - 2 - 99984-1347 - fannyvieira082@gmail.com", sistema.recuperaAluno("11715963"));
+		assertEquals("11715987 - Rayla Araújo - 1 - raylamedeiros082@gmail.com", sistema.recuperaAluno("11715987"));
+		assertEquals("Rayla Araújo", sistema.getInfoAluno("11715987", "Nome"));
+		assertEquals("fannyvieira082@gmail.com", sistema.getInfoAluno("11715963", "Email"));
+
+		sistema.tornarTutor("11715987", "Programação 2", 4);
+		assertEquals(sistema.recuperaAluno("11715987"), sistema.recuperaTutor("11715987"));
+	}
+
+	@Test
+	public void testBuscaMatriculaInexistente() {
+		assertNull(repositorio.busca("000"));
+		assertFalse(repositorio.contem("000"));
+		assertFalse(repositorio.contem(null));
+	}
+
+	@Test
+	public void testCresceAlemDaCapacidadeInicial() {
+		for (int i = 0; i < 500; i++) {
+			repositorio.adiciona(new Aluno("2000" + i, "Aluno " + i, "", "aluno" + i + "@ccc.ufcg.edu.br", 1));
+		}
+
+		assertEquals(502, repositorio.tamanho());
+		assertEquals(502, repositorio.valores().size());
+		assertEquals("Aluno 321", repositorio.busca("2000321").getNome());
+		assertEquals("Fanny", repositorio.busca("11715963").getNome());
+	}
+
+	@Test
+	public void testAdicionaMesmaMatriculaSubstitui() {
+		repositorio.adiciona(new Aluno("11715963", "Fanny Vieira", "99984-1347", "fannyvieira082@gmail.com", 2));
+
+		assertEquals(2, repositorio.tamanho());
+		assertEquals("Fanny Vieira", repositorio.busca("11715963").getNome());
+	}
+
+	@Test
+	public void testSubstituicaoMenorRegravaNoLugar() {
+		int ocupacao = repositorio.getOcupacaoDados();
+		repositorio.adiciona(new Aluno("11715963", "Fan", "", "fannyvieira082@gmail.com", 2));
+
+		assertEquals(ocupacao, repositorio.getOcupacaoDados());
+		assertEquals("Fan", repositorio.busca("11715963").getNome());
+		assertEquals("Rayla Araújo", repositorio.busca("11715987").getNome());
+	}
+
+	@Test
+	public void testSubstituicoesMaioresCompactam() {
+		for (int i = 0; i < 1000; i++) {
+			repositorio.adiciona(new Aluno("11715963", "Fanny " + i, "99984-1347", "fannyvieira082@gmail.com", 2));
+		}
+
+		assertEquals(2, repositorio.tamanho());
+		assertEquals("Fanny 999", repositorio.busca("11715963").getNome());
+		assertEquals("Rayla Araújo", repositorio.busca("11715987").getNome());
+		assertTrue(repositorio.getOcupacaoDados() < 400);
+	}
+
+	@Test
+	public void testPercorre() {
+		List<Aluno> alunos = new ArrayList<>();
+		repositorio.percorre(alunos::add);
+
+		assertEquals(2, alunos.size());
+		assertTrue(alunos.containsAll(repositorio.valores()));
+	}
+
+	@Test
+	public void testLimpa() {
+		int capacidadeInicial = repositorio.getCapacidadeDados();
+		for (int i = 0; i < 500; i++) {
+			repositorio.adiciona(new Aluno("2000" + i, "Aluno " + i, "", "aluno" + i + "@ccc.ufcg.edu.br", 1));
+		}
+		repositorio.limpa();
+
+		assertEquals(0, repositorio.tamanho());
+		assertFalse(repositorio.contem("11715963"));
+		assertEquals(0, repositorio.getOcupacaoDados());
+		assertEquals(capacidadeInicial, repositorio.getCapacidadeDados());
+
+		repositorio.adiciona(new Aluno("11715963", "Fanny", "99984-1347", "fannyvieira082@gmail.com", 2));
+		assertEquals("Fanny", repositorio.busca("11715963").getNome());
+	}
+
+	@Test
+	public void testAlunoControllerComRepositorioOffHeap() {
+		AlunoController controller = new AlunoController(new RepositorioAlunosOffHeap());
+		controller.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+
+		assertEquals("11715963 - Fanny - 2 - 99984-1347 - fannyvieira082@gmail.com",
+				controller.recuperaAluno("11715963"));
+		assertEquals("fannyvieira082@gmail.com", controller.getInfoAluno("11715963", "Email"));
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testAlunoControllerComRepositorioOffHeapAlunoInexistente() {
+		AlunoController controller = new AlunoController(new RepositorioAlunosOffHeap());
+		controller.getAlunoPelaMatricula("11715963");
+	}
+
+}
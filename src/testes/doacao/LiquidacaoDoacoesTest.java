@@ -0,0 +1,124 @@
+package testes.doacao;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import aluno.Aluno;
+import doacao.LiquidacaoDoacoes;
+import doacao.LivroDoacoes;
+import tutor.Tutor;
+
+public class LiquidacaoDoacoesTest {
+
+	private LivroDoacoes livro;
+	private Map<String, Long> creditos;
+	private Tutor rayla;
+	private Tutor fanny;
+
+	@Before
+	public void setUp() {
+		livro = new LivroDoacoes();
+		creditos = new ConcurrentHashMap<>();
+		rayla = new Tutor("Programação 1", 4, new Aluno("117110383", "Rayla", "99887-7692", "rayla.araujo@ccc.ufcg.edu.br", 1));
+		fanny = new Tutor("Programação 2", 4, new Aluno("117147123", "Fanny", "99883-7692", "fanny.araujo@ccc.ufcg.edu.br", 2));
+	}
+
+	@Test
+	public void testLiquidaMesmoValorQueDoacaoSincrona() throws InterruptedException, IOException {
+		LiquidacaoDoacoes liquidacao = new LiquidacaoDoacoes(16, livro,
+				(tutor, valor) -> creditos.merge(tutor.getEmail(), valor, Long::sum));
+
+		for (int i = 0; i < 1000; i++) {
+			liquidacao.envia(i % 2 == 0 ? rayla : fanny, 111);
+		}
+		liquidacao.aguarda();
+
+		LivroDoacoes esperado = new LivroDoacoes();
+		Map<String, Long> esperados = new HashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			String email = i % 2 == 0 ? rayla.getEmail() : fanny.getEmail();
+			esperados.merge(email, esperado.registra(email, 111, 0.8).getParteTutor(), Long::sum);
+		}
+
+		assertEquals(0, liquidacao.pendentes());
+		assertEquals(esperado.totalSistema(), livro.totalSistema());
+		assertEquals(esperados, creditos);
+		assertEquals(1000, livro.lancamentos().size());
+		assertTrue(livro.audita(creditos));
+		liquidacao.encerra();
+	}
+
+	@Test
+	public void testFilaCheiaAguardaEspaco() throws InterruptedException, IOException {
+		CountDownLatch liberado = new CountDownLatch(1);
+		LiquidacaoDoacoes liquidacao = new LiquidacaoDoacoes(1, livro, (tutor, valor) -> {
+			try {
+				liberado.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		Thread doador = new Thread(() -> {
+			try {
+				for (int i = 0; i < 5; i++) {
+					liquidacao.envia(rayla, 100);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		doador.start();
+		doador.join(200);
+
+		assertTrue(doador.isAlive());
+
+		liberado.countDown();
+		doador.join();
+		liquidacao.aguarda();
+
+		assertEquals(5, livro.lancamentos().size());
+		liquidacao.encerra();
+	}
+
+	@Test
+	public void testErroNaoInterrompeLiquidacao() throws InterruptedException {
+		IllegalStateException erro = new IllegalStateException("credito recusado");
+		LiquidacaoDoacoes liquidacao = new LiquidacaoDoacoes(16, livro, (tutor, valor) -> {
+			if (tutor == rayla) {
+				throw erro;
+			}
+			creditos.merge(tutor.getEmail(), valor, Long::sum);
+		});
+
+		for (int i = 0; i < 10; i++) {
+			liquidacao.envia(i % 2 == 0 ? rayla : fanny, 100);
+		}
+		liquidacao.aguarda();
+		liquidacao.envia(fanny, 100);
+		liquidacao.aguarda();
+
+		assertEquals(5, liquidacao.getFalhas());
+		assertSame(erro, liquidacao.getUltimaFalha());
+		assertEquals(480, (long) creditos.get(fanny.getEmail()));
+		assertEquals(0, liquidacao.pendentes());
+		liquidacao.encerra();
+	}
+
+	@Test
+	public void testAguardaSemDoacoes() throws InterruptedException {
+		LiquidacaoDoacoes liquidacao = new LiquidacaoDoacoes(4, livro, (tutor, valor) -> {
+		});
+		liquidacao.aguarda();
+		assertEquals(0, liquidacao.pendentes());
+		liquidacao.encerra();
+	}
+}
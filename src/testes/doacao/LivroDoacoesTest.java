@@ -0,0 +1,184 @@
+package testes.doacao;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import doacao.LancamentoDoacao;
+import doacao.LivroDoacoes;
+import main.Sistema;
+import persistencia.ArmazenamentoMemoria;
+import persistencia.Persistencia;
+
+public class LivroDoacoesTest {
+
+	private Persistencia persistencia;
+	private LivroDoacoes livro;
+
+	@Before
+	public void setUp() {
+		persistencia = new Persistencia(new ArmazenamentoMemoria());
+		livro = new LivroDoacoes(persistencia);
+	}
+
+	@Test
+	public void testRegistraDivideDoacao() {
+		LancamentoDoacao lancamento = livro.registra("rayla@ccc.ufcg.edu.br", 500, 0.9);
+
+		assertEquals(50, lancamento.getParteSistema());
+		assertEquals(450, lancamento.getParteTutor());
+		assertEquals(50, livro.totalSistema());
+	}
+
+	@Test
+	public void testParteSistemaArredondaParaCima() {
+		assertEquals(1, LivroDoacoes.parteSistema(1, LivroDoacoes.taxaEmPontoFixo(0.9)));
+		assertEquals(34, LivroDoacoes.parteSistema(111, LivroDoacoes.taxaEmPontoFixo(0.7)));
+		assertEquals(0, LivroDoacoes.parteSistema(0, LivroDoacoes.taxaEmPontoFixo(0.4)));
+	}
+
+	@Test
+	public void testValoresAlemDoLimiteDeInt() {
+		long total = 3_000_000_000L;
+		LancamentoDoacao lancamento = livro.registra("fanny@ccc.ufcg.edu.br", total, 0.8);
+
+		assertEquals(600_000_000L, livro.totalSistema());
+		assertEquals(2_400_000_000L, lancamento.getParteTutor());
+	}
+
+	@Test
+	public void testDiarioMantemOrdem() throws IOException {
+		livro.registra("a@b.com", 100, 0.8);
+		livro.registra("c@d.com", 200, 0.8);
+
+		List<LancamentoDoacao> lancamentos = livro.lancamentos();
+		assertEquals(2, lancamentos.size());
+		assertEquals(1, lancamentos.get(0).getSequencia());
+		assertEquals("c@d.com", lancamentos.get(1).getEmailTutor());
+		assertEquals(200, lancamentos.get(1).getTotalCentavos());
+	}
+
+	@Test
+	public void testAudita() throws IOException {
+		livro.registra("a@b.com", 100, 0.8);
+		livro.registra("a@b.com", 300, 0.4);
+		livro.registra("c@d.com", 100, 0.8);
+
+		Map<String, Long> totais = new HashMap<>();
+		totais.put("a@b.com", 80L + 120L);
+		totais.put("c@d.com", 80L);
+		totais.put("e@f.com", 0L);
+		assertTrue(livro.audita(totais));
+
+		totais.put("c@d.com", 81L);
+		assertFalse(livro.audita(totais));
+
+		totais.remove("c@d.com");
+		assertFalse(livro.audita(totais));
+	}
+
+	@Test
+	public void testReconstroiPeloDiarioGravado() throws IOException {
+		livro.registra("a@b.com", 100, 0.8);
+		livro.registra("a@b.com", 300, 0.4);
+		livro.registra("c@d.com", 100, 0.8);
+		livro.grava();
+
+		LivroDoacoes recarregado = new LivroDoacoes(persistencia);
+		Map<String, Long> totais = recarregado.reconstroi();
+
+		assertEquals(200L, (long) totais.get("a@b.com"));
+		assertEquals(80L, (long) totais.get("c@d.com"));
+		assertEquals(livro.totalSistema(), recarregado.totalSistema());
+		assertEquals(4, recarregado.registra("c@d.com", 100, 0.8).getSequencia());
+	}
+
+	@Test
+	public void testGravaAutomaticamenteNoLimiteDePendentes() throws IOException {
+		for (int i = 0; i < LivroDoacoes.LIMITE_PENDENTES; i++) {
+			livro.registra("a@b.com", 100, 0.8);
+		}
+
+		LivroDoacoes outro = new LivroDoacoes(persistencia);
+		assertEquals(LivroDoacoes.LIMITE_PENDENTES, outro.lancamentos().size());
+	}
+
+	@Test
+	public void testRegistroConcorrente() throws InterruptedException, IOException {
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			threads.add(new Thread(() -> {
+				for (int j = 0; j < 3000; j++) {
+					livro.registra("a@b.com", 100, 0.8);
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		List<LancamentoDoacao> lancamentos = livro.lancamentos();
+		assertEquals(12000 * 20, livro.totalSistema());
+		assertEquals(12000, lancamentos.size());
+		assertEquals(12000, lancamentos.get(lancamentos.size() - 1).getSequencia());
+		assertTrue(livro.audita(Collections.singletonMap("a@b.com", 12000L * 80)));
+	}
+
+	@Test
+	public void testLimpa() throws IOException {
+		livro.registra("a@b.com", 100, 0.8);
+		livro.grava();
+		livro.registra("a@b.com", 100, 0.8);
+		livro.limpa();
+
+		assertEquals(0, livro.totalSistema());
+		assertTrue(livro.lancamentos().isEmpty());
+		assertTrue(new LivroDoacoes(persistencia).lancamentos().isEmpty());
+		assertEquals(1, livro.registra("a@b.com", 100, 0.8).getSequencia());
+	}
+
+	@Test
+	public void testReconstroiDoacoesDoSistema() throws IOException {
+		Sistema sistema = new Sistema(new ArmazenamentoMemoria());
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		sistema.cadastrarAluno("Fanny", "117147123", 2, "", "fanny.vieira@ccc.ufcg.edu.br");
+		sistema.tornarTutor("117110383", "Programação 2", 4);
+		sistema.tornarTutor("117147123", "Calculo 1", 3);
+
+		sistema.doar("117110383", 1000);
+		sistema.doar("117147123", 333);
+		for (int i = 0; i < 50; i++) {
+			sistema.doarAssincrono(i % 2 == 0 ? "117110383" : "117147123", 111);
+		}
+		sistema.aguardaDoacoes();
+		sistema.salvaDoacoes();
+
+		long rayla = sistema.totalDinheiroTutor("rayla.araujo@ccc.ufcg.edu.br");
+		long fanny = sistema.totalDinheiroTutor("fanny.vieira@ccc.ufcg.edu.br");
+		long total = sistema.totalDinheiroSistema();
+		assertTrue(sistema.auditaDoacoes());
+		assertEquals(rayla + fanny, sistema.totalDoacoesTutores());
+		assertEquals(fanny, sistema.totalDoacoesTutoresDoCurso(2));
+		assertEquals(4.0, sistema.mediaAvaliacaoTutores(), 0.001);
+
+		sistema.reconstroiDoacoes();
+
+		assertEquals(rayla, sistema.totalDinheiroTutor("rayla.araujo@ccc.ufcg.edu.br"));
+		assertEquals(fanny, sistema.totalDinheiroTutor("fanny.vieira@ccc.ufcg.edu.br"));
+		assertEquals(total, sistema.totalDinheiroSistema());
+		assertEquals(1000 + 333 + 50 * 111, rayla + fanny + total);
+		assertTrue(sistema.auditaDoacoes());
+		sistema.encerraDoacoesAssincronas();
+	}
+}
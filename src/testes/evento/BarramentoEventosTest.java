@@ -0,0 +1,127 @@
+package testes.evento;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import evento.Assinatura;
+import evento.BarramentoEventos;
+import evento.Evento;
+import evento.TipoEvento;
+import main.Sistema;
+
+public class BarramentoEventosTest {
+
+	private BarramentoEventos barramento;
+
+	@Before
+	public void setUp() {
+		barramento = new BarramentoEventos(8);
+	}
+
+	@Test
+	public void testPublicaAtribuiSequencia() {
+		Evento evento = barramento.publica(TipoEvento.LOCAL_CADASTRADO, "a@b.com", "LCC2");
+
+		assertEquals(1, evento.getSequencia());
+		assertEquals("LCC2", evento.getDado(1));
+		assertEquals(1, barramento.ultimaSequencia());
+	}
+
+	@Test
+	public void testAssinaturaRecebeApenasNovosEventos() {
+		barramento.publica(TipoEvento.LOCAL_CADASTRADO, "a@b.com", "LCC2");
+		Assinatura assinatura = barramento.assina();
+
+		assertNull(assinatura.proximo());
+
+		barramento.publica(TipoEvento.LOCAL_CADASTRADO, "a@b.com", "LCC3");
+		assertEquals("LCC3", assinatura.proximo().getDado(1));
+		assertNull(assinatura.proximo());
+	}
+
+	@Test
+	public void testAssinantesIndependentes() {
+		Assinatura primeira = barramento.assinaDesde(1);
+		Assinatura segunda = barramento.assinaDesde(1);
+
+		barramento.publica(TipoEvento.TUTOR_AVALIADO, "1", "5");
+		barramento.publica(TipoEvento.TUTOR_AVALIADO, "2", "4");
+
+		assertEquals(2, primeira.consome(evento -> {
+		}));
+		assertEquals(1, segunda.proximo().getSequencia());
+		assertEquals(2, segunda.proximo().getSequencia());
+	}
+
+	@Test
+	public void testReproduzDesdeSequencia() {
+		for (int i = 0; i < 5; i++) {
+			barramento.publica(TipoEvento.TUTOR_AVALIADO, String.valueOf(i), "5");
+		}
+
+		Assinatura assinatura = barramento.assinaDesde(3);
+		List<Long> sequencias = new ArrayList<>();
+		assinatura.consome(evento -> sequencias.add(evento.getSequencia()));
+
+		assertEquals(3, sequencias.size());
+		assertEquals(3L, (long) sequencias.get(0));
+	}
+
+	@Test
+	public void testAssinanteAtrasadoContaPerdidos() {
+		Assinatura assinatura = barramento.assinaDesde(1);
+		for (int i = 0; i < 20; i++) {
+			barramento.publica(TipoEvento.TUTOR_AVALIADO, String.valueOf(i), "5");
+		}
+
+		assertEquals(13, assinatura.proximo().getSequencia());
+		assertEquals(12, assinatura.getPerdidos());
+		assertEquals(7, assinatura.consome(evento -> {
+		}));
+	}
+
+	@Test
+	public void testPublicacaoConcorrente() throws InterruptedException {
+		BarramentoEventos grande = new BarramentoEventos(1 << 14);
+		Assinatura assinatura = grande.assinaDesde(1);
+		List<Thread> threads = new ArrayList<>();
+
+		for (int i = 0; i < 4; i++) {
+			threads.add(new Thread(() -> {
+				for (int j = 0; j < 1000; j++) {
+					grande.publica(TipoEvento.DOACAO_REALIZADA, "1", "100", "800000", "80");
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(4000, assinatura.consome(evento -> {
+		}));
+		assertEquals(0, assinatura.getPerdidos());
+	}
+
+	@Test
+	public void testSistemaPublicaEventos() {
+		Sistema sistema = new Sistema();
+		Assinatura assinatura = sistema.getBarramentoEventos().assina();
+
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		sistema.tornarTutor("117110383", "P2", 4);
+		sistema.cadastrarLocalDeAtendimento("rayla.araujo@ccc.ufcg.edu.br", "LCC2");
+
+		assertEquals(TipoEvento.ALUNO_CADASTRADO, assinatura.proximo().getTipo());
+		assertEquals(TipoEvento.TUTOR_CADASTRADO, assinatura.proximo().getTipo());
+		assertEquals(TipoEvento.LOCAL_CADASTRADO, assinatura.proximo().getTipo());
+		assertNull(assinatura.proximo());
+	}
+}
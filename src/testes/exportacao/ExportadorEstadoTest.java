@@ -0,0 +1,130 @@
+package testes.exportacao;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import exportacao.EntidadeExportada;
+import exportacao.EscritorJson;
+import exportacao.ExportadorEstado;
+import exportacao.FormatoExportacao;
+import main.Sistema;
+import persistencia.ArmazenamentoMemoria;
+
+public class ExportadorEstadoTest {
+
+	private Sistema sistema;
+	private ExportadorEstado exportador;
+
+	@Before
+	public void setUp() {
+		sistema = new Sistema(new ArmazenamentoMemoria());
+		exportador = new ExportadorEstado(sistema);
+
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		sistema.cadastrarAluno("Fanny", "117147123", 2, "", "fanny.vieira@ccc.ufcg.edu.br");
+		sistema.tornarTutor("117110383", "Programacao", 4);
+		sistema.cadastrarHorario("rayla.araujo@ccc.ufcg.edu.br", "14:00", "seg");
+		sistema.cadastrarLocalDeAtendimento("rayla.araujo@ccc.ufcg.edu.br", "LCC2");
+
+		int presencial = sistema.pedirAjudaPresencial("117147123", "Programacao", "14:00", "seg", "LCC2");
+		sistema.pedirAjudaOnline("117147123", "Programacao");
+		sistema.avaliaTutor(presencial, 5);
+		sistema.doar("117110383", 1000);
+	}
+
+	private String exporta(FormatoExportacao formato) throws IOException {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		exportador.exporta(saida, formato);
+		return new String(saida.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testEscritorJson() throws IOException {
+		StringWriter saida = new StringWriter();
+		EscritorJson json = new EscritorJson(saida);
+
+		json.iniciaObjeto();
+		json.nome("nome").valor("Fanny \"Vieira\"\n\\\u0001");
+		json.nome("lista").iniciaLista().valor(1).valor(2.5).valor(true).valor((String) null)
+				.valor(Double.NaN).fechaLista();
+		json.nome("vazio").iniciaObjeto().fechaObjeto();
+		json.fechaObjeto();
+		json.flush();
+
+		assertEquals("{\"nome\":\"Fanny \\\"Vieira\\\"\\n\\\\\\u0001\",\"lista\":[1,2.5,true,null,null],\"vazio\":{}}",
+				saida.toString());
+	}
+
+	@Test
+	public void testExportaJson() throws IOException {
+		String json = exporta(FormatoExportacao.JSON);
+
+		assertTrue(json.startsWith("{\"alunos\":[{"));
+		assertTrue(json.contains("{\"matricula\":\"117147123\",\"nome\":\"Fanny\",\"codigoCurso\":2,"
+				+ "\"telefone\":\"\",\"email\":\"fanny.vieira@ccc.ufcg.edu.br\",\"notaAvaliacao\":5}"));
+		assertTrue(json.contains("\"disciplinas\":[{\"disciplina\":\"Programacao\",\"proficiencia\":4}],"
+				+ "\"horarios\":[{\"dia\":\"seg\",\"horario\":\"14:00\"}],\"locais\":[\"LCC2\"]"));
+		assertTrue(json.contains("\"doacoes\":" + sistema.totalDinheiroTutor("rayla.araujo@ccc.ufcg.edu.br")));
+		assertTrue(json.contains("\"avaliada\":true,\"modalidade\":\"presencial\",\"dia\":\"seg\""));
+		assertTrue(json.contains("\"avaliada\":false,\"modalidade\":\"online\"}"));
+		assertTrue(json.endsWith("],\"resumo\":{\"totalDoacoes\":" + sistema.totalDinheiroSistema() + "}}"));
+	}
+
+	@Test
+	public void testExportaNdjson() throws IOException {
+		String[] linhas = exporta(FormatoExportacao.NDJSON).split("\n");
+
+		assertEquals(6, linhas.length);
+		assertTrue(linhas[0].startsWith("{\"tipo\":\"aluno\",\"matricula\":"));
+		assertTrue(linhas[2].startsWith("{\"tipo\":\"tutor\",\"matricula\":\"117110383\""));
+		assertTrue(linhas[3].startsWith("{\"tipo\":\"ajuda\","));
+		assertEquals("{\"tipo\":\"resumo\",\"totalDoacoes\":" + sistema.totalDinheiroSistema() + "}", linhas[5]);
+	}
+
+	@Test
+	public void testExportaParalelo() throws IOException {
+		Map<EntidadeExportada, OutputStream> saidas = new EnumMap<>(EntidadeExportada.class);
+		for (EntidadeExportada entidade : EntidadeExportada.values()) {
+			saidas.put(entidade, new ByteArrayOutputStream());
+		}
+
+		exportador.exportaParalelo(saidas, FormatoExportacao.NDJSON);
+
+		StringBuilder concatenado = new StringBuilder();
+		for (OutputStream saida : saidas.values()) {
+			concatenado.append(new String(((ByteArrayOutputStream) saida).toByteArray(), StandardCharsets.UTF_8));
+		}
+		assertEquals(exporta(FormatoExportacao.NDJSON), concatenado.toString());
+
+		saidas.clear();
+		ByteArrayOutputStream tutores = new ByteArrayOutputStream();
+		saidas.put(EntidadeExportada.TUTORES, tutores);
+		exportador.exportaParalelo(saidas, FormatoExportacao.JSON);
+
+		String json = exporta(FormatoExportacao.JSON);
+		String lista = new String(tutores.toByteArray(), StandardCharsets.UTF_8);
+		assertTrue(lista.startsWith("[{") && lista.endsWith("}]"));
+		assertTrue(json.contains("\"tutores\":" + lista + ","));
+	}
+
+	@Test
+	public void testSistemaVazio() throws IOException {
+		sistema = new Sistema(new ArmazenamentoMemoria());
+		exportador = new ExportadorEstado(sistema);
+
+		StringJoiner esperado = new StringJoiner(",", "{", "}");
+		esperado.add("\"alunos\":[]").add("\"tutores\":[]").add("\"ajudas\":[]").add("\"resumo\":{\"totalDoacoes\":0}");
+		assertEquals(esperado.toString(), exporta(FormatoExportacao.JSON));
+	}
+}
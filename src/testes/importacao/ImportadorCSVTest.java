@@ -0,0 +1,132 @@
+package testes.importacao;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import importacao.ImportadorCSV;
+import importacao.RelatorioImportacao;
+import main.Sistema;
+import persistencia.ArmazenamentoMemoria;
+
+public class ImportadorCSVTest {
+
+	private Sistema sistema;
+	private ImportadorCSV importador;
+	private Path arquivo;
+
+	@Before
+	public void setUp() throws IOException {
+		sistema = new Sistema(new ArmazenamentoMemoria());
+		importador = new ImportadorCSV(sistema);
+		arquivo = Files.createTempFile("importacao", ".csv");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(arquivo);
+	}
+
+	private void escreve(String conteudo) throws IOException {
+		Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testImportaAlunos() throws IOException {
+		escreve("nome,matricula,codigoCurso,telefone,email\r\n"
+				+ "Rayla,117110383,1,99887-7692,rayla.araujo@ccc.ufcg.edu.br\r\n"
+				+ "\"Vieira, Fanny\",117147123,2,,fanny.vieira@ccc.ufcg.edu.br\r\n"
+				+ "\r\n"
+				+ "Marcus,117110999,3,,marcus.vinicius\r\n"
+				+ "Rayla Araujo,117110383,1,,rayla@ccc.ufcg.edu.br\r\n"
+				+ "Daniel,11715947,dois,,danielbarreto082@gmail.com\r\n"
+				+ "Eddie,11715948,2\r\n"
+				+ "Vinicius,11715945,2,99974-1357,viniciusbarbosa@gmail.com");
+
+		RelatorioImportacao relatorio = importador.importaAlunos(arquivo);
+
+		assertEquals(7, relatorio.getLinhas());
+		assertEquals(3, relatorio.getImportadas());
+		assertEquals(4, relatorio.getErros().size());
+
+		assertEquals(5, relatorio.getErros().get(0).getLinha());
+		assertEquals("Erro no cadastro de aluno: Email invalido", relatorio.getErros().get(0).getMensagem());
+		assertEquals(6, relatorio.getErros().get(1).getLinha());
+		assertEquals("Erro no cadastro de aluno: Registro repetido no arquivo, primeira ocorrencia na linha 2",
+				relatorio.getErros().get(1).getMensagem());
+		assertEquals("Erro no cadastro de aluno: Valor numerico invalido: dois",
+				relatorio.getErros().get(2).getMensagem());
+		assertEquals("Erro no cadastro de aluno: Quantidade de campos invalida: 3",
+				relatorio.getErros().get(3).getMensagem());
+
+		assertEquals("Vieira, Fanny", sistema.getInfoAluno("117147123", "Nome"));
+		assertEquals("Rayla", sistema.getInfoAluno("117110383", "Nome"));
+		assertEquals("viniciusbarbosa@gmail.com", sistema.getInfoAluno("11715945", "Email"));
+		assertTrue(relatorio.linhasPorSegundo() > 0);
+	}
+
+	@Test
+	public void testAlunoJaCadastrado() throws IOException {
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		escreve("Rayla,117110383,1,99887-7692,rayla.araujo@ccc.ufcg.edu.br\n");
+
+		RelatorioImportacao relatorio = importador.importaAlunos(arquivo);
+
+		assertEquals(0, relatorio.getImportadas());
+		assertEquals(1, relatorio.getErros().size());
+		assertTrue(relatorio.getErros().get(0).getMensagem().startsWith("Erro no cadastro de aluno: "));
+	}
+
+	@Test
+	public void testBlocosELotesPequenos() throws IOException {
+		StringBuilder conteudo = new StringBuilder();
+		for (int i = 0; i < 3000; i++) {
+			conteudo.append("Aluno ").append(i).append(',').append(117000000 + i)
+					.append(",1,,aluno").append(i).append("@ccc.ufcg.edu.br\n");
+		}
+		conteudo.append("Repetido,117000000,1,,repetido@ccc.ufcg.edu.br");
+		escreve(conteudo.toString());
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			RelatorioImportacao relatorio = new ImportadorCSV(sistema, pool, 7, 128).importaAlunos(arquivo);
+
+			assertEquals(3001, relatorio.getLinhas());
+			assertEquals(3000, relatorio.getImportadas());
+			assertEquals(3001, relatorio.getErros().get(0).getLinha());
+			assertEquals("Aluno 2999", sistema.getInfoAluno("117002999", "Nome"));
+			assertEquals("Aluno 0", sistema.getInfoAluno("117000000", "Nome"));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testImportaTutores() throws IOException {
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		escreve("matricula,disciplina,proficiencia\n"
+				+ "117110383,Calculo,4\n"
+				+ "117110383,Programacao,5\n"
+				+ "117110383,Calculo,3\n"
+				+ "000000000,Calculo,4\n"
+				+ "117110383,Grafos,9\n");
+
+		RelatorioImportacao relatorio = importador.importaTutores(arquivo);
+
+		assertEquals(5, relatorio.getLinhas());
+		assertEquals(2, relatorio.getImportadas());
+		assertEquals(4, relatorio.getErros().get(0).getLinha());
+		assertEquals(5, relatorio.getErros().get(1).getLinha());
+		assertEquals("Erro na definicao de papel: Proficiencia invalida", relatorio.getErros().get(2).getMensagem());
+		assertEquals("117110383 - Rayla - 1 - 99887-7692 - rayla.araujo@ccc.ufcg.edu.br",
+				sistema.recuperaTutor("117110383"));
+	}
+}
@@ -0,0 +1,131 @@
+package testes.main;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import main.CacheConsultas;
+import main.CacheConsultas.TipoConsulta;
+import main.Sistema;
+import persistencia.ArmazenamentoMemoria;
+
+public class CacheConsultasTest {
+
+	private CacheConsultas cache;
+	private AtomicInteger consultas;
+
+	@Before
+	public void setUp() {
+		cache = new CacheConsultas(2);
+		consultas = new AtomicInteger();
+	}
+
+	private String busca(TipoConsulta tipo, String identificador, String atributo) {
+		return cache.busca(tipo, identificador, atributo, () -> {
+			consultas.incrementAndGet();
+			return identificador + "/" + atributo;
+		});
+	}
+
+	@Test
+	public void testAcertosEFalhas() {
+		assertEquals("1/null", busca(TipoConsulta.ALUNO, "1", null));
+		assertEquals("1/null", busca(TipoConsulta.ALUNO, "1", null));
+		assertEquals("1/null", busca(TipoConsulta.TUTOR, "1", null));
+		assertEquals("1/dia", busca(TipoConsulta.AJUDA, "1", "dia"));
+
+		assertEquals(3, consultas.get());
+		assertEquals(1, cache.getAcertos());
+		assertEquals(3, cache.getFalhas());
+		assertEquals(0.25, cache.taxaAcertos(), 0.001);
+	}
+
+	@Test
+	public void testRemoveMenosUsadoRecentemente() {
+		busca(TipoConsulta.AJUDA, "1", "dia");
+		busca(TipoConsulta.AJUDA, "2", "dia");
+		busca(TipoConsulta.AJUDA, "1", "horario");
+		busca(TipoConsulta.AJUDA, "3", "dia");
+
+		assertEquals(2, cache.tamanho());
+		assertEquals(1, cache.getRemocoes());
+
+		busca(TipoConsulta.AJUDA, "1", "dia");
+		busca(TipoConsulta.AJUDA, "1", "horario");
+		assertEquals(4, consultas.get());
+
+		busca(TipoConsulta.AJUDA, "2", "dia");
+		assertEquals(5, consultas.get());
+	}
+
+	@Test
+	public void testInvalida() {
+		busca(TipoConsulta.AJUDA, "1", "dia");
+		busca(TipoConsulta.AJUDA, "1", "horario");
+		busca(TipoConsulta.ALUNO, "1", null);
+
+		cache.invalida(TipoConsulta.AJUDA, "1");
+		cache.invalida(TipoConsulta.TUTOR, "1");
+		assertEquals(1, cache.getInvalidacoes());
+		assertEquals(1, cache.tamanho());
+
+		busca(TipoConsulta.AJUDA, "1", "dia");
+		assertEquals(4, consultas.get());
+
+		cache.limpa();
+		assertEquals(0, cache.tamanho());
+	}
+
+	@Test
+	public void testNaoGuardaResultadoCalculadoDuranteInvalidacao() {
+		cache.busca(TipoConsulta.ALUNO, "1", null, () -> {
+			cache.invalida(TipoConsulta.ALUNO, "1");
+			return "antigo";
+		});
+
+		assertEquals("novo", cache.busca(TipoConsulta.ALUNO, "1", null, () -> "novo"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCapacidadeInvalida() {
+		new CacheConsultas(0);
+	}
+
+	@Test
+	public void testSistema() {
+		Sistema sistema = new Sistema(new ArmazenamentoMemoria());
+		CacheConsultas cacheSistema = sistema.getCacheConsultas();
+
+		try {
+			sistema.recuperaTutor("117110383");
+			fail();
+		} catch (NoSuchElementException e) {
+			assertEquals(0, cacheSistema.tamanho());
+		}
+
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		String aluno = sistema.recuperaAluno("117110383");
+		assertSame(aluno, sistema.recuperaAluno("117110383"));
+
+		sistema.tornarTutor("117110383", "Programacao", 4);
+		sistema.cadastrarHorario("rayla.araujo@ccc.ufcg.edu.br", "14:00", "seg");
+		assertEquals(aluno, sistema.recuperaTutor("117110383"));
+		assertEquals(aluno, sistema.recuperaTutor("117110383"));
+
+		int id = sistema.pedirAjudaOnline("117110383", "Programacao");
+		assertEquals("Programacao", sistema.getInfoAjuda(id, "disciplina"));
+		assertEquals("Programacao", sistema.getInfoAjuda(id, "disciplina"));
+		assertEquals(3, cacheSistema.getAcertos());
+
+		sistema.avaliaTutor(id, 5);
+		assertEquals(2, cacheSistema.getInvalidacoes());
+		assertEquals(1, cacheSistema.tamanho());
+
+		sistema.limpar();
+		assertEquals(0, cacheSistema.tamanho());
+	}
+}
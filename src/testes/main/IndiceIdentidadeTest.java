@@ -0,0 +1,56 @@
+package testes.main;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import aluno.Aluno;
+import main.IndiceIdentidade;
+import main.IndiceIdentidade.Identidade;
+import tutor.Tutor;
+
+public class IndiceIdentidadeTest {
+
+	private IndiceIdentidade indice;
+	private Aluno aluno;
+
+	@Before
+	public void setUp() {
+		indice = new IndiceIdentidade(2);
+		aluno = new Aluno("117110383", "Rayla Medeiros Araujo", "", "rayla.araujo@ccc.ufcg.edu.br", 1);
+	}
+
+	@Test
+	public void testRegistraTutor() {
+		Identidade identidade = indice.registra(aluno, null);
+		assertSame(identidade, indice.busca("117110383"));
+		assertNull(identidade.getTutor());
+
+		Tutor tutor = new Tutor("Programacao 2", 4, aluno);
+		indice.registraTutor(tutor);
+		assertSame(tutor, indice.busca("117110383").getTutor());
+	}
+
+	@Test
+	public void testRegistroRepetidoMantemIdentidade() {
+		Identidade identidade = indice.registra(aluno, null);
+		assertSame(identidade, indice.registra(aluno, null));
+		assertEquals(1, indice.tamanho());
+	}
+
+	@Test
+	public void testIndiceCheioNaoGuardaIdentidade() {
+		indice.registra(aluno, null);
+		indice.registra(new Aluno("117147123", "Fanny Vieira", "", "fanny.vieira@ccc.ufcg.edu.br", 2), null);
+
+		Aluno outro = new Aluno("11715945", "Vinicius Barbosa", "", "viniciusbarbosa@gmail.com", 2);
+		assertSame(outro, indice.registra(outro, null).getAluno());
+		assertNull(indice.busca("11715945"));
+		assertEquals(2, indice.tamanho());
+
+		indice.limpar();
+		assertEquals(0, indice.tamanho());
+		assertNull(indice.busca("117110383"));
+	}
+}
@@ -0,0 +1,49 @@
+package testes.main;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import main.Sistema;
+import persistencia.ArmazenamentoMemoria;
+
+public class SistemaTest {
+
+	private Sistema sistema;
+
+	@Before
+	public void setUp() {
+		sistema = new Sistema(new ArmazenamentoMemoria());
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		sistema.cadastrarAluno("Fanny", "117147123", 2, "", "fanny.vieira@ccc.ufcg.edu.br");
+		sistema.tornarTutor("117110383", "Programação 2", 4);
+		sistema.tornarTutor("117147123", "Calculo 1", 3);
+	}
+
+	@Test
+	public void testTutoresPorNivel() {
+		assertEquals(2, sistema.contaTutoresPorNivel("Tutor"));
+		assertEquals(0, sistema.contaTutoresPorNivel("TOP"));
+		assertEquals("", sistema.listarTutoresPorNivel("Aprendiz"));
+		assertEquals(sistema.recuperaTutor("117147123") + ", " + sistema.recuperaTutor("117110383"),
+				sistema.listarTutoresPorNivel("Tutor"));
+	}
+
+	@Test
+	public void testTutoresPorNivelInexistente() {
+		try {
+			sistema.contaTutoresPorNivel("Mestre");
+			fail("Nivel inexistente");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Erro na consulta de tutores por nivel: nivel invalido", e.getMessage());
+		}
+
+		try {
+			sistema.listarTutoresPorNivel("");
+			fail("Nivel vazio");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Erro na consulta de tutores por nivel: nivel invalido", e.getMessage());
+		}
+	}
+}
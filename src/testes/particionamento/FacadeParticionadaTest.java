@@ -0,0 +1,178 @@
+package testes.particionamento;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import main.Sistema;
+import persistencia.ArmazenamentoMemoria;
+import particionamento.CriterioParticao;
+import particionamento.FacadeParticionada;
+
+public class FacadeParticionadaTest {
+
+	private File diretorio;
+	private FacadeParticionada particionada;
+	private Sistema sistema;
+
+	@Before
+	public void setUp() throws IOException {
+		diretorio = Files.createTempDirectory("particoes").toFile();
+		particionada = new FacadeParticionada(3, CriterioParticao.CURSO, diretorio);
+		sistema = new Sistema(new ArmazenamentoMemoria());
+
+		cadastra("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		cadastra("Fanny", "117147123", 2, "", "fanny.vieira@ccc.ufcg.edu.br");
+		cadastra("Marcus", "117110999", 3, "", "marcus.vinicius@ccc.ufcg.edu.br");
+	}
+
+	@After
+	public void tearDown() {
+		remove(diretorio);
+	}
+
+	private static void remove(File arquivo) {
+		File[] arquivos = arquivo.listFiles();
+		if (arquivos != null) {
+			for (File filho : arquivos) {
+				remove(filho);
+			}
+		}
+		arquivo.delete();
+	}
+
+	private void cadastra(String nome, String matricula, int curso, String telefone, String email) {
+		particionada.cadastrarAluno(nome, matricula, curso, telefone, email);
+		sistema.cadastrarAluno(nome, matricula, curso, telefone, email);
+	}
+
+	@Test
+	public void testDistribuiPorCurso() {
+		assertEquals(1, particionada.particaoDoAluno("117110383"));
+		assertEquals(2, particionada.particaoDoAluno("117147123"));
+		assertEquals(0, particionada.particaoDoAluno("117110999"));
+		assertEquals(-1, particionada.particaoDoAluno("000000000"));
+		assertEquals(sistema.recuperaAluno("117147123"), particionada.recuperaAluno("117147123"));
+	}
+
+	@Test
+	public void testListagemReuneParticoes() {
+		assertEquals(sistema.listarAlunos(), particionada.listarAlunos());
+
+		particionada.configurarOrdem("Email");
+		sistema.configuraOrdem("Email");
+		assertEquals(sistema.listarAlunos(), particionada.listarAlunos());
+	}
+
+	@Test
+	public void testErrosIguaisAoSistema() {
+		try {
+			particionada.cadastrarAluno("Outra", "117110383", 2, "", "outra@ccc.ufcg.edu.br");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Erro no cadastro de aluno: Aluno de mesma matricula ja cadastrado", e.getMessage());
+		}
+		assertEquals(1, particionada.particaoDoAluno("117110383"));
+
+		try {
+			particionada.recuperaAluno("000000000");
+			fail();
+		} catch (RuntimeException e) {
+			try {
+				sistema.recuperaAluno("000000000");
+				fail();
+			} catch (RuntimeException esperado) {
+				assertEquals(esperado.getMessage(), e.getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void testAjudaEscolheTutorEntreParticoes() {
+		particionada.tornarTutor("117110383", "Programação 2", 4);
+		sistema.tornarTutor("117110383", "Programação 2", 4);
+		particionada.tornarTutor("117110999", "Programação 2", 5);
+		sistema.tornarTutor("117110999", "Programação 2", 5);
+
+		for (int nota = 0; nota < 6; nota++) {
+			int id = particionada.pedirAjudaOnline("117147123", "Programação 2");
+			assertEquals(sistema.pedirAjudaOnline("117147123", "Programação 2"), id);
+			assertEquals(sistema.pegarTutor(id), particionada.pegarTutor(id));
+			assertEquals(sistema.avaliaTutor(id, nota), particionada.avaliarTutor(id, nota));
+		}
+
+		assertEquals(sistema.pegaNota("117110383"), particionada.pegarNota("117110383"));
+		assertEquals(sistema.pegaNota("117110999"), particionada.pegarNota("117110999"));
+
+		particionada.doar("117110383", 1000);
+		sistema.doar("117110383", 1000);
+		particionada.doar("117110999", 1000);
+		sistema.doar("117110999", 1000);
+		assertEquals(sistema.totalDinheiroSistema(), particionada.totalDinheiroSistema());
+		assertEquals(sistema.totalDinheiroTutor("rayla.araujo@ccc.ufcg.edu.br"),
+				particionada.totalDinheiroTutor("rayla.araujo@ccc.ufcg.edu.br"));
+		assertEquals(sistema.listarTutores(), particionada.listarTutores());
+	}
+
+	@Test
+	public void testCarregarRestauraAlunosETutoresMapeados() throws IOException {
+		particionada.tornarTutor("117110383", "Programação 2", 4);
+		particionada.cadastrarHorario("rayla.araujo@ccc.ufcg.edu.br", "14:00", "seg");
+		int idAjuda = particionada.pedirAjudaOnline("117147123", "Programação 2");
+		particionada.salvar();
+
+		FacadeParticionada carregada = new FacadeParticionada(3, CriterioParticao.CURSO, diretorio);
+		carregada.carregar();
+
+		for (String matricula : new String[] { "117110383", "117147123" }) {
+			assertEquals(particionada.recuperaAluno(matricula), carregada.recuperaAluno(matricula));
+			assertEquals(particionada.getInfoAluno(matricula, "Email"), carregada.getInfoAluno(matricula, "Email"));
+		}
+		assertEquals(particionada.recuperaTutor("117110383"), carregada.recuperaTutor("117110383"));
+
+		assertFalse(carregada.consultaHorario("rayla.araujo@ccc.ufcg.edu.br", "14:00", "seg"));
+		try {
+			carregada.getInfoAjuda(idAjuda, "disciplina");
+			fail();
+		} catch (RuntimeException e) {
+		}
+	}
+
+	@Test
+	public void testParticoesEmDiretoriosProprios() throws IOException {
+		particionada.tornarTutor("117110383", "Programação 2", 4);
+		particionada.pedirAjudaOnline("117147123", "Programação 2");
+		particionada.salvar();
+
+		for (int i = 0; i < 3; i++) {
+			assertTrue(new File(diretorio, "particao-" + i).isDirectory());
+		}
+
+		FacadeParticionada carregada = new FacadeParticionada(3, CriterioParticao.CURSO, diretorio);
+		carregada.carregar();
+		assertEquals(1, carregada.particaoDoAluno("117110383"));
+		assertEquals(2, carregada.particaoDoAluno("117147123"));
+		assertEquals(particionada.recuperaAluno("117147123"), carregada.recuperaAluno("117147123"));
+		assertEquals(particionada.recuperaTutor("117110383"), carregada.recuperaTutor("117110383"));
+
+		try {
+			new FacadeParticionada(2, CriterioParticao.CURSO, diretorio).carregar();
+			fail();
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Quantidade de particoes diferente da salva em: "));
+		}
+
+		particionada.limpar();
+		try {
+			carregada.carregar();
+			fail();
+		} catch (IOException e) {
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package testes.persistencia;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import main.Sistema;
+import persistencia.Armazenamento;
+import persistencia.ArmazenamentoDiretorio;
+import persistencia.ArmazenamentoMapeado;
+import persistencia.ArmazenamentoMemoria;
+import persistencia.Persistencia;
+
+public class ArmazenamentoTest {
+
+	private File diretorio;
+
+	@Before
+	public void setUp() throws IOException {
+		diretorio = Files.createTempDirectory("armazenamento").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		File[] arquivos = diretorio.listFiles();
+		if (arquivos != null) {
+			for (File arquivo : arquivos) {
+				arquivo.delete();
+			}
+		}
+		diretorio.delete();
+	}
+
+	private void verificaArmazenamento(Armazenamento armazenamento) throws IOException {
+		assertFalse(armazenamento.existe("alunos.txt"));
+		assertNull(armazenamento.le("alunos.txt"));
+		assertNull(armazenamento.mapeia("alunos.txt"));
+
+		armazenamento.grava("alunos.txt", "Rayla Araújo".getBytes("UTF-8"));
+		armazenamento.grava("alunos.txt", "Fanny".getBytes("UTF-8"));
+		assertTrue(armazenamento.existe("alunos.txt"));
+		assertArrayEquals("Fanny".getBytes("UTF-8"), armazenamento.le("alunos.txt"));
+		assertEquals(5, armazenamento.mapeia("alunos.txt").remaining());
+
+		armazenamento.grava("vazio.txt", new byte[0]);
+		assertEquals(0, armazenamento.le("vazio.txt").length);
+
+		armazenamento.remove("alunos.txt");
+		assertFalse(armazenamento.existe("alunos.txt"));
+	}
+
+	@Test
+	public void testArmazenamentoDiretorio() throws IOException {
+		verificaArmazenamento(new ArmazenamentoDiretorio(new File(diretorio, "dados")));
+		new File(diretorio, "dados/vazio.txt").delete();
+		new File(diretorio, "dados").delete();
+	}
+
+	@Test
+	public void testArmazenamentoMapeado() throws IOException {
+		verificaArmazenamento(new ArmazenamentoMapeado(diretorio));
+	}
+
+	@Test
+	public void testArmazenamentoMemoria() throws IOException {
+		verificaArmazenamento(new ArmazenamentoMemoria());
+	}
+
+	@Test
+	public void testSistemasNaoCompartilhamArquivos() throws IOException {
+		ArmazenamentoMemoria primeiro = new ArmazenamentoMemoria();
+		Sistema sistema = new Sistema(primeiro);
+		Sistema outro = new Sistema(new ArmazenamentoDiretorio(diretorio));
+
+		sistema.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+		outro.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		sistema.salvaAlunos();
+		outro.salvaAlunos();
+
+		assertEquals("11715963 - Fanny - 2 - 99984-1347 - fannyvieira082@gmail.com",
+				new Persistencia(primeiro).carregaAlunos());
+		assertEquals("117110383 - Rayla - 1 - 99887-7692 - rayla.araujo@ccc.ufcg.edu.br",
+				new Persistencia(diretorio).carregaAlunos());
+	}
+
+	@Test
+	public void testMapeadosSobreArmazenamento() throws IOException {
+		for (Armazenamento armazenamento : new Armazenamento[] { new ArmazenamentoMemoria(),
+				new ArmazenamentoMapeado(diretorio) }) {
+			Sistema sistema = new Sistema(armazenamento);
+			sistema.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+			sistema.tornarTutor("11715963", "Programação 2", 4);
+			sistema.salvaMapeado();
+
+			Sistema recarregado = new Sistema(armazenamento);
+			recarregado.carregaMapeado();
+			assertEquals(sistema.recuperaAluno("11715963"), recarregado.recuperaAluno("11715963"));
+			assertEquals(sistema.recuperaTutor("11715963"), recarregado.recuperaTutor("11715963"));
+		}
+	}
+}
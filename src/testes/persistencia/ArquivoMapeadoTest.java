@@ -0,0 +1,114 @@
+package testes.persistencia;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import aluno.Aluno;
+import aluno.AlunoController;
+import aluno.RepositorioAlunosMapeado;
+import aluno.RepositorioAlunosMemoria;
+import persistencia.ArquivoMapeado;
+
+public class ArquivoMapeadoTest {
+
+	private File arquivo;
+
+	@Before
+	public void setUp() throws IOException {
+		arquivo = File.createTempFile("alunos", ".map");
+
+		List<String[]> registros = new ArrayList<>();
+		registros.add(RepositorioAlunosMapeado.paraRegistro(
+				new Aluno("11715963", "Fanny", "99984-1347", "fannyvieira082@gmail.com", 2)));
+		registros.add(RepositorioAlunosMapeado.paraRegistro(
+				new Aluno("11715987", "Rayla Araújo", "", "raylamedeiros082@gmail.com", 1)));
+
+		ArquivoMapeado.grava(arquivo, registros);
+	}
+
+	@After
+	public void tearDown() {
+		arquivo.delete();
+	}
+
+	@Test
+	public void testBusca() throws IOException {
+		ArquivoMapeado mapeado = ArquivoMapeado.abre(arquivo);
+
+		assertEquals(2, mapeado.quantidade());
+		assertEquals("Rayla Araújo", mapeado.busca("11715987")[1]);
+		assertNull(mapeado.busca("000"));
+		assertFalse(mapeado.contem(null));
+	}
+
+	@Test
+	public void testRegistrosNaOrdemGravada() throws IOException {
+		List<String[]> registros = ArquivoMapeado.abre(arquivo).registros();
+
+		assertEquals("11715963", registros.get(0)[0]);
+		assertEquals("11715987", registros.get(1)[0]);
+	}
+
+	@Test(expected = IOException.class)
+	public void testAbreArquivoInvalido() throws IOException {
+		File invalido = File.createTempFile("invalido", ".map");
+		invalido.deleteOnExit();
+		ArquivoMapeado.abre(invalido);
+	}
+
+	@Test
+	public void testRegistroCorrompidoDetectadoNaLeitura() throws IOException {
+		byte[] conteudo = Files.readAllBytes(arquivo.toPath());
+		String texto = new String(conteudo, StandardCharsets.ISO_8859_1);
+		conteudo[texto.indexOf("Fanny")] ^= 1;
+		Files.write(arquivo.toPath(), conteudo);
+
+		ArquivoMapeado mapeado = ArquivoMapeado.abre(arquivo);
+		assertEquals("Rayla Araújo", mapeado.busca("11715987")[1]);
+		try {
+			mapeado.busca("11715963");
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage().startsWith("Registro corrompido no arquivo mapeado"));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testCabecalhoCorrompido() throws IOException {
+		byte[] conteudo = Files.readAllBytes(arquivo.toPath());
+		conteudo[5] ^= 1;
+		Files.write(arquivo.toPath(), conteudo);
+		ArquivoMapeado.abre(arquivo);
+	}
+
+	@Test
+	public void testAlunoControllerSobreArquivoMapeado() throws IOException {
+		RepositorioAlunosMapeado repositorio = new RepositorioAlunosMapeado(ArquivoMapeado.abre(arquivo),
+				new RepositorioAlunosMemoria());
+		AlunoController controller = new AlunoController(repositorio);
+		controller.cadastrarAluno("Vinicius", "11715945", 2, "99974-1357", "viniciusbarbosa@gmail.com");
+
+		assertEquals("11715963 - Fanny - 2 - 99984-1347 - fannyvieira082@gmail.com",
+				controller.recuperaAluno("11715963"));
+		assertEquals("viniciusbarbosa@gmail.com", controller.getInfoAluno("11715945", "Email"));
+		assertEquals(3, repositorio.tamanho());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCadastrarAlunoJaPersistido() throws IOException {
+		AlunoController controller = new AlunoController(
+				new RepositorioAlunosMapeado(ArquivoMapeado.abre(arquivo), new RepositorioAlunosMemoria()));
+		controller.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+	}
+
+}
@@ -0,0 +1,175 @@
+package testes.persistencia;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import main.Sistema;
+import persistencia.Armazenamento;
+import persistencia.ArmazenamentoMemoria;
+import persistencia.EscritorAssincrono;
+import persistencia.Persistencia;
+import persistencia.RegistroSegmentado;
+
+public class EscritorAssincronoTest {
+
+	private ArmazenamentoMemoria armazenamento;
+	private RegistroSegmentado registro;
+	private EscritorAssincrono escritor;
+
+	@Before
+	public void setUp() {
+		armazenamento = new ArmazenamentoMemoria();
+		registro = new RegistroSegmentado(armazenamento, "alunos");
+		escritor = new EscritorAssincrono(60_000);
+	}
+
+	@After
+	public void tearDown() throws IOException, InterruptedException {
+		escritor.encerra();
+	}
+
+	@Test
+	public void testCombinaSalvamentos() throws IOException, InterruptedException {
+		escritor.agenda(registro, Collections.singletonMap("1", "Fanny"));
+		escritor.agenda(registro, Collections.singletonMap("2", "Rayla"));
+		escritor.agenda(registro, Collections.singletonMap("1", "Fanny Vieira"));
+
+		assertFalse(registro.existe());
+		assertTrue(escritor.temPendentes());
+
+		escritor.flush();
+
+		assertFalse(escritor.temPendentes());
+		assertEquals(3, escritor.getPedidos());
+		assertEquals(1, escritor.getEscritas());
+		assertEquals("Fanny Vieira", registro.le().get("1"));
+		assertEquals(2, registro.le().size());
+		ArmazenamentoMemoria sincrono = new ArmazenamentoMemoria();
+		Map<String, String> combinados = new LinkedHashMap<>();
+		combinados.put("1", "Fanny Vieira");
+		combinados.put("2", "Rayla");
+		new RegistroSegmentado(sincrono, "alunos").acrescenta(combinados);
+		assertEquals(sincrono.tamanho("alunos.0.seg"), armazenamento.tamanho("alunos.0.seg"));
+	}
+
+	@Test
+	public void testDefasagemMaxima() throws IOException, InterruptedException {
+		EscritorAssincrono rapido = new EscritorAssincrono(10);
+		try {
+			rapido.agenda(registro, Collections.singletonMap("1", "Fanny"));
+
+			long limite = System.currentTimeMillis() + 5_000;
+			while (!registro.existe() && System.currentTimeMillis() < limite) {
+				Thread.sleep(5);
+			}
+			assertTrue(registro.existe());
+		} finally {
+			rapido.encerra();
+		}
+	}
+
+	@Test
+	public void testFalhaInformadaNoFlush() throws InterruptedException, IOException {
+		RegistroSegmentado destino = new RegistroSegmentado(new ArmazenamentoFalho(), "alunos");
+
+		escritor.agenda(destino, Collections.singletonMap("1", "Fanny"));
+		try {
+			escritor.flush();
+			fail();
+		} catch (IOException e) {
+			assertTrue(escritor.temPendentes());
+		}
+
+		escritor.flush();
+		assertEquals("Fanny", destino.le().get("1"));
+	}
+
+	@Test
+	public void testSistemaAssincrono() throws IOException {
+		Sistema sistema = new Sistema(armazenamento);
+		sistema.ativaPersistenciaAssincrona(60_000);
+		sistema.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+		sistema.salvaAlunos();
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		sistema.salvaAlunos();
+
+		assertFalse(armazenamento.existe("alunos.0.seg"));
+
+		sistema.flush();
+		assertEquals(2, new Persistencia(armazenamento).carregaAlunos().split(", ").length);
+
+		sistema.cadastrarAluno("Daniel", "11715947", 2, "99974-1477", "danielbarreto082@gmail.com");
+		sistema.salvaAlunos();
+		sistema.encerraPersistenciaAssincrona();
+		assertEquals(3, new Persistencia(armazenamento).carregaAlunos().split(", ").length);
+	}
+
+	@Test
+	public void testLimparDescartaPendentes() throws IOException {
+		Persistencia persistencia = new Persistencia(armazenamento);
+		persistencia.ativaModoAssincrono(60_000);
+		persistencia.salvaAlunos(Collections.singletonMap("1", "Fanny"));
+		persistencia.limparAlunos();
+		persistencia.flush();
+
+		assertFalse(armazenamento.existe("alunos.0.seg"));
+		persistencia.encerraModoAssincrono();
+	}
+
+	/**
+	 * Armazenamento em memória cujo primeiro acréscimo falha.
+	 */
+	private static class ArmazenamentoFalho implements Armazenamento {
+
+		private ArmazenamentoMemoria memoria = new ArmazenamentoMemoria();
+		private boolean falhou;
+
+		@Override
+		public void grava(String nome, byte[] conteudo) {
+			memoria.grava(nome, conteudo);
+		}
+
+		@Override
+		public void acrescenta(String nome, byte[] conteudo) throws IOException {
+			if (!falhou) {
+				falhou = true;
+				throw new IOException();
+			}
+			memoria.acrescenta(nome, conteudo);
+		}
+
+		@Override
+		public byte[] le(String nome) {
+			return memoria.le(nome);
+		}
+
+		@Override
+		public ByteBuffer mapeia(String nome) {
+			return memoria.mapeia(nome);
+		}
+
+		@Override
+		public boolean existe(String nome) {
+			return memoria.existe(nome);
+		}
+
+		@Override
+		public long tamanho(String nome) {
+			return memoria.tamanho(nome);
+		}
+
+		@Override
+		public void remove(String nome) {
+			memoria.remove(nome);
+		}
+	}
+}
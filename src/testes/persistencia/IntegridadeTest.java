@@ -0,0 +1,147 @@
+package testes.persistencia;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import persistencia.ArmazenamentoDiretorio;
+import persistencia.ArmazenamentoMapeado;
+import persistencia.Integridade;
+
+public class IntegridadeTest {
+
+	private File diretorio;
+
+	@Before
+	public void setUp() throws IOException {
+		diretorio = Files.createTempDirectory("integridade").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		File[] arquivos = diretorio.listFiles();
+		if (arquivos != null) {
+			for (File arquivo : arquivos) {
+				arquivo.delete();
+			}
+		}
+		diretorio.delete();
+	}
+
+	private static byte[] bytes(String texto) {
+		return texto.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void corrompe(String nome) throws IOException {
+		File arquivo = new File(diretorio, nome);
+		byte[] conteudo = Files.readAllBytes(arquivo.toPath());
+		conteudo[0] ^= 1;
+		Files.write(arquivo.toPath(), conteudo);
+	}
+
+	@Test
+	public void testSelaEVerifica() {
+		byte[] selado = Integridade.sela(bytes("Fanny"));
+
+		assertEquals(5 + Integridade.TAMANHO_SELO, selado.length);
+		assertEquals(5, Integridade.verifica(ByteBuffer.wrap(selado)));
+
+		selado[1] ^= 1;
+		assertEquals(Integridade.CORROMPIDO, Integridade.verifica(ByteBuffer.wrap(selado)));
+	}
+
+	@Test
+	public void testGravacaoMantemGeracaoAnterior() throws IOException {
+		ArmazenamentoDiretorio armazenamento = new ArmazenamentoDiretorio(diretorio);
+		armazenamento.grava("alunos.txt", bytes("Fanny"));
+		armazenamento.grava("alunos.txt", bytes("Fanny, Rayla"));
+
+		assertArrayEquals(bytes("Fanny, Rayla"), armazenamento.le("alunos.txt"));
+		assertTrue(new File(diretorio, "alunos.txt.anterior").exists());
+		assertFalse(new File(diretorio, "alunos.txt.tmp").exists());
+	}
+
+	@Test
+	public void testArquivoCorrompidoUsaGeracaoAnterior() throws IOException {
+		for (ArmazenamentoDiretorio armazenamento : new ArmazenamentoDiretorio[] {
+				new ArmazenamentoDiretorio(diretorio), new ArmazenamentoMapeado(diretorio) }) {
+			armazenamento.grava("alunos.txt", bytes("Fanny"));
+			armazenamento.grava("alunos.txt", bytes("Fanny, Rayla"));
+			corrompe("alunos.txt");
+
+			assertArrayEquals(bytes("Fanny"), armazenamento.le("alunos.txt"));
+			assertEquals(12, armazenamento.mapeia("alunos.txt").remaining());
+
+			armazenamento.remove("alunos.txt");
+			assertFalse(armazenamento.existe("alunos.txt"));
+		}
+	}
+
+	@Test
+	public void testArquivoSemGeracaoValida() throws IOException {
+		ArmazenamentoDiretorio armazenamento = new ArmazenamentoDiretorio(diretorio);
+		armazenamento.grava("alunos.txt", bytes("Fanny"));
+		corrompe("alunos.txt");
+
+		try {
+			armazenamento.le("alunos.txt");
+			fail("Era esperado exceção ao ler arquivo corrompido");
+		} catch (IOException e) {
+			assertEquals("Arquivo corrompido e sem geracao anterior valida: alunos.txt", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testLeArquivoSemSelo() throws IOException {
+		Files.write(new File(diretorio, "alunos.txt").toPath(), bytes("Fanny, Rayla"));
+
+		assertArrayEquals(bytes("Fanny, Rayla"), new ArmazenamentoDiretorio(diretorio).le("alunos.txt"));
+	}
+
+	@Test
+	public void testMigracaoSelaArquivosSemSelo() throws IOException {
+		Files.write(new File(diretorio, "alunos.txt").toPath(), bytes("Fanny, Rayla"));
+		Files.write(new File(diretorio, "alunos.0.seg").toPath(), bytes("linha\n"));
+
+		ArmazenamentoDiretorio armazenamento = new ArmazenamentoDiretorio(diretorio);
+		armazenamento.migra("alunos.txt", "tutores.txt");
+
+		assertEquals(12 + Integridade.TAMANHO_SELO, new File(diretorio, "alunos.txt").length());
+		assertArrayEquals(bytes("Fanny, Rayla"), armazenamento.le("alunos.txt"));
+		assertEquals(6, armazenamento.mapeiaAcrescimos("alunos.0.seg").remaining());
+
+		Files.write(new File(diretorio, "tutores.txt").toPath(), bytes("Rayla"));
+		for (ArmazenamentoDiretorio migrado : new ArmazenamentoDiretorio[] { armazenamento,
+				new ArmazenamentoDiretorio(diretorio) }) {
+			try {
+				migrado.le("tutores.txt");
+				fail("Era esperado exceção ao ler arquivo sem selo depois da migração");
+			} catch (IOException e) {
+				assertEquals("Arquivo corrompido e sem geracao anterior valida: tutores.txt", e.getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void testDiretorioNovoExigeSelo() throws IOException {
+		ArmazenamentoDiretorio armazenamento = new ArmazenamentoDiretorio(diretorio);
+		armazenamento.acrescenta("alunos.0.seg", bytes("linha\n"));
+		Files.write(new File(diretorio, "alunos.txt").toPath(), bytes("Fanny"));
+
+		try {
+			new ArmazenamentoDiretorio(diretorio).le("alunos.txt");
+			fail("Era esperado exceção ao ler arquivo sem selo em diretório novo");
+		} catch (IOException e) {
+			assertEquals("Arquivo corrompido e sem geracao anterior valida: alunos.txt", e.getMessage());
+		}
+		assertEquals(6, armazenamento.mapeiaAcrescimos("alunos.0.seg").remaining());
+	}
+}
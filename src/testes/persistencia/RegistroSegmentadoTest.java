@@ -0,0 +1,185 @@
+package testes.persistencia;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import main.Sistema;
+import persistencia.ArmazenamentoMemoria;
+import persistencia.Persistencia;
+import persistencia.RegistroSegmentado;
+
+public class RegistroSegmentadoTest {
+
+	private ArmazenamentoMemoria armazenamento;
+	private RegistroSegmentado registro;
+
+	@Before
+	public void setUp() {
+		armazenamento = new ArmazenamentoMemoria();
+		registro = new RegistroSegmentado(armazenamento, "alunos", 64);
+	}
+
+	private static Map<String, String> registros(String... chavesEValores) {
+		Map<String, String> registros = new LinkedHashMap<>();
+		for (int i = 0; i < chavesEValores.length; i += 2) {
+			registros.put(chavesEValores[i], chavesEValores[i + 1]);
+		}
+		return registros;
+	}
+
+	@Test
+	public void testUltimaVersaoPrevalece() throws IOException {
+		assertFalse(registro.existe());
+		assertTrue(registro.le().isEmpty());
+
+		registro.acrescenta(registros("1", "Fanny", "2", "Rayla"));
+		registro.acrescenta(registros("1", "Fanny Vieira"));
+
+		assertTrue(registro.existe());
+		assertEquals(registros("1", "Fanny Vieira", "2", "Rayla"), registro.le());
+	}
+
+	@Test
+	public void testCaracteresEspeciais() throws IOException {
+		registro.acrescenta(registros("a\tb", "linha\numa\\duas\r"));
+		assertEquals(registros("a\tb", "linha\numa\\duas\r"), registro.le());
+	}
+
+	@Test
+	public void testNovoSegmentoAoAtingirTamanho() throws IOException {
+		for (int i = 0; i < 10; i++) {
+			registro.acrescenta(registros(String.valueOf(i), "aluno numero " + i));
+		}
+
+		assertTrue(registro.segmentos() > 1);
+		for (int segmento = 0; segmento < registro.segmentos(); segmento++) {
+			assertTrue(armazenamento.tamanho("alunos." + segmento + ".seg") <= 64);
+		}
+		assertEquals(10, registro.le().size());
+		assertEquals("aluno numero 9", registro.le().get("9"));
+	}
+
+	@Test
+	public void testContinuaUltimoSegmento() throws IOException {
+		registro.acrescenta(registros("1", "Fanny"));
+		new RegistroSegmentado(armazenamento, "alunos", 64).acrescenta(registros("2", "Rayla"));
+
+		assertEquals(1, registro.segmentos());
+		assertEquals(registros("1", "Fanny", "2", "Rayla"), registro.le());
+	}
+
+	@Test
+	public void testCompacta() throws IOException {
+		for (int i = 0; i < 10; i++) {
+			registro.acrescenta(registros("1", "versao " + i));
+		}
+		int segmentos = registro.segmentos();
+
+		registro.compacta();
+
+		assertTrue(registro.segmentos() < segmentos);
+		assertEquals(registros("1", "versao 9"), registro.le());
+	}
+
+	@Test
+	public void testCompactaTrocaPeloManifesto() throws IOException {
+		for (int i = 0; i < 10; i++) {
+			registro.acrescenta(registros("1", "versao " + i));
+		}
+		int segmentos = registro.segmentos();
+
+		registro.compacta();
+
+		assertTrue(armazenamento.existe("alunos.manifesto"));
+		assertFalse(armazenamento.existe("alunos.0.seg"));
+		assertTrue(armazenamento.existe("alunos." + segmentos + ".seg"));
+
+		RegistroSegmentado reaberto = new RegistroSegmentado(armazenamento, "alunos", 64);
+		reaberto.acrescenta(registros("2", "Rayla"));
+		assertEquals(registros("1", "versao 9", "2", "Rayla"), reaberto.le());
+
+		reaberto.limpa();
+		assertFalse(reaberto.existe());
+		assertFalse(armazenamento.existe("alunos.manifesto"));
+	}
+
+	@Test
+	public void testIgnoraLinhaCorrompida() throws IOException {
+		registro.acrescenta(registros("1", "Fanny"));
+		long tamanho = armazenamento.tamanho("alunos.0.seg");
+		registro.acrescenta(registros("1", "Fanny Vieira"));
+
+		byte[] conteudo = armazenamento.le("alunos.0.seg");
+		conteudo[(int) tamanho + 3] ^= 1;
+		armazenamento.grava("alunos.0.seg", conteudo);
+
+		assertEquals(registros("1", "Fanny"), registro.le());
+	}
+
+	@Test
+	public void testLeLinhaSemCrc() throws IOException {
+		armazenamento.acrescenta("alunos.0.seg", "1\tFanny\n".getBytes(StandardCharsets.UTF_8));
+		registro.acrescenta(registros("2", "Rayla"));
+
+		assertEquals(registros("1", "Fanny", "2", "Rayla"), registro.le());
+	}
+
+	@Test
+	public void testIgnoraLinhaIncompleta() throws IOException {
+		registro.acrescenta(registros("1", "Fanny"));
+		armazenamento.acrescenta("alunos.0.seg", "2\tRay".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(registros("1", "Fanny"), registro.le());
+	}
+
+	@Test
+	public void testAcrescentaDepoisDeLinhaIncompleta() throws IOException {
+		registro.acrescenta(registros("1", "Fanny"));
+		armazenamento.acrescenta("alunos.0.seg", "2\tRay".getBytes(StandardCharsets.UTF_8));
+
+		RegistroSegmentado reaberto = new RegistroSegmentado(armazenamento, "alunos", 64);
+		reaberto.acrescenta(registros("2", "Rayla", "3", "Marcus"));
+
+		assertTrue(armazenamento.existe("alunos.1.seg"));
+		assertEquals(registros("1", "Fanny", "2", "Rayla", "3", "Marcus"), reaberto.le());
+		assertEquals(registros("1", "Fanny", "2", "Rayla", "3", "Marcus"),
+				new RegistroSegmentado(armazenamento, "alunos", 64).le());
+	}
+
+	@Test
+	public void testSalvaApenasAlterados() throws IOException {
+		Sistema sistema = new Sistema(armazenamento);
+		sistema.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		sistema.salvaAlunos();
+		long tamanho = armazenamento.tamanho("alunos.0.seg");
+
+		sistema.salvaAlunos();
+		assertEquals(tamanho, armazenamento.tamanho("alunos.0.seg"));
+
+		sistema.cadastrarAluno("Daniel", "11715947", 2, "99974-1477", "danielbarreto082@gmail.com");
+		sistema.salvaAlunos();
+		ArmazenamentoMemoria linha = new ArmazenamentoMemoria();
+		new RegistroSegmentado(linha, "alunos")
+				.acrescenta(registros("11715947", "11715947 - Daniel - 2 - 99974-1477 - danielbarreto082@gmail.com"));
+		assertEquals(tamanho + linha.tamanho("alunos.0.seg"), armazenamento.tamanho("alunos.0.seg"));
+
+		assertEquals(3, new Persistencia(armazenamento).carregaAlunos().split(", ").length);
+	}
+
+	@Test
+	public void testCarregaArquivoLegado() throws IOException {
+		armazenamento.grava("tutores.txt", "11715963 - Fanny - 2 - 99984-1347 - fannyvieira082@gmail.com"
+				.getBytes(StandardCharsets.UTF_8));
+
+		assertEquals("11715963 - Fanny - 2 - 99984-1347 - fannyvieira082@gmail.com",
+				new Persistencia(armazenamento).carregaTutores());
+	}
+}
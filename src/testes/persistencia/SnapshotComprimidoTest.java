@@ -0,0 +1,132 @@
+package testes.persistencia;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import main.Sistema;
+import persistencia.ArmazenamentoMemoria;
+import persistencia.EstatisticasCompressao;
+import persistencia.Persistencia;
+import persistencia.RegistroSegmentado;
+import persistencia.SnapshotComprimido;
+
+public class SnapshotComprimidoTest {
+
+	private ArmazenamentoMemoria armazenamento;
+	private EstatisticasCompressao estatisticas;
+	private RegistroSegmentado registro;
+
+	@Before
+	public void setUp() {
+		armazenamento = new ArmazenamentoMemoria();
+		estatisticas = new EstatisticasCompressao();
+		registro = new RegistroSegmentado(armazenamento, "alunos");
+		registro.ativaCompressao(estatisticas);
+	}
+
+	private static Map<String, String> alunos(int quantidade) {
+		Map<String, String> alunos = new LinkedHashMap<>();
+		for (int i = 0; i < quantidade; i++) {
+			String matricula = String.valueOf(117110000 + i);
+			alunos.put(matricula, matricula + " - Aluno " + i + " - 1 - 99887-7692 - aluno" + i + "@ccc.ufcg.edu.br");
+		}
+		return alunos;
+	}
+
+	@Test
+	public void testCompactaEmSnapshot() throws IOException {
+		registro.acrescenta(alunos(8000));
+		long tamanhoSegmentos = armazenamento.tamanho("alunos.0.seg");
+
+		registro.compacta();
+
+		assertEquals(0, registro.segmentos());
+		assertEquals(1, estatisticas.getSnapshots());
+		assertEquals(tamanhoSegmentos, estatisticas.getBytesOriginais());
+		assertEquals(estatisticas.getBytesComprimidos(), armazenamento.tamanho("alunos.1.snap"));
+		assertTrue(estatisticas.getBytesComprimidos() > SnapshotComprimido.TAMANHO_BLOCO);
+		assertTrue(estatisticas.razaoCompressao() > 3);
+		assertEquals(alunos(8000), registro.le());
+	}
+
+	@Test
+	public void testAcrescentaDepoisDoSnapshot() throws IOException {
+		registro.acrescenta(alunos(10));
+		registro.compacta();
+		registro.acrescenta(umRegistro("117110000", "Fanny"));
+
+		RegistroSegmentado reaberto = new RegistroSegmentado(armazenamento, "alunos");
+		Map<String, String> esperado = alunos(10);
+		esperado.put("117110000", "Fanny");
+		assertEquals(esperado, reaberto.le());
+
+		reaberto.compacta();
+		assertFalse(armazenamento.existe("alunos.1.snap"));
+		assertEquals(esperado, reaberto.le());
+
+		reaberto.limpa();
+		assertFalse(reaberto.existe());
+		assertTrue(reaberto.le().isEmpty());
+	}
+
+	@Test
+	public void testLeLinhaALinha() throws IOException {
+		StringBuilder conteudo = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			conteudo.append("linha ").append(i).append('\n');
+		}
+		SnapshotComprimido snapshot = new SnapshotComprimido(armazenamento, "linhas.snap", estatisticas);
+		snapshot.escreve(conteudo.toString().getBytes(StandardCharsets.UTF_8));
+		snapshot.fecha();
+
+		List<String> linhas = new ArrayList<>();
+		assertTrue(SnapshotComprimido.le(armazenamento, "linhas.snap", estatisticas, linhas::add));
+
+		assertEquals(20000, linhas.size());
+		assertEquals("linha 0", linhas.get(0));
+		assertEquals("linha 19999", linhas.get(19999));
+		assertEquals(conteudo.length(), estatisticas.getBytesDescomprimidos());
+		assertFalse(SnapshotComprimido.le(armazenamento, "inexistente.snap", estatisticas, linhas::add));
+	}
+
+	@Test(expected = IOException.class)
+	public void testSnapshotIncompleto() throws IOException {
+		registro.acrescenta(alunos(10));
+		registro.compacta();
+
+		byte[] snapshot = armazenamento.le("alunos.1.snap");
+		armazenamento.grava("alunos.1.snap", Arrays.copyOf(snapshot, snapshot.length / 2));
+
+		registro.le();
+	}
+
+	@Test
+	public void testPersistenciaComprimida() throws IOException {
+		Sistema sistema = new Sistema(armazenamento);
+		sistema.ativaSnapshotsComprimidos();
+		sistema.cadastrarAluno("Fanny", "11715963", 2, "99984-1347", "fannyvieira082@gmail.com");
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		sistema.salvaAlunos();
+		sistema.compactaArquivos();
+
+		assertTrue(armazenamento.existe("alunos.1.snap"));
+		assertEquals(3, sistema.getEstatisticasCompressao().getSnapshots());
+		assertEquals(2, new Persistencia(armazenamento).carregaAlunos().split(", ").length);
+	}
+
+	private static Map<String, String> umRegistro(String chave, String valor) {
+		Map<String, String> registros = new LinkedHashMap<>();
+		registros.put(chave, valor);
+		return registros;
+	}
+}
@@ -0,0 +1,201 @@
+package testes.replicacao;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import evento.BarramentoEventos;
+import main.Sistema;
+import persistencia.ArmazenamentoMemoria;
+import replicacao.FacadeSeguidor;
+import replicacao.Primario;
+import replicacao.Seguidor;
+
+public class ReplicacaoTest {
+
+	private File registro;
+	private Sistema sistema;
+	private Primario primario;
+	private Seguidor seguidor;
+
+	@Before
+	public void setUp() throws IOException {
+		registro = File.createTempFile("replicacao", ".log");
+		sistema = new Sistema(new ArmazenamentoMemoria());
+		primario = new Primario(sistema, registro);
+		seguidor = new Seguidor(new ArmazenamentoMemoria(), registro);
+
+		sistema.cadastrarAluno("Rayla", "117110383", 1, "99887-7692", "rayla.araujo@ccc.ufcg.edu.br");
+		sistema.cadastrarAluno("Fanny\tVieira", "117147123", 2, "", "fanny.vieira@ccc.ufcg.edu.br");
+		sistema.tornarTutor("117110383", "Programação 2", 4);
+		sistema.cadastrarHorario("rayla.araujo@ccc.ufcg.edu.br", "14:00", "seg");
+		sistema.cadastrarLocalDeAtendimento("rayla.araujo@ccc.ufcg.edu.br", "LCC2");
+	}
+
+	@After
+	public void tearDown() {
+		primario.desliga();
+		registro.delete();
+	}
+
+	@Test
+	public void testSeguidorAplicaRegistro() throws IOException {
+		int idAjuda = sistema.pedirAjudaPresencial("117147123", "Programação 2", "14:00", "seg", "LCC2");
+		sistema.avaliaTutor(idAjuda, 5);
+		sistema.doar("117110383", 1000);
+
+		primario.replica();
+		seguidor.atualiza();
+
+		FacadeSeguidor leitura = seguidor.getFacade();
+		assertEquals(sistema.recuperaTutor("117110383"), leitura.recuperaTutor("117110383"));
+		assertEquals(sistema.recuperaAluno("117147123"), leitura.recuperaAluno("117147123"));
+		assertTrue(leitura.consultaHorario("rayla.araujo@ccc.ufcg.edu.br", "14:00", "seg"));
+		assertEquals(sistema.pegaNota("117110383"), leitura.pegarNota("117110383"));
+		assertEquals(sistema.getInfoAjuda(idAjuda, "localInteresse"), leitura.getInfoAjuda(idAjuda, "localInteresse"));
+		assertEquals(sistema.totalDinheiroSistema(), leitura.totalDinheiroSistema());
+		assertEquals(sistema.getBarramentoEventos().ultimaSequencia(), seguidor.getUltimaSequenciaAplicada());
+	}
+
+	@Test
+	public void testSeguidorAplicaDoacaoLiquidada() throws IOException {
+		for (int i = 0; i < 100; i++) {
+			sistema.doarAssincrono("117110383", 111);
+		}
+		sistema.aguardaDoacoes();
+
+		primario.replica();
+		seguidor.atualiza();
+
+		FacadeSeguidor leitura = seguidor.getFacade();
+		assertEquals(sistema.totalDinheiroSistema(), leitura.totalDinheiroSistema());
+		assertEquals(sistema.totalDinheiroTutor("rayla.araujo@ccc.ufcg.edu.br"),
+				leitura.totalDinheiroTutor("rayla.araujo@ccc.ufcg.edu.br"));
+		assertEquals(sistema.getBarramentoEventos().ultimaSequencia(), seguidor.getUltimaSequenciaAplicada());
+	}
+
+	@Test
+	public void testMaisEventosQueOBarramentoEntreReplicacoes() throws IOException {
+		int quantidade = BarramentoEventos.CAPACIDADE_PADRAO + 1000;
+		for (int i = 0; i < quantidade; i++) {
+			sistema.cadastrarAluno("Aluno " + i, "2000" + i, 1, "", "aluno" + i + "@ccc.ufcg.edu.br");
+		}
+
+		assertEquals(5 + quantidade, primario.replica());
+		seguidor.atualiza();
+
+		sistema.cadastrarLocalDeAtendimento("rayla.araujo@ccc.ufcg.edu.br", "LCC3");
+		assertEquals(1, primario.replica());
+		seguidor.atualiza();
+
+		assertEquals(sistema.getBarramentoEventos().ultimaSequencia(), seguidor.getUltimaSequenciaAplicada());
+		assertEquals(sistema.recuperaAluno("20004095"), seguidor.getFacade().recuperaAluno("20004095"));
+		assertTrue(seguidor.getFacade().recuperaTutor("117110383").length() > 0);
+	}
+
+	@Test
+	public void testAtrasoDoSeguidor() throws IOException {
+		primario.replica();
+		assertEquals(5, seguidor.getAtraso());
+		assertTrue(seguidor.getAtrasoMillis() >= 0);
+
+		seguidor.atualiza();
+		assertEquals(0, seguidor.getAtraso());
+		assertEquals(0, seguidor.getAtrasoMillis());
+
+		sistema.cadastrarLocalDeAtendimento("rayla.araujo@ccc.ufcg.edu.br", "LCC3");
+		assertEquals(0, seguidor.getAtraso());
+
+		primario.replica();
+		assertEquals(1, seguidor.getAtraso());
+	}
+
+	@Test
+	public void testLinhaInvalidaNaoAceitaLinhasAnteriores() throws IOException {
+		primario.replica();
+		long tamanho = registro.length();
+		try (FileOutputStream saida = new FileOutputStream(registro, true)) {
+			saida.write("linha invalida\n".getBytes(StandardCharsets.UTF_8));
+		}
+
+		try {
+			seguidor.getAtraso();
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+
+		try (RandomAccessFile arquivo = new RandomAccessFile(registro, "rw")) {
+			arquivo.setLength(tamanho);
+		}
+		assertEquals(5, seguidor.atualiza());
+		assertEquals(sistema.getBarramentoEventos().ultimaSequencia(), seguidor.getUltimaSequenciaAplicada());
+	}
+
+	@Test
+	public void testFalhaInterrompeAtualizacaoPeriodica() throws Exception {
+		try (FileOutputStream saida = new FileOutputStream(registro, true)) {
+			saida.write("linha invalida\n".getBytes(StandardCharsets.UTF_8));
+		}
+
+		seguidor.inicia(5);
+		long limite = System.currentTimeMillis() + 5000;
+		while (seguidor.getFalha() == null && System.currentTimeMillis() < limite) {
+			Thread.sleep(5);
+		}
+
+		assertTrue(seguidor.getFalha() instanceof IllegalArgumentException);
+		try {
+			seguidor.atualiza();
+			fail();
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Replicacao periodica interrompida por falha: "));
+			assertSame(seguidor.getFalha(), e.getCause());
+		}
+
+		registro.delete();
+		seguidor.inicia(5);
+		assertNull(seguidor.getFalha());
+		seguidor.encerra();
+	}
+
+	@Test
+	public void testVariosSeguidoresNoMesmoRegistro() throws IOException {
+		Seguidor outro = new Seguidor(new ArmazenamentoMemoria(), registro);
+
+		primario.replica();
+		seguidor.atualiza();
+		sistema.configuraOrdem("Email");
+		primario.replica();
+		outro.atualiza();
+		seguidor.atualiza();
+
+		assertEquals(sistema.listarAlunos(), outro.getFacade().listarAlunos());
+		assertEquals(sistema.listarAlunos(), seguidor.getFacade().listarAlunos());
+	}
+
+	@Test
+	public void testReplicacaoPeriodica() throws Exception {
+		primario.inicia(5);
+		seguidor.inicia(5);
+
+		sistema.cadastrarLocalDeAtendimento("rayla.araujo@ccc.ufcg.edu.br", "LCC3");
+		long limite = System.currentTimeMillis() + 5000;
+		while (seguidor.getUltimaSequenciaAplicada() < sistema.getBarramentoEventos().ultimaSequencia()
+				&& System.currentTimeMillis() < limite) {
+			Thread.sleep(5);
+		}
+
+		primario.encerra();
+		seguidor.encerra();
+		assertTrue(seguidor.getFacade().recuperaTutor("117110383").length() > 0);
+		assertEquals(sistema.getBarramentoEventos().ultimaSequencia(), seguidor.getUltimaSequenciaAplicada());
+	}
+}
@@ -0,0 +1,91 @@
+package testes.tutor;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tutor.Classificacao;
+
+public class ClassificacaoTest {
+
+	private Classificacao classificacao;
+
+	@Before
+	public void setUp() {
+		classificacao = new Classificacao();
+		classificacao.atualiza("a@ccc.br", 4.0);
+		classificacao.atualiza("b@ccc.br", 4.5);
+		classificacao.atualiza("c@ccc.br", 3.0);
+	}
+
+	@Test
+	public void testPrimeiros() {
+		assertEquals(Arrays.asList("b@ccc.br", "a@ccc.br"), classificacao.primeiros(2));
+		assertEquals(3, classificacao.primeiros(10).size());
+	}
+
+	@Test
+	public void testPosicao() {
+		assertEquals(1, classificacao.posicao("b@ccc.br"));
+		assertEquals(3, classificacao.posicao("c@ccc.br"));
+		assertEquals(Classificacao.NAO_CLASSIFICADO, classificacao.posicao("d@ccc.br"));
+	}
+
+	@Test
+	public void testAtualizaNotaReposicionaTutor() {
+		classificacao.atualiza("c@ccc.br", 5.0);
+
+		assertEquals(1, classificacao.posicao("c@ccc.br"));
+		assertEquals(2, classificacao.posicao("b@ccc.br"));
+		assertEquals(3, classificacao.tamanho());
+	}
+
+	@Test
+	public void testEmpateOrdenaPorEmail() {
+		classificacao.atualiza("0@ccc.br", 4.0);
+
+		assertEquals(2, classificacao.posicao("0@ccc.br"));
+		assertEquals(3, classificacao.posicao("a@ccc.br"));
+	}
+
+	@Test
+	public void testRemove() {
+		classificacao.remove("b@ccc.br");
+
+		assertEquals(1, classificacao.posicao("a@ccc.br"));
+		assertEquals(2, classificacao.tamanho());
+	}
+
+	@Test
+	public void testConcordaComOrdenacaoCompleta() {
+		Random aleatorio = new Random(7);
+		Map<String, Double> notas = new HashMap<>();
+
+		for (int i = 0; i < 2000; i++) {
+			String email = "tutor" + aleatorio.nextInt(300) + "@ccc.br";
+			double nota = aleatorio.nextInt(6) + aleatorio.nextInt(10) / 10.0;
+			notas.put(email, nota);
+			classificacao.atualiza(email, nota);
+		}
+		notas.put("a@ccc.br", 4.0);
+		notas.put("b@ccc.br", 4.5);
+		notas.put("c@ccc.br", 3.0);
+
+		List<String> esperado = new ArrayList<>(notas.keySet());
+		esperado.sort(Comparator.comparing((String email) -> -notas.get(email)).thenComparing(email -> email));
+
+		assertEquals(esperado, classificacao.primeiros(esperado.size()));
+		for (int i = 0; i < esperado.size(); i++) {
+			assertEquals(i + 1, classificacao.posicao(esperado.get(i)));
+		}
+	}
+}
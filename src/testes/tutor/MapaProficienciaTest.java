@@ -0,0 +1,56 @@
+package testes.tutor;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tutor.MapaProficiencia;
+
+public class MapaProficienciaTest {
+
+	private MapaProficiencia mapa;
+
+	@Before
+	public void setUp() {
+		mapa = new MapaProficiencia();
+		mapa.adiciona(7, 3);
+		mapa.adiciona(2, 5);
+		mapa.adiciona(11, 1);
+	}
+
+	@Test
+	public void testContem() {
+		assertTrue(mapa.contem(2));
+		assertTrue(mapa.contem(7));
+		assertTrue(mapa.contem(11));
+		assertFalse(mapa.contem(5));
+	}
+
+	@Test
+	public void testProficiencia() {
+		assertEquals(5, mapa.proficiencia(2));
+		assertEquals(3, mapa.proficiencia(7));
+		assertEquals(1, mapa.proficiencia(11));
+		assertEquals(MapaProficiencia.SEM_PROFICIENCIA, mapa.proficiencia(4));
+	}
+
+	@Test
+	public void testAdicionaSubstituiProficiencia() {
+		mapa.adiciona(7, 4);
+		assertEquals(4, mapa.proficiencia(7));
+		assertEquals(3, mapa.tamanho());
+	}
+
+	@Test
+	public void testEqualsIndependeDaOrdemDeInsercao() {
+		MapaProficiencia outro = new MapaProficiencia();
+		outro.adiciona(11, 1);
+		outro.adiciona(7, 3);
+		outro.adiciona(2, 5);
+
+		assertEquals(mapa, outro);
+		assertEquals(mapa.hashCode(), outro.hashCode());
+	}
+
+}
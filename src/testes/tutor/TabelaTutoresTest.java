@@ -0,0 +1,104 @@
+package testes.tutor;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import aluno.Aluno;
+import tutor.TabelaTutores;
+import tutor.Tutor;
+
+public class TabelaTutoresTest {
+
+	private TabelaTutores tabela;
+	private Tutor rayla;
+	private Tutor fanny;
+
+	@Before
+	public void setUp() {
+		tabela = new TabelaTutores();
+		rayla = new Tutor("Programação 1", 4, new Aluno("117110383", "Rayla", "99887-7692", "rayla.araujo@ccc.ufcg.edu.br", 1));
+		fanny = new Tutor("Programação 2", 4, new Aluno("117147123", "Fanny", "99883-7692", "fanny.araujo@ccc.ufcg.edu.br", 2));
+		tabela.atualiza(rayla);
+		tabela.atualiza(fanny);
+	}
+
+	@Test
+	public void testAtualizaMesmoTutorNaoDuplicaLinha() {
+		tabela.atualiza(rayla);
+		assertEquals(2, tabela.tamanho());
+	}
+
+	@Test
+	public void testTotalDoacoes() {
+		rayla.receberDoacao(300);
+		fanny.receberDoacao(200);
+		tabela.atualiza(rayla);
+		tabela.atualiza(fanny);
+
+		assertEquals(500, tabela.totalDoacoes());
+		assertEquals(200, tabela.totalDoacoesDoCurso(2));
+	}
+
+	@Test
+	public void testMediaNotas() {
+		rayla.alteraNotaAvaliacao(5);
+		tabela.atualiza(rayla);
+
+		assertEquals((rayla.getNotaAvaliacao() + 4.0) / 2, tabela.mediaNotas(), 0.001);
+	}
+
+	@Test
+	public void testHistogramaNiveis() {
+		rayla.alteraNotaAvaliacao(0);
+		rayla.alteraNotaAvaliacao(0);
+		tabela.atualiza(rayla);
+
+		int[] histograma = tabela.histogramaNiveis();
+		assertEquals(1, histograma[TabelaTutores.NIVEL_APRENDIZ]);
+		assertEquals(1, histograma[TabelaTutores.NIVEL_TUTOR]);
+		assertEquals(0, histograma[TabelaTutores.NIVEL_TOP]);
+	}
+
+	@Test
+	public void testAtualizacaoSoRefletidaNaConsulta() {
+		tabela.totalDoacoes();
+		rayla.receberDoacao(300);
+		tabela.atualiza(rayla);
+		rayla.receberDoacao(100);
+
+		assertEquals(400, tabela.totalDoacoes());
+		assertEquals(400, tabela.totalDoacoesDoCurso(1));
+	}
+
+	@Test
+	public void testAtualizacoesConcorrentes() throws InterruptedException {
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			Tutor tutor = i % 2 == 0 ? rayla : fanny;
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 1000; j++) {
+					tutor.receberDoacao(1);
+					tabela.atualiza(tutor);
+					tabela.totalDoacoes();
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(4000, tabela.totalDoacoes());
+		assertEquals(2000, tabela.totalDoacoesDoCurso(2));
+	}
+
+	@Test
+	public void testLimpa() {
+		tabela.limpa();
+		assertEquals(0, tabela.tamanho());
+		assertEquals(0, tabela.totalDoacoes());
+	}
+
+}
@@ -2,6 +2,9 @@ package testes.tutor;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.junit.Before;
@@ -10,6 +13,7 @@ import org.junit.Test;
 import aluno.Aluno;
 import aluno.AlunoController;
 import testes.TestUtil;
+import tutor.Tutor;
 import tutor.TutorController;
 
 public class TutorControllerTest {
@@ -641,11 +645,86 @@ public class TutorControllerTest {
 		
 		tutorController.doar("gaudslindo99@gmail.com", 10000);
 		
-		int actual = tutorController.totalDinheiroTutor("gaudslindo99@gmail.com");
-		int expected = 10000;
+		long actual = tutorController.totalDinheiroTutor("gaudslindo99@gmail.com");
+		long expected = 10000;
 		
 		assertEquals(expected, actual);
 		
 	}
 	
+	/*---------------------- TESTES CLASSIFICACAO ----------------------*/
+	
+	@Test
+	public void testMelhoresTutoresDaDisciplina() {
+		alunoController.cadastrarAluno("Tiagu Terror", "658372", 2, "99984-1347", "tiaguus123@gmail.com");
+		Aluno tiagu = alunoController.getAlunoPelaMatricula("658372");
+		tutorController.cadastraTutor("P2", 3, tiagu);
+		tutorController.avaliaTutor("tiaguus123@gmail.com", 5);
+		
+		Tutor gauds = tutorController.getTutor("gaudslindo99@gmail.com");
+		Tutor tiaguTutor = tutorController.getTutor("tiaguus123@gmail.com");
+		
+		assertEquals(tiaguTutor.toString(), tutorController.melhoresTutoresDaDisciplina("P2", 1));
+		assertEquals(2, tutorController.posicaoTutorNaDisciplina(gauds, "P2"));
+		assertEquals(1, tutorController.posicaoTutor(tiaguTutor));
+	}
+	
+	@Test(expected=NoSuchElementException.class)
+	public void testPosicaoTutorDisciplinaQueNaoTutora() {
+		tutorController.posicaoTutorNaDisciplina(tutorController.getTutor("gaudslindo99@gmail.com"), "Calculo");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testMelhoresTutoresQuantidadeInvalida() {
+		tutorController.melhoresTutores(0);
+	}
+	
+	@Test
+	public void testMelhoresTutoresDaDisciplinaQuantidadeZero() {
+		try {
+			tutorController.melhoresTutoresDaDisciplina("Calculo", 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("quantidade deve ser maior que zero", e.getMessage());
+		}
+		assertNotNull(tutorController.melhoresTutoresDaDisciplina("Calculo", 1));
+	}
+	
+	/*---------------------- TESTES NIVEL ----------------------*/
+	
+	@Test
+	public void testMudancaDeNivelAtualizaConjuntosEAvisaOuvintes() {
+		List<String> mudancas = new ArrayList<>();
+		tutorController.adicionaOuvinteNivel((tutor, anterior, atual) -> mudancas.add(anterior + "->" + atual));
+		
+		assertEquals(1, tutorController.contaTutoresPorNivel("Tutor"));
+		
+		tutorController.avaliaTutor("gaudslindo99@gmail.com", 0);
+		tutorController.avaliaTutor("gaudslindo99@gmail.com", 0);
+		
+		assertEquals(0, tutorController.contaTutoresPorNivel("Tutor"));
+		assertEquals(1, tutorController.contaTutoresPorNivel("Aprendiz"));
+		assertEquals(Arrays.asList("Tutor->Aprendiz"), mudancas);
+		assertEquals(tutorController.getTutor("gaudslindo99@gmail.com").toString(),
+				tutorController.listarTutoresPorNivel("Aprendiz"));
+		assertEquals("", tutorController.listarTutoresPorNivel("TOP"));
+	}
+	
+	@Test
+	public void testNivelInexistente() {
+		try {
+			tutorController.contaTutoresPorNivel("Mestre");
+			fail("Nivel inexistente");
+		} catch (IllegalArgumentException e) {
+			assertEquals("nivel invalido", e.getMessage());
+		}
+		
+		try {
+			tutorController.listarTutoresPorNivel(null);
+			fail("Nivel nulo");
+		} catch (IllegalArgumentException e) {
+			assertEquals("nivel invalido", e.getMessage());
+		}
+	}
+	
 }
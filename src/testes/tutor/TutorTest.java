@@ -127,6 +127,13 @@ public class TutorTest {
 		assertEquals(t.consultaLocal("CAA 404"), true);
 	}
 	
+	@Test
+	public void testConsultaLocalNuncaCadastrado() {
+		t.cadastrarLocal("CAA 404");
+		assertEquals(t.consultaLocal("local que nenhum tutor cadastrou"), false);
+		assertEquals(t.getLocaisDeAtendimento().size(), 1);
+	}
+	
 	@Test(expected = IllegalArgumentException.class)
 	public void testConsultaLocalComLocalNulo() {
 		t.consultaLocal(null);
@@ -247,4 +254,17 @@ public class TutorTest {
 		assertEquals(4.31, t.getNotaAvaliacao(), 0.1);
 	}
 	
+	@Test
+	public void testDisciplinaSemDiferenciarAcentosEMaiusculas() {
+		assertTrue(t.disciplinaExiste("programacao  1"));
+		assertTrue(t.disciplinaExiste(" PROGRAMAÇÃO 1"));
+		assertEquals(4, t.getProficiencia("Programacao 1"));
+		assertFalse(t.disciplinaExiste("Programacao 2"));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testAdicionaDisciplinaEquivalente() {
+		t.addDisciplina("Programacao 1", 3);
+	}
+	
 }
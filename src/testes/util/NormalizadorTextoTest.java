@@ -0,0 +1,40 @@
+package testes.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import util.NormalizadorTexto;
+
+public class NormalizadorTextoTest {
+
+	@Test
+	public void testRemoveAcentosEMaiusculas() {
+		assertEquals("programacao 2", NormalizadorTexto.normaliza("Programação 2"));
+		assertEquals("calculo diferencial", NormalizadorTexto.normaliza("CÁLCULO DIFERENCIAL"));
+	}
+
+	@Test
+	public void testJuntaEspacos() {
+		assertEquals("teoria da computacao", NormalizadorTexto.normaliza("  Teoria\tda   Computação\n"));
+		assertEquals("", NormalizadorTexto.normaliza("   "));
+	}
+
+	@Test
+	public void testTextoJaNormalizado() {
+		String texto = new String("grafos 1");
+		assertSame(texto, NormalizadorTexto.normaliza(texto));
+	}
+
+	@Test
+	public void testTextoNulo() {
+		assertNull(NormalizadorTexto.normaliza(null));
+	}
+
+	@Test
+	public void testEquivalentes() {
+		assertTrue(NormalizadorTexto.equivalentes("Programação 2", "programacao  2"));
+		assertFalse(NormalizadorTexto.equivalentes("Programação 2", "Programacao 1"));
+		assertFalse(NormalizadorTexto.equivalentes(null, null));
+	}
+}
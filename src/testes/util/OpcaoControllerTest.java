@@ -0,0 +1,35 @@
+package testes.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import util.controller.OpcaoController;
+
+public class OpcaoControllerTest {
+
+	@Test
+	public void testGetEnumByStringDeCadaOpcao() {
+		for (OpcaoController opcao : OpcaoController.values()) {
+			assertSame(opcao, OpcaoController.getEnumByString(opcao.toString()));
+		}
+	}
+
+	@Test
+	public void testGetEnumByStringDiferenciaMaiusculas() {
+		assertSame(OpcaoController.NOME, OpcaoController.getEnumByString("Nome"));
+		assertSame(OpcaoController.OPCAO_INVALIDA, OpcaoController.getEnumByString("nome"));
+		assertSame(OpcaoController.OPCAO_INVALIDA, OpcaoController.getEnumByString("DISCIPLINA"));
+	}
+
+	@Test
+	public void testGetEnumByStringDesconhecida() {
+		assertSame(OpcaoController.OPCAO_INVALIDA, OpcaoController.getEnumByString(""));
+		assertSame(OpcaoController.OPCAO_INVALIDA, OpcaoController.getEnumByString("Curso"));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testGetEnumByStringNula() {
+		OpcaoController.getEnumByString(null);
+	}
+}
@@ -0,0 +1,78 @@
+package testes.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import util.TabelaSimbolos;
+
+public class TabelaSimbolosTest {
+
+	@Test
+	public void testIdMesmoValor() {
+		int id = TabelaSimbolos.id("Programacao 2");
+		assertEquals(id, TabelaSimbolos.id(new String("Programacao 2")));
+	}
+
+	@Test
+	public void testIdValoresDiferentes() {
+		assertNotEquals(TabelaSimbolos.id("CAA 404"), TabelaSimbolos.id("LCC 2"));
+	}
+
+	@Test
+	public void testCanonizaRetornaMesmaInstancia() {
+		String canonico = TabelaSimbolos.canoniza("Quinta");
+		assertSame(canonico, TabelaSimbolos.canoniza(new String("Quinta")));
+	}
+
+	@Test
+	public void testCanonizaNaoRegistra() {
+		int tamanho = TabelaSimbolos.tamanho();
+		TabelaSimbolos.canoniza("horario que so foi canonizado");
+
+		assertEquals(tamanho, TabelaSimbolos.tamanho());
+		assertEquals(TabelaSimbolos.NAO_REGISTRADO, TabelaSimbolos.buscaId("horario que so foi canonizado"));
+	}
+
+	@Test
+	public void testLimpaGrafiasMantemIdentificadores() {
+		int id = TabelaSimbolos.idNormalizado("Teoria da Computacao");
+		TabelaSimbolos.limpaGrafias();
+
+		assertEquals(id, TabelaSimbolos.buscaIdNormalizado("teoria da computação"));
+		assertEquals(id, TabelaSimbolos.idNormalizado("Teoria da Computacao"));
+	}
+
+	@Test
+	public void testValorPeloId() {
+		int id = TabelaSimbolos.id("Calculo 1");
+		assertEquals("Calculo 1", TabelaSimbolos.valor(id));
+	}
+
+	@Test
+	public void testBuscaIdValorNaoRegistrado() {
+		assertEquals(TabelaSimbolos.NAO_REGISTRADO, TabelaSimbolos.buscaId("disciplina que nunca existiu"));
+		assertEquals(TabelaSimbolos.NAO_REGISTRADO, TabelaSimbolos.buscaId(null));
+	}
+
+	@Test
+	public void testIdNormalizado() {
+		int id = TabelaSimbolos.idNormalizado("Estruturas de Dados");
+		assertEquals(id, TabelaSimbolos.idNormalizado("estruturas  de dados"));
+		assertEquals(id, TabelaSimbolos.buscaIdNormalizado(" ESTRUTURAS DE DADOS "));
+		assertEquals("Estruturas de Dados", TabelaSimbolos.valor(id));
+	}
+
+	@Test
+	public void testBuscaIdNormalizadoNaoRegistrado() {
+		TabelaSimbolos.id("Logica Matematica");
+		assertEquals(TabelaSimbolos.NAO_REGISTRADO, TabelaSimbolos.buscaIdNormalizado("Lógica Matemática"));
+		assertEquals(TabelaSimbolos.NAO_REGISTRADO, TabelaSimbolos.buscaIdNormalizado(null));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testIdValorNulo() {
+		TabelaSimbolos.id(null);
+	}
+
+}
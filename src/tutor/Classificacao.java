@@ -0,0 +1,264 @@
+package tutor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Classificação de tutores pela nota de avaliação, mantida de forma
+ * incremental.
+ *
+ * Os tutores ficam em uma treap ordenada pela nota, da maior para a menor, e
+ * em seguida pelo email. Cada nó guarda o tamanho da sua subárvore, o que
+ * permite inserir, remover e consultar a posição de um tutor em tempo
+ * logarítmico esperado, e listar os k primeiros sem percorrer a árvore
+ * inteira.
+ *
+ * @author Marcus Vinicius
+ */
+public class Classificacao {
+
+	/**
+	 * Valor retornado quando o tutor não está na classificação.
+	 */
+	public static final int NAO_CLASSIFICADO = -1;
+
+	/**
+	 * Nota atual de cada tutor classificado. Possui como chave o email do tutor.
+	 */
+	private Map<String, Double> notas;
+
+	private No raiz;
+	private Random prioridades;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public Classificacao() {
+		this.notas = new HashMap<>();
+		this.prioridades = new Random(0x5EED);
+	}
+
+	/**
+	 * Insere o tutor na classificação ou atualiza a sua nota.
+	 *
+	 * @param email
+	 *            o email do tutor
+	 * @param nota
+	 *            a nota de avaliação do tutor
+	 */
+	public void atualiza(String email, double nota) {
+		Double anterior = this.notas.put(email, nota);
+
+		if (anterior != null) {
+			if (anterior == nota) {
+				return;
+			}
+			this.raiz = remove(this.raiz, anterior, email);
+		}
+
+		this.raiz = insere(this.raiz, new No(email, nota, this.prioridades.nextInt()));
+	}
+
+	/**
+	 * Remove o tutor da classificação.
+	 *
+	 * @param email
+	 *            o email do tutor
+	 */
+	public void remove(String email) {
+		Double anterior = this.notas.remove(email);
+		if (anterior != null) {
+			this.raiz = remove(this.raiz, anterior, email);
+		}
+	}
+
+	/**
+	 * Retorna a posição do tutor na classificação, começando em 1.
+	 *
+	 * @param email
+	 *            o email do tutor
+	 * @return int a posição, ou {@link #NAO_CLASSIFICADO} caso o tutor não esteja
+	 *         na classificação
+	 */
+	public int posicao(String email) {
+		Double nota = this.notas.get(email);
+		if (nota == null) {
+			return NAO_CLASSIFICADO;
+		}
+
+		int antes = 0;
+		No atual = this.raiz;
+		while (atual != null) {
+			int comparacao = compara(nota, email, atual);
+			if (comparacao == 0) {
+				return antes + tamanho(atual.esquerda) + 1;
+			}
+			if (comparacao < 0) {
+				atual = atual.esquerda;
+			} else {
+				antes += tamanho(atual.esquerda) + 1;
+				atual = atual.direita;
+			}
+		}
+		return NAO_CLASSIFICADO;
+	}
+
+	/**
+	 * Lista os emails dos primeiros tutores da classificação.
+	 *
+	 * @param quantidade
+	 *            a quantidade máxima de tutores
+	 * @return a lista de emails, do primeiro para o último
+	 */
+	public List<String> primeiros(int quantidade) {
+		List<String> emails = new ArrayList<>(Math.min(quantidade, this.tamanho()));
+		primeiros(this.raiz, quantidade, emails);
+		return emails;
+	}
+
+	public int tamanho() {
+		return tamanho(this.raiz);
+	}
+
+	/**
+	 * Remove todos os tutores da classificação.
+	 */
+	public void limpa() {
+		this.notas.clear();
+		this.raiz = null;
+	}
+
+	private static void primeiros(No no, int quantidade, List<String> emails) {
+		if (no == null || emails.size() >= quantidade) {
+			return;
+		}
+		primeiros(no.esquerda, quantidade, emails);
+		if (emails.size() < quantidade) {
+			emails.add(no.email);
+			primeiros(no.direita, quantidade, emails);
+		}
+	}
+
+	private static No insere(No no, No novo) {
+		if (no == null) {
+			return novo;
+		}
+
+		if (compara(novo.nota, novo.email, no) < 0) {
+			no.esquerda = insere(no.esquerda, novo);
+			if (no.esquerda.prioridade > no.prioridade) {
+				no = rotacionaDireita(no);
+			}
+		} else {
+			no.direita = insere(no.direita, novo);
+			if (no.direita.prioridade > no.prioridade) {
+				no = rotacionaEsquerda(no);
+			}
+		}
+
+		no.atualizaTamanho();
+		return no;
+	}
+
+	private static No remove(No no, double nota, String email) {
+		if (no == null) {
+			return null;
+		}
+
+		int comparacao = compara(nota, email, no);
+		if (comparacao < 0) {
+			no.esquerda = remove(no.esquerda, nota, email);
+		} else if (comparacao > 0) {
+			no.direita = remove(no.direita, nota, email);
+		} else {
+			return junta(no.esquerda, no.direita);
+		}
+
+		no.atualizaTamanho();
+		return no;
+	}
+
+	/**
+	 * Junta duas subárvores em que todos os nós da primeira vêm antes dos nós da
+	 * segunda.
+	 */
+	private static No junta(No esquerda, No direita) {
+		if (esquerda == null) {
+			return direita;
+		}
+		if (direita == null) {
+			return esquerda;
+		}
+
+		if (esquerda.prioridade > direita.prioridade) {
+			esquerda.direita = junta(esquerda.direita, direita);
+			esquerda.atualizaTamanho();
+			return esquerda;
+		}
+
+		direita.esquerda = junta(esquerda, direita.esquerda);
+		direita.atualizaTamanho();
+		return direita;
+	}
+
+	private static No rotacionaDireita(No no) {
+		No esquerda = no.esquerda;
+		no.esquerda = esquerda.direita;
+		esquerda.direita = no;
+		no.atualizaTamanho();
+		esquerda.atualizaTamanho();
+		return esquerda;
+	}
+
+	private static No rotacionaEsquerda(No no) {
+		No direita = no.direita;
+		no.direita = direita.esquerda;
+		direita.esquerda = no;
+		no.atualizaTamanho();
+		direita.atualizaTamanho();
+		return direita;
+	}
+
+	/**
+	 * Compara um tutor com o tutor de um nó: notas maiores vêm antes e, em caso
+	 * de empate, vem antes o menor email.
+	 */
+	private static int compara(double nota, String email, No no) {
+		int comparacao = Double.compare(no.nota, nota);
+		if (comparacao != 0) {
+			return comparacao;
+		}
+		return email.compareTo(no.email);
+	}
+
+	private static int tamanho(No no) {
+		return no == null ? 0 : no.tamanho;
+	}
+
+	/**
+	 * Nó da treap.
+	 */
+	private static class No {
+
+		private String email;
+		private double nota;
+		private int prioridade;
+		private int tamanho;
+		private No esquerda;
+		private No direita;
+
+		private No(String email, double nota, int prioridade) {
+			this.email = email;
+			this.nota = nota;
+			this.prioridade = prioridade;
+			this.tamanho = 1;
+		}
+
+		private void atualizaTamanho() {
+			this.tamanho = 1 + Classificacao.tamanho(this.esquerda) + Classificacao.tamanho(this.direita);
+		}
+	}
+}
@@ -1,9 +1,11 @@
 package tutor;
 
 import util.HorarioAtendimentoValidador;
+import util.TabelaSimbolos;
 
 /**
- * Representação de um horário de atendimento de um tutor
+ * Representação de um horário de atendimento de um tutor. O dia e o horário
+ * são guardados na sua instância canônica da {@link TabelaSimbolos}.
  * 
  * @author fanny
  */
@@ -32,8 +34,8 @@ public class HorarioAtendimento {
 
 		if (HorarioAtendimentoValidador.validaHorarioAtendimento(dia, horario)) {
 
-			this.dia = dia;
-			this.horario = horario;
+			this.dia = TabelaSimbolos.canoniza(dia);
+			this.horario = TabelaSimbolos.canoniza(horario);
 		}
 	}
 
@@ -42,7 +44,7 @@ public class HorarioAtendimento {
 	}
 
 	public void setDia(String dia) {
-		this.dia = dia;
+		this.dia = TabelaSimbolos.canoniza(dia);
 	}
 
 	public String getHorario() {
@@ -50,7 +52,7 @@ public class HorarioAtendimento {
 	}
 
 	public void setHorario(String horario) {
-		this.horario = horario;
+		this.horario = TabelaSimbolos.canoniza(horario);
 	}
 
 	/**
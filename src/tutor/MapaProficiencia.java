@@ -0,0 +1,156 @@
+package tutor;
+
+import java.util.Arrays;
+
+/**
+ * Mapa compacto entre o identificador de uma disciplina e a proficiência do
+ * tutor nela. Os identificadores ficam ordenados em um vetor de inteiros e as
+ * proficiências em um vetor paralelo de bytes, de forma que as consultas sejam
+ * feitas por busca binária, sem alocação e sem valores encaixotados.
+ *
+ * @author fanny
+ */
+public class MapaProficiencia {
+
+	/**
+	 * Valor retornado quando a disciplina não está no mapa.
+	 */
+	public static final int SEM_PROFICIENCIA = -1;
+
+	/**
+	 * Identificadores das disciplinas, em ordem crescente.
+	 */
+	private int[] disciplinas;
+
+	/**
+	 * Proficiências do tutor, na mesma posição da disciplina correspondente.
+	 */
+	private byte[] proficiencias;
+
+	/**
+	 * Quantidade de disciplinas no mapa.
+	 */
+	private int tamanho;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public MapaProficiencia() {
+		this.disciplinas = new int[2];
+		this.proficiencias = new byte[2];
+		this.tamanho = 0;
+	}
+
+	/**
+	 * Verifica se a disciplina está no mapa.
+	 *
+	 * @param disciplina
+	 *            o identificador da disciplina
+	 * @return um <code>boolean</code> que informa se a disciplina está no mapa
+	 */
+	public boolean contem(int disciplina) {
+		return this.posicao(disciplina) >= 0;
+	}
+
+	/**
+	 * Retorna a proficiência associada a uma disciplina.
+	 *
+	 * @param disciplina
+	 *            o identificador da disciplina
+	 * @return int a proficiência, ou {@link #SEM_PROFICIENCIA} caso a disciplina
+	 *         não esteja no mapa
+	 */
+	public int proficiencia(int disciplina) {
+		int posicao = this.posicao(disciplina);
+		if (posicao < 0) {
+			return SEM_PROFICIENCIA;
+		}
+		return this.proficiencias[posicao];
+	}
+
+	/**
+	 * Associa uma proficiência a uma disciplina, substituindo a anterior caso a
+	 * disciplina já esteja no mapa.
+	 *
+	 * @param disciplina
+	 *            o identificador da disciplina
+	 * @param proficiencia
+	 *            a proficiência na disciplina
+	 */
+	public void adiciona(int disciplina, int proficiencia) {
+		int posicao = this.posicao(disciplina);
+
+		if (posicao >= 0) {
+			this.proficiencias[posicao] = (byte) proficiencia;
+			return;
+		}
+
+		int insercao = -(posicao + 1);
+
+		if (this.tamanho == this.disciplinas.length) {
+			this.disciplinas = Arrays.copyOf(this.disciplinas, this.tamanho * 2);
+			this.proficiencias = Arrays.copyOf(this.proficiencias, this.tamanho * 2);
+		}
+
+		System.arraycopy(this.disciplinas, insercao, this.disciplinas, insercao + 1, this.tamanho - insercao);
+		System.arraycopy(this.proficiencias, insercao, this.proficiencias, insercao + 1, this.tamanho - insercao);
+
+		this.disciplinas[insercao] = disciplina;
+		this.proficiencias[insercao] = (byte) proficiencia;
+		this.tamanho++;
+	}
+
+	/**
+	 * Retorna os identificadores das disciplinas do mapa.
+	 *
+	 * @return int[] uma cópia dos identificadores, em ordem crescente
+	 */
+	public int[] disciplinas() {
+		return Arrays.copyOf(this.disciplinas, this.tamanho);
+	}
+
+	public int tamanho() {
+		return this.tamanho;
+	}
+
+	/**
+	 * Busca a posição de uma disciplina no vetor ordenado.
+	 */
+	private int posicao(int disciplina) {
+		return Arrays.binarySearch(this.disciplinas, 0, this.tamanho, disciplina);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = 0; i < this.tamanho; i++) {
+			result = 31 * result + this.disciplinas[i];
+			result = 31 * result + this.proficiencias[i];
+		}
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MapaProficiencia other = (MapaProficiencia) obj;
+		if (this.tamanho != other.tamanho)
+			return false;
+		for (int i = 0; i < this.tamanho; i++) {
+			if (this.disciplinas[i] != other.disciplinas[i] || this.proficiencias[i] != other.proficiencias[i])
+				return false;
+		}
+		return true;
+	}
+}
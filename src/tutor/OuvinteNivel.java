@@ -0,0 +1,23 @@
+package tutor;
+
+import util.tutor.NivelTutor;
+
+/**
+ * Interessado nas mudanças de nível dos tutores.
+ *
+ * @author fanny
+ */
+public interface OuvinteNivel {
+
+	/**
+	 * Chamado quando uma avaliação muda o nível de um tutor.
+	 *
+	 * @param tutor
+	 *            o tutor avaliado
+	 * @param anterior
+	 *            o nível antes da avaliação
+	 * @param atual
+	 *            o nível depois da avaliação
+	 */
+	void nivelAlterado(Tutor tutor, NivelTutor anterior, NivelTutor atual);
+}
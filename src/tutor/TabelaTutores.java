@@ -0,0 +1,206 @@
+package tutor;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import util.tutor.NivelTutor;
+
+/**
+ * Tabela colunar dos tutores do sistema. Cada tutor ocupa uma linha, e seus
+ * atributos numéricos ficam em vetores primitivos paralelos, de forma que as
+ * consultas agregadas percorram apenas vetores contíguos em vez de navegar
+ * pelos objetos de tutor e aluno.
+ *
+ * A atualização de um tutor que já está na tabela, feita a cada doação e a
+ * cada avaliação, apenas o marca como alterado, sem bloquear a tabela. As
+ * linhas marcadas são copiadas dos tutores pelas consultas, que são
+ * sincronizadas, antes de percorrer os vetores.
+ *
+ * @author fanny
+ */
+public class TabelaTutores {
+
+	public static final int NIVEL_APRENDIZ = NivelTutor.APRENDIZ.ordinal();
+	public static final int NIVEL_TUTOR = NivelTutor.TUTOR.ordinal();
+	public static final int NIVEL_TOP = NivelTutor.TOP.ordinal();
+
+	/**
+	 * Linha de cada tutor na tabela. Possui como chave o email do tutor.
+	 */
+	private Map<String, Integer> linhas;
+
+	/**
+	 * Tutores cujas linhas ainda não refletem os seus atributos atuais.
+	 */
+	private Set<Tutor> alterados;
+
+	private double[] notas;
+	private byte[] niveis;
+	private long[] doacoes;
+	private int[] cursos;
+
+	/**
+	 * Quantidade de linhas ocupadas.
+	 */
+	private int tamanho;
+
+	/**
+	 * Construtor da classe.
+	 */
+	public TabelaTutores() {
+		this.linhas = new ConcurrentHashMap<>();
+		this.alterados = ConcurrentHashMap.newKeySet();
+		this.aloca(16);
+	}
+
+	/**
+	 * Marca os atributos de um tutor para serem copiados para a sua linha na
+	 * próxima consulta. Caso o tutor ainda não esteja na tabela, a sua linha é
+	 * criada imediatamente.
+	 *
+	 * @param tutor
+	 *            o tutor a ser sincronizado
+	 */
+	public void atualiza(Tutor tutor) {
+		if (this.linhas.containsKey(tutor.getEmail())) {
+			this.alterados.add(tutor);
+		} else {
+			this.insere(tutor);
+		}
+	}
+
+	private synchronized void insere(Tutor tutor) {
+		Integer linha = this.linhas.get(tutor.getEmail());
+
+		if (linha == null) {
+			if (this.tamanho == this.notas.length) {
+				this.cresce();
+			}
+			linha = this.tamanho++;
+			this.linhas.put(tutor.getEmail(), linha);
+		}
+		this.copia(tutor, linha);
+	}
+
+	/**
+	 * Copia para as suas linhas os tutores marcados como alterados. Cada tutor
+	 * é desmarcado antes da cópia, de forma que uma alteração concorrente o
+	 * marque novamente. Deve ser chamado com a tabela bloqueada.
+	 */
+	private void sincroniza() {
+		Iterator<Tutor> iterador = this.alterados.iterator();
+		while (iterador.hasNext()) {
+			Tutor tutor = iterador.next();
+			iterador.remove();
+
+			Integer linha = this.linhas.get(tutor.getEmail());
+			if (linha != null) {
+				this.copia(tutor, linha);
+			}
+		}
+	}
+
+	private void copia(Tutor tutor, int linha) {
+		this.notas[linha] = tutor.getNotaAvaliacao();
+		this.niveis[linha] = (byte) tutor.getNivelTutor().ordinal();
+		this.doacoes[linha] = tutor.getDoacao();
+		this.cursos[linha] = tutor.getCodCurso();
+	}
+
+	/**
+	 * Soma as doações recebidas por todos os tutores.
+	 *
+	 * @return long o total de doações, em centavos
+	 */
+	public synchronized long totalDoacoes() {
+		this.sincroniza();
+		long total = 0;
+		for (int i = 0; i < this.tamanho; i++) {
+			total += this.doacoes[i];
+		}
+		return total;
+	}
+
+	/**
+	 * Soma as doações recebidas pelos tutores de um curso.
+	 *
+	 * @param codCurso
+	 *            o código do curso
+	 * @return long o total de doações do curso, em centavos
+	 */
+	public synchronized long totalDoacoesDoCurso(int codCurso) {
+		this.sincroniza();
+		long total = 0;
+		for (int i = 0; i < this.tamanho; i++) {
+			if (this.cursos[i] == codCurso) {
+				total += this.doacoes[i];
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Calcula a média das notas de avaliação dos tutores.
+	 *
+	 * @return double a média das notas, ou zero caso não haja tutores
+	 */
+	public synchronized double mediaNotas() {
+		this.sincroniza();
+		if (this.tamanho == 0) {
+			return 0;
+		}
+
+		double soma = 0;
+		for (int i = 0; i < this.tamanho; i++) {
+			soma += this.notas[i];
+		}
+		return soma / this.tamanho;
+	}
+
+	/**
+	 * Conta quantos tutores há em cada nível.
+	 *
+	 * @return int[] a quantidade de tutores por nível, indexada por
+	 *         {@link #NIVEL_APRENDIZ}, {@link #NIVEL_TUTOR} e {@link #NIVEL_TOP}
+	 */
+	public synchronized int[] histogramaNiveis() {
+		this.sincroniza();
+		int[] histograma = new int[NivelTutor.values().length];
+		for (int i = 0; i < this.tamanho; i++) {
+			histograma[this.niveis[i]]++;
+		}
+		return histograma;
+	}
+
+	public synchronized int tamanho() {
+		return this.tamanho;
+	}
+
+	/**
+	 * Remove todas as linhas da tabela.
+	 */
+	public synchronized void limpa() {
+		this.linhas.clear();
+		this.alterados.clear();
+		this.aloca(16);
+	}
+
+	private void aloca(int capacidade) {
+		this.notas = new double[capacidade];
+		this.niveis = new byte[capacidade];
+		this.doacoes = new long[capacidade];
+		this.cursos = new int[capacidade];
+		this.tamanho = 0;
+	}
+
+	private void cresce() {
+		int capacidade = this.notas.length * 2;
+		this.notas = Arrays.copyOf(this.notas, capacidade);
+		this.niveis = Arrays.copyOf(this.niveis, capacidade);
+		this.doacoes = Arrays.copyOf(this.doacoes, capacidade);
+		this.cursos = Arrays.copyOf(this.cursos, capacidade);
+	}
+}
@@ -1,14 +1,18 @@
 package tutor;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import aluno.Aluno;
+import util.TabelaSimbolos;
 import util.comparators.Discente;
 import util.controller.ErroController;
-import util.tutor.MensagemTutor;
+import util.tutor.NivelTutor;
 import util.tutor.TaxaDoacao;
 import util.tutor.TutorValidador;
 
@@ -27,7 +31,7 @@ public class Tutor implements Discente {
 	/**
 	 * Nível do tutor
 	 */
-	private String nivel;
+	private NivelTutor nivel;
 
 	/**
 	 * Indica o quanto um tutor recebe do sistema
@@ -35,9 +39,10 @@ public class Tutor implements Discente {
 	private double salario;
 
 	/**
-	 * Conjunto de locais de atendimento do tutor
+	 * Conjunto de locais de atendimento do tutor, em que cada bit ligado é o
+	 * identificador de um local na {@link TabelaSimbolos}
 	 */
-	private Set<String> locaisDeAtendimento;
+	private BitSet locaisDeAtendimento;
 
 	/**
 	 * Conjunto de horários de atendimento do tutor
@@ -50,14 +55,15 @@ public class Tutor implements Discente {
 	private Aluno aluno;
 
 	/**
-	 * Disciplinas as quais o tutor tutora e suas respectivas proficiencias.
+	 * Disciplinas as quais o tutor tutora e suas respectivas proficiencias. Possui
+	 * como chave o identificador da disciplina na {@link TabelaSimbolos}.
 	 */
-	private Map<String, Integer> disciplinas;
+	private MapaProficiencia disciplinas;
 	
 	/**
-	 * Atributo que guarda o valor das doações destinadas ao tutor
+	 * Atributo que acumula o valor, em centavos, das doações destinadas ao tutor
 	 */
-	private int doacoes;
+	private LongAdder doacoes;
 	
 	/**
 	 * Constutor usado para inicializar a disciplina e a proficiência do mentor
@@ -70,15 +76,15 @@ public class Tutor implements Discente {
 	public Tutor(String disciplina, int proficiencia, Aluno aluno) {
 		if (TutorValidador.validaTutor(disciplina, proficiencia, aluno)) {
 
-			this.disciplinas = new HashMap<>();
+			this.disciplinas = new MapaProficiencia();
 			this.addDisciplina(disciplina, proficiencia);
 			this.notaAvaliacao = 4.0;
-			this.nivel = MensagemTutor.TUTOR.toString();
+			this.nivel = NivelTutor.TUTOR;
 			this.salario = 0;
-			this.locaisDeAtendimento = new HashSet<>();
+			this.locaisDeAtendimento = new BitSet();
 			this.horariosDeAtendimento = new HashSet<>();
 			this.aluno = aluno;
-			this.doacoes = 0;
+			this.doacoes = new LongAdder();
 		}
 	}
 
@@ -109,13 +115,13 @@ public class Tutor implements Discente {
 		double taxa = 0;
 		
 
-		if (this.nivel.equals(MensagemTutor.TOP.toString())) {
+		if (this.nivel == NivelTutor.TOP) {
 	
 			taxa = (TaxaDoacao.TOP_TAXA_DOACAO.getValor() + 
 					((this.notaAvaliacao - 4.5) * 0.01));
 	
 
-		} else if (this.nivel.equals(MensagemTutor.TUTOR.toString())) {
+		} else if (this.nivel == NivelTutor.TUTOR) {
 
 			taxa = TaxaDoacao.TUTOR_TAXA_DOACAO.getValor();
 
@@ -133,9 +139,21 @@ public class Tutor implements Discente {
 		return salario;
 	}
 	
-	public void receberDoacao(int doacoes) {
+	public void receberDoacao(long doacoes) {
 		
-		this.doacoes += doacoes;
+		this.doacoes.add(doacoes);
+	}
+	
+	/**
+	 * Substitui o total de doações recebidas, como na reconstrução a partir do
+	 * diário de doações.
+	 * 
+	 * @param doacoes
+	 *            o novo total, em centavos
+	 */
+	public void redefineDoacao(long doacoes) {
+		this.doacoes.reset();
+		this.doacoes.add(doacoes);
 	}
 	
 	public void setSalario(double salario) {
@@ -143,7 +161,11 @@ public class Tutor implements Discente {
 	}
 
 	public String getNivel() {
-		return nivel;
+		return this.nivel.toString();
+	}
+
+	public NivelTutor getNivelTutor() {
+		return this.nivel;
 	}
 
 	/**
@@ -168,7 +190,7 @@ public class Tutor implements Discente {
 	 */
 	public void cadastrarLocal(String local) {
 		if (TutorValidador.validaLocalAtendimento(local)) {
-			this.locaisDeAtendimento.add(local);
+			this.locaisDeAtendimento.set(TabelaSimbolos.id(local));
 		}
 	}
 
@@ -183,7 +205,8 @@ public class Tutor implements Discente {
 	public boolean consultaLocal(String local) {
 		boolean resultado = false;
 		if (TutorValidador.validaLocalAtendimento(local)) {
-			resultado = this.locaisDeAtendimento.contains(local);
+			int id = TabelaSimbolos.buscaId(local);
+			resultado = id != TabelaSimbolos.NAO_REGISTRADO && this.locaisDeAtendimento.get(id);
 		}
 		return resultado;
 	}
@@ -217,7 +240,7 @@ public class Tutor implements Discente {
 			if (disciplinaExiste(nome)) {
 				throw new IllegalArgumentException(ErroController.JA_EH_TUTOR.toString());
 			}
-			this.disciplinas.put(nome, proficiencia);
+			this.disciplinas.adiciona(TabelaSimbolos.idNormalizado(nome), proficiencia);
 		}
 	}
 
@@ -225,22 +248,43 @@ public class Tutor implements Discente {
 	 * Define o nível do tutor com base na sua avaliação geral
 	 */
 	private void defineNivel() {
-		if (this.notaAvaliacao <= 3) {
-			this.nivel = MensagemTutor.APRENDIZ.toString();
-		} else if (this.notaAvaliacao <= 4.5) {
-			this.nivel = MensagemTutor.TUTOR.toString();
-		} else {
-			this.nivel = MensagemTutor.TOP.toString();
-		}
+		this.nivel = NivelTutor.deNota(this.notaAvaliacao);
 	}
 
 	/**
-	 * Verifica se o tutor já possui a disciplina
+	 * Verifica se o tutor já possui a disciplina, sem diferenciar acentos,
+	 * maiúsculas e espaços no nome
 	 * 
 	 * @param nome o nome da disciplina
 	 */
 	public boolean disciplinaExiste(String nome) {
-		return this.disciplinas.containsKey(nome);
+		int id = TabelaSimbolos.buscaIdNormalizado(nome);
+		return id != TabelaSimbolos.NAO_REGISTRADO && this.disciplinas.contem(id);
+	}
+
+	/**
+	 * Retorna os identificadores, na {@link TabelaSimbolos}, das disciplinas do
+	 * tutor
+	 * 
+	 * @return int[] os identificadores das disciplinas
+	 */
+	public int[] getIdsDisciplinas() {
+		return this.disciplinas.disciplinas();
+	}
+
+	/**
+	 * Retorna a proficiencia do tutor em uma disciplina
+	 * 
+	 * @param nome o nome da disciplina
+	 * @return a proficiencia, ou {@link MapaProficiencia#SEM_PROFICIENCIA} caso o
+	 *         tutor nao possua a disciplina
+	 */
+	public int getProficiencia(String nome) {
+		int id = TabelaSimbolos.buscaIdNormalizado(nome);
+		if (id == TabelaSimbolos.NAO_REGISTRADO) {
+			return MapaProficiencia.SEM_PROFICIENCIA;
+		}
+		return this.disciplinas.proficiencia(id);
 	}
 
 	@Override
@@ -265,8 +309,31 @@ public class Tutor implements Discente {
 	public int getCodCurso() {
 		return this.aluno.getCodCurso();
 	}
-	public int getDoacao() {
-		return this.doacoes;
+	public long getDoacao() {
+		return this.doacoes.sum();
+	}
+
+	/**
+	 * Retorna os horarios de atendimento do tutor
+	 * 
+	 * @return os horarios de atendimento, sem permitir alteracao
+	 */
+	public Set<HorarioAtendimento> getHorariosDeAtendimento() {
+		return Collections.unmodifiableSet(this.horariosDeAtendimento);
+	}
+
+	/**
+	 * Retorna os locais de atendimento do tutor
+	 * 
+	 * @return os nomes dos locais de atendimento
+	 */
+	public List<String> getLocaisDeAtendimento() {
+		List<String> locais = new ArrayList<>(this.locaisDeAtendimento.cardinality());
+		for (int id = this.locaisDeAtendimento.nextSetBit(0); id >= 0; id = this.locaisDeAtendimento
+				.nextSetBit(id + 1)) {
+			locais.add(TabelaSimbolos.valor(id));
+		}
+		return locais;
 	}
 
 	public double getNotaAvaliacaoAluno() {
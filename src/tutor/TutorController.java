@@ -4,15 +4,23 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import aluno.Aluno;
+import persistencia.ArquivoMapeado;
 import persistencia.Persistencia;
+import util.TabelaSimbolos;
 import util.comparators.EmailComparator;
 import util.comparators.MatriculaComparator;
 import util.comparators.NomeComparator;
@@ -20,6 +28,7 @@ import util.comparators.PontuacaoComparator;
 import util.controller.ErroController;
 import util.controller.OpcaoController;
 import util.tutor.MensagemTutor;
+import util.tutor.NivelTutor;
 import util.tutor.TutorValidador;
 
 /**
@@ -37,15 +46,73 @@ public class TutorController {
 
 	private Comparator<Tutor> ordem;
 	
+	/**
+	 * Tabela colunar com os atributos numericos dos tutores, usada nas consultas
+	 * agregadas.
+	 */
+	private TabelaTutores tabela;
+	
+	/**
+	 * Arquivo mapeado com os tutores persistidos, consultado quando o tutor nao
+	 * esta em memoria. Possui como chave o email do tutor.
+	 */
+	private ArquivoMapeado tutoresPersistidos;
+	
+	/**
+	 * Classificacao de todos os tutores pela nota de avaliacao.
+	 */
+	private Classificacao classificacaoGeral;
+	
+	/**
+	 * Classificacao dos tutores de cada disciplina. Possui como chave o
+	 * identificador da disciplina na {@link TabelaSimbolos}.
+	 */
+	private Map<Integer, Classificacao> classificacoesDisciplinas;
+	
+	/**
+	 * Emails dos tutores de cada nivel, atualizados quando uma avaliacao muda o
+	 * nivel do tutor.
+	 */
+	private Map<NivelTutor, Set<String>> tutoresPorNivel;
+	
+	/**
+	 * Interessados nas mudancas de nivel dos tutores.
+	 */
+	private List<OuvinteNivel> ouvintesNivel;
+	
 	private Persistencia persistencia;
 
+	/**
+	 * Emails dos tutores alterados desde o ultimo salvamento.
+	 */
+	private Set<String> alterados;
+
 	/**
 	 * Construtor da classe.
 	 */
 	public TutorController() {
+		this(new Persistencia());
+	}
+
+	/**
+	 * Constroi o controller usando uma persistencia especifica.
+	 * 
+	 * @param persistencia
+	 *            a persistencia onde os tutores serao salvos
+	 */
+	public TutorController(Persistencia persistencia) {
 		this.tutores = new HashMap<String, Tutor>();
 		this.ordem = new NomeComparator<Tutor>();
-		this.persistencia = new Persistencia();
+		this.tabela = new TabelaTutores();
+		this.classificacaoGeral = new Classificacao();
+		this.classificacoesDisciplinas = new HashMap<>();
+		this.tutoresPorNivel = new EnumMap<>(NivelTutor.class);
+		for (NivelTutor nivel : NivelTutor.values()) {
+			this.tutoresPorNivel.put(nivel, new HashSet<>());
+		}
+		this.ouvintesNivel = new ArrayList<>();
+		this.persistencia = persistencia;
+		this.alterados = ConcurrentHashMap.newKeySet();
 	}
 
 	/**
@@ -63,6 +130,10 @@ public class TutorController {
 			if (TutorValidador.validaTutor(disciplina, proficiencia, aluno)) {
 				Tutor tutor = new Tutor(disciplina, proficiencia, aluno);
 				this.tutores.put(aluno.getEmail(), tutor);
+				this.tabela.atualiza(tutor);
+				this.classifica(tutor);
+				this.tutoresPorNivel.get(tutor.getNivelTutor()).add(tutor.getEmail());
+				this.alterados.add(tutor.getEmail());
 			}
 		} catch (IllegalArgumentException e) {
 			throw new IllegalArgumentException(ErroController.TORNA_TUTOR_INVALIDO.toString() + e.getMessage());
@@ -77,19 +148,43 @@ public class TutorController {
 	 */
 	public String listarTutores() {
 
-		List<Tutor> listaTutores = new ArrayList<Tutor>(this.tutores.values());
-
-		Collections.sort(listaTutores, this.ordem);
-
 		StringJoiner joiner = new StringJoiner(", ");
 
-		for (Tutor tutor: listaTutores) {
+		for (Tutor tutor: this.tutoresOrdenados()) {
 			joiner.add(tutor.toString());
 		}
 
 		return joiner.toString();
 	}
 
+	/**
+	 * Retorna os tutores cadastrados no sistema, na ordem configurada.
+	 * 
+	 * @return a lista de tutores ordenada
+	 */
+	public List<Tutor> tutoresOrdenados() {
+
+		List<Tutor> listaTutores = new ArrayList<Tutor>(this.tutores.values());
+
+		Collections.sort(listaTutores, this.ordem);
+
+		return listaTutores;
+	}
+
+	public Comparator<Tutor> getOrdem() {
+		return this.ordem;
+	}
+
+	/**
+	 * Percorre os tutores cadastrados no sistema, sem ordena-los.
+	 * 
+	 * @param acao
+	 *            a acao executada para cada tutor
+	 */
+	public void percorreTutores(Consumer<Tutor> acao) {
+		this.tutores.values().forEach(acao);
+	}
+
 	/**
 	 * Adiciona uma disciplina e sua proficiencia ao tutor.
 	 * 
@@ -105,7 +200,10 @@ public class TutorController {
 			if (this.validaTutor(email) && TutorValidador.validaDisciplina(disciplina)
 					&& TutorValidador.validaProficiencia(proficiencia)) {
 
-				this.tutores.get(email).addDisciplina(disciplina, proficiencia);
+				Tutor tutor = this.tutores.get(email);
+				tutor.addDisciplina(disciplina, proficiencia);
+				this.classifica(tutor);
+				this.alterados.add(email);
 
 			}
 		} catch (IllegalArgumentException e) {
@@ -130,6 +228,7 @@ public class TutorController {
 			if (this.validaTutor(email) && TutorValidador.validaHorarioDeAtendimento(horario, dia)) {
 
 				this.tutores.get(email).cadastrarHorario(horario, dia);
+				this.alterados.add(email);
 
 			}
 		} catch (IllegalArgumentException e) {
@@ -153,6 +252,7 @@ public class TutorController {
 			if (this.validaTutor(email) && TutorValidador.validaLocalAtendimento(local)) {
 
 				this.tutores.get(email).cadastrarLocal(local);
+				this.alterados.add(email);
 
 			}
 		} catch (IllegalArgumentException e) {
@@ -242,6 +342,17 @@ public class TutorController {
 
 	}
 
+	/**
+	 * Retorna o objeto de um tutor pelo seu email.
+	 * 
+	 * @param email
+	 *            Email do tutor
+	 * @return o tutor, ou null caso o email nao seja de um tutor
+	 */
+	public Tutor getTutor(String email) {
+		return this.tutores.get(email);
+	}
+
 	/**
 	 * Recupera um tutor pelo seu email.
 	 * 
@@ -252,6 +363,13 @@ public class TutorController {
 	public String recuperaTutor(String email) {
 		String resultado = "";
 
+		if (this.tutoresPersistidos != null && !this.existeTutor(email) && TutorValidador.validaEmail(email)) {
+			String[] registro = this.tutoresPersistidos.busca(email);
+			if (registro != null) {
+				return registro[1];
+			}
+		}
+
 		if (this.validaTutor(email)) {
 			resultado = this.tutores.get(email).toString();
 
@@ -357,12 +475,23 @@ public class TutorController {
 	public String retornaNotaAvaliacao(String email) {
 		
 		if(validaTutor(email)) {
-			return String.format("%.2f", tutores.get(email).getNotaAvaliacao());			
+			return this.retornaNotaAvaliacaoTutor(tutores.get(email));			
 		}
 		
 		return "";
 	}
 
+	/**
+	 * Retorna a nota geral da avaliação de um tutor ja resolvido
+	 * 
+	 * @param tutor
+	 *            o tutor
+	 * @return
+	 */
+	public String retornaNotaAvaliacaoTutor(Tutor tutor) {
+		return String.format("%.2f", tutor.getNotaAvaliacao());
+	}
+
 	/**
 	 * Retorna o nível de determinado tutor
 	 * 
@@ -373,12 +502,23 @@ public class TutorController {
 	public String retornaNivel(String email) {
 		
 		if(validaTutor(email)) {
-			return tutores.get(email).getNivel();			
+			return this.retornaNivelTutor(tutores.get(email));			
 		}
 		
 		return "";
 	}
 
+	/**
+	 * Retorna o nível de um tutor ja resolvido
+	 * 
+	 * @param tutor
+	 *            o tutor
+	 * @return
+	 */
+	public String retornaNivelTutor(Tutor tutor) {
+		return tutor.getNivel();
+	}
+
 	/**
 	 * Avalia a ajuda de um determinado tutor
 	 * 
@@ -388,13 +528,35 @@ public class TutorController {
 	 *            a nota da avaliação
 	 */
 	public void avaliaTutor(String email, int nota) {
-		if (validaTutor(email) && TutorValidador.validaNotaAvaliacao(nota)) {
-			tutores.get(email).alteraNotaAvaliacao(nota);
+		if (validaTutor(email)) {
+			this.aplicaAvaliacao(tutores.get(email), nota);
+		}
+	}
+
+	/**
+	 * Avalia a ajuda de um tutor ja resolvido
+	 * 
+	 * @param tutor
+	 *            o tutor a ser avaliado
+	 * @param nota
+	 *            a nota da avaliação
+	 */
+	public void aplicaAvaliacao(Tutor tutor, int nota) {
+		if (TutorValidador.validaNotaAvaliacao(nota)) {
+			NivelTutor anterior = tutor.getNivelTutor();
+			tutor.alteraNotaAvaliacao(nota);
+			this.tabela.atualiza(tutor);
+			this.classifica(tutor);
+			this.alterados.add(tutor.getEmail());
+
+			if (tutor.getNivelTutor() != anterior) {
+				this.mudaNivel(tutor, anterior);
+			}
 		}
 	}
 	
 	/**
-	 * @see Tutor#receberDoacao(int)
+	 * @see Tutor#receberDoacao(long)
 	 * 
 	 * @param emailTutor
 	 * @param totalCentavos
@@ -402,13 +564,43 @@ public class TutorController {
 	public void doar(String emailTutor, int totalCentavos) {
 		
 		//A exceção é pega na classe acima
-		if(this.validaTutor(emailTutor) && TutorValidador.validaDoacao(totalCentavos)){
+		if(this.validaTutor(emailTutor)){
 			
-			this.tutores.get(emailTutor).receberDoacao(totalCentavos);
+			this.creditaDoacao(this.tutores.get(emailTutor), totalCentavos);
 			
 		}
 		
 	}
+
+	/**
+	 * Credita uma doação a um tutor ja resolvido
+	 * 
+	 * @param tutor
+	 * @param totalCentavos
+	 */
+	public void creditaDoacao(Tutor tutor, long totalCentavos) {
+		
+		if(TutorValidador.validaDoacao(totalCentavos)){
+			
+			tutor.receberDoacao(totalCentavos);
+			this.tabela.atualiza(tutor);
+			this.alterados.add(tutor.getEmail());
+			
+		}
+	}
+	
+	/**
+	 * Substitui o total de doações de um tutor, como na reconstrução a partir
+	 * do diário de doações.
+	 * 
+	 * @param tutor
+	 * @param totalCentavos
+	 */
+	public void redefineDoacao(Tutor tutor, long totalCentavos) {
+		tutor.redefineDoacao(totalCentavos);
+		this.tabela.atualiza(tutor);
+		this.alterados.add(tutor.getEmail());
+	}
 	
 	/**
 	 * Método que avalia qual a taxa que será usada para o calculo das doação para um tutor
@@ -433,9 +625,9 @@ public class TutorController {
 	 * @param emailTutor
 	 * @return
 	 */
-	public int totalDinheiroTutor(String emailTutor) {
+	public long totalDinheiroTutor(String emailTutor) {
 		
-		int total = 0;
+		long total = 0;
 		
 		try {
 			if(this.validaTutor(emailTutor)){
@@ -454,6 +646,184 @@ public class TutorController {
 		return total;
 	}
 
+	/**
+	 * @see TabelaTutores#totalDoacoes()
+	 */
+	public long totalDoacoesTutores() {
+		return this.tabela.totalDoacoes();
+	}
+
+	/**
+	 * @see TabelaTutores#totalDoacoesDoCurso(int)
+	 */
+	public long totalDoacoesTutoresDoCurso(int codCurso) {
+		return this.tabela.totalDoacoesDoCurso(codCurso);
+	}
+
+	/**
+	 * @see TabelaTutores#mediaNotas()
+	 */
+	public double mediaAvaliacaoTutores() {
+		return this.tabela.mediaNotas();
+	}
+
+	/**
+	 * Conta quantos tutores estao em determinado nivel
+	 * 
+	 * @param nivel
+	 *            o nivel dos tutores
+	 * @return int a quantidade de tutores no nivel
+	 * @throws IllegalArgumentException
+	 *             caso o nivel nao exista
+	 */
+	public int contaTutoresPorNivel(String nivel) {
+		return this.tutoresPorNivel.get(this.nivel(nivel)).size();
+	}
+
+	/**
+	 * Lista os tutores que estao em determinado nivel, na ordem configurada
+	 * 
+	 * @param nivel
+	 *            o nivel dos tutores
+	 * @return String uma representação textual dos tutores do nivel
+	 * @throws IllegalArgumentException
+	 *             caso o nivel nao exista
+	 */
+	public String listarTutoresPorNivel(String nivel) {
+		List<Tutor> listaTutores = new ArrayList<Tutor>();
+		for (String email : this.tutoresPorNivel.get(this.nivel(nivel))) {
+			listaTutores.add(this.tutores.get(email));
+		}
+		Collections.sort(listaTutores, this.ordem);
+
+		StringJoiner joiner = new StringJoiner(", ");
+		for (Tutor tutor : listaTutores) {
+			joiner.add(tutor.toString());
+		}
+		return joiner.toString();
+	}
+
+	/**
+	 * Busca o nivel pela sua descricao
+	 */
+	private NivelTutor nivel(String nivel) {
+		NivelTutor codigo = NivelTutor.getEnumByString(nivel);
+		if (codigo == null) {
+			throw new IllegalArgumentException(MensagemTutor.NIVEL_INVALIDO.toString());
+		}
+		return codigo;
+	}
+
+	/**
+	 * Registra um interessado nas mudancas de nivel dos tutores
+	 * 
+	 * @param ouvinte
+	 *            o interessado
+	 */
+	public void adicionaOuvinteNivel(OuvinteNivel ouvinte) {
+		this.ouvintesNivel.add(ouvinte);
+	}
+
+	/**
+	 * Move o tutor para o conjunto do seu novo nivel e avisa os interessados.
+	 */
+	private void mudaNivel(Tutor tutor, NivelTutor anterior) {
+		this.tutoresPorNivel.get(anterior).remove(tutor.getEmail());
+		this.tutoresPorNivel.get(tutor.getNivelTutor()).add(tutor.getEmail());
+
+		for (OuvinteNivel ouvinte : this.ouvintesNivel) {
+			ouvinte.nivelAlterado(tutor, anterior, tutor.getNivelTutor());
+		}
+	}
+
+	/**
+	 * Lista os tutores com as maiores notas de avaliacao.
+	 * 
+	 * @param quantidade
+	 *            a quantidade maxima de tutores
+	 * @return String uma representação textual dos tutores, do melhor para o pior
+	 */
+	public String melhoresTutores(int quantidade) {
+		TutorValidador.validaQuantidadeClassificacao(quantidade);
+		return this.listaClassificados(this.classificacaoGeral.primeiros(quantidade));
+	}
+
+	/**
+	 * Lista os tutores de uma disciplina com as maiores notas de avaliacao.
+	 * 
+	 * @param disciplina
+	 *            a disciplina
+	 * @param quantidade
+	 *            a quantidade maxima de tutores
+	 * @return String uma representação textual dos tutores, do melhor para o pior
+	 */
+	public String melhoresTutoresDaDisciplina(String disciplina, int quantidade) {
+		TutorValidador.validaDisciplina(disciplina);
+		TutorValidador.validaQuantidadeClassificacao(quantidade);
+
+		Classificacao classificacao = this.classificacoesDisciplinas.get(TabelaSimbolos.buscaIdNormalizado(disciplina));
+		if (classificacao == null) {
+			return "";
+		}
+		return this.listaClassificados(classificacao.primeiros(quantidade));
+	}
+
+	/**
+	 * Retorna a posicao de um tutor na classificacao geral.
+	 * 
+	 * @param tutor
+	 *            o tutor
+	 * @return int a posicao do tutor, começando em 1
+	 */
+	public int posicaoTutor(Tutor tutor) {
+		return this.classificacaoGeral.posicao(tutor.getEmail());
+	}
+
+	/**
+	 * Retorna a posicao de um tutor na classificacao de uma disciplina.
+	 * 
+	 * @param tutor
+	 *            o tutor
+	 * @param disciplina
+	 *            a disciplina
+	 * @return int a posicao do tutor, começando em 1
+	 * @throws NoSuchElementException
+	 *             caso o tutor nao seja tutor da disciplina
+	 */
+	public int posicaoTutorNaDisciplina(Tutor tutor, String disciplina) {
+		TutorValidador.validaDisciplina(disciplina);
+
+		Classificacao classificacao = this.classificacoesDisciplinas.get(TabelaSimbolos.buscaIdNormalizado(disciplina));
+		int posicao = classificacao == null ? Classificacao.NAO_CLASSIFICADO
+				: classificacao.posicao(tutor.getEmail());
+
+		if (posicao == Classificacao.NAO_CLASSIFICADO) {
+			throw new NoSuchElementException(MensagemTutor.TUTOR_NAO_CLASSIFICADO.toString());
+		}
+		return posicao;
+	}
+
+	/**
+	 * Atualiza a nota do tutor na classificacao geral e nas classificacoes das
+	 * suas disciplinas.
+	 */
+	private void classifica(Tutor tutor) {
+		this.classificacaoGeral.atualiza(tutor.getEmail(), tutor.getNotaAvaliacao());
+
+		for (int disciplina : tutor.getIdsDisciplinas()) {
+			this.classificacoesDisciplinas.computeIfAbsent(disciplina, id -> new Classificacao())
+					.atualiza(tutor.getEmail(), tutor.getNotaAvaliacao());
+		}
+	}
+
+	private String listaClassificados(List<String> emails) {
+		StringJoiner joiner = new StringJoiner(", ");
+		for (String email : emails) {
+			joiner.add(this.tutores.get(email).toString());
+		}
+		return joiner.toString();
+	}
+
 	/**
 	 * Define como será a ordenação da lista de tutores
 	 * 
@@ -481,19 +851,67 @@ public class TutorController {
 	}
 	
 	/**
-	 * @see Persistencia#salvaTutores(String)
+	 * Salva apenas os tutores alterados desde o ultimo salvamento.
+	 * 
+	 * @see Persistencia#salvaTutores(Map)
 	 */
 	public void salvaTutores() throws IOException{
 		
-		this.persistencia.salvaTutores(this.listarTutores());
+		Map<String, String> registros = new LinkedHashMap<>();
+		for (String email : new ArrayList<>(this.alterados)) {
+			this.alterados.remove(email);
+			Tutor tutor = this.tutores.get(email);
+			if (tutor != null) {
+				registros.put(email, tutor.toString());
+			}
+		}
+		
+		try {
+			this.persistencia.salvaTutores(registros);
+		} catch (IOException e) {
+			this.alterados.addAll(registros.keySet());
+			throw e;
+		}
 		
 	}
 	
+	/**
+	 * Salva os tutores no formato mapeavel, com o email e a representacao
+	 * textual de cada tutor.
+	 * 
+	 * @see Persistencia#salvaTutoresMapeados(List)
+	 */
+	public void salvaTutoresMapeados() throws IOException {
+		List<String[]> registros = new ArrayList<>();
+		for (Tutor tutor : this.tutores.values()) {
+			registros.add(new String[] { tutor.getEmail(), tutor.toString() });
+		}
+		this.persistencia.salvaTutoresMapeados(registros);
+	}
+
+	/**
+	 * Passa a atender a recuperacao de tutores que nao estao em memoria
+	 * diretamente do arquivo mapeado.
+	 * 
+	 * @see Persistencia#abreTutoresMapeados()
+	 */
+	public void carregaTutoresMapeados() throws IOException {
+		this.tutoresPersistidos = this.persistencia.abreTutoresMapeados();
+	}
+	
 	/**
 	 * @see Persistencia#limparTutores()
 	 */
 	public void limpar(){
 		this.tutores.clear();
+		this.tutoresPersistidos = null;
+		this.alterados.clear();
+		this.tabela.limpa();
+		this.classificacaoGeral.limpa();
+		this.classificacoesDisciplinas.clear();
+		for (Set<String> emails : this.tutoresPorNivel.values()) {
+			emails.clear();
+		}
 		this.persistencia.limparTutores();
 	}
 
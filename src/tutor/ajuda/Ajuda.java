@@ -1,6 +1,7 @@
 package tutor.ajuda;
 
 import tutor.Tutor;
+import util.TabelaSimbolos;
 import util.ajuda.AjudaValidator;
 
 /**
@@ -41,7 +42,7 @@ public abstract class Ajuda {
 				AjudaValidator.validaTutor(tutor)){
 			
 			this.id = id;
-			this.disciplina = disciplina;
+			this.disciplina = TabelaSimbolos.canoniza(disciplina);
 			this.tutor = tutor;
 		
 		}
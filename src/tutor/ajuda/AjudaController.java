@@ -1,12 +1,16 @@
 package tutor.ajuda;
 
 import java.io.IOException;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import persistencia.Persistencia;
 import tutor.Tutor;
@@ -28,6 +32,21 @@ public class AjudaController {
 	 */
 	private Map<Integer, Ajuda> ajudas;
 	
+	/**
+	 * Acesso aos atributos da ajuda que podem ser consultados por
+	 * {@link #getInfoAjuda(int, String)}.
+	 */
+	private static final Map<OpcaoController, Function<Ajuda, String>> ATRIBUTOS = new EnumMap<>(
+			OpcaoController.class);
+	
+	static {
+		ATRIBUTOS.put(OpcaoController.LOCAL_INTERESSE, ajuda -> ((AjudaPresencial) ajuda).getLocal());
+		ATRIBUTOS.put(OpcaoController.HORARIO, ajuda -> ((AjudaPresencial) ajuda).getHorario().getHorario());
+		ATRIBUTOS.put(OpcaoController.DIA, ajuda -> ((AjudaPresencial) ajuda).getHorario().getDia());
+		ATRIBUTOS.put(OpcaoController.DISCIPLINA, Ajuda::getDisciplina);
+		ATRIBUTOS.put(OpcaoController.TUTOR_MATRICULA, Ajuda::toString);
+	}
+	
 	/**
 	 * 
 	 */
@@ -35,13 +54,29 @@ public class AjudaController {
 	
 	private Persistencia persistencia;
 
+	/**
+	 * Identificadores das ajudas alteradas desde o ultimo salvamento.
+	 */
+	private Set<Integer> alteradas;
+
 	/**
 	 * Construtor da classe.
 	 */
 	public AjudaController() {
+		this(new Persistencia());
+	}
+
+	/**
+	 * Constroi o controller usando uma persistencia especifica.
+	 * 
+	 * @param persistencia
+	 *            a persistencia onde as ajudas serao salvas
+	 */
+	public AjudaController(Persistencia persistencia) {
 		this.ajudas = new HashMap<>();
 		ajudasAvaliadas = new HashSet<>();
-		this.persistencia = new Persistencia();
+		this.persistencia = persistencia;
+		this.alteradas = new HashSet<>();
 	}
 
 	/**
@@ -67,6 +102,7 @@ public class AjudaController {
 
 			AjudaPresencial ajudaPresencial = new AjudaPresencial(id, disciplina, tutor, horario, dia, local);
 			this.ajudas.put(id, ajudaPresencial);
+			this.alteradas.add(id);
 
 			return id;
 
@@ -95,6 +131,7 @@ public class AjudaController {
 			AjudaOnline ajudaOnline = new AjudaOnline(id, disciplina, tutor);
 
 			this.ajudas.put(id, ajudaOnline);
+			this.alteradas.add(id);
 
 			return id;
 
@@ -147,28 +184,13 @@ public class AjudaController {
 
 			if (this.validaAjuda(idAjuda) && this.validaAtributo(atributo)) {
 
-				OpcaoController op = OpcaoController.getEnumByString(atributo);
-
-				switch (op) {
-					case LOCAL_INTERESSE: {
-						AjudaPresencial ajuda = (AjudaPresencial) this.ajudas.get(idAjuda);
-						return ajuda.getLocal();
-					}
-					case HORARIO: {
-						AjudaPresencial ajuda = (AjudaPresencial) this.ajudas.get(idAjuda);
-						return ajuda.getHorario().getHorario();
-					}
-					case DIA: {
-						AjudaPresencial ajuda = (AjudaPresencial) this.ajudas.get(idAjuda);
-						return ajuda.getHorario().getDia();
-					}
-					case DISCIPLINA:
-						return this.ajudas.get(idAjuda).getDisciplina();
-					case TUTOR_MATRICULA:
-						return this.pegarTutor(idAjuda);
-					default:
-						throw new IllegalArgumentException("atributo nao encontrado");
+				Function<Ajuda, String> acesso = ATRIBUTOS.get(OpcaoController.getEnumByString(atributo));
+
+				if (acesso == null) {
+					throw new IllegalArgumentException("atributo nao encontrado");
 				}
+
+				return acesso.apply(this.ajudas.get(idAjuda));
 			}
 
 		} catch (IllegalArgumentException e) {
@@ -202,6 +224,27 @@ public class AjudaController {
 	public boolean existeAjuda(int idAjuda) {
 		return this.ajudas.containsKey(idAjuda);
 	}
+
+	/**
+	 * Verifica se uma ajuda ja foi avaliada.
+	 * 
+	 * @param idAjuda
+	 *            identificador da ajuda
+	 * @return um <code>boolean</code> que informa se a ajuda foi avaliada
+	 */
+	public boolean foiAvaliada(int idAjuda) {
+		return this.ajudasAvaliadas.contains(idAjuda);
+	}
+
+	/**
+	 * Percorre as ajudas cadastradas no sistema.
+	 * 
+	 * @param acao
+	 *            a acao executada para cada ajuda
+	 */
+	public void percorreAjudas(Consumer<Ajuda> acao) {
+		this.ajudas.values().forEach(acao);
+	}
 	
 	public void setAjudasAvaliadas(int idAjuda) {
 		if(ajudasAvaliadas.contains(idAjuda)) {
@@ -209,6 +252,7 @@ public class AjudaController {
 		}
 		
 		this.ajudasAvaliadas.add(idAjuda);
+		this.alteradas.add(idAjuda);
 	}
 
 	/**
@@ -260,10 +304,18 @@ public class AjudaController {
 	}
 	
 	/**
-	 * @see Persistencia#salvaAjudas(String)
+	 * Salva apenas as ajudas alteradas desde o ultimo salvamento.
+	 * 
+	 * @see Persistencia#salvaAjudas(Map)
 	 */
 	public void salvaAjudas() throws IOException{
-		this.persistencia.salvaAjudas(this.listaAjudas());
+		Map<String, String> registros = new LinkedHashMap<>();
+		for (int id : this.alteradas) {
+			registros.put(String.valueOf(id), this.ajudas.get(id).toString());
+		}
+		
+		this.persistencia.salvaAjudas(registros);
+		this.alteradas.clear();
 	}
 	
 	/**
@@ -272,6 +324,7 @@ public class AjudaController {
 	public void limpar(){
 		this.ajudas.clear();
 		this.ajudasAvaliadas.clear();
+		this.alteradas.clear();
 		this.persistencia.limparAjudas();
 	}
 	
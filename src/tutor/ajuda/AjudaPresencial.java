@@ -2,6 +2,7 @@ package tutor.ajuda;
 
 import tutor.HorarioAtendimento;
 import tutor.Tutor;
+import util.TabelaSimbolos;
 import util.ajuda.AjudaValidator;
 
 /**
@@ -45,7 +46,7 @@ public class AjudaPresencial extends Ajuda {
 				AjudaValidator.validaLocal(local)){
 			
 			this.horario = new HorarioAtendimento(dia, horario);
-			this.local = local;
+			this.local = TabelaSimbolos.canoniza(local);
 			
 		}
 
@@ -0,0 +1,119 @@
+package util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Normalizador dos textos comparados sem diferenciar acentos, maiúsculas e
+ * espaços, como os nomes das disciplinas. A forma normalizada de um texto não
+ * possui acentos, está em letras minúsculas, não possui espaços no início nem
+ * no fim e possui apenas um espaço entre as palavras, de forma que
+ * "Programação  2" e "programacao 2" possuem a mesma forma normalizada.
+ *
+ * A forma normalizada de cada texto distinto é calculada uma única vez e
+ * guardada em cache.
+ *
+ * @author fanny
+ *
+ */
+public class NormalizadorTexto {
+
+	/**
+	 * Quantidade máxima de textos guardados no cache. Os textos normalizados
+	 * depois que o cache está cheio são normalizados a cada chamada.
+	 */
+	private static final int LIMITE_CACHE = 1 << 16;
+
+	private static final Map<String, String> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * Retorna a forma normalizada de um texto.
+	 *
+	 * @param texto
+	 *            o texto a ser normalizado
+	 * @return String o texto normalizado, ou null caso o texto seja nulo
+	 */
+	public static String normaliza(String texto) {
+		if (texto == null) {
+			return null;
+		}
+
+		String normalizado = cache.get(texto);
+		if (normalizado == null) {
+			normalizado = calcula(texto);
+			if (cache.size() < LIMITE_CACHE) {
+				cache.putIfAbsent(texto, normalizado);
+			}
+		}
+		return normalizado;
+	}
+
+	/**
+	 * Verifica se dois textos possuem a mesma forma normalizada.
+	 *
+	 * @param texto
+	 *            um dos textos
+	 * @param outro
+	 *            o outro texto
+	 * @return boolean true caso os textos sejam equivalentes
+	 */
+	public static boolean equivalentes(String texto, String outro) {
+		String normalizado = normaliza(texto);
+		return normalizado != null && normalizado.equals(normaliza(outro));
+	}
+
+	/**
+	 * Calcula a forma normalizada. Os textos que só possuem letras minúsculas
+	 * sem acento, dígitos e espaços simples entre as palavras já estão
+	 * normalizados e são retornados sem cópia.
+	 */
+	private static String calcula(String texto) {
+		if (normalizado(texto)) {
+			return texto;
+		}
+
+		String decomposto = Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+		StringBuilder resultado = new StringBuilder(decomposto.length());
+		boolean espaco = false;
+
+		for (int i = 0; i < decomposto.length(); i++) {
+			char c = decomposto.charAt(i);
+
+			if (Character.getType(c) == Character.NON_SPACING_MARK) {
+				continue;
+			}
+			if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+				espaco = resultado.length() > 0;
+				continue;
+			}
+			if (espaco) {
+				resultado.append(' ');
+				espaco = false;
+			}
+			resultado.append(c);
+		}
+
+		return resultado.toString();
+	}
+
+	private static boolean normalizado(String texto) {
+		if (texto.isEmpty()) {
+			return true;
+		}
+		if (texto.charAt(0) == ' ' || texto.charAt(texto.length() - 1) == ' ') {
+			return false;
+		}
+
+		for (int i = 0; i < texto.length(); i++) {
+			char c = texto.charAt(i);
+			boolean valido = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+					|| (c == ' ' && texto.charAt(i - 1) != ' ');
+			if (!valido && (c >= 0x80 || Character.isUpperCase(c) || Character.isWhitespace(c))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
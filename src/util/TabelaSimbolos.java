@@ -0,0 +1,240 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import util.controller.ErroController;
+
+/**
+ * Tabela de símbolos canônica do sistema. Os textos que se repetem entre
+ * tutores e ajudas (disciplinas, locais, dias e horários) são registrados uma
+ * única vez e recebem um identificador inteiro pequeno e denso, de forma que
+ * as estruturas internas guardem apenas o identificador ou a instância
+ * canônica da String.
+ *
+ * Apenas as disciplinas e os locais dos tutores recebem identificador. Esses
+ * valores não são removidos da tabela, pois os seus identificadores ficam
+ * guardados nos tutores e nas classificações de todos os sistemas abertos. Os
+ * demais textos são apenas canonizados, sem ocupar a tabela, e o cache de
+ * grafias é limitado e esvaziado por {@link #limpaGrafias()}.
+ *
+ * @author fanny
+ *
+ */
+public class TabelaSimbolos {
+
+	/**
+	 * Identificador retornado quando o valor ainda não foi registrado.
+	 */
+	public static final int NAO_REGISTRADO = -1;
+
+	/**
+	 * Identificadores dos valores já registrados.
+	 */
+	private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+	/**
+	 * Identificadores dos valores comparados pela forma normalizada, indexados
+	 * pela forma normalizada.
+	 *
+	 * @see NormalizadorTexto
+	 */
+	private static final Map<String, Integer> idsNormalizados = new ConcurrentHashMap<>();
+
+	/**
+	 * Identificador já resolvido de cada grafia usada nas buscas pela forma
+	 * normalizada, de forma que uma grafia repetida seja resolvida com uma
+	 * única consulta.
+	 */
+	private static final Map<String, Integer> grafias = new ConcurrentHashMap<>();
+
+	/**
+	 * Quantidade máxima de grafias guardadas.
+	 */
+	private static final int LIMITE_GRAFIAS = 1 << 16;
+
+	/**
+	 * Valores canônicos, indexados pelo seu identificador.
+	 */
+	private static volatile String[] valores = new String[64];
+
+	/**
+	 * Quantidade de valores registrados.
+	 */
+	private static int tamanho = 0;
+
+	/**
+	 * Retorna o identificador de um valor, registrando-o caso ainda não exista.
+	 *
+	 * @param valor
+	 *            o valor a ser registrado
+	 * @return int o identificador do valor
+	 */
+	public static int id(String valor) {
+		Validador.validaObjeto(valor, ErroController.OBJETO_NULO.toString());
+
+		Integer id = ids.get(valor);
+		if (id == null) {
+			id = registra(valor);
+		}
+		return id;
+	}
+
+	/**
+	 * Busca o identificador de um valor sem registrá-lo.
+	 *
+	 * @param valor
+	 *            o valor buscado
+	 * @return int o identificador do valor, ou {@link #NAO_REGISTRADO} caso o
+	 *         valor nunca tenha sido registrado
+	 */
+	public static int buscaId(String valor) {
+		if (valor == null) {
+			return NAO_REGISTRADO;
+		}
+		return ids.getOrDefault(valor, NAO_REGISTRADO);
+	}
+
+	/**
+	 * Retorna o identificador de um valor comparado pela forma normalizada,
+	 * registrando-o caso ainda não exista. Valores com a mesma forma
+	 * normalizada, como "Programação 2" e "programacao 2", recebem o mesmo
+	 * identificador, cujo valor canônico é a primeira grafia registrada.
+	 *
+	 * @param valor
+	 *            o valor a ser registrado
+	 * @return int o identificador do valor
+	 * @see NormalizadorTexto#normaliza(String)
+	 */
+	public static int idNormalizado(String valor) {
+		Validador.validaObjeto(valor, ErroController.OBJETO_NULO.toString());
+
+		Integer id = grafias.get(valor);
+		if (id == null) {
+			id = idsNormalizados.get(NormalizadorTexto.normaliza(valor));
+			if (id == null) {
+				id = registraNormalizado(valor);
+			}
+			lembraGrafia(valor, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Busca o identificador de um valor pela sua forma normalizada, sem
+	 * registrá-lo.
+	 *
+	 * @param valor
+	 *            o valor buscado
+	 * @return int o identificador do valor, ou {@link #NAO_REGISTRADO} caso
+	 *         nenhum valor equivalente tenha sido registrado
+	 * @see #idNormalizado(String)
+	 */
+	public static int buscaIdNormalizado(String valor) {
+		if (valor == null) {
+			return NAO_REGISTRADO;
+		}
+
+		Integer id = grafias.get(valor);
+		if (id == null) {
+			id = idsNormalizados.get(NormalizadorTexto.normaliza(valor));
+			if (id == null) {
+				return NAO_REGISTRADO;
+			}
+			lembraGrafia(valor, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Retorna o valor canônico associado a um identificador.
+	 *
+	 * @param id
+	 *            o identificador do valor
+	 * @return String o valor canônico
+	 */
+	public static String valor(int id) {
+		return valores[id];
+	}
+
+	/**
+	 * Retorna a instância canônica de um valor, sem registrá-lo na tabela. A
+	 * instância é a do pool de Strings da JVM, que descarta os valores que não
+	 * são mais referenciados.
+	 *
+	 * @param valor
+	 *            o valor a ser canonizado
+	 * @return String a instância compartilhada do valor, ou null caso o valor
+	 *         seja nulo
+	 */
+	public static String canoniza(String valor) {
+		if (valor == null) {
+			return null;
+		}
+		return valor.intern();
+	}
+
+	/**
+	 * Quantidade de valores distintos registrados na tabela.
+	 *
+	 * @return int o total de valores registrados
+	 */
+	public static synchronized int tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Remove as grafias guardadas. Os identificadores continuam registrados, e
+	 * as grafias voltam a ser resolvidas pela forma normalizada.
+	 */
+	public static void limpaGrafias() {
+		grafias.clear();
+	}
+
+	private static void lembraGrafia(String valor, int id) {
+		if (grafias.size() < LIMITE_GRAFIAS) {
+			grafias.putIfAbsent(valor, id);
+		}
+	}
+
+	/**
+	 * Registra um valor comparado pela forma normalizada. O identificador é o
+	 * do próprio valor, de forma que {@link #valor(int)} retorne a grafia
+	 * registrada primeiro.
+	 */
+	private static synchronized int registraNormalizado(String valor) {
+		String normalizado = NormalizadorTexto.normaliza(valor);
+
+		Integer existente = idsNormalizados.get(normalizado);
+		if (existente != null) {
+			return existente;
+		}
+
+		int id = id(valor);
+		idsNormalizados.put(normalizado, id);
+		return id;
+	}
+
+	/**
+	 * Registra um novo valor. O valor é publicado no vetor antes do seu
+	 * identificador ficar visível no mapa.
+	 */
+	private static synchronized int registra(String valor) {
+		Integer existente = ids.get(valor);
+		if (existente != null) {
+			return existente;
+		}
+
+		if (tamanho == valores.length) {
+			valores = Arrays.copyOf(valores, tamanho * 2);
+		}
+
+		int id = tamanho;
+		valores[id] = valor;
+		ids.put(valor, id);
+		tamanho++;
+
+		return id;
+	}
+}
@@ -106,6 +106,19 @@ public class Validador {
 		return true;
 	}
 	
+	/**
+	 * Verifica se o valor é estritamente maior que zero
+	 * 
+	 * @param valor o valor a ser avaliado
+	 * @param mensagem a mensagem de erro
+	 */
+	public static boolean validaMaiorQueZero(double valor, String mensagem) {
+		if (valor <= 0.0) {
+			throw new IllegalArgumentException(mensagem);
+		}
+		return true;
+	}
+	
 	/**
 	 * Verifica se o valor é menor ou igual a cinco
 	 * 
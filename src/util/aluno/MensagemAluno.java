@@ -14,7 +14,11 @@ public enum MensagemAluno {
 	CODIGO_INVALIDO("Codigo de curso invalido"),
 	NOME_INVALIDO("Nome nao pode ser vazio ou nulo"),
 	ALUNO_JA_CADASTRADO("Aluno de mesma matricula ja cadastrado"),
-	NOTA_AVALIACAO_INVALIDA("Nota de avaliação inválida");
+	NOTA_AVALIACAO_INVALIDA("Nota de avaliação inválida"),
+	CAMPO_MUITO_GRANDE("Campo do aluno excede o tamanho maximo do registro"),
+	ATRIBUTO_PESQUISA_INVALIDO("Atributo de pesquisa invalido"),
+	TERMO_PESQUISA_INVALIDO("Termo de pesquisa nao pode ser vazio ou nulo"),
+	PAGINA_INVALIDA("Pagina e tamanho da pagina devem ser maiores que zero");
 	
 	private String descricao;
 	
@@ -18,6 +18,7 @@ public enum ErroController {
 	GET_ALUNO_MATRICULA_INVALIDO("Erro na obtenção do objeto aluno: "),
 	BUSCA_ALUNO_INVALIDA("Erro na busca por aluno: "),
 	GET_INFO_ALUNO_INVALIDA("Erro na obtencao de informacao de aluno: "),
+	PESQUISA_ALUNO_INVALIDA("Erro na pesquisa de alunos: "),
 	CADASTRO_ALUNO_INVALIDO("Erro no cadastro de aluno: "),
 	ID_INVALIDO("id nao pode menor que zero"),
 	OBJETO_NULO("O objeto não pode ser nulo"),
@@ -27,8 +28,12 @@ public enum ErroController {
 	GET_INFO_AJUDA_INVALIDA("Erro ao tentar recuperar info da ajuda : "),
 	PEGAR_TUTOR_INVALIDO("Erro ao tentar recuperar tutor : "),
 	DOACAO_INVALIDA("Erro na doacao para tutor: "),
+	DOACAO_INTERROMPIDA("doacao interrompida antes de ser liquidada"),
 	ERRO_AVALIACAO_TUTOR("Erro na avaliacao de tutor: "),
-	CONFIGURA_ORDEM_INVALIDA("Erro ao alterar ordem: Ordem invalida");
+	CONSULTA_CLASSIFICACAO_INVALIDA("Erro na consulta de classificacao: "),
+	CONSULTA_NIVEL_INVALIDA("Erro na consulta de tutores por nivel: "),
+	CONFIGURA_ORDEM_INVALIDA("Erro ao alterar ordem: Ordem invalida"),
+	CAPACIDADE_CACHE_INVALIDA("Capacidade do cache deve ser maior que zero");
 
 	private String descricao;
 	
@@ -1,5 +1,9 @@
 package util.controller;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
 
 /**
  * Classe que contém as opções de filtro usadas no controller
@@ -18,6 +22,17 @@ public enum OpcaoController {
 	DIA("dia"),
 	TUTOR_MATRICULA("tutorMatricula");
 	
+	/**
+	 * Opções indexadas pelo seu valor, montado uma única vez
+	 */
+	private static final Map<String, OpcaoController> OPCOES = new HashMap<>();
+	
+	static {
+		for (OpcaoController op : OpcaoController.values()) {
+			OPCOES.put(op.descricao, op);
+		}
+	}
+	
 	private String descricao;
 	
 	/**
@@ -39,16 +54,12 @@ public enum OpcaoController {
 	/**
 	 * Método usado para obter um enum a partir do seu valor.
 	 * @param descricao o valor do enum
-	 * @return OpcoesMenu o enum correspondente ao valor passado
+	 * @return OpcoesMenu o enum correspondente ao valor passado, ou
+	 * OPCAO_INVALIDA caso o valor seja desconhecido
+	 * @throws NullPointerException caso o valor seja nulo
 	 */
 	public static OpcaoController getEnumByString(String descricao){
-		for(OpcaoController op: OpcaoController.values()){
-			if(descricao.equals(op.toString())){
-				return op;
-			}
-		}
-		return OpcaoController.OPCAO_INVALIDA;
-		
+		return OPCOES.getOrDefault(Objects.requireNonNull(descricao), OpcaoController.OPCAO_INVALIDA);
 	}
 
 }
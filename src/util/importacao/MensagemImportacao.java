@@ -0,0 +1,33 @@
+package util.importacao;
+
+/**
+ * Classe que contém as mensagens de erro da importação de arquivos CSV
+ * @author fanny
+ *
+ */
+public enum MensagemImportacao {
+
+	QUANTIDADE_CAMPOS_INVALIDA("Quantidade de campos invalida: "),
+	NUMERO_INVALIDO("Valor numerico invalido: "),
+	ASPAS_NAO_FECHADAS("Campo entre aspas nao foi fechado"),
+	CHAVE_REPETIDA("Registro repetido no arquivo, primeira ocorrencia na linha ");
+
+	private String descricao;
+
+	/**
+	 * Inicializa os valores de cada enum
+	 * @param descricao o valor do enum
+	 */
+	private MensagemImportacao(String descricao){
+		this.descricao = descricao;
+	}
+
+	/**
+	 * Método usado para obter o valor do enum.
+	 * @return String o valor do enum escolhido
+	 */
+	public String toString(){
+		return this.descricao;
+	}
+
+}
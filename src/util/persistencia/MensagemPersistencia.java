@@ -0,0 +1,35 @@
+package util.persistencia;
+
+/**
+ * Classe que contém as mensagens de erro lançadas pela persistência
+ * @author fanny
+ *
+ */
+public enum MensagemPersistencia {
+
+	ARQUIVO_MAPEADO_INVALIDO("Arquivo mapeado invalido ou corrompido"),
+	REGISTRO_MAPEADO_CORROMPIDO("Registro corrompido no arquivo mapeado, no deslocamento: "),
+	ARQUIVO_CORROMPIDO("Arquivo corrompido e sem geracao anterior valida: "),
+	SNAPSHOT_INVALIDO("Snapshot comprimido invalido ou incompleto: "),
+	QUANTIDADE_PARTICOES_DIFERENTE("Quantidade de particoes diferente da salva em: "),
+	LANCAMENTO_INVALIDO("Lancamento invalido no diario de doacoes: ");
+
+	private String descricao;
+
+	/**
+	 * Inicializa os valores de cada enum
+	 * @param descricao o valor do enum
+	 */
+	private MensagemPersistencia(String descricao){
+		this.descricao = descricao;
+	}
+
+	/**
+	 * Método usado para obter o valor do enum.
+	 * @return String o valor do enum escolhido
+	 */
+	public String toString(){
+		return this.descricao;
+	}
+
+}
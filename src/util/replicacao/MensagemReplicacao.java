@@ -0,0 +1,33 @@
+package util.replicacao;
+
+/**
+ * Classe que contém as mensagens de erro lançadas pela replicação
+ * @author Marcus Vinicius
+ *
+ */
+public enum MensagemReplicacao {
+
+	LINHA_INVALIDA("Linha invalida no registro de replicacao: "),
+	SEQUENCIA_FORA_DE_ORDEM("Sequencia fora de ordem no registro de replicacao: "),
+	DIVERGENCIA("Seguidor divergiu do primario no evento: "),
+	REPLICACAO_INTERROMPIDA("Replicacao periodica interrompida por falha: ");
+
+	private String descricao;
+
+	/**
+	 * Inicializa os valores de cada enum
+	 * @param descricao o valor do enum
+	 */
+	private MensagemReplicacao(String descricao){
+		this.descricao = descricao;
+	}
+
+	/**
+	 * Método usado para obter o valor do enum.
+	 * @return String o valor do enum escolhido
+	 */
+	public String toString(){
+		return this.descricao;
+	}
+
+}
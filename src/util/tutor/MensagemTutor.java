@@ -26,7 +26,10 @@ public enum MensagemTutor {
 	DOACAO_MENOR_QUE_ZERO("totalCentavos nao pode ser menor que zero"),
 	CONSULTA_DINHEIRO_TUTOR("Erro na consulta de total de dinheiro do tutor: "),
 	ERRO_BUSCA_TUTOR("Tutor nao encontrado"),
-	EMAIL_TUTOR_INVALIDO("emailTutor nao pode ser vazio ou nulo");
+	EMAIL_TUTOR_INVALIDO("emailTutor nao pode ser vazio ou nulo"),
+	QUANTIDADE_INVALIDA("quantidade deve ser maior que zero"),
+	NIVEL_INVALIDO("nivel invalido"),
+	TUTOR_NAO_CLASSIFICADO("tutor nao eh tutor dessa disciplina");
 	
 	
 	private String descricao;
@@ -0,0 +1,70 @@
+package util.tutor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Representação dos possíveis níveis de um tutor, definidos a partir da sua
+ * nota de avaliação.
+ * @author fanny
+ *
+ */
+public enum NivelTutor {
+
+	APRENDIZ(MensagemTutor.APRENDIZ),
+	TUTOR(MensagemTutor.TUTOR),
+	TOP(MensagemTutor.TOP);
+	
+	/**
+	 * Níveis indexados pela sua descrição, montado uma única vez
+	 */
+	private static final Map<String, NivelTutor> NIVEIS = new HashMap<>();
+	
+	static {
+		for (NivelTutor nivel : NivelTutor.values()) {
+			NIVEIS.put(nivel.descricao, nivel);
+		}
+	}
+	
+	private String descricao;
+	
+	/**
+	 * Inicializa os valores de cada enum
+	 * @param mensagem a mensagem com a descrição do nível
+	 */
+	private NivelTutor(MensagemTutor mensagem) {
+		this.descricao = mensagem.toString();
+	}
+	
+	/**
+	 * Define o nível correspondente a uma nota de avaliação.
+	 * @param notaAvaliacao a nota de avaliação do tutor
+	 * @return NivelTutor o nível da nota
+	 */
+	public static NivelTutor deNota(double notaAvaliacao) {
+		if (notaAvaliacao <= 3) {
+			return APRENDIZ;
+		} else if (notaAvaliacao <= 4.5) {
+			return TUTOR;
+		}
+		return TOP;
+	}
+	
+	/**
+	 * Busca o nível pela sua descrição.
+	 * @param descricao a descrição do nível
+	 * @return NivelTutor o nível, ou null caso a descrição não corresponda a
+	 * nenhum nível
+	 */
+	public static NivelTutor getEnumByString(String descricao) {
+		return NIVEIS.get(descricao);
+	}
+
+	/**
+	 * Método usado para obter o valor do enum.
+	 * @return String a descrição do nível
+	 */
+	public String toString() {
+		return this.descricao;
+	}
+}
@@ -120,13 +120,23 @@ public class TutorValidador {
 						MensagemTutor.NOTA_NAO_PODE_SER_MAIOR_QUE_CINCO.toString());
 	}
 
+	/**
+	 * Verifica se a quantidade de tutores pedida em uma classificação é maior
+	 * que zero
+	 * 
+	 * @param quantidade a quantidade de tutores
+	 */
+	public static boolean validaQuantidadeClassificacao(int quantidade) {
+		return Validador.validaMaiorQueZero(quantidade, MensagemTutor.QUANTIDADE_INVALIDA.toString());
+	}
+
 	/**
 	 * Método que avalia se uma doação a um tutor apresenta valor menor que zero
 	 * lançando um IllegalArgumentException caso seja
 	 * 
 	 * @param totalCentavos	valor a ser doado
 	 */
-	public static boolean validaDoacao(int totalCentavos) {
+	public static boolean validaDoacao(long totalCentavos) {
 		
 		return Validador.validaMaiorIgualZero(totalCentavos, MensagemTutor.DOACAO_MENOR_QUE_ZERO.toString());
 	}